@@ -43,6 +43,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcP
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.LivenessCheck;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.ReadinessCheck;
@@ -721,7 +722,8 @@ public class RunnerBuilder {
             context.getWorldStateArchive(),
             Optional.of(dataDir.resolve(CACHE_PATH)),
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
-            apiConfiguration);
+            apiConfiguration,
+            besuController.getLogIndex());
 
     final PrivacyParameters privacyParameters = besuController.getPrivacyParameters();
 
@@ -809,6 +811,14 @@ public class RunnerBuilder {
               dataDir,
               rpcEndpointServiceImpl);
 
+      final Optional<JsonRpcResponseCache> responseCache =
+          jsonRpcConfiguration.getResponseCacheMaxBytes() > 0
+              ? Optional.of(
+                  JsonRpcResponseCache.create(
+                      blockchainQueries,
+                      jsonRpcConfiguration.getResponseCacheMaxBytes(),
+                      metricsSystem))
+              : Optional.empty();
       jsonRpcHttpService =
           Optional.of(
               new JsonRpcHttpService(
@@ -818,8 +828,10 @@ public class RunnerBuilder {
                   metricsSystem,
                   natService,
                   nonEngineMethods,
+                  DefaultAuthenticationService.create(vertx, jsonRpcConfiguration),
                   new HealthService(new LivenessCheck()),
-                  new HealthService(new ReadinessCheck(peerNetwork, synchronizer))));
+                  new HealthService(new ReadinessCheck(peerNetwork, synchronizer)),
+                  responseCache));
     }
 
     final SubscriptionManager subscriptionManager =
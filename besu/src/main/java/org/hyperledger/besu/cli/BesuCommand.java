@@ -95,6 +95,7 @@ import org.hyperledger.besu.consensus.qbft.pki.PkiBlockCreationConfiguration;
 import org.hyperledger.besu.consensus.qbft.pki.PkiBlockCreationConfigurationProvider;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.controller.BesuControllerBuilder;
+import org.hyperledger.besu.controller.MetricsEvmCounterFactory;
 import org.hyperledger.besu.crypto.Blake2bfMessageDigest;
 import org.hyperledger.besu.crypto.KeyPair;
 import org.hyperledger.besu.crypto.KeyPairUtil;
@@ -142,6 +143,7 @@ import org.hyperledger.besu.ethereum.privacy.storage.keyvalue.PrivacyKeyValueSto
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
 import org.hyperledger.besu.evm.precompile.AbstractAltBnPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.BigIntegerModularExponentiationPrecompiledContract;
@@ -2281,7 +2283,10 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 .orElse(GasLimitCalculator.constant()))
         .requiredBlocks(requiredBlocks)
         .reorgLoggingThreshold(reorgLoggingThreshold)
-        .evmConfiguration(unstableEvmOptions.toDomainObject())
+        .evmConfiguration(
+            unstableEvmOptions
+                .toDomainObject()
+                .withCounterFactory(new MetricsEvmCounterFactory(metricsSystem.get())))
         .dataStorageConfiguration(dataStorageOptions.toDomainObject())
         .maxPeers(p2PDiscoveryOptionGroup.maxPeers)
         .lowerBoundPeers(peersLowerBound)
@@ -2379,6 +2384,11 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setHttpTimeoutSec(unstableRPCOptions.getHttpTimeoutSec());
     jsonRpcConfiguration.setMaxBatchSize(jsonRPCHttpOptionGroup.rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setMaxBatchParallelism(unstableRPCOptions.getHttpMaxBatchParallelism());
+    jsonRpcConfiguration.setPrettyJsonEnabled(unstableRPCOptions.isPrettyJsonEnabled());
+    jsonRpcConfiguration.setResponseCacheMaxBytes(
+        unstableRPCOptions.getHttpResponseCacheMaxBytes());
+    jsonRpcConfiguration.setNativeFlatTracerEnabled(unstableRPCOptions.isNativeFlatTracerEnabled());
     return jsonRpcConfiguration;
   }
 
@@ -2593,6 +2603,15 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .build();
   }
 
+  /**
+   * Data Storage Configuration for Besu
+   *
+   * @return instance of DataStorageConfiguration.
+   */
+  public DataStorageConfiguration dataStorageConfiguration() {
+    return dataStorageOptions.toDomainObject();
+  }
+
   /**
    * Metrics Configuration for Besu
    *
@@ -3460,6 +3479,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     if (!unstableChainPruningOptions.getChainDataPruningEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!dataStorageOptions.toDomainObject().getLogIndexEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.LOG_INDEX);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
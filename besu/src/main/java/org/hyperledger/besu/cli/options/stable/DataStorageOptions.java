@@ -16,7 +16,12 @@
 
 package org.hyperledger.besu.cli.options.stable;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BLOCKCHAIN_CACHE_SIZE_MIB;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE_MIB;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_CHAIN_FREEZER_BLOCKS_RETAINED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
@@ -36,6 +41,30 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
   private static final String BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD =
       "--bonsai-historical-block-limit";
 
+  private static final String BONSAI_PARALLEL_TX_PROCESSING_ENABLED =
+      "--Xbonsai-parallel-tx-processing-enabled";
+
+  private static final String BONSAI_STATE_PREFETCH_ENABLED = "--Xbonsai-state-prefetch-enabled";
+
+  private static final String BONSAI_TRIE_NODE_CACHE_SIZE = "--Xbonsai-trie-node-cache-size";
+
+  private static final String BONSAI_TRIE_LOG_PRUNING_ENABLED =
+      "--Xbonsai-trie-log-pruning-enabled";
+
+  private static final String BONSAI_TRIE_LOG_RETENTION_THRESHOLD =
+      "--Xbonsai-trie-log-retention-threshold";
+
+  private static final String BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE =
+      "--Xbonsai-trie-log-pruning-batch-size";
+
+  private static final String BLOCKCHAIN_CACHE_SIZE = "--Xblockchain-cache-size";
+
+  private static final String CHAIN_FREEZER_ENABLED = "--Xchain-freezer-enabled";
+
+  private static final String CHAIN_FREEZER_BLOCKS_RETAINED = "--Xchain-freezer-blocks-retained";
+
+  private static final String LOG_INDEX_ENABLED = "--Xlog-index-enabled";
+
   // Use Bonsai DB
   @Option(
       names = {DATA_STORAGE_FORMAT},
@@ -52,6 +81,101 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       arity = "1")
   private final Long bonsaiMaxLayersToLoad = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
 
+  @Option(
+      names = {BONSAI_PARALLEL_TX_PROCESSING_ENABLED},
+      hidden = true,
+      description =
+          "Execute the transactions of a block optimistically in parallel with BONSAI, re-executing"
+              + " conflicting ones sequentially (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiParallelTxProcessingEnabled = false;
+
+  @Option(
+      names = {BONSAI_STATE_PREFETCH_ENABLED},
+      hidden = true,
+      description =
+          "Load the accounts and storage slots a block is expected to touch on a dedicated pool"
+              + " before it is executed with BONSAI (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiStatePrefetchEnabled = false;
+
+  @Option(
+      names = {BONSAI_TRIE_NODE_CACHE_SIZE},
+      hidden = true,
+      paramLabel = "<MiB>",
+      description =
+          "Heap used to cache the trie nodes read while executing blocks with BONSAI, in MiB"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiTrieNodeCacheSize = DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE_MIB;
+
+  @Option(
+      names = {BONSAI_TRIE_LOG_PRUNING_ENABLED},
+      hidden = true,
+      description =
+          "Delete the trie logs of the blocks older than the retention threshold in the background"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiTrieLogPruningEnabled = false;
+
+  @Option(
+      names = {BONSAI_TRIE_LOG_RETENTION_THRESHOLD},
+      hidden = true,
+      paramLabel = "<LONG>",
+      description =
+          "Number of blocks below the finalized block whose trie logs are retained, must be at"
+              + " least the historical block limit (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiTrieLogRetentionThreshold = DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD;
+
+  @Option(
+      names = {BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE},
+      hidden = true,
+      paramLabel = "<INTEGER>",
+      description =
+          "Maximum number of trie logs deleted in one storage transaction"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Integer bonsaiTrieLogPruningBatchSize = DEFAULT_BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE;
+
+  @Option(
+      names = {BLOCKCHAIN_CACHE_SIZE},
+      hidden = true,
+      paramLabel = "<MiB>",
+      description =
+          "Heap used to cache the recently queried block headers, bodies and receipts, in MiB,"
+              + " 0 disables the cache (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long blockchainCacheSize = DEFAULT_BLOCKCHAIN_CACHE_SIZE_MIB;
+
+  @Option(
+      names = {CHAIN_FREEZER_ENABLED},
+      hidden = true,
+      description =
+          "Move the bodies and receipts of the old finalized blocks to append-only files in the"
+              + " freezer directory of the data path (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean chainFreezerEnabled = false;
+
+  @Option(
+      names = {CHAIN_FREEZER_BLOCKS_RETAINED},
+      hidden = true,
+      paramLabel = "<LONG>",
+      description =
+          "Number of blocks below the finalized block whose bodies and receipts stay in the"
+              + " database (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long chainFreezerBlocksRetained = DEFAULT_CHAIN_FREEZER_BLOCKS_RETAINED;
+
+  @Option(
+      names = {LOG_INDEX_ENABLED},
+      hidden = true,
+      description =
+          "Index the blocks by log address and topic, so that the logs queries only read the"
+              + " matching blocks (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean logIndexEnabled = false;
+
   /**
    * Create data storage options.
    *
@@ -66,6 +190,16 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     return ImmutableDataStorageConfiguration.builder()
         .dataStorageFormat(dataStorageFormat)
         .bonsaiMaxLayersToLoad(bonsaiMaxLayersToLoad)
+        .bonsaiParallelTxProcessingEnabled(bonsaiParallelTxProcessingEnabled)
+        .bonsaiStatePrefetchEnabled(bonsaiStatePrefetchEnabled)
+        .bonsaiTrieNodeCacheSizeMib(bonsaiTrieNodeCacheSize)
+        .bonsaiTrieLogPruningEnabled(bonsaiTrieLogPruningEnabled)
+        .bonsaiTrieLogRetentionThreshold(bonsaiTrieLogRetentionThreshold)
+        .bonsaiTrieLogPruningBatchSize(bonsaiTrieLogPruningBatchSize)
+        .blockchainCacheSizeMib(blockchainCacheSize)
+        .chainFreezerEnabled(chainFreezerEnabled)
+        .chainFreezerBlocksRetained(chainFreezerBlocksRetained)
+        .logIndexEnabled(logIndexEnabled)
         .build();
   }
 
@@ -75,7 +209,27 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         DATA_STORAGE_FORMAT,
         dataStorageFormat.toString(),
         BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD,
-        bonsaiMaxLayersToLoad.toString());
+        bonsaiMaxLayersToLoad.toString(),
+        BONSAI_PARALLEL_TX_PROCESSING_ENABLED,
+        bonsaiParallelTxProcessingEnabled.toString(),
+        BONSAI_STATE_PREFETCH_ENABLED,
+        bonsaiStatePrefetchEnabled.toString(),
+        BONSAI_TRIE_NODE_CACHE_SIZE,
+        bonsaiTrieNodeCacheSize.toString(),
+        BONSAI_TRIE_LOG_PRUNING_ENABLED,
+        bonsaiTrieLogPruningEnabled.toString(),
+        BONSAI_TRIE_LOG_RETENTION_THRESHOLD,
+        bonsaiTrieLogRetentionThreshold.toString(),
+        BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE,
+        bonsaiTrieLogPruningBatchSize.toString(),
+        BLOCKCHAIN_CACHE_SIZE,
+        blockchainCacheSize.toString(),
+        CHAIN_FREEZER_ENABLED,
+        chainFreezerEnabled.toString(),
+        CHAIN_FREEZER_BLOCKS_RETAINED,
+        chainFreezerBlocksRetained.toString(),
+        LOG_INDEX_ENABLED,
+        logIndexEnabled.toString());
   }
 
   /**
@@ -29,6 +29,18 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant JUMPDEST_CACHE_WEIGHT. */
   public static final String JUMPDEST_CACHE_WEIGHT = "--Xevm-jumpdest-cache-weight-kb";
 
+  /** The constant PRE_DECODING_ENABLED. */
+  public static final String PRE_DECODING_ENABLED = "--Xevm-pre-decoding-enabled";
+
+  /** The constant PRIMITIVE_STACK_ENABLED. */
+  public static final String PRIMITIVE_STACK_ENABLED = "--Xevm-primitive-stack-enabled";
+
+  /** The constant MEMORY_POOL_ENABLED. */
+  public static final String MEMORY_POOL_ENABLED = "--Xevm-memory-pool-enabled";
+
+  /** The constant PRECOMPILE_CACHE_SIZE. */
+  public static final String PRECOMPILE_CACHE_SIZE = "--Xevm-precompile-cache-size";
+
   /**
    * Create evm options.
    *
@@ -51,13 +63,70 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   private Long jumpDestCacheWeightKilobytes =
       32_000L; // 10k contracts, (25k max contract size / 8 bit) + 32byte hash
 
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {PRE_DECODING_ENABLED},
+      description =
+          "decode contract code ahead of execution and execute it with superinstructions "
+              + "when the transaction is not traced (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true",
+      defaultValue = "false",
+      hidden = true,
+      arity = "0..1")
+  private Boolean preDecodingEnabled = false;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {PRIMITIVE_STACK_ENABLED},
+      description =
+          "store the operand stack of the EVM as primitive 256-bit words, "
+              + "avoiding allocations in arithmetic operations (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true",
+      defaultValue = "false",
+      hidden = true,
+      arity = "0..1")
+  private Boolean primitiveStackEnabled = false;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {MEMORY_POOL_ENABLED},
+      description =
+          "reuse the memory buffers of completed message frames from a per-thread pool "
+              + "instead of allocating new ones (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true",
+      defaultValue = "false",
+      hidden = true,
+      arity = "0..1")
+  private Boolean memoryPoolEnabled = false;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {PRECOMPILE_CACHE_SIZE},
+      description =
+          "number of results of deterministic precompiles to memoize, so that they are not "
+              + "computed again when a block is validated after being built or replayed, "
+              + "0 disables the cache (default: ${DEFAULT-VALUE})",
+      defaultValue = "0",
+      hidden = true,
+      arity = "1")
+  private Long precompileCacheSize = 0L;
+
   @Override
   public EvmConfiguration toDomainObject() {
-    return new EvmConfiguration(jumpDestCacheWeightKilobytes);
+    return new EvmConfiguration(jumpDestCacheWeightKilobytes)
+        .withPreDecodingEnabled(preDecodingEnabled)
+        .withPrimitiveStackEnabled(primitiveStackEnabled)
+        .withMemoryPoolEnabled(memoryPoolEnabled)
+        .withPrecompileCacheSize(precompileCacheSize);
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return Arrays.asList(JUMPDEST_CACHE_WEIGHT);
+    return Arrays.asList(
+        JUMPDEST_CACHE_WEIGHT,
+        PRE_DECODING_ENABLED + "=" + preDecodingEnabled,
+        PRIMITIVE_STACK_ENABLED + "=" + primitiveStackEnabled,
+        MEMORY_POOL_ENABLED + "=" + memoryPoolEnabled,
+        PRECOMPILE_CACHE_SIZE + "=" + precompileCacheSize);
   }
 }
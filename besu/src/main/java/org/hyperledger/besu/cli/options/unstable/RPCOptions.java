@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cli.options.unstable;
 
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
 
 import picocli.CommandLine;
 
@@ -35,6 +36,38 @@ public class RPCOptions {
       arity = "1")
   private final Long wsTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-max-batch-parallelism"},
+      description =
+          "Maximum number of requests of HTTP RPC batches executed concurrently, 1 executes them one at a time (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer httpMaxBatchParallelism =
+      JsonRpcConfiguration.DEFAULT_MAX_BATCH_PARALLELISM;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xjson-pretty-print-enabled"},
+      description = "Pretty print the HTTP RPC responses (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean prettyJsonEnabled = false;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-response-cache-max-bytes"},
+      description =
+          "Maximum size in bytes of the cached HTTP RPC results of finalized blocks, 0 disables the cache (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long httpResponseCacheMaxBytes = 0L;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xrpc-native-flat-tracer-enabled"},
+      description =
+          "Trace the transactions of trace_block and trace_filter with a call tracer instead of recording every operation (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean nativeFlatTracerEnabled = false;
+
   /**
    * Create rpc options.
    *
@@ -61,4 +94,40 @@ public class RPCOptions {
   public Long getWsTimeoutSec() {
     return wsTimeoutSec;
   }
+
+  /**
+   * Gets the maximum number of HTTP batch requests executed concurrently.
+   *
+   * @return the maximum number of HTTP batch requests executed concurrently
+   */
+  public Integer getHttpMaxBatchParallelism() {
+    return httpMaxBatchParallelism;
+  }
+
+  /**
+   * Whether the HTTP RPC responses are pretty printed.
+   *
+   * @return true if the HTTP RPC responses are pretty printed
+   */
+  public Boolean isPrettyJsonEnabled() {
+    return prettyJsonEnabled;
+  }
+
+  /**
+   * Gets the maximum size of the HTTP RPC response cache.
+   *
+   * @return the maximum size of the cached results in bytes, 0 if the cache is disabled
+   */
+  public Long getHttpResponseCacheMaxBytes() {
+    return httpResponseCacheMaxBytes;
+  }
+
+  /**
+   * Whether trace_block and trace_filter use the native call tracer.
+   *
+   * @return true if trace_block and trace_filter use the native call tracer
+   */
+  public Boolean isNativeFlatTracerEnabled() {
+    return nativeFlatTracerEnabled;
+  }
 }
@@ -36,6 +36,7 @@ import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
+import org.hyperledger.besu.ethereum.storage.logindex.LogIndex;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -44,6 +45,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.tuweni.units.bigints.UInt256;
 import org.slf4j.Logger;
@@ -75,6 +77,7 @@ public class BesuController implements java.io.Closeable {
   private final PluginServiceFactory additionalPluginServices;
   private final SyncState syncState;
   private final EthPeers ethPeers;
+  private final Optional<LogIndex> logIndex;
 
   /**
    * Instantiates a new Besu controller.
@@ -94,6 +97,8 @@ public class BesuController implements java.io.Closeable {
    * @param nodeKey the node key
    * @param closeables the closeables
    * @param additionalPluginServices the additional plugin services
+   * @param ethPeers the eth peers
+   * @param logIndex the log index, if enabled
    */
   BesuController(
       final ProtocolSchedule protocolSchedule,
@@ -111,7 +116,8 @@ public class BesuController implements java.io.Closeable {
       final NodeKey nodeKey,
       final List<Closeable> closeables,
       final PluginServiceFactory additionalPluginServices,
-      final EthPeers ethPeers) {
+      final EthPeers ethPeers,
+      final Optional<LogIndex> logIndex) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.ethProtocolManager = ethProtocolManager;
@@ -128,6 +134,7 @@ public class BesuController implements java.io.Closeable {
     this.miningParameters = miningParameters;
     this.additionalPluginServices = additionalPluginServices;
     this.ethPeers = ethPeers;
+    this.logIndex = logIndex;
   }
 
   /**
@@ -220,6 +227,15 @@ public class BesuController implements java.io.Closeable {
     return ethPeers;
   }
 
+  /**
+   * Gets the log index.
+   *
+   * @return the log index, empty if it is not enabled
+   */
+  public Optional<LogIndex> getLogIndex() {
+    return logIndex;
+  }
+
   @Override
   public void close() {
     closeables.forEach(this::tryClose);
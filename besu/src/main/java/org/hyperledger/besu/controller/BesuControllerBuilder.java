@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.controller;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.hyperledger.besu.components.BesuComponent;
@@ -32,8 +33,10 @@ import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.methods.JsonRpcMethods;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.bonsai.cache.BonsaiStatePrefetcher;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogPruner;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
 import org.hyperledger.besu.ethereum.chain.ChainDataPruner;
@@ -75,12 +78,21 @@ import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
+import org.hyperledger.besu.ethereum.mainnet.ParallelSenderRecovery;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionExecutionService;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.freezer.BlockFreezer;
+import org.hyperledger.besu.ethereum.storage.freezer.ChainFreezer;
+import org.hyperledger.besu.ethereum.storage.freezer.FreezerBlockchainStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.storage.logindex.LogIndex;
+import org.hyperledger.besu.ethereum.storage.logindex.LogIndexStorage;
+import org.hyperledger.besu.ethereum.storage.logindex.LogIndexer;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
@@ -550,8 +562,14 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final WorldStateStorage worldStateStorage =
         storageProvider.createWorldStateStorage(dataStorageConfiguration.getDataStorageFormat());
 
+    final Optional<BlockFreezer> blockFreezer = createBlockFreezer();
     final BlockchainStorage blockchainStorage =
-        storageProvider.createBlockchainStorage(protocolSchedule);
+        blockFreezer.isPresent()
+            ? new FreezerBlockchainStorage(
+                storageProvider.createBlockchainStorage(protocolSchedule),
+                blockFreezer.get(),
+                ScheduleBasedBlockHeaderFunctions.create(protocolSchedule))
+            : storageProvider.createBlockchainStorage(protocolSchedule);
 
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -559,11 +577,13 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             blockchainStorage,
             metricsSystem,
             reorgLoggingThreshold,
-            dataDirectory.toString());
+            dataDirectory.toString(),
+            dataStorageConfiguration.getBlockchainCacheSizeMib());
 
     final CachedMerkleTrieLoader cachedMerkleTrieLoader =
         besuComponent == null
-            ? new CachedMerkleTrieLoader(metricsSystem)
+            ? new CachedMerkleTrieLoader(
+                metricsSystem, dataStorageConfiguration.getBonsaiTrieNodeCacheSizeMib())
             : besuComponent.getCachedMerkleTrieLoader();
 
     final WorldStateArchive worldStateArchive =
@@ -577,6 +597,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         createProtocolContext(
             blockchain, worldStateArchive, protocolSchedule, this::createConsensusContext);
     validateContext(protocolContext);
+    final ParallelSenderRecovery senderRecovery = createSenderRecovery();
+    protocolContext.setSenderRecovery(Optional.of(senderRecovery));
 
     if (chainPrunerConfiguration.getChainPruningEnabled()) {
       protocolContext
@@ -594,6 +616,25 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
               + chainPrunerConfiguration.getChainPruningBlocksFrequency());
     }
 
+    final Optional<ChainFreezer> chainFreezer =
+        blockFreezer.map(freezer -> createChainFreezer(blockchainStorage, freezer));
+    chainFreezer.ifPresent(
+        freezer -> {
+          blockchain.observeBlockAdded(freezer);
+          LOG.info(
+              "Chain freezer enabled with blocks retained below the finalized block to be: {}",
+              dataStorageConfiguration.getChainFreezerBlocksRetained());
+        });
+
+    final Optional<LogIndexStorage> logIndexStorage = createLogIndexStorage();
+    final Optional<LogIndexer> logIndexer =
+        logIndexStorage.map(storage -> createLogIndexer(blockchain, storage));
+    logIndexer.ifPresent(
+        indexer -> {
+          blockchain.observeBlockAdded(indexer);
+          LOG.info("Log index enabled");
+        });
+
     protocolSchedule.setPublicWorldStateArchiveForPrivacyBlockProcessor(
         protocolContext.getWorldStateArchive());
 
@@ -734,7 +775,15 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
 
     final List<Closeable> closeables = new ArrayList<>();
     closeables.add(protocolContext.getWorldStateArchive());
+    if (worldStateArchive instanceof BonsaiWorldStateProvider bonsaiWorldStateProvider) {
+      bonsaiWorldStateProvider.getParallelTransactionExecutionService().ifPresent(closeables::add);
+    }
+    closeables.add(senderRecovery);
+    logIndexer.ifPresent(closeables::add);
+    // the chain freezer writes to the storage and the block freezer, so it is closed before them
+    chainFreezer.ifPresent(closeables::add);
     closeables.add(storageProvider);
+    blockFreezer.ifPresent(closeables::add);
     if (privacyParameters.getPrivateStorageProvider() != null) {
       closeables.add(privacyParameters.getPrivateStorageProvider());
     }
@@ -755,7 +804,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         nodeKey,
         closeables,
         additionalPluginServices,
-        ethPeers);
+        ethPeers,
+        logIndexStorage.map(storage -> new LogIndex(blockchain, storage)));
   }
 
   /**
@@ -1008,7 +1058,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       final EthMessages snapMessages,
       final WorldStateArchive worldStateArchive) {
     return Optional.of(
-        new SnapProtocolManager(peerValidators, ethPeers, snapMessages, worldStateArchive));
+        new SnapProtocolManager(
+            peerValidators, ethPeers, snapMessages, worldStateArchive, metricsSystem));
   }
 
   WorldStateArchive createWorldStateArchive(
@@ -1022,7 +1073,10 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             blockchain,
             Optional.of(dataStorageConfiguration.getBonsaiMaxLayersToLoad()),
             cachedMerkleTrieLoader,
-            metricsSystem);
+            metricsSystem,
+            createParallelTransactionExecutionService(),
+            createTrieLogPruner(worldStateStorage, blockchain),
+            createStatePrefetcher(cachedMerkleTrieLoader));
 
       case FOREST:
       default:
@@ -1032,6 +1086,108 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     }
   }
 
+  private Optional<TrieLogPruner> createTrieLogPruner(
+      final WorldStateStorage worldStateStorage, final Blockchain blockchain) {
+    if (!dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()) {
+      return Optional.empty();
+    }
+    checkArgument(
+        dataStorageConfiguration.getBonsaiTrieLogRetentionThreshold()
+            >= dataStorageConfiguration.getBonsaiMaxLayersToLoad(),
+        "Trie log retention threshold must be at least the historical block limit");
+    return Optional.of(
+        new TrieLogPruner(
+            (BonsaiWorldStateKeyValueStorage) worldStateStorage,
+            blockchain,
+            MonitoredExecutors.newSingleThreadExecutor(
+                TrieLogPruner.class.getSimpleName(), metricsSystem),
+            dataStorageConfiguration.getBonsaiTrieLogRetentionThreshold(),
+            dataStorageConfiguration.getBonsaiTrieLogPruningBatchSize(),
+            metricsSystem));
+  }
+
+  private Optional<BonsaiStatePrefetcher> createStatePrefetcher(
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader) {
+    if (!dataStorageConfiguration.getBonsaiStatePrefetchEnabled()) {
+      return Optional.empty();
+    }
+    // the prefetch threads mostly wait on storage reads
+    final int workerCount = 2 * Runtime.getRuntime().availableProcessors();
+    return Optional.of(
+        new BonsaiStatePrefetcher(
+            cachedMerkleTrieLoader,
+            MonitoredExecutors.newFixedThreadPool(
+                BonsaiStatePrefetcher.class.getSimpleName(),
+                workerCount,
+                workerCount,
+                metricsSystem),
+            metricsSystem));
+  }
+
+  private ParallelSenderRecovery createSenderRecovery() {
+    final int workerCount = Runtime.getRuntime().availableProcessors();
+    return new ParallelSenderRecovery(
+        MonitoredExecutors.newFixedThreadPool(
+            ParallelSenderRecovery.class.getSimpleName(), workerCount, workerCount, metricsSystem),
+        workerCount);
+  }
+
+  private Optional<ParallelTransactionExecutionService>
+      createParallelTransactionExecutionService() {
+    if (!dataStorageConfiguration.getBonsaiParallelTxProcessingEnabled()) {
+      return Optional.empty();
+    }
+    final int workerCount = Runtime.getRuntime().availableProcessors();
+    return Optional.of(
+        new ParallelTransactionExecutionService(
+            MonitoredExecutors.newFixedThreadPool(
+                ParallelTransactionExecutionService.class.getSimpleName(),
+                workerCount,
+                workerCount,
+                metricsSystem),
+            metricsSystem));
+  }
+
+  private Optional<BlockFreezer> createBlockFreezer() {
+    if (!dataStorageConfiguration.getChainFreezerEnabled()) {
+      return Optional.empty();
+    }
+    if (chainPrunerConfiguration.getChainPruningEnabled()) {
+      LOG.warn("Cannot enable the chain freezer with chain data pruning. Disabling the freezer.");
+      return Optional.empty();
+    }
+    return Optional.of(BlockFreezer.open(dataDirectory.resolve(BlockFreezer.DIRECTORY_NAME)));
+  }
+
+  private ChainFreezer createChainFreezer(
+      final BlockchainStorage blockchainStorage, final BlockFreezer blockFreezer) {
+    return new ChainFreezer(
+        blockchainStorage,
+        blockFreezer,
+        dataStorageConfiguration.getChainFreezerBlocksRetained(),
+        MonitoredExecutors.newBoundedThreadPool(
+            ChainFreezer.class.getSimpleName(), 1, 1, 1, metricsSystem),
+        metricsSystem);
+  }
+
+  private Optional<LogIndexStorage> createLogIndexStorage() {
+    if (!dataStorageConfiguration.getLogIndexEnabled()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new LogIndexStorage(
+            storageProvider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.LOG_INDEX)));
+  }
+
+  private LogIndexer createLogIndexer(
+      final MutableBlockchain blockchain, final LogIndexStorage logIndexStorage) {
+    return new LogIndexer(
+        blockchain,
+        logIndexStorage,
+        MonitoredExecutors.newSingleThreadExecutor(LogIndexer.class.getSimpleName(), metricsSystem),
+        metricsSystem);
+  }
+
   private ChainDataPruner createChainPruner(final BlockchainStorage blockchainStorage) {
     return new ChainDataPruner(
         blockchainStorage,
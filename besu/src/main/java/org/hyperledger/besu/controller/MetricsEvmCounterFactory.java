@@ -0,0 +1,52 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.hyperledger.besu.controller;
+
+import org.hyperledger.besu.evm.internal.EvmCounterFactory;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.Map;
+
+/** Creates the counters of the EVM as block processing counters of a metrics system. */
+public class MetricsEvmCounterFactory implements EvmCounterFactory {
+
+  private final MetricsSystem metricsSystem;
+
+  /**
+   * Instantiates a new counter factory.
+   *
+   * @param metricsSystem the metrics system the counters are registered with
+   */
+  public MetricsEvmCounterFactory(final MetricsSystem metricsSystem) {
+    this.metricsSystem = metricsSystem;
+  }
+
+  @Override
+  public EvmCounterFactory.Counter create(
+      final String name, final String help, final Map<String, String> labels) {
+    final Counter counter =
+        metricsSystem
+            .createLabelledCounter(
+                BesuMetricCategory.BLOCK_PROCESSING,
+                name,
+                help,
+                labels.keySet().toArray(String[]::new))
+            .labels(labels.values().toArray(String[]::new));
+    return counter::inc;
+  }
+}
@@ -78,6 +78,10 @@ class MergeBlockCreator extends AbstractBlockCreator {
   /**
    * Create block and return block creation result.
    *
+   * <p>When no transactions are given, the block is built from the pending transactions and
+   * repeated calls with the same random and timestamp extend the transactions selected by the
+   * previous call, only evaluating the transactions that became pending in the meantime.
+   *
    * @param maybeTransactions the maybe transactions
    * @param random the random
    * @param timestamp the timestamp
@@ -90,6 +94,9 @@ class MergeBlockCreator extends AbstractBlockCreator {
       final long timestamp,
       final Optional<List<Withdrawal>> withdrawals) {
 
+    if (maybeTransactions.isEmpty()) {
+      return createBlockIncrementally(withdrawals, Optional.of(random), timestamp, false);
+    }
     return createBlock(
         maybeTransactions,
         Optional.of(Collections.emptyList()),
@@ -335,6 +335,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final MergeBlockCreator mergeBlockCreator,
       final Optional<List<Withdrawal>> withdrawals) {
 
+    // every repetition extends the transactions selected by the previous one, so only the
+    // transactions that became pending in the meantime are executed
     final Supplier<BlockCreationResult> blockCreator =
         () -> mergeBlockCreator.createBlock(Optional.empty(), random, timestamp, withdrawals);
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares hashing with a digest cloned for every input, as {@link Hash#keccak256(Bytes)} used to,
+ * with the per-thread digest of {@link Hash#keccak256(Bytes)} and {@link Hash#keccak256Batch}.
+ * Each invocation hashes the sixteen inputs of a branch node, scores are per hash. Run with {@code
+ * -prof gc} to compare the bytes allocated per hash.
+ */
+@State(Scope.Thread)
+public class Keccak256Benchmark {
+
+  private static final int INPUTS = 16;
+
+  @Param({"32", "110", "532"})
+  public int inputSize;
+
+  private MessageDigest prototype;
+  private List<Bytes> inputs;
+
+  @Setup
+  public void prepare() throws NoSuchAlgorithmException {
+    prototype = MessageDigestFactory.create(Hash.KECCAK256_ALG);
+    final Random random = new Random(42);
+    inputs = new ArrayList<>(INPUTS);
+    for (int i = 0; i < INPUTS; i++) {
+      final byte[] input = new byte[inputSize];
+      random.nextBytes(input);
+      inputs.add(Bytes.wrap(input));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INPUTS)
+  public void clonedDigest(final Blackhole blackhole) throws CloneNotSupportedException {
+    for (final Bytes input : inputs) {
+      final MessageDigest digest = (MessageDigest) prototype.clone();
+      input.update(digest);
+      blackhole.consume(Bytes32.wrap(digest.digest()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INPUTS)
+  public void keccak256(final Blackhole blackhole) {
+    for (final Bytes input : inputs) {
+      blackhole.consume(Hash.keccak256(input));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INPUTS)
+  public List<Bytes32> keccak256Batch() {
+    return Hash.keccak256Batch(inputs);
+  }
+}
@@ -16,6 +16,8 @@ package org.hyperledger.besu.crypto;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import com.google.common.base.Suppliers;
@@ -33,8 +35,10 @@ public abstract class Hash {
   private static final String RIPEMD160_ALG = "RIPEMD160";
   private static final String BLAKE2BF_ALG = "BLAKE2BF";
 
-  private static final Supplier<MessageDigest> KECCAK256_SUPPLIER =
-      Suppliers.memoize(() -> messageDigest(KECCAK256_ALG));
+  // keccak-256 is hashed for every trie node and transaction, so each thread reuses its own digest
+  // instead of cloning a prototype on every call
+  private static final ThreadLocal<MessageDigest> KECCAK256_DIGEST =
+      ThreadLocal.withInitial(() -> messageDigest(KECCAK256_ALG));
   private static final Supplier<MessageDigest> SHA256_SUPPLIER =
       Suppliers.memoize(() -> messageDigest(SHA256_ALG));
   private static final Supplier<MessageDigest> RIPEMD160_SUPPLIER =
@@ -85,7 +89,33 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final Bytes input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_SUPPLIER));
+    return keccak256(input, KECCAK256_DIGEST.get());
+  }
+
+  /**
+   * Digest each of the inputs using keccak-256, reusing the same digest for all of them.
+   *
+   * @param inputs The inputs to produce the digests for.
+   * @return The digests, in the order of the inputs.
+   */
+  public static List<Bytes32> keccak256Batch(final List<? extends Bytes> inputs) {
+    final MessageDigest digest = KECCAK256_DIGEST.get();
+    final List<Bytes32> digests = new ArrayList<>(inputs.size());
+    for (final Bytes input : inputs) {
+      digests.add(keccak256(input, digest));
+    }
+    return digests;
+  }
+
+  private static Bytes32 keccak256(final Bytes input, final MessageDigest digest) {
+    try {
+      input.update(digest);
+      return Bytes32.wrap(digest.digest());
+    } catch (final RuntimeException e) {
+      // do not leave a partial input in the digest of the thread
+      digest.reset();
+      throw e;
+    }
   }
 
   /**
@@ -23,6 +23,8 @@ import org.hyperledger.besu.nativelib.secp256k1.LibSecp256k1.secp256k1_pubkey;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import com.sun.jna.ptr.IntByReference;
@@ -132,6 +134,39 @@ public class SECP256K1 extends AbstractSECP256 {
     }
   }
 
+  /**
+   * Recover the public keys of a batch of signatures. The native implementation reuses the native
+   * signature and key structures across the batch instead of allocating them for every signature.
+   *
+   * @param dataHashes the data hashes
+   * @param signatures the signatures, in the same order as the data hashes
+   * @return the optional public keys, in the same order as the signatures
+   */
+  @Override
+  public List<Optional<SECPPublicKey>> recoverPublicKeysFromSignatures(
+      final List<Bytes32> dataHashes, final List<SECPSignature> signatures) {
+    if (!useNative) {
+      return super.recoverPublicKeysFromSignatures(dataHashes, signatures);
+    }
+    final LibSecp256k1.secp256k1_ecdsa_recoverable_signature parsedSignature =
+        new LibSecp256k1.secp256k1_ecdsa_recoverable_signature();
+    final LibSecp256k1.secp256k1_pubkey newPubKey = new LibSecp256k1.secp256k1_pubkey();
+    final LongByReference keySize = new LongByReference();
+    final List<Optional<SECPPublicKey>> publicKeys = new ArrayList<>(signatures.size());
+    for (int i = 0; i < signatures.size(); i++) {
+      Optional<SECPPublicKey> publicKey;
+      try {
+        publicKey =
+            recoverFromSignatureNative(
+                dataHashes.get(i), signatures.get(i), parsedSignature, newPubKey, keySize);
+      } catch (final IllegalArgumentException e) {
+        publicKey = Optional.empty();
+      }
+      publicKeys.add(publicKey);
+    }
+    return publicKeys;
+  }
+
   @Override
   public String getCurveName() {
     return CURVE_NAME;
@@ -207,10 +242,22 @@ public class SECP256K1 extends AbstractSECP256 {
 
   private Optional<SECPPublicKey> recoverFromSignatureNative(
       final Bytes32 dataHash, final SECPSignature signature) {
+    return recoverFromSignatureNative(
+        dataHash,
+        signature,
+        new LibSecp256k1.secp256k1_ecdsa_recoverable_signature(),
+        new LibSecp256k1.secp256k1_pubkey(),
+        new LongByReference());
+  }
+
+  private Optional<SECPPublicKey> recoverFromSignatureNative(
+      final Bytes32 dataHash,
+      final SECPSignature signature,
+      final LibSecp256k1.secp256k1_ecdsa_recoverable_signature parsedSignature,
+      final LibSecp256k1.secp256k1_pubkey newPubKey,
+      final LongByReference keySize) {
 
     // parse the sig
-    final LibSecp256k1.secp256k1_ecdsa_recoverable_signature parsedSignature =
-        new LibSecp256k1.secp256k1_ecdsa_recoverable_signature();
     final Bytes encodedSig = signature.encodedBytes();
     if (LibSecp256k1.secp256k1_ecdsa_recoverable_signature_parse_compact(
             LibSecp256k1.CONTEXT,
@@ -222,7 +269,6 @@ public class SECP256K1 extends AbstractSECP256 {
     }
 
     // recover the key
-    final LibSecp256k1.secp256k1_pubkey newPubKey = new LibSecp256k1.secp256k1_pubkey();
     if (LibSecp256k1.secp256k1_ecdsa_recover(
             LibSecp256k1.CONTEXT, newPubKey, parsedSignature, dataHash.toArrayUnsafe())
         == 0) {
@@ -231,7 +277,7 @@ public class SECP256K1 extends AbstractSECP256 {
 
     // parse the key
     final ByteBuffer recoveredKey = ByteBuffer.allocate(65);
-    final LongByReference keySize = new LongByReference(recoveredKey.limit());
+    keySize.setValue(recoveredKey.limit());
     LibSecp256k1.secp256k1_ec_pubkey_serialize(
         LibSecp256k1.CONTEXT, recoveredKey, keySize, newPubKey, SECP256K1_EC_UNCOMPRESSED);
 
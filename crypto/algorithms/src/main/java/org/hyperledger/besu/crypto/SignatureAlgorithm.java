@@ -15,6 +15,8 @@
 package org.hyperledger.besu.crypto;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
 
@@ -167,6 +169,29 @@ public interface SignatureAlgorithm {
   Optional<SECPPublicKey> recoverPublicKeyFromSignature(
       final Bytes32 dataHash, final SECPSignature signature);
 
+  /**
+   * Recover the public keys of a batch of signatures. A signature the key cannot be recovered from
+   * results in an empty element instead of failing the whole batch.
+   *
+   * @param dataHashes the data hashes
+   * @param signatures the signatures, in the same order as the data hashes
+   * @return the optional public keys, in the same order as the signatures
+   */
+  default List<Optional<SECPPublicKey>> recoverPublicKeysFromSignatures(
+      final List<Bytes32> dataHashes, final List<SECPSignature> signatures) {
+    final List<Optional<SECPPublicKey>> publicKeys = new ArrayList<>(signatures.size());
+    for (int i = 0; i < signatures.size(); i++) {
+      Optional<SECPPublicKey> publicKey;
+      try {
+        publicKey = recoverPublicKeyFromSignature(dataHashes.get(i), signatures.get(i));
+      } catch (final IllegalArgumentException e) {
+        publicKey = Optional.empty();
+      }
+      publicKeys.add(publicKey);
+    }
+    return publicKeys;
+  }
+
   /**
    * Public key as EcPoint.
    *
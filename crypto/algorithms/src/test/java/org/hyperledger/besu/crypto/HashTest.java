@@ -17,7 +17,10 @@ package org.hyperledger.besu.crypto;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.Test;
 
@@ -52,6 +55,17 @@ public class HashTest {
     assertThat(resultCow).isEqualTo(Bytes.fromHexString(cowKeccak256));
   }
 
+  /** Validate keccak256 batch hashing. */
+  @Test
+  public void keccak256BatchHash() {
+    final List<Bytes32> results =
+        Hash.keccak256Batch(
+            List.of(Bytes.wrap("horse".getBytes(UTF_8)), Bytes.wrap("cow".getBytes(UTF_8))));
+    assertThat(results)
+        .containsExactly(
+            Bytes32.fromHexString(horseKeccak256), Bytes32.fromHexString(cowKeccak256));
+  }
+
   /** Validate sha256 hash. */
   @Test
   public void sha256Hash() {
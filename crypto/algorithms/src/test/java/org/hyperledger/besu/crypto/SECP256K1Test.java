@@ -25,6 +25,8 @@ import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -83,6 +85,28 @@ public class SECP256K1Test {
     assertThat(recoveredPublicKey.toString()).isEqualTo(keyPair.getPublicKey().toString());
   }
 
+  @Test
+  public void recoverPublicKeysFromSignatures() {
+    final KeyPair keyPair1 = secp256K1.generateKeyPair();
+    final KeyPair keyPair2 = secp256K1.generateKeyPair();
+    final Bytes32 dataHash1 = keccak256(Bytes.wrap("first message".getBytes(UTF_8)));
+    final Bytes32 dataHash2 = keccak256(Bytes.wrap("second message".getBytes(UTF_8)));
+
+    final List<Optional<SECPPublicKey>> recoveredPublicKeys =
+        secp256K1.recoverPublicKeysFromSignatures(
+            List.of(dataHash1, dataHash2, dataHash1),
+            List.of(
+                secp256K1.sign(dataHash1, keyPair1),
+                secp256K1.sign(dataHash2, keyPair2),
+                secp256K1.sign(dataHash1, keyPair2)));
+
+    assertThat(recoveredPublicKeys)
+        .containsExactly(
+            Optional.of(keyPair1.getPublicKey()),
+            Optional.of(keyPair2.getPublicKey()),
+            Optional.of(keyPair2.getPublicKey()));
+  }
+
   @Test
   public void signatureGeneration() {
     final SECPPrivateKey privateKey =
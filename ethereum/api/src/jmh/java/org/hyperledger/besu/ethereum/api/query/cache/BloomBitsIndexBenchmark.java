@@ -0,0 +1,125 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares finding the candidate blocks of a logs query by reading the bloom of every block from
+ * the log bloom cache, as {@code BlockchainQueries} does without an index, with combining the
+ * columns of the bit-sliced {@link BloomBitsIndex}. Ten segments cover a range of 1M blocks.
+ */
+@State(Scope.Benchmark)
+public class BloomBitsIndexBenchmark {
+
+  private static final int ADDRESS_COUNT = 1_000;
+  private static final int LOGS_PER_BLOCK = 5;
+
+  @Param({"1", "10"})
+  public int segments;
+
+  private Path cacheDir;
+  private LogsQuery query;
+
+  @Setup
+  public void prepare() throws IOException {
+    cacheDir = Files.createTempDirectory("bloomBitsIndexBenchmark");
+    final Random random = new Random(42);
+    final LogsBloomFilter[] addressBlooms = new LogsBloomFilter[ADDRESS_COUNT];
+    for (int i = 0; i < ADDRESS_COUNT; i++) {
+      addressBlooms[i] = LogsBloomFilter.builder().insertBytes(address(i)).build();
+    }
+    for (int segment = 0; segment < segments; segment++) {
+      final Path cacheFile = cacheDir.resolve("logBloom-" + segment + ".cache");
+      try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(cacheFile))) {
+        for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+          final LogsBloomFilter.Builder bloom = LogsBloomFilter.builder();
+          for (int log = 0; log < LOGS_PER_BLOCK; log++) {
+            bloom.insertFilter(addressBlooms[random.nextInt(ADDRESS_COUNT)]);
+          }
+          out.write(bloom.build().toArray());
+        }
+      }
+      BloomBitsIndex.generate(cacheFile, BloomBitsIndex.calculateIndexFileName(cacheDir, segment));
+    }
+    query = new LogsQuery.Builder().address(address(7)).build();
+  }
+
+  @TearDown
+  public void cleanUp() throws IOException {
+    try (final Stream<Path> files = Files.walk(cacheDir)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public int bloomScan() throws IOException {
+    int candidates = 0;
+    final byte[] bloomBuff = new byte[BLOOM_BITS_LENGTH];
+    final LogsBloomFilter bloom = new LogsBloomFilter(Bytes.wrap(bloomBuff));
+    for (int segment = 0; segment < segments; segment++) {
+      final Path cacheFile = cacheDir.resolve("logBloom-" + segment + ".cache");
+      try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
+        for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+          raf.readFully(bloomBuff);
+          if (query.couldMatch(bloom)) {
+            candidates++;
+          }
+        }
+      }
+    }
+    return candidates;
+  }
+
+  @Benchmark
+  public int bitSlicedIndex() throws IOException {
+    int candidates = 0;
+    for (int segment = 0; segment < segments; segment++) {
+      candidates +=
+          BloomBitsIndex.open(BloomBitsIndex.calculateIndexFileName(cacheDir, segment))
+              .orElseThrow()
+              .matchingBlocks(query, 0, BLOCKS_PER_BLOOM_CACHE - 1)
+              .cardinality();
+    }
+    return candidates;
+  }
+
+  private static Address address(final int i) {
+    return Address.fromHexString(String.format("0x%040x", i + 1));
+  }
+}
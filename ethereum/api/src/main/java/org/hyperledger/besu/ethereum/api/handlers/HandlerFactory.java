@@ -53,4 +53,13 @@ public class HandlerFactory {
       final JsonRpcConfiguration jsonRpcConfiguration) {
     return JsonRpcExecutorHandler.handler(jsonRpcExecutor, tracer, jsonRpcConfiguration);
   }
+
+  public static Handler<RoutingContext> jsonRpcExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchExecutor jsonRpcBatchExecutor) {
+    return JsonRpcExecutorHandler.handler(
+        jsonRpcExecutor, tracer, jsonRpcConfiguration, jsonRpcBatchExecutor);
+  }
 }
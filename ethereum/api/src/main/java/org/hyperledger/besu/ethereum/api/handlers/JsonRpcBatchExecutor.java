@@ -0,0 +1,104 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.opentelemetry.context.Context;
+
+/**
+ * Executes the requests of a JSON-RPC batch on a bounded pool of workers, so that the latency of a
+ * batch is the latency of its slowest requests rather than the sum of all of them. The responses
+ * are returned in the order of the requests.
+ *
+ * <p>The requests run in the tracing context of the caller. When the pool cannot take more
+ * requests, the remaining requests of the batch run on the calling thread, which slows down the
+ * caller instead of queueing without bound.
+ */
+public class JsonRpcBatchExecutor {
+
+  private final Executor executor;
+  private final Counter batchCounter;
+  private final Counter batchRequestCounter;
+  private final OperationTimer queueingTimer;
+
+  public JsonRpcBatchExecutor(final Executor executor, final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    this.batchCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC, "batch_count", "Number of JSON-RPC batches executed");
+    this.batchRequestCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "batch_request_count",
+            "Number of requests of the JSON-RPC batches executed");
+    this.queueingTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.RPC,
+            "batch_request_queueing_time",
+            "Time the requests of JSON-RPC batches wait for a worker");
+  }
+
+  /**
+   * Creates an executor running the requests of a batch one after the other on the calling thread.
+   *
+   * @return the sequential batch executor
+   */
+  public static JsonRpcBatchExecutor sequential() {
+    return new JsonRpcBatchExecutor(MoreExecutors.directExecutor(), new NoOpMetricsSystem());
+  }
+
+  /**
+   * Executes the requests of a batch and waits for all of them to complete.
+   *
+   * @param requests the requests of the batch
+   * @param <T> the type of the responses
+   * @return the responses, in the order of the requests
+   */
+  public <T> List<T> executeAll(final List<Supplier<T>> requests) {
+    batchCounter.inc();
+    batchRequestCounter.inc(requests.size());
+    final Executor tracedExecutor = Context.current().wrap(executor);
+    final List<CompletableFuture<T>> responses = new ArrayList<>(requests.size());
+    for (final Supplier<T> request : requests) {
+      final OperationTimer.TimingContext queueingTime = queueingTimer.startTimer();
+      final Supplier<T> timedRequest =
+          () -> {
+            queueingTime.stopTimer();
+            return request.get();
+          };
+      CompletableFuture<T> response;
+      try {
+        response = CompletableFuture.supplyAsync(timedRequest, tracedExecutor);
+      } catch (final RejectedExecutionException e) {
+        response = CompletableFuture.completedFuture(timedRequest.get());
+      }
+      responses.add(response);
+    }
+    return responses.stream().map(CompletableFuture::join).toList();
+  }
+}
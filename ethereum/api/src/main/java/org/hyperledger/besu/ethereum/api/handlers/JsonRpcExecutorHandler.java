@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api.handlers;
 
 import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError.INVALID_REQUEST;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError.TIMEOUT_ERROR;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonResponseStreamer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
@@ -31,6 +32,7 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -57,7 +59,6 @@ public class JsonRpcExecutorHandler {
   private static ObjectMapper jsonObjectMapper =
       new ObjectMapper()
           .registerModule(new Jdk8Module()); // Handle JDK8 Optionals (de)serialization
-  private static ObjectWriter jsonObjectWriter = createObjectWriter(jsonObjectMapper);
 
   private JsonRpcExecutorHandler() {}
 
@@ -67,7 +68,6 @@ public class JsonRpcExecutorHandler {
       final Tracer tracer,
       final JsonRpcConfiguration jsonRpcConfiguration) {
     JsonRpcExecutorHandler.jsonObjectMapper = jsonObjectMapper;
-    JsonRpcExecutorHandler.jsonObjectWriter = createObjectWriter(jsonObjectMapper);
     return handler(jsonRpcExecutor, tracer, jsonRpcConfiguration);
   }
 
@@ -75,6 +75,17 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    return handler(
+        jsonRpcExecutor, tracer, jsonRpcConfiguration, JsonRpcBatchExecutor.sequential());
+  }
+
+  public static Handler<RoutingContext> handler(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchExecutor jsonRpcBatchExecutor) {
+    final ObjectWriter jsonObjectWriter =
+        createObjectWriter(jsonObjectMapper, jsonRpcConfiguration.isPrettyJsonEnabled());
     return ctx -> {
       HttpServerResponse response = ctx.response();
       try {
@@ -82,13 +93,14 @@ public class JsonRpcExecutorHandler {
         if (isJsonObjectRequest(ctx)) {
           final JsonRpcResponse jsonRpcResponse =
               executeJsonObjectRequest(jsonRpcExecutor, tracer, ctx);
-          handleJsonObjectResponse(response, jsonRpcResponse, ctx);
+          handleJsonObjectResponse(response, jsonRpcResponse, ctx, jsonObjectWriter);
         } else if (isJsonArrayRequest(ctx)) {
           final List<JsonRpcResponse> jsonRpcBatchResponses;
           try {
             jsonRpcBatchResponses =
-                executeJsonArrayRequest(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
-            handleJsonArrayResponse(response, jsonRpcBatchResponses, ctx);
+                executeJsonArrayRequest(
+                    jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, jsonRpcBatchExecutor);
+            handleJsonArrayResponse(response, jsonRpcBatchResponses, ctx, jsonObjectWriter);
           } catch (final InvalidParameterException e) {
             handleJsonRpcError(ctx, null, JsonRpcError.EXCEEDS_RPC_MAX_BATCH_SIZE);
           } catch (final RuntimeException e) {
@@ -106,9 +118,23 @@ public class JsonRpcExecutorHandler {
     };
   }
 
-  private static ObjectWriter createObjectWriter(final ObjectMapper jsonObjectMapper) {
-    return jsonObjectMapper
-        .writerWithDefaultPrettyPrinter()
+  /**
+   * Returns the object mapper the responses are written with.
+   *
+   * @return the object mapper of the responses
+   */
+  public static ObjectMapper getJsonObjectMapper() {
+    return jsonObjectMapper;
+  }
+
+  private static ObjectWriter createObjectWriter(
+      final ObjectMapper jsonObjectMapper, final boolean prettyJsonEnabled) {
+    // pretty printing makes large responses noticeably bigger, so it is only used on request
+    final ObjectWriter writer =
+        prettyJsonEnabled
+            ? jsonObjectMapper.writerWithDefaultPrettyPrinter()
+            : jsonObjectMapper.writer();
+    return writer
         .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
         .with(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
@@ -148,11 +174,12 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
-      final JsonRpcConfiguration jsonRpcConfiguration)
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchExecutor jsonRpcBatchExecutor)
       throws InvalidParameterException {
     final JsonArray batchJsonRequest = ctx.get(ContextKey.REQUEST_BODY_AS_JSON_ARRAY.name());
     lazyTraceLogger(batchJsonRequest::toString);
-    final List<JsonRpcResponse> jsonRpcBatchResponses = new ArrayList<>();
+    final List<Supplier<JsonRpcResponse>> jsonRpcBatchRequests = new ArrayList<>();
 
     if (jsonRpcConfiguration.getMaxBatchSize() > 0
         && batchJsonRequest.size() > jsonRpcConfiguration.getMaxBatchSize()) {
@@ -164,18 +191,26 @@ public class JsonRpcExecutorHandler {
       try {
         jsonRequest = batchJsonRequest.getJsonObject(i);
       } catch (final ClassCastException e) {
-        jsonRpcBatchResponses.add(new JsonRpcErrorResponse(null, INVALID_REQUEST));
+        jsonRpcBatchRequests.add(() -> new JsonRpcErrorResponse(null, INVALID_REQUEST));
         continue;
       }
-      jsonRpcBatchResponses.add(executeRequest(jsonRpcExecutor, tracer, jsonRequest, ctx));
+      jsonRpcBatchRequests.add(
+          () -> {
+            // the batch timed out while this request was waiting for a worker
+            if (ctx.response().closed()) {
+              return new JsonRpcErrorResponse(jsonRequest.getValue("id"), TIMEOUT_ERROR);
+            }
+            return executeRequest(jsonRpcExecutor, tracer, jsonRequest, ctx);
+          });
     }
-    return jsonRpcBatchResponses;
+    return jsonRpcBatchExecutor.executeAll(jsonRpcBatchRequests);
   }
 
   private static void handleJsonObjectResponse(
       final HttpServerResponse response,
       final JsonRpcResponse jsonRpcResponse,
-      final RoutingContext ctx)
+      final RoutingContext ctx,
+      final ObjectWriter jsonObjectWriter)
       throws IOException {
     response.setStatusCode(status(jsonRpcResponse).code());
     if (jsonRpcResponse.getType() == JsonRpcResponseType.NONE) {
@@ -193,7 +228,8 @@ public class JsonRpcExecutorHandler {
   private static void handleJsonArrayResponse(
       final HttpServerResponse response,
       final List<JsonRpcResponse> jsonRpcBatchResponses,
-      final RoutingContext ctx)
+      final RoutingContext ctx,
+      final ObjectWriter jsonObjectWriter)
       throws IOException {
     final JsonRpcResponse[] completed =
         jsonRpcBatchResponses.stream()
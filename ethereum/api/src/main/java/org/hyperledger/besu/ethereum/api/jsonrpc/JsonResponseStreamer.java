@@ -16,8 +16,11 @@ package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.net.SocketAddress;
@@ -27,6 +30,7 @@ import org.slf4j.LoggerFactory;
 public class JsonResponseStreamer extends OutputStream {
 
   private static final Logger LOG = LoggerFactory.getLogger(JsonResponseStreamer.class);
+  private static final long DRAIN_CHECK_INTERVAL_MILLIS = 100;
 
   private final HttpServerResponse response;
   private final SocketAddress remoteAddress;
@@ -64,6 +68,7 @@ public class JsonResponseStreamer extends OutputStream {
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
+    waitForDrain();
   }
 
   @Override
@@ -86,6 +91,32 @@ public class JsonResponseStreamer extends OutputStream {
     }
   }
 
+  /**
+   * Blocks the writing thread while the write queue of the response is full, so that a large
+   * response is not buffered in memory faster than the client reads it.
+   */
+  private void waitForDrain() throws IOException {
+    // the event loop drains the queue, it must not wait for itself
+    if (!response.writeQueueFull() || Context.isOnEventLoopThread()) {
+      return;
+    }
+    final CountDownLatch drained = new CountDownLatch(1);
+    response.drainHandler(event -> drained.countDown());
+    try {
+      // the queue may drain before the handler is set, and a closed connection never drains
+      while (response.writeQueueFull()
+          && !drained.await(DRAIN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        stopOnFailureOrClosed();
+        if (response.closed()) {
+          throw new IOException("Response closed by remote address " + remoteAddress);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
   private void handleFailure(final Throwable t) {
     LOG.debug("Write to remote address {} failed", remoteAddress, t);
     failure.set(t);
@@ -37,6 +37,7 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_ENGINE_JSON_RPC_PORT = 8551;
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_MAX_BATCH_PARALLELISM = 8;
 
   private boolean enabled;
   private int port;
@@ -53,6 +54,10 @@ public class JsonRpcConfiguration {
   private long httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
   private int maxActiveConnections;
   private int maxBatchSize;
+  private int maxBatchParallelism;
+  private boolean prettyJsonEnabled = false;
+  private long responseCacheMaxBytes = 0;
+  private boolean nativeFlatTracerEnabled = false;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -63,6 +68,7 @@ public class JsonRpcConfiguration {
     config.httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
+    config.setMaxBatchParallelism(DEFAULT_MAX_BATCH_PARALLELISM);
     return config;
   }
 
@@ -209,6 +215,10 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("maxBatchParallelism", maxBatchParallelism)
+        .add("prettyJsonEnabled", prettyJsonEnabled)
+        .add("responseCacheMaxBytes", responseCacheMaxBytes)
+        .add("nativeFlatTracerEnabled", nativeFlatTracerEnabled)
         .toString();
   }
 
@@ -230,7 +240,11 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && maxBatchParallelism == that.maxBatchParallelism
+        && prettyJsonEnabled == that.prettyJsonEnabled
+        && responseCacheMaxBytes == that.responseCacheMaxBytes
+        && nativeFlatTracerEnabled == that.nativeFlatTracerEnabled;
   }
 
   @Override
@@ -245,7 +259,11 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        maxBatchParallelism,
+        prettyJsonEnabled,
+        responseCacheMaxBytes,
+        nativeFlatTracerEnabled);
   }
 
   public int getMaxActiveConnections() {
@@ -263,4 +281,36 @@ public class JsonRpcConfiguration {
   public void setMaxBatchSize(final int maxBatchSize) {
     this.maxBatchSize = maxBatchSize;
   }
+
+  public int getMaxBatchParallelism() {
+    return maxBatchParallelism;
+  }
+
+  public void setMaxBatchParallelism(final int maxBatchParallelism) {
+    this.maxBatchParallelism = maxBatchParallelism;
+  }
+
+  public boolean isPrettyJsonEnabled() {
+    return prettyJsonEnabled;
+  }
+
+  public void setPrettyJsonEnabled(final boolean prettyJsonEnabled) {
+    this.prettyJsonEnabled = prettyJsonEnabled;
+  }
+
+  public long getResponseCacheMaxBytes() {
+    return responseCacheMaxBytes;
+  }
+
+  public void setResponseCacheMaxBytes(final long responseCacheMaxBytes) {
+    this.responseCacheMaxBytes = responseCacheMaxBytes;
+  }
+
+  public boolean isNativeFlatTracerEnabled() {
+    return nativeFlatTracerEnabled;
+  }
+
+  public void setNativeFlatTracerEnabled(final boolean nativeFlatTracerEnabled) {
+    this.nativeFlatTracerEnabled = nativeFlatTracerEnabled;
+  }
 }
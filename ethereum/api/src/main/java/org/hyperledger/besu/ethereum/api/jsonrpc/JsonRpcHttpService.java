@@ -19,12 +19,16 @@ import static com.google.common.collect.Streams.stream;
 import static org.apache.tuweni.net.tls.VertxTrustOptions.allowlistClients;
 
 import org.hyperledger.besu.ethereum.api.handlers.HandlerFactory;
+import org.hyperledger.besu.ethereum.api.handlers.JsonRpcBatchExecutor;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.CachingJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TimedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TracedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -32,6 +36,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.Logging403Er
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.tls.TlsClientAuthConfiguration;
 import org.hyperledger.besu.ethereum.api.tls.TlsConfiguration;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.opentelemetry.OpenTelemetrySystem;
 import org.hyperledger.besu.nat.NatMethod;
@@ -51,6 +56,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
@@ -97,6 +103,8 @@ public class JsonRpcHttpService {
   private static final String SPAN_CONTEXT = "span_context";
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
+  // beyond this many waiting batch requests per worker, batches run on the calling thread
+  private static final int BATCH_QUEUE_SIZE_PER_WORKER = 64;
 
   private static final TextMapPropagator traceFormats =
       TextMapPropagator.composite(
@@ -126,6 +134,7 @@ public class JsonRpcHttpService {
   private final Map<String, JsonRpcMethod> rpcMethods;
   private final NatService natService;
   private final Path dataDir;
+  private final MetricsSystem metricsSystem;
   private final LabelledMetric<OperationTimer> requestTimer;
   private TracerProvider tracerProvider;
   private Tracer tracer;
@@ -135,8 +144,10 @@ public class JsonRpcHttpService {
   @VisibleForTesting public final Optional<AuthenticationService> authenticationService;
 
   private HttpServer httpServer;
+  private Optional<ExecutorService> batchExecutorService = Optional.empty();
   private final HealthService livenessService;
   private final HealthService readinessService;
+  private final Optional<JsonRpcResponseCache> responseCache;
 
   /**
    * Construct a JsonRpcHttpService handler
@@ -181,7 +192,32 @@ public class JsonRpcHttpService {
       final Optional<AuthenticationService> authenticationService,
       final HealthService livenessService,
       final HealthService readinessService) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        metricsSystem,
+        natService,
+        methods,
+        authenticationService,
+        livenessService,
+        readinessService,
+        Optional.empty());
+  }
+
+  public JsonRpcHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final JsonRpcConfiguration config,
+      final MetricsSystem metricsSystem,
+      final NatService natService,
+      final Map<String, JsonRpcMethod> methods,
+      final Optional<AuthenticationService> authenticationService,
+      final HealthService livenessService,
+      final HealthService readinessService,
+      final Optional<JsonRpcResponseCache> responseCache) {
     this.dataDir = dataDir;
+    this.metricsSystem = metricsSystem;
     requestTimer =
         metricsSystem.createLabelledTimer(
             BesuMetricCategory.RPC,
@@ -203,6 +239,7 @@ public class JsonRpcHttpService {
     this.authenticationService = authenticationService;
     this.livenessService = livenessService;
     this.readinessService = readinessService;
+    this.responseCache = responseCache;
     this.maxActiveConnections = config.getMaxActiveConnections();
     if (metricsSystem instanceof OpenTelemetrySystem) {
       this.tracerProvider = ((OpenTelemetrySystem) metricsSystem).getTracerProvider();
@@ -302,6 +339,31 @@ public class JsonRpcHttpService {
     };
   }
 
+  private JsonRpcProcessor createRpcProcessor() {
+    final JsonRpcProcessor rpcProcessor = new TracedJsonRpcProcessor(new BaseJsonRpcProcessor());
+    return new TimedJsonRpcProcessor(
+        responseCache
+            .<JsonRpcProcessor>map(cache -> new CachingJsonRpcProcessor(rpcProcessor, cache))
+            .orElse(rpcProcessor),
+        requestTimer);
+  }
+
+  private JsonRpcBatchExecutor createBatchExecutor() {
+    final int parallelism = config.getMaxBatchParallelism();
+    if (parallelism <= 1) {
+      return JsonRpcBatchExecutor.sequential();
+    }
+    final ExecutorService executorService =
+        MonitoredExecutors.newBoundedThreadPool(
+            "json-rpc-batch",
+            parallelism,
+            parallelism,
+            parallelism * BATCH_QUEUE_SIZE_PER_WORKER,
+            metricsSystem);
+    batchExecutorService = Optional.of(executorService);
+    return new JsonRpcBatchExecutor(executorService, metricsSystem);
+  }
+
   private Router buildRouter() {
     // Handle json rpc requests
     final Router router = Router.router(vertx);
@@ -340,28 +402,22 @@ public class JsonRpcHttpService {
         .handler(HandlerFactory.jsonRpcParser())
         .handler(
             HandlerFactory.timeout(new TimeoutOptions(config.getHttpTimeoutSec()), rpcMethods));
+    final JsonRpcBatchExecutor batchExecutor = createBatchExecutor();
     if (authenticationService.isPresent()) {
       mainRoute.blockingHandler(
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new AuthenticatedJsonRpcProcessor(
-                      new TimedJsonRpcProcessor(
-                          new TracedJsonRpcProcessor(new BaseJsonRpcProcessor()), requestTimer),
-                      authenticationService.get(),
-                      config.getNoAuthRpcApis()),
+                      createRpcProcessor(), authenticationService.get(), config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchExecutor),
           false);
     } else {
       mainRoute.blockingHandler(
           HandlerFactory.jsonRpcExecutor(
-              new JsonRpcExecutor(
-                  new TimedJsonRpcProcessor(
-                      new TracedJsonRpcProcessor(new BaseJsonRpcProcessor()), requestTimer),
-                  rpcMethods),
-              tracer,
-              config),
+              new JsonRpcExecutor(createRpcProcessor(), rpcMethods), tracer, config, batchExecutor),
           false);
     }
 
@@ -533,6 +589,8 @@ public class JsonRpcHttpService {
   }
 
   public CompletableFuture<?> stop() {
+    batchExecutorService.ifPresent(ExecutorService::shutdown);
+    batchExecutorService = Optional.empty();
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
     }
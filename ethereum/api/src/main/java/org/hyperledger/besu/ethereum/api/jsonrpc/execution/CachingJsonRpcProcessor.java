@@ -0,0 +1,66 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponseType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.Optional;
+
+import io.opentelemetry.api.trace.Span;
+
+public class CachingJsonRpcProcessor implements JsonRpcProcessor {
+
+  private final JsonRpcProcessor rpcProcessor;
+  private final JsonRpcResponseCache responseCache;
+
+  public CachingJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor, final JsonRpcResponseCache responseCache) {
+    this.rpcProcessor = rpcProcessor;
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  public JsonRpcResponse process(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request) {
+    final Optional<JsonRpcResponseCache.CacheKey> cacheKey = responseCache.cacheKey(request);
+    if (cacheKey.isEmpty()) {
+      return rpcProcessor.process(id, method, metricSpan, request);
+    }
+    final Optional<Object> cachedResult = responseCache.get(cacheKey.get());
+    if (cachedResult.isPresent()) {
+      return new JsonRpcSuccessResponse(request.getRequest().getId(), cachedResult.get());
+    }
+
+    final JsonRpcResponse response = rpcProcessor.process(id, method, metricSpan, request);
+    if (response.getType() != JsonRpcResponseType.SUCCESS) {
+      return response;
+    }
+    final JsonRpcSuccessResponse successResponse = (JsonRpcSuccessResponse) response;
+    // a missing block or pruned state may be available later, only actual results are cached
+    if (successResponse.getResult() == null) {
+      return response;
+    }
+    return new JsonRpcSuccessResponse(
+        successResponse.getId(), responseCache.put(cacheKey.get(), successResponse.getResult()));
+  }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.handlers.JsonRpcExecutorHandler;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the results of the JSON-RPC requests about finalized blocks. These results never change,
+ * so they are serialized once and written from memory until they are evicted.
+ *
+ * <p>Entries are keyed by the method, the normalised parameters and the hash of the block the
+ * request resolves to. The cache is bounded by the size of the serialized results. A reorg whose
+ * common ancestor is below the finalized block drops the entries of the blocks it replaces.
+ */
+public class JsonRpcResponseCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JsonRpcResponseCache.class);
+  // a single result may not take more than this fraction of the cache
+  private static final int MAX_ENTRY_SIZE_DIVISOR = 16;
+
+  private final BlockchainQueries blockchainQueries;
+  private final Cache<CacheKey, CachedResult> cache;
+  private final long maxEntrySize;
+  private final Map<String, Function<JsonRpcRequestContext, Optional<BlockHeader>>> blockResolvers;
+  private final LabelledMetric<Counter> lookupCounter;
+
+  public JsonRpcResponseCache(
+      final BlockchainQueries blockchainQueries,
+      final long maxSizeBytes,
+      final MetricsSystem metricsSystem) {
+    this.blockchainQueries = blockchainQueries;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxSizeBytes)
+            .<CacheKey, CachedResult>weigher((key, value) -> key.size() + value.size())
+            .build();
+    this.maxEntrySize = maxSizeBytes / MAX_ENTRY_SIZE_DIVISOR;
+    this.blockResolvers =
+        Map.of(
+            RpcMethod.ETH_GET_BLOCK_BY_NUMBER.getMethodName(),
+            this::blockOfBlockParameter,
+            RpcMethod.TRACE_BLOCK.getMethodName(),
+            this::blockOfBlockParameter,
+            RpcMethod.DEBUG_TRACE_BLOCK_BY_NUMBER.getMethodName(),
+            this::blockOfBlockParameter,
+            RpcMethod.ETH_GET_BLOCK_BY_HASH.getMethodName(),
+            this::blockOfHashParameter,
+            RpcMethod.DEBUG_TRACE_BLOCK_BY_HASH.getMethodName(),
+            this::blockOfHashParameter,
+            RpcMethod.ETH_GET_TRANSACTION_RECEIPT.getMethodName(),
+            this::blockOfTransaction,
+            RpcMethod.ETH_GET_LOGS.getMethodName(),
+            this::lastBlockOfFilter);
+    this.lookupCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "response_cache_lookup_count",
+            "Number of JSON-RPC requests looked up in the response cache",
+            "methodName",
+            "result");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.RPC,
+        "response_cache_size_bytes",
+        "Size of the results held by the JSON-RPC response cache",
+        () -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+  }
+
+  /**
+   * Creates a response cache that drops its invalidated entries when the chain reorgs.
+   *
+   * @param blockchainQueries the blockchain queries the requests are resolved against
+   * @param maxSizeBytes the maximum size of the cached results, in bytes
+   * @param metricsSystem the metrics system the hits and misses are reported to
+   * @return the response cache
+   */
+  public static JsonRpcResponseCache create(
+      final BlockchainQueries blockchainQueries,
+      final long maxSizeBytes,
+      final MetricsSystem metricsSystem) {
+    final JsonRpcResponseCache responseCache =
+        new JsonRpcResponseCache(blockchainQueries, maxSizeBytes, metricsSystem);
+    blockchainQueries.getBlockchain().observeBlockAdded(responseCache::onBlockAdded);
+    return responseCache;
+  }
+
+  /**
+   * Builds the cache key of a request.
+   *
+   * @param request the request
+   * @return the key, or empty if the result of the request is not about a finalized block
+   */
+  public Optional<CacheKey> cacheKey(final JsonRpcRequestContext request) {
+    final String method = request.getRequest().getMethod();
+    final Function<JsonRpcRequestContext, Optional<BlockHeader>> blockResolver =
+        blockResolvers.get(method);
+    if (blockResolver == null) {
+      return Optional.empty();
+    }
+    try {
+      return blockResolver
+          .apply(request)
+          .filter(this::isFinalized)
+          .map(
+              header ->
+                  new CacheKey(
+                      method,
+                      normalizeParams(request.getRequest().getParams()),
+                      header.getHash(),
+                      header.getNumber()));
+    } catch (final InvalidJsonRpcParameters | JsonProcessingException e) {
+      // let the method report the invalid parameters
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Looks up the cached result of a request.
+   *
+   * @param key the cache key of the request
+   * @return the cached result, or empty on a miss
+   */
+  public Optional<Object> get(final CacheKey key) {
+    final CachedResult cachedResult = cache.getIfPresent(key);
+    lookupCounter.labels(key.method(), cachedResult == null ? "miss" : "hit").inc();
+    return Optional.<Object>ofNullable(cachedResult);
+  }
+
+  /**
+   * Wraps the result of a request so that it is cached as it is written to the response. The
+   * result is serialized only once, which matters for the results that are computed while they
+   * are written, and is not cached if it is too large for the cache.
+   *
+   * @param key the cache key of the request
+   * @param result the result of the request
+   * @return the result to respond with
+   */
+  public Object put(final CacheKey key, final Object result) {
+    return new CachingResult(key, result);
+  }
+
+  @VisibleForTesting
+  void onBlockAdded(final BlockAddedEvent event) {
+    if (event.getEventType() != BlockAddedEvent.EventType.CHAIN_REORG) {
+      return;
+    }
+    blockchainQueries
+        .getBlockHeaderByHash(event.getCommonAncestorHash())
+        .ifPresent(
+            commonAncestor ->
+                cache
+                    .asMap()
+                    .keySet()
+                    .removeIf(key -> key.blockNumber() > commonAncestor.getNumber()));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.estimatedSize();
+  }
+
+  private boolean isFinalized(final BlockHeader header) {
+    final Blockchain blockchain = blockchainQueries.getBlockchain();
+    return blockchain
+            .getFinalized()
+            .flatMap(blockchain::getBlockHeader)
+            .filter(finalized -> header.getNumber() <= finalized.getNumber())
+            .isPresent()
+        && blockchain
+            .getBlockHashByNumber(header.getNumber())
+            .filter(header.getHash()::equals)
+            .isPresent();
+  }
+
+  private Optional<BlockHeader> blockOfBlockParameter(final JsonRpcRequestContext request) {
+    final BlockParameter blockParameter = request.getRequiredParameter(0, BlockParameter.class);
+    if (blockParameter.isPending()) {
+      return Optional.empty();
+    }
+    return blockParameter
+        .getBlockNumber(blockchainQueries)
+        .flatMap(blockchainQueries::getBlockHeaderByNumber);
+  }
+
+  private Optional<BlockHeader> blockOfHashParameter(final JsonRpcRequestContext request) {
+    return blockchainQueries.getBlockHeaderByHash(request.getRequiredParameter(0, Hash.class));
+  }
+
+  private Optional<BlockHeader> blockOfTransaction(final JsonRpcRequestContext request) {
+    return blockchainQueries
+        .getBlockchain()
+        .getTransactionLocation(request.getRequiredParameter(0, Hash.class))
+        .flatMap(location -> blockchainQueries.getBlockHeaderByHash(location.getBlockHash()));
+  }
+
+  private Optional<BlockHeader> lastBlockOfFilter(final JsonRpcRequestContext request) {
+    final FilterParameter filter = request.getRequiredParameter(0, FilterParameter.class);
+    if (!filter.isValid()) {
+      return Optional.empty();
+    }
+    if (filter.getBlockHash().isPresent()) {
+      return blockchainQueries.getBlockHeaderByHash(filter.getBlockHash().get());
+    }
+    // the first block is part of the key, it must not move as the chain grows
+    final BlockParameter fromBlock = filter.getFromBlock();
+    if (!fromBlock.isNumeric() && !fromBlock.isEarliest()) {
+      return Optional.empty();
+    }
+    return filter
+        .getToBlock()
+        .getBlockNumber(blockchainQueries)
+        .flatMap(blockchainQueries::getBlockHeaderByNumber);
+  }
+
+  private static String normalizeParams(final Object[] params) throws JsonProcessingException {
+    return JsonRpcExecutorHandler.getJsonObjectMapper()
+        .writeValueAsString(normalize(params == null ? new Object[0] : params));
+  }
+
+  private static Object normalize(final Object param) {
+    if (param instanceof String) {
+      // hex values are case insensitive, names such as tracers are not
+      final String value = (String) param;
+      return value.startsWith("0x") || value.startsWith("0X")
+          ? value.toLowerCase(Locale.ROOT)
+          : value;
+    } else if (param instanceof Map) {
+      final Map<String, Object> normalized = new TreeMap<>();
+      ((Map<?, ?>) param)
+          .forEach((name, value) -> normalized.put(String.valueOf(name), normalize(value)));
+      return normalized;
+    } else if (param instanceof List) {
+      final List<Object> normalized = new ArrayList<>();
+      ((List<?>) param).forEach(value -> normalized.add(normalize(value)));
+      return normalized;
+    } else if (param instanceof Object[]) {
+      return normalize(Arrays.asList((Object[]) param));
+    }
+    return param;
+  }
+
+  /**
+   * The key of a cached result.
+   *
+   * @param method the method of the request
+   * @param params the normalised parameters of the request
+   * @param blockHash the hash of the block the request resolves to
+   * @param blockNumber the number of the block the request resolves to
+   */
+  public record CacheKey(String method, String params, Hash blockHash, long blockNumber) {
+
+    int size() {
+      return method.length() + params.length() + Hash.SIZE + Long.BYTES;
+    }
+  }
+
+  /** A result that is written as the JSON it was serialized to. */
+  private static class CachedResult extends JsonSerializable.Base {
+
+    private final String json;
+
+    CachedResult(final String json) {
+      this.json = json;
+    }
+
+    int size() {
+      return json.length();
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+        throws IOException {
+      gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+      return json;
+    }
+  }
+
+  /** A result that is cached once it has been written to the response. */
+  private class CachingResult extends JsonSerializable.Base {
+
+    private final CacheKey key;
+    private final Object result;
+
+    CachingResult(final CacheKey key, final Object result) {
+      this.key = key;
+      this.result = result;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+        throws IOException {
+      final ObjectMapper objectMapper = JsonRpcExecutorHandler.getJsonObjectMapper();
+      final TeeWriter writer = new TeeWriter(gen, maxEntrySize - key.size());
+      // the result is written as a raw value, in the chunks it is serialized to
+      gen.writeRawValue("");
+      try (final JsonGenerator resultGenerator =
+          objectMapper.getFactory().createGenerator(writer)) {
+        objectMapper.writeValue(resultGenerator, result);
+      }
+      final Optional<String> json = writer.captured();
+      if (json.isPresent()) {
+        cache.put(key, new CachedResult(json.get()));
+      } else {
+        LOG.trace("Not caching the result of {}, it exceeds the size of an entry", key.method());
+      }
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+  }
+
+  /**
+   * Writes the serialized result to the response and keeps a copy of it, until it exceeds the size
+   * of a cache entry.
+   */
+  private static class TeeWriter extends Writer {
+
+    private final JsonGenerator gen;
+    private final long maxSize;
+    private StringBuilder builder = new StringBuilder();
+
+    TeeWriter(final JsonGenerator gen, final long maxSize) {
+      this.gen = gen;
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+      gen.writeRaw(cbuf, off, len);
+      if (builder != null) {
+        if (builder.length() + len > maxSize) {
+          builder = null;
+        } else {
+          builder.append(cbuf, off, len);
+        }
+      }
+    }
+
+    Optional<String> captured() {
+      return Optional.ofNullable(builder).map(StringBuilder::toString);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+}
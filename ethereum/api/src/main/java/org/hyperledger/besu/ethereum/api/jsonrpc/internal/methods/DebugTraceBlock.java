@@ -17,7 +17,6 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
@@ -25,6 +24,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracerType;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
@@ -33,7 +34,6 @@ import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
-import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -73,25 +73,43 @@ public class DebugTraceBlock implements JsonRpcMethod {
       return new JsonRpcErrorResponse(
           requestContext.getRequest().getId(), JsonRpcError.INVALID_PARAMS);
     }
+    final Optional<TransactionTraceParams> transactionTraceParams =
+        requestContext.getOptionalParameter(1, TransactionTraceParams.class);
     final TraceOptions traceOptions =
-        requestContext
-            .getOptionalParameter(1, TransactionTraceParams.class)
+        transactionTraceParams
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
+    final Optional<NativeTracerType> nativeTracerType =
+        transactionTraceParams.flatMap(TransactionTraceParams::nativeTracerType);
 
     if (this.blockchain.blockByHash(block.getHeader().getParentHash()).isPresent()) {
-      final Collection<DebugTraceTransactionResult> results =
-          Tracer.processTracing(
-                  blockchain,
-                  Optional.of(block.getHeader()),
-                  mutableWorldState -> {
-                    return blockTracerSupplier
-                        .get()
-                        .trace(mutableWorldState, block, new DebugOperationTracer(traceOptions))
-                        .map(BlockTrace::getTransactionTraces)
-                        .map(DebugTraceTransactionResult::of);
-                  })
-              .orElse(null);
+      if (!Tracer.isWorldStateAvailable(blockchain, block.getHeader())) {
+        return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), null);
+      }
+      // the transactions are traced while the response is written
+      final StreamingArrayResult<Object> results =
+          new StreamingArrayResult<>(
+              consumer ->
+                  Tracer.processTracing(
+                      blockchain,
+                      Optional.of(block.getHeader()),
+                      mutableWorldState -> {
+                        final BlockTracer blockTracer = blockTracerSupplier.get();
+                        if (nativeTracerType.isPresent()) {
+                          blockTracer.traceNative(
+                              mutableWorldState,
+                              block,
+                              nativeTracerType.get().createTracer(),
+                              consumer::accept);
+                        } else {
+                          blockTracer.trace(
+                              mutableWorldState,
+                              block,
+                              new DebugOperationTracer(traceOptions),
+                              trace -> consumer.accept(new DebugTraceTransactionResult(trace)));
+                        }
+                        return Optional.empty();
+                      }));
       return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), results);
     } else {
       return new JsonRpcErrorResponse(
@@ -18,17 +18,19 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracerType;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
-import java.util.Collection;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 public class DebugTraceBlockByHash implements JsonRpcMethod {
@@ -51,23 +53,45 @@ public class DebugTraceBlockByHash implements JsonRpcMethod {
   @Override
   public JsonRpcResponse response(final JsonRpcRequestContext requestContext) {
     final Hash blockHash = requestContext.getRequiredParameter(0, Hash.class);
+    final Optional<TransactionTraceParams> transactionTraceParams =
+        requestContext.getOptionalParameter(1, TransactionTraceParams.class);
     final TraceOptions traceOptions =
-        requestContext
-            .getOptionalParameter(1, TransactionTraceParams.class)
+        transactionTraceParams
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
+    final Optional<NativeTracerType> nativeTracerType =
+        transactionTraceParams.flatMap(TransactionTraceParams::nativeTracerType);
 
-    final Collection<DebugTraceTransactionResult> results =
-        Tracer.processTracing(
-                blockchainQueries.get(),
-                blockHash,
-                mutableWorldState ->
-                    blockTracerSupplier
-                        .get()
-                        .trace(mutableWorldState, blockHash, new DebugOperationTracer(traceOptions))
-                        .map(BlockTrace::getTransactionTraces)
-                        .map(DebugTraceTransactionResult::of))
-            .orElse(null);
+    final Optional<BlockHeader> blockHeader =
+        blockchainQueries.get().getBlockHeaderByHash(blockHash);
+    if (blockHeader.isEmpty()
+        || !Tracer.isWorldStateAvailable(blockchainQueries.get(), blockHeader.get())) {
+      return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), null);
+    }
+    // the transactions are traced while the response is written
+    final StreamingArrayResult<Object> results =
+        new StreamingArrayResult<>(
+            consumer ->
+                Tracer.processTracing(
+                    blockchainQueries.get(),
+                    blockHeader,
+                    mutableWorldState -> {
+                      final BlockTracer blockTracer = blockTracerSupplier.get();
+                      if (nativeTracerType.isPresent()) {
+                        blockTracer.traceNative(
+                            mutableWorldState,
+                            blockHash,
+                            nativeTracerType.get().createTracer(),
+                            consumer::accept);
+                      } else {
+                        blockTracer.trace(
+                            mutableWorldState,
+                            blockHash,
+                            new DebugOperationTracer(traceOptions),
+                            trace -> consumer.accept(new DebugTraceTransactionResult(trace)));
+                      }
+                      return Optional.empty();
+                    }));
     return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), results);
   }
 }
@@ -19,11 +19,13 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracerType;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
@@ -54,25 +56,43 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
   protected Object resultByBlockNumber(
       final JsonRpcRequestContext request, final long blockNumber) {
     final Optional<Hash> blockHash = getBlockchainQueries().getBlockHashByNumber(blockNumber);
+    final Optional<BlockHeader> blockHeader =
+        blockHash.flatMap(getBlockchainQueries()::getBlockHeaderByHash);
+    final Optional<TransactionTraceParams> transactionTraceParams =
+        request.getOptionalParameter(1, TransactionTraceParams.class);
     final TraceOptions traceOptions =
-        request
-            .getOptionalParameter(1, TransactionTraceParams.class)
+        transactionTraceParams
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
+    final Optional<NativeTracerType> nativeTracerType =
+        transactionTraceParams.flatMap(TransactionTraceParams::nativeTracerType);
 
-    return blockHash
-        .flatMap(
-            hash ->
-                Tracer.processTracing(
-                    blockchainQueriesSupplier.get(),
-                    hash,
-                    mutableWorldState -> {
-                      return blockTracerSupplier
-                          .get()
-                          .trace(mutableWorldState, hash, new DebugOperationTracer(traceOptions))
-                          .map(BlockTrace::getTransactionTraces)
-                          .map(DebugTraceTransactionResult::of);
-                    }))
-        .orElse(null);
+    if (blockHeader.isEmpty()
+        || !Tracer.isWorldStateAvailable(getBlockchainQueries(), blockHeader.get())) {
+      return null;
+    }
+    // the transactions are traced while the response is written
+    return new StreamingArrayResult<>(
+        consumer ->
+            Tracer.processTracing(
+                blockchainQueriesSupplier.get(),
+                blockHeader,
+                mutableWorldState -> {
+                  final BlockTracer blockTracer = blockTracerSupplier.get();
+                  if (nativeTracerType.isPresent()) {
+                    blockTracer.traceNative(
+                        mutableWorldState,
+                        blockHash.get(),
+                        nativeTracerType.get().createTracer(),
+                        consumer::accept);
+                  } else {
+                    blockTracer.trace(
+                        mutableWorldState,
+                        blockHash.get(),
+                        new DebugOperationTracer(traceOptions),
+                        trace -> consumer.accept(new DebugTraceTransactionResult(trace)));
+                  }
+                  return Optional.empty();
+                }));
   }
 }
@@ -23,6 +23,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracerType;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
@@ -52,9 +54,17 @@ public class DebugTraceTransaction implements JsonRpcMethod {
     final Optional<TransactionWithMetadata> transactionWithMetadata =
         blockchain.transactionByHash(hash);
     if (transactionWithMetadata.isPresent()) {
+      final Optional<TransactionTraceParams> transactionTraceParams =
+          requestContext.getOptionalParameter(1, TransactionTraceParams.class);
+      final Optional<NativeTracerType> nativeTracerType =
+          transactionTraceParams.flatMap(TransactionTraceParams::nativeTracerType);
+      if (nativeTracerType.isPresent()) {
+        return new JsonRpcSuccessResponse(
+            requestContext.getRequest().getId(),
+            nativeTraceResult(hash, transactionWithMetadata.get(), nativeTracerType.get()));
+      }
       final TraceOptions traceOptions =
-          requestContext
-              .getOptionalParameter(1, TransactionTraceParams.class)
+          transactionTraceParams
               .map(TransactionTraceParams::traceOptions)
               .orElse(TraceOptions.DEFAULT);
       final DebugTraceTransactionResult debugTraceTransactionResult =
@@ -67,6 +77,23 @@ public class DebugTraceTransaction implements JsonRpcMethod {
     }
   }
 
+  private Object nativeTraceResult(
+      final Hash hash,
+      final TransactionWithMetadata transactionWithMetadata,
+      final NativeTracerType nativeTracerType) {
+    final Hash blockHash = transactionWithMetadata.getBlockHash().get();
+
+    final NativeTracer tracer = nativeTracerType.createTracer();
+
+    return Tracer.processTracing(
+            blockchain,
+            blockHash,
+            mutableWorldState ->
+                transactionTracer.traceTransactionNative(
+                    mutableWorldState, blockHash, hash, tracer))
+        .orElse(null);
+  }
+
   private DebugTraceTransactionResult debugTraceTransactionResult(
       final Hash hash,
       final TransactionWithMetadata transactionWithMetadata,
@@ -17,6 +17,8 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 import org.hyperledger.besu.datatypes.DataGas;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallFrame;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallTracer;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -27,6 +29,7 @@ import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,7 +38,7 @@ import java.util.function.Function;
 public class ExecuteTransactionStep implements Function<TransactionTrace, TransactionTrace> {
 
   private final TraceBlock.ChainUpdater chainUpdater;
-  private final DebugOperationTracer tracer;
+  private final OperationTracer tracer;
   private final MainnetTransactionProcessor transactionProcessor;
   private final Blockchain blockchain;
   private final ProtocolSpec protocolSpec;
@@ -45,7 +48,7 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
       final TraceBlock.ChainUpdater chainUpdater,
       final MainnetTransactionProcessor transactionProcessor,
       final Blockchain blockchain,
-      final DebugOperationTracer tracer,
+      final OperationTracer tracer,
       final ProtocolSpec protocolSpec,
       final Block block) {
     this.chainUpdater = chainUpdater;
@@ -60,7 +63,7 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
       final TraceBlock.ChainUpdater chainUpdater,
       final MainnetTransactionProcessor transactionProcessor,
       final Blockchain blockchain,
-      final DebugOperationTracer tracer,
+      final OperationTracer tracer,
       final ProtocolSpec protocolSpec) {
     this(chainUpdater, transactionProcessor, blockchain, tracer, protocolSpec, null);
   }
@@ -104,8 +107,16 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
               false,
               dataGasPrice);
 
-      traceFrames = tracer.copyTraceFrames();
-      tracer.reset();
+      if (tracer instanceof CallTracer callTracer) {
+        final CallFrame rootCall = callTracer.getRootCall();
+        callTracer.reset();
+        return new TransactionTrace(
+            transactionTrace.getTransaction(), result, rootCall, transactionTrace.getBlock());
+      }
+      if (tracer instanceof DebugOperationTracer debugOperationTracer) {
+        traceFrames = debugOperationTracer.copyTraceFrames();
+        debugOperationTracer.reset();
+      }
     }
     return new TransactionTrace(
         transactionTrace.getTransaction(), result, traceFrames, transactionTrace.getBlock());
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallTracer;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -35,6 +36,7 @@ import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -56,10 +58,27 @@ public class TraceBlock extends AbstractBlockParameterMethod {
   private static final Logger LOG = LoggerFactory.getLogger(TraceBlock.class);
   private static final ObjectMapper MAPPER = new ObjectMapper();
   protected final ProtocolSchedule protocolSchedule;
+  private final boolean nativeFlatTracerEnabled;
 
   public TraceBlock(final ProtocolSchedule protocolSchedule, final BlockchainQueries queries) {
+    this(protocolSchedule, queries, false);
+  }
+
+  /**
+   * Creates the trace_block method.
+   *
+   * @param protocolSchedule the protocol schedule
+   * @param queries the blockchain queries
+   * @param nativeFlatTracerEnabled whether the transactions are traced with a {@link CallTracer}
+   *     instead of recording a trace frame for every operation
+   */
+  public TraceBlock(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries queries,
+      final boolean nativeFlatTracerEnabled) {
     super(queries);
     this.protocolSchedule = protocolSchedule;
+    this.nativeFlatTracerEnabled = nativeFlatTracerEnabled;
   }
 
   @Override
@@ -116,14 +135,12 @@ public class TraceBlock extends AbstractBlockParameterMethod {
                           "Number of transactions processed for each block",
                           "step",
                           "action");
-              DebugOperationTracer debugOperationTracer =
-                  new DebugOperationTracer(new TraceOptions(false, false, true));
               ExecuteTransactionStep executeTransactionStep =
                   new ExecuteTransactionStep(
                       chainUpdater,
                       transactionProcessor,
                       getBlockchainQueries().getBlockchain(),
-                      debugOperationTracer,
+                      createTransactionTracer(),
                       protocolSpec,
                       block);
               TraceFlatTransactionStep traceFlatTransactionStep =
@@ -166,6 +183,13 @@ public class TraceBlock extends AbstractBlockParameterMethod {
         .orElse(emptyResult());
   }
 
+  protected OperationTracer createTransactionTracer() {
+    if (nativeFlatTracerEnabled) {
+      return new CallTracer();
+    }
+    return new DebugOperationTracer(new TraceOptions(false, false, true));
+  }
+
   protected void generateTracesFromTransactionTraceAndBlock(
       final Optional<FilterParameter> filterParameter,
       final List<TransactionTrace> transactionTraces,
@@ -33,12 +33,10 @@ import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
@@ -71,7 +69,15 @@ public class TraceFilter extends TraceBlock {
       final Supplier<BlockTracer> blockTracerSupplier,
       final ProtocolSchedule protocolSchedule,
       final BlockchainQueries blockchainQueries) {
-    super(protocolSchedule, blockchainQueries);
+    this(blockTracerSupplier, protocolSchedule, blockchainQueries, false);
+  }
+
+  public TraceFilter(
+      final Supplier<BlockTracer> blockTracerSupplier,
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final boolean nativeFlatTracerEnabled) {
+    super(protocolSchedule, blockchainQueries, nativeFlatTracerEnabled);
   }
 
   @Override
@@ -144,14 +150,12 @@ public class TraceFilter extends TraceBlock {
                               "step",
                               "action");
 
-                  DebugOperationTracer debugOperationTracer =
-                      new DebugOperationTracer(new TraceOptions(false, false, true));
                   ExecuteTransactionStep executeTransactionStep =
                       new ExecuteTransactionStep(
                           chainUpdater,
                           transactionProcessor,
                           getBlockchainQueries().getBlockchain(),
-                          debugOperationTracer,
+                          createTransactionTracer(),
                           protocolSpec);
 
                   Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>>
@@ -53,6 +53,9 @@ public class TraceFlatTransactionStep
     if (block == null) block = transactionTrace.getBlock().get();
     if (transactionTrace.getTransaction() == null) {
       traceStream = RewardTraceGenerator.generateFromBlock(protocolSchedule, block);
+    } else if (transactionTrace.getTraceFrames() == null) {
+      // traced by a call tracer, which records the calls instead of the trace frames
+      traceStream = FlatTraceGenerator.generateFromCallFrameAndBlock(transactionTrace, block);
     } else {
       traceStream =
           FlatTraceGenerator.generateFromTransactionTraceAndBlock(
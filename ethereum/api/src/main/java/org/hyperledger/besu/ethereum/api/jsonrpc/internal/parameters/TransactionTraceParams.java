@@ -14,8 +14,11 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracerType;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 
+import java.util.Optional;
 import javax.annotation.Nullable;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -52,7 +55,21 @@ public interface TransactionTraceParams {
     return false;
   }
 
+  @JsonProperty("tracer")
+  @Nullable
+  String tracer();
+
   default TraceOptions traceOptions() {
     return new TraceOptions(!disableStorage(), !disableMemory(), !disableStack());
   }
+
+  default Optional<NativeTracerType> nativeTracerType() {
+    final String tracer = tracer();
+    if (tracer == null) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        NativeTracerType.fromTracerName(tracer)
+            .orElseThrow(() -> new InvalidJsonRpcParameters("Unsupported tracer " + tracer)));
+  }
 }
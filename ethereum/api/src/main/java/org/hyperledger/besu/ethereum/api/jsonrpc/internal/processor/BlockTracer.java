@@ -15,17 +15,23 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugNativeTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracer;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 /** Used to produce debug traces of blocks */
 public class BlockTracer {
@@ -52,8 +58,137 @@ public class BlockTracer {
     return blockReplay.block(block, prepareReplayAction(mutableWorldState, tracer));
   }
 
+  /**
+   * Traces the transactions of a block one at a time. Each trace is handed to the consumer before
+   * the next transaction is traced, so the traces of the whole block are never held in memory.
+   *
+   * @param mutableWorldState the world state before the block
+   * @param blockHash the hash of the block
+   * @param tracer the tracer of the transactions
+   * @param consumer the consumer of the transaction traces
+   * @return true if the block was found and traced
+   */
+  public boolean trace(
+      final Tracer.TraceableState mutableWorldState,
+      final Hash blockHash,
+      final DebugOperationTracer tracer,
+      final Consumer<TransactionTrace> consumer) {
+    return blockReplay
+        .block(
+            blockHash,
+            prepareStreamingReplayAction(prepareReplayAction(mutableWorldState, tracer), consumer))
+        .isPresent();
+  }
+
+  /**
+   * Traces the transactions of a block one at a time. Each trace is handed to the consumer before
+   * the next transaction is traced, so the traces of the whole block are never held in memory.
+   *
+   * @param mutableWorldState the world state before the block
+   * @param block the block
+   * @param tracer the tracer of the transactions
+   * @param consumer the consumer of the transaction traces
+   * @return true if the block was traced
+   */
+  public boolean trace(
+      final Tracer.TraceableState mutableWorldState,
+      final Block block,
+      final DebugOperationTracer tracer,
+      final Consumer<TransactionTrace> consumer) {
+    return blockReplay
+        .block(
+            block,
+            prepareStreamingReplayAction(prepareReplayAction(mutableWorldState, tracer), consumer))
+        .isPresent();
+  }
+
+  /**
+   * Traces the transactions of a block one at a time with a native tracer. The result of each
+   * transaction is handed to the consumer before the next transaction is traced.
+   *
+   * @param mutableWorldState the world state before the block
+   * @param blockHash the hash of the block
+   * @param tracer the native tracer of the transactions
+   * @param consumer the consumer of the results of the transactions
+   * @return true if the block was found and traced
+   */
+  public boolean traceNative(
+      final Tracer.TraceableState mutableWorldState,
+      final Hash blockHash,
+      final NativeTracer tracer,
+      final Consumer<DebugNativeTraceTransactionResult> consumer) {
+    return blockReplay
+        .block(
+            blockHash,
+            prepareStreamingReplayAction(
+                prepareNativeReplayAction(mutableWorldState, tracer), consumer))
+        .isPresent();
+  }
+
+  /**
+   * Traces the transactions of a block one at a time with a native tracer. The result of each
+   * transaction is handed to the consumer before the next transaction is traced.
+   *
+   * @param mutableWorldState the world state before the block
+   * @param block the block
+   * @param tracer the native tracer of the transactions
+   * @param consumer the consumer of the results of the transactions
+   * @return true if the block was traced
+   */
+  public boolean traceNative(
+      final Tracer.TraceableState mutableWorldState,
+      final Block block,
+      final NativeTracer tracer,
+      final Consumer<DebugNativeTraceTransactionResult> consumer) {
+    return blockReplay
+        .block(
+            block,
+            prepareStreamingReplayAction(
+                prepareNativeReplayAction(mutableWorldState, tracer), consumer))
+        .isPresent();
+  }
+
+  private <T> BlockReplay.TransactionAction<TransactionTrace> prepareStreamingReplayAction(
+      final BlockReplay.TransactionAction<T> action, final Consumer<T> consumer) {
+    return (transaction, header, blockchain, transactionProcessor, dataGasPrice) -> {
+      consumer.accept(
+          action.performAction(
+              transaction, header, blockchain, transactionProcessor, dataGasPrice));
+      // the trace is not kept in the block trace once it has been consumed
+      return null;
+    };
+  }
+
   private BlockReplay.TransactionAction<TransactionTrace> prepareReplayAction(
       final MutableWorldState mutableWorldState, final DebugOperationTracer tracer) {
+    return prepareReplayAction(
+        mutableWorldState,
+        tracer,
+        (transaction, result) -> {
+          final List<TraceFrame> traceFrames = tracer.copyTraceFrames();
+          tracer.reset();
+          return new TransactionTrace(transaction, result, traceFrames);
+        });
+  }
+
+  private BlockReplay.TransactionAction<DebugNativeTraceTransactionResult>
+      prepareNativeReplayAction(
+          final MutableWorldState mutableWorldState, final NativeTracer tracer) {
+    return prepareReplayAction(
+        mutableWorldState,
+        tracer,
+        (transaction, result) -> {
+          tracer.traceEndTransaction(transaction, result);
+          final Object tracerResult = tracer.getResult();
+          tracer.reset();
+          return new DebugNativeTraceTransactionResult(transaction.getHash(), tracerResult);
+        });
+  }
+
+  private <T> BlockReplay.TransactionAction<T> prepareReplayAction(
+      final MutableWorldState mutableWorldState,
+      final OperationTracer tracer,
+      final BiFunction<Transaction, TransactionProcessingResult, T> traceFactory) {
     return (transaction, header, blockchain, transactionProcessor, dataGasPrice) -> {
       // if we have no prior updater, it must be the first TX, so use the block's initial state
       if (chainedUpdater == null) {
@@ -74,9 +209,7 @@ public class BlockTracer {
               new CachingBlockHashLookup(header, blockchain),
               false,
               dataGasPrice);
-      final List<TraceFrame> traceFrames = tracer.copyTraceFrames();
-      tracer.reset();
-      return new TransactionTrace(transaction, result, traceFrames);
+      return traceFactory.apply(transaction, result);
     };
   }
 }
@@ -52,6 +52,26 @@ public class Tracer {
                     mutableWorldState -> mapper.apply(new TraceableState(mutableWorldState))));
   }
 
+  /**
+   * Checks whether the world state a block is traced on is available. A result traced while the
+   * response is written cannot be replaced by an error anymore, so this is checked beforehand.
+   *
+   * @param blockchainQueries the blockchain queries
+   * @param blockHeader the header of the traced block
+   * @return true if the world state before the block is available
+   */
+  public static boolean isWorldStateAvailable(
+      final BlockchainQueries blockchainQueries, final BlockHeader blockHeader) {
+    return blockchainQueries
+        .getBlockHeaderByHash(blockHeader.getParentHash())
+        .map(
+            parentHeader ->
+                blockchainQueries
+                    .getWorldStateArchive()
+                    .isWorldStateAvailable(parentHeader.getStateRoot(), parentHeader.getHash()))
+        .orElse(false);
+  }
+
   /**
    * This class force the use of the processTracing method to do tracing. processTracing allows you
    * to cleanly manage the worldstate, to close it etc
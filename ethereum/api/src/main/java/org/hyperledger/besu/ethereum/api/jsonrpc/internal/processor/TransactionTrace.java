@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallFrame;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
@@ -27,12 +28,14 @@ public class TransactionTrace {
   private final Transaction transaction;
   private final TransactionProcessingResult result;
   private final List<TraceFrame> traceFrames;
+  private final Optional<CallFrame> rootCall;
   private final Optional<Block> block;
 
   public TransactionTrace(final Optional<Block> block) {
     this.transaction = null;
     this.result = null;
     this.traceFrames = null;
+    this.rootCall = Optional.empty();
     this.block = block;
   }
 
@@ -43,6 +46,7 @@ public class TransactionTrace {
     this.transaction = transaction;
     this.result = result;
     this.traceFrames = traceFrames;
+    this.rootCall = Optional.empty();
     this.block = Optional.empty();
   }
 
@@ -54,6 +58,29 @@ public class TransactionTrace {
     this.transaction = transaction;
     this.result = result;
     this.traceFrames = traceFrames;
+    this.rootCall = Optional.empty();
+    this.block = block;
+  }
+
+  /**
+   * Creates the trace of a transaction traced by a {@link
+   * org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallTracer},
+   * which records the calls of the transaction instead of its trace frames.
+   *
+   * @param transaction the traced transaction
+   * @param result the result of the transaction
+   * @param rootCall the outermost call of the transaction
+   * @param block the block of the transaction
+   */
+  public TransactionTrace(
+      final Transaction transaction,
+      final TransactionProcessingResult result,
+      final CallFrame rootCall,
+      final Optional<Block> block) {
+    this.transaction = transaction;
+    this.result = result;
+    this.traceFrames = null;
+    this.rootCall = Optional.ofNullable(rootCall);
     this.block = block;
   }
 
@@ -61,6 +88,7 @@ public class TransactionTrace {
     this.transaction = transaction;
     this.result = null;
     this.traceFrames = null;
+    this.rootCall = Optional.empty();
     this.block = block;
   }
 
@@ -84,6 +112,10 @@ public class TransactionTrace {
     return traceFrames;
   }
 
+  public Optional<CallFrame> getRootCall() {
+    return rootCall;
+  }
+
   public Optional<Block> getBlock() {
     return block;
   }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.datatypes.DataGas;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.NativeTracer;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
@@ -45,6 +46,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -88,6 +90,42 @@ public class TransactionTracer {
     return transactionTrace;
   }
 
+  /**
+   * Traces a transaction with a native tracer.
+   *
+   * @param mutableWorldState the world state before the block
+   * @param blockHash the hash of the block of the transaction
+   * @param transactionHash the hash of the transaction
+   * @param tracer the native tracer
+   * @return the result of the tracer, or empty if the transaction was not found or not executed
+   */
+  public Optional<Object> traceTransactionNative(
+      final Tracer.TraceableState mutableWorldState,
+      final Hash blockHash,
+      final Hash transactionHash,
+      final NativeTracer tracer) {
+    return blockReplay
+        .beforeTransactionInBlock(
+            mutableWorldState,
+            blockHash,
+            transactionHash,
+            (transaction, header, blockchain, transactionProcessor, dataGasPrice) -> {
+              final TransactionProcessingResult result =
+                  processTransaction(
+                      header,
+                      blockchain,
+                      mutableWorldState.updater(),
+                      transaction,
+                      transactionProcessor,
+                      tracer,
+                      dataGasPrice);
+              tracer.traceEndTransaction(transaction, result);
+              // a transaction whose code is invalid is not executed and has no call tree
+              return Optional.ofNullable(tracer.getResult());
+            })
+        .flatMap(Function.identity());
+  }
+
   public List<String> traceTransactionToFile(
       final MutableWorldState mutableWorldState,
       final Hash blockHash,
@@ -0,0 +1,43 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/** The result of a native tracer for one of the transactions of a traced block. */
+@JsonPropertyOrder({"txHash", "result"})
+public class DebugNativeTraceTransactionResult {
+
+  private final String txHash;
+  private final Object result;
+
+  public DebugNativeTraceTransactionResult(final Hash txHash, final Object result) {
+    this.txHash = txHash.toHexString();
+    this.result = result;
+  }
+
+  @JsonGetter(value = "txHash")
+  public String getTxHash() {
+    return txHash;
+  }
+
+  @JsonGetter(value = "result")
+  public Object getResult() {
+    return result;
+  }
+}
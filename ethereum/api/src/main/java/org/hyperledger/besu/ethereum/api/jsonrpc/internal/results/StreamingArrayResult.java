@@ -0,0 +1,132 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A result serialized as a JSON array whose elements are produced while the response is written.
+ * Each element is written as soon as it is produced, so large results are never held in memory
+ * as a whole and the first bytes of the response are sent before the last element is computed.
+ *
+ * <p>The elements are produced again each time the result is serialized. Streaming only pays off
+ * when the response is written from a worker thread, as the HTTP service does. Transports that
+ * write their responses on the event loop produce the elements up front with {@link
+ * #materialize(JsonRpcResponse)}.
+ *
+ * @param <T> the type of the elements
+ */
+public class StreamingArrayResult<T> extends JsonSerializable.Base {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StreamingArrayResult.class);
+
+  /**
+   * Produces the elements of the result, in order.
+   *
+   * @param <T> the type of the elements
+   */
+  @FunctionalInterface
+  public interface Producer<T> {
+    void produce(Consumer<T> consumer);
+  }
+
+  private final Producer<T> producer;
+
+  public StreamingArrayResult(final Producer<T> producer) {
+    this.producer = producer;
+  }
+
+  /**
+   * Produces the elements of the result and hands them to a consumer.
+   *
+   * @param consumer the consumer of the elements
+   */
+  public void forEach(final Consumer<T> consumer) {
+    producer.produce(consumer);
+  }
+
+  /**
+   * Produces all the elements of the result.
+   *
+   * @return the elements, in order
+   */
+  public List<T> toList() {
+    final List<T> elements = new ArrayList<>();
+    producer.produce(elements::add);
+    return elements;
+  }
+
+  /**
+   * Replaces a streaming result of a response by the elements it produces. A failure while
+   * producing them is returned as an internal error, as a failure of the method would be.
+   *
+   * @param response the response of a request
+   * @return the response with its elements produced, or the response itself if it does not stream
+   */
+  public static JsonRpcResponse materialize(final JsonRpcResponse response) {
+    if (response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamingArrayResult<?> streamingResult) {
+      try {
+        return new JsonRpcSuccessResponse(successResponse.getId(), streamingResult.toList());
+      } catch (final RuntimeException e) {
+        LOG.error("Error producing streamed result", e);
+        return new JsonRpcErrorResponse(successResponse.getId(), JsonRpcError.INTERNAL_ERROR);
+      }
+    }
+    return response;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+      throws IOException {
+    gen.writeStartArray();
+    try {
+      producer.produce(
+          element -> {
+            try {
+              serializers.defaultSerializeValue(element, gen);
+            } catch (final IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+    gen.writeEndArray();
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, serializers);
+  }
+}
@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.Trace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.TracingUtils;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallFrame;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
@@ -265,6 +266,103 @@ public class FlatTraceGenerator {
             addAdditionalTransactionInformationToFlatTrace(builder, transactionTrace, block));
   }
 
+  /**
+   * Generates a stream of {@link Trace} from the calls recorded by a {@link
+   * org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallTracer}.
+   * Like the traces generated from trace frames, calls to precompiled contracts are left out.
+   *
+   * @param rootCall the outermost call of the transaction
+   * @param consumer to use to add additional contextual information to the trace
+   * @return a stream of generated traces {@link Trace}
+   */
+  public static Stream<Trace> generateFromCallFrame(
+      final CallFrame rootCall, final Consumer<FlatTrace.Builder> consumer) {
+    final List<FlatTrace.Builder> flatTraces = new ArrayList<>();
+    addCallFrame(rootCall, new ArrayList<>(), flatTraces);
+    final FlatTrace.Builder firstFlatTraceBuilder = flatTraces.get(0);
+    if (rootCall.isReverted() && rootCall.getOutputBytes() != null) {
+      firstFlatTraceBuilder.revertReason(rootCall.getOutputBytes().toHexString());
+    }
+    return flatTraces.stream().peek(consumer).map(FlatTrace.Builder::build);
+  }
+
+  /**
+   * Generates a stream of {@link Trace} from a {@link TransactionTrace} holding the calls recorded
+   * by a {@link
+   * org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer.CallTracer},
+   * with additional transaction information added to each FlatTrace.
+   *
+   * @param transactionTrace the {@link TransactionTrace} to use
+   * @param block the {@link Block} to use
+   * @return a stream of generated traces {@link Trace}
+   */
+  public static Stream<Trace> generateFromCallFrameAndBlock(
+      final TransactionTrace transactionTrace, final Block block) {
+    return transactionTrace
+        .getRootCall()
+        .map(
+            rootCall ->
+                generateFromCallFrame(
+                    rootCall,
+                    builder ->
+                        addTransactionInformationToFlatTrace(builder, transactionTrace, block)))
+        .orElse(Stream.empty());
+  }
+
+  private static void addCallFrame(
+      final CallFrame call,
+      final List<Integer> traceAddress,
+      final List<FlatTrace.Builder> flatTraces) {
+    final FlatTrace.Builder builder = FlatTrace.builder().traceAddress(traceAddress);
+    flatTraces.add(builder);
+    if ("SELFDESTRUCT".equals(call.getType())) {
+      builder
+          .type("suicide")
+          .actionBuilder(
+              Action.builder()
+                  .address(call.getFrom())
+                  .refundAddress(call.getTo())
+                  .balance(TracingUtils.weiAsHex(call.getValueWei())));
+      return;
+    }
+
+    final Action.Builder actionBuilder =
+        Action.builder()
+            .from(call.getFrom())
+            .gas("0x" + Long.toHexString(call.getGasLong()))
+            .value(call.getValueWei() == null ? "0x0" : Quantity.create(call.getValueWei()));
+    final Result.Builder resultBuilder =
+        Result.builder().gasUsed("0x" + Long.toHexString(call.getGasUsedLong()));
+    final Bytes output = call.getOutputBytes() == null ? Bytes.EMPTY : call.getOutputBytes();
+    if (call.getType().startsWith("CREATE")) {
+      builder.type("create");
+      actionBuilder
+          .init(call.getInputBytes().toHexString())
+          .creationMethod(call.getType().toLowerCase(Locale.US));
+      resultBuilder.address(call.getTo()).code(output.toHexString());
+    } else {
+      actionBuilder
+          .callType(call.getType().toLowerCase(Locale.US))
+          .to(call.getTo())
+          .input(call.getInputBytes().toHexString());
+      resultBuilder.output(output.toHexString());
+    }
+    builder.actionBuilder(actionBuilder).resultBuilder(resultBuilder);
+    if (call.getError() != null) {
+      builder.error(Optional.of(call.isReverted() ? "Reverted" : call.getError()));
+    }
+
+    for (final CallFrame subCall : call.getCalls()) {
+      if (subCall.isPrecompile()) {
+        continue;
+      }
+      final List<Integer> subTraceAddress = new ArrayList<>(traceAddress);
+      subTraceAddress.add(builder.getSubtraces());
+      addCallFrame(subCall, subTraceAddress, flatTraces);
+      builder.incSubTraces();
+    }
+  }
+
   private static FlatTrace.Context handleCall(
       final TransactionTrace transactionTrace,
       final TraceFrame traceFrame,
@@ -616,6 +714,12 @@ public class FlatTraceGenerator {
 
   private static void addAdditionalTransactionInformationToFlatTrace(
       final FlatTrace.Builder builder, final TransactionTrace transactionTrace, final Block block) {
+    addTransactionInformationToFlatTrace(builder, transactionTrace, block);
+    addContractCreationMethodToTrace(transactionTrace, builder);
+  }
+
+  private static void addTransactionInformationToFlatTrace(
+      final FlatTrace.Builder builder, final TransactionTrace transactionTrace, final Block block) {
     // add block information (hash and number)
     builder.blockHash(block.getHash().toHexString()).blockNumber(block.getHeader().getNumber());
     // add transaction information (position and hash)
@@ -623,8 +727,6 @@ public class FlatTraceGenerator {
         .transactionPosition(
             block.getBody().getTransactions().indexOf(transactionTrace.getTransaction()))
         .transactionHash(transactionTrace.getTransaction().getHash().toHexString());
-
-    addContractCreationMethodToTrace(transactionTrace, builder);
   }
 
   private static void addContractCreationMethodToTrace(
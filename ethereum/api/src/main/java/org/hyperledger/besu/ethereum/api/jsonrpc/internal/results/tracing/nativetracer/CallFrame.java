@@ -0,0 +1,195 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.tuweni.bytes.Bytes;
+
+/** A message call or contract creation recorded by the {@link CallTracer}. */
+@JsonInclude(NON_EMPTY)
+@JsonPropertyOrder({
+  "type",
+  "from",
+  "to",
+  "value",
+  "gas",
+  "gasUsed",
+  "input",
+  "output",
+  "error",
+  "calls"
+})
+public class CallFrame {
+
+  private final String type;
+  private final Address from;
+  private final Address to;
+  private final Wei value;
+  private final Bytes input;
+  private final List<CallFrame> calls = new ArrayList<>();
+  private long gas;
+  private long gasUsed;
+  private Bytes output;
+  private String error;
+  private boolean reverted;
+  private boolean precompile;
+
+  CallFrame(
+      final String type,
+      final Address from,
+      final Address to,
+      final Wei value,
+      final long gas,
+      final Bytes input) {
+    this.type = type;
+    this.from = from;
+    this.to = to;
+    this.value = value;
+    this.gas = gas;
+    this.input = input;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  @JsonIgnore
+  public Address getFromAddress() {
+    return from;
+  }
+
+  public String getFrom() {
+    return from.toHexString();
+  }
+
+  @JsonIgnore
+  public Address getToAddress() {
+    return to;
+  }
+
+  public String getTo() {
+    return to == null ? null : to.toHexString();
+  }
+
+  @JsonIgnore
+  public Wei getValueWei() {
+    return value;
+  }
+
+  public String getValue() {
+    return value == null ? null : Quantity.create(value);
+  }
+
+  @JsonIgnore
+  public long getGasLong() {
+    return gas;
+  }
+
+  public String getGas() {
+    return Quantity.create(gas);
+  }
+
+  @JsonIgnore
+  public long getGasUsedLong() {
+    return gasUsed;
+  }
+
+  public String getGasUsed() {
+    return Quantity.create(gasUsed);
+  }
+
+  @JsonIgnore
+  public Bytes getInputBytes() {
+    return input;
+  }
+
+  public String getInput() {
+    return input.toHexString();
+  }
+
+  @JsonIgnore
+  public Bytes getOutputBytes() {
+    return output;
+  }
+
+  public String getOutput() {
+    return output == null || output.isEmpty() ? null : output.toHexString();
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public List<CallFrame> getCalls() {
+    return calls;
+  }
+
+  /**
+   * Returns whether the frame failed because it executed REVERT, as opposed to an exceptional
+   * halt.
+   *
+   * @return true if the frame reverted
+   */
+  @JsonIgnore
+  public boolean isReverted() {
+    return reverted;
+  }
+
+  /**
+   * Returns whether the frame called a precompiled contract.
+   *
+   * @return true if the frame called a precompiled contract
+   */
+  @JsonIgnore
+  public boolean isPrecompile() {
+    return precompile;
+  }
+
+  void addCall(final CallFrame call) {
+    calls.add(call);
+  }
+
+  void setGas(final long gas) {
+    this.gas = gas;
+  }
+
+  void setGasUsed(final long gasUsed) {
+    this.gasUsed = gasUsed;
+  }
+
+  void setOutput(final Bytes output) {
+    this.output = output;
+  }
+
+  void setError(final String error, final boolean reverted) {
+    this.error = error;
+    this.reverted = reverted;
+  }
+
+  void setPrecompile(final boolean precompile) {
+    this.precompile = precompile;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import static org.hyperledger.besu.evm.internal.Words.toAddress;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Records the tree of message calls and contract creations of a transaction, in the format of the
+ * callTracer of go-ethereum. Only the entry and exit of each frame and the SELFDESTRUCT operations
+ * are looked at.
+ */
+public class CallTracer implements NativeTracer {
+
+  private static final int SELFDESTRUCT_OPCODE = 0xFF;
+  private static final String REVERTED_ERROR = "execution reverted";
+
+  private final Deque<MessageFrame> frames = new ArrayDeque<>();
+  private final Deque<CallFrame> calls = new ArrayDeque<>();
+  private CallFrame rootCall;
+  private CallFrame pendingSelfDestruct;
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    final MessageFrame parent = frames.peek();
+    final boolean creation = frame.getType() == MessageFrame.Type.CONTRACT_CREATION;
+    final String type;
+    if (parent == null) {
+      type = creation ? "CREATE" : "CALL";
+    } else {
+      type = parent.getCurrentOperation().getName();
+    }
+    final CallFrame call =
+        new CallFrame(
+            type,
+            parent == null ? frame.getSenderAddress() : parent.getRecipientAddress(),
+            creation ? frame.getRecipientAddress() : frame.getContractAddress(),
+            "DELEGATECALL".equals(type) || "STATICCALL".equals(type) ? null : frame.getValue(),
+            frame.getRemainingGas(),
+            creation ? frame.getCode().getBytes() : frame.getInputData());
+    if (parent == null) {
+      rootCall = call;
+    } else {
+      calls.peek().addCall(call);
+    }
+    frames.push(frame);
+    calls.push(call);
+  }
+
+  @Override
+  public void traceContextExit(final MessageFrame frame) {
+    frames.pop();
+    final CallFrame call = calls.pop();
+    call.setGasUsed(call.getGasLong() - frame.getRemainingGas());
+    call.setOutput(frame.getOutputData());
+    if (frame.getState() == MessageFrame.State.COMPLETED_FAILED) {
+      final Optional<ExceptionalHaltReason> haltReason = frame.getExceptionalHaltReason();
+      if (haltReason.isPresent()) {
+        call.setError(haltReason.get().getDescription(), false);
+      } else {
+        call.setError(REVERTED_ERROR, true);
+      }
+    }
+  }
+
+  @Override
+  public void tracePrecompileCall(
+      final MessageFrame frame, final long gasRequirement, final Bytes output) {
+    calls.peek().setPrecompile(true);
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    if (frame.getCurrentOperation().getOpcode() == SELFDESTRUCT_OPCODE && frame.stackSize() > 0) {
+      final Account account = frame.getWorldUpdater().get(frame.getRecipientAddress());
+      pendingSelfDestruct =
+          new CallFrame(
+              "SELFDESTRUCT",
+              frame.getRecipientAddress(),
+              toAddress(frame.getStackItem(0)),
+              account == null ? Wei.ZERO : account.getBalance(),
+              0L,
+              Bytes.EMPTY);
+    }
+  }
+
+  @Override
+  public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
+    if (pendingSelfDestruct != null) {
+      // the beneficiary is only credited if the operation succeeded
+      if (operationResult.getHaltReason() == null) {
+        calls.peek().addCall(pendingSelfDestruct);
+      }
+      pendingSelfDestruct = null;
+    }
+  }
+
+  @Override
+  public void traceEndTransaction(
+      final Transaction transaction, final TransactionProcessingResult result) {
+    if (rootCall == null) {
+      return;
+    }
+    // the outermost call accounts for the whole transaction, intrinsic gas included and refunds
+    // deducted, the gas left over is what the sender got back
+    rootCall.setGas(transaction.getGasLimit());
+    rootCall.setGasUsed(transaction.getGasLimit() - result.getGasRemaining());
+  }
+
+  /**
+   * Returns the outermost call of the last traced transaction.
+   *
+   * @return the outermost call, or null if no transaction was executed
+   */
+  public CallFrame getRootCall() {
+    return rootCall;
+  }
+
+  @Override
+  public Object getResult() {
+    return rootCall;
+  }
+
+  @Override
+  public void reset() {
+    frames.clear();
+    calls.clear();
+    rootCall = null;
+    pendingSelfDestruct = null;
+  }
+}
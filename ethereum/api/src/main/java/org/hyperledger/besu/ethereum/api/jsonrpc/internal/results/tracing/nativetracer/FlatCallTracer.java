@@ -0,0 +1,45 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+
+import java.util.stream.Collectors;
+
+/**
+ * Records the calls of a transaction like the {@link CallTracer} and returns them as flat traces,
+ * in the format of trace_transaction.
+ */
+public class FlatCallTracer extends CallTracer {
+
+  @Override
+  public void traceEndTransaction(
+      final Transaction transaction, final TransactionProcessingResult result) {
+    // like trace_transaction, the outermost trace keeps the gas of the outermost frame, without
+    // the intrinsic gas and before refunds
+  }
+
+  @Override
+  public Object getResult() {
+    final CallFrame rootCall = getRootCall();
+    if (rootCall == null) {
+      return null;
+    }
+    return FlatTraceGenerator.generateFromCallFrame(rootCall, builder -> {})
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Counts the function selectors of the message calls of a transaction, in the format of the
+ * 4byteTracer of go-ethereum: each key is a selector followed by the size of the call arguments.
+ */
+public class FourByteTracer implements NativeTracer {
+
+  private static final int SELECTOR_SIZE = 4;
+
+  private final Map<String, Integer> selectors = new LinkedHashMap<>();
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    final Bytes input = frame.getInputData();
+    // calls to accounts without code, including precompiled contracts, have no selector
+    if (frame.getType() == MessageFrame.Type.MESSAGE_CALL
+        && input.size() >= SELECTOR_SIZE
+        && frame.getCode().getSize() > 0) {
+      selectors.merge(
+          input.slice(0, SELECTOR_SIZE).toHexString() + "-" + (input.size() - SELECTOR_SIZE),
+          1,
+          Integer::sum);
+    }
+  }
+
+  @Override
+  public Object getResult() {
+    return new LinkedHashMap<>(selectors);
+  }
+
+  @Override
+  public void reset() {
+    selectors.clear();
+  }
+}
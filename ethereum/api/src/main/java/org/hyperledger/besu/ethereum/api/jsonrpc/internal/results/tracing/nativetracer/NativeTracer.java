@@ -0,0 +1,47 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+/**
+ * A tracer that computes its result while a transaction is executed, instead of recording a
+ * {@link org.hyperledger.besu.ethereum.debug.TraceFrame} for every operation and deriving the
+ * result from them afterwards. Only the operations the tracer is interested in are looked at, so
+ * the memory used does not grow with the number of executed operations.
+ */
+public interface NativeTracer extends OperationTracer {
+
+  /**
+   * Called once the transaction has been executed, refunds included, and before its result is read.
+   *
+   * @param transaction the traced transaction
+   * @param result the result of the execution of the transaction
+   */
+  default void traceEndTransaction(
+      final Transaction transaction, final TransactionProcessingResult result) {}
+
+  /**
+   * Returns the result of the last traced transaction, serialized as the JSON-RPC result.
+   *
+   * @return the result of the last traced transaction
+   */
+  Object getResult();
+
+  /** Clears the state of the tracer so that it can trace the next transaction. */
+  void reset();
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/** The native tracers that can be selected with the {@code tracer} option of debug_trace*. */
+public enum NativeTracerType {
+  CALL_TRACER("callTracer", CallTracer::new),
+  FLAT_CALL_TRACER("flatCallTracer", FlatCallTracer::new),
+  PRESTATE_TRACER("prestateTracer", PrestateTracer::new),
+  FOUR_BYTE_TRACER("4byteTracer", FourByteTracer::new);
+
+  private final String tracerName;
+  private final Supplier<NativeTracer> factory;
+
+  NativeTracerType(final String tracerName, final Supplier<NativeTracer> factory) {
+    this.tracerName = tracerName;
+    this.factory = factory;
+  }
+
+  public String getTracerName() {
+    return tracerName;
+  }
+
+  public NativeTracer createTracer() {
+    return factory.get();
+  }
+
+  public static Optional<NativeTracerType> fromTracerName(final String tracerName) {
+    return Arrays.stream(values()).filter(type -> type.tracerName.equals(tracerName)).findFirst();
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+import static org.hyperledger.besu.evm.internal.Words.toAddress;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Records the state of the accounts and storage slots a transaction touches, as it was before the
+ * transaction, in the format of the prestateTracer of go-ethereum. The state is read the first
+ * time an account or slot is touched, from the world state the transaction is executed against,
+ * which only holds the changes of the transaction once it has completed.
+ */
+public class PrestateTracer implements NativeTracer {
+
+  private static final int BALANCE_OPCODE = 0x31;
+  private static final int EXTCODESIZE_OPCODE = 0x3B;
+  private static final int EXTCODECOPY_OPCODE = 0x3C;
+  private static final int EXTCODEHASH_OPCODE = 0x3F;
+  private static final int SLOAD_OPCODE = 0x54;
+  private static final int SSTORE_OPCODE = 0x55;
+  private static final int CALL_OPCODE = 0xF1;
+  private static final int CALLCODE_OPCODE = 0xF2;
+  private static final int DELEGATECALL_OPCODE = 0xF4;
+  private static final int STATICCALL_OPCODE = 0xFA;
+  private static final int SELFDESTRUCT_OPCODE = 0xFF;
+
+  private final Map<Address, AccountPrestate> accounts = new LinkedHashMap<>();
+  private WorldView worldView;
+
+  @Override
+  public void traceStartTransaction(final WorldView worldView, final Address sender) {
+    this.worldView = worldView;
+    // the sender is charged before the execution starts, so it is read right away
+    lookupAccount(sender);
+  }
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    if (frame.getMessageStackDepth() == 0) {
+      lookupAccount(frame.getMiningBeneficiary());
+    }
+    lookupAccount(frame.getRecipientAddress());
+    lookupAccount(frame.getContractAddress());
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    switch (frame.getCurrentOperation().getOpcode()) {
+      case SLOAD_OPCODE, SSTORE_OPCODE -> {
+        if (frame.stackSize() > 0) {
+          lookupStorage(frame.getRecipientAddress(), UInt256.fromBytes(frame.getStackItem(0)));
+        }
+      }
+      case BALANCE_OPCODE,
+          EXTCODESIZE_OPCODE,
+          EXTCODECOPY_OPCODE,
+          EXTCODEHASH_OPCODE,
+          SELFDESTRUCT_OPCODE -> {
+        if (frame.stackSize() > 0) {
+          lookupAccount(toAddress(frame.getStackItem(0)));
+        }
+      }
+      case CALL_OPCODE, CALLCODE_OPCODE, DELEGATECALL_OPCODE, STATICCALL_OPCODE -> {
+        if (frame.stackSize() > 1) {
+          lookupAccount(toAddress(frame.getStackItem(1)));
+        }
+      }
+      default -> {}
+    }
+  }
+
+  private AccountPrestate lookupAccount(final Address address) {
+    if (worldView == null) {
+      return null;
+    }
+    return accounts.computeIfAbsent(address, __ -> new AccountPrestate(worldView.get(address)));
+  }
+
+  private void lookupStorage(final Address address, final UInt256 slot) {
+    final AccountPrestate prestate = lookupAccount(address);
+    if (prestate != null && prestate.exists()) {
+      prestate.storage.computeIfAbsent(
+          slot.toHexString(),
+          __ -> worldView.get(address).getStorageValue(slot).toHexString());
+    }
+  }
+
+  @Override
+  public Object getResult() {
+    final Map<String, AccountPrestate> result = new LinkedHashMap<>();
+    accounts.forEach(
+        (address, prestate) -> {
+          if (prestate.exists()) {
+            result.put(address.toHexString(), prestate);
+          }
+        });
+    return result;
+  }
+
+  @Override
+  public void reset() {
+    accounts.clear();
+    worldView = null;
+  }
+
+  /** The state of an account before the traced transaction. */
+  @JsonInclude(NON_EMPTY)
+  @JsonPropertyOrder({"balance", "nonce", "code", "storage"})
+  public static class AccountPrestate {
+
+    private final String balance;
+    private final Long nonce;
+    private final String code;
+    private final Map<String, String> storage = new TreeMap<>();
+
+    AccountPrestate(final Account account) {
+      if (account == null) {
+        this.balance = null;
+        this.nonce = null;
+        this.code = null;
+      } else {
+        this.balance = Quantity.create(account.getBalance());
+        this.nonce = account.getNonce() == 0 ? null : account.getNonce();
+        this.code = account.hasCode() ? account.getCode().toHexString() : null;
+      }
+    }
+
+    boolean exists() {
+      return balance != null;
+    }
+
+    public String getBalance() {
+      return balance;
+    }
+
+    public Long getNonce() {
+      return nonce;
+    }
+
+    public String getCode() {
+      return code;
+    }
+
+    public Map<String, String> getStorage() {
+      return storage;
+    }
+  }
+}
@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponseType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -96,7 +97,10 @@ public class JsonRpcIpcService {
                                           closedSocket::get,
                                           jsonRpcRequest,
                                           req -> req.mapTo(JsonRpcRequest.class));
-                                  promise.complete(jsonRpcResponse);
+                                  // responses are written on the event loop, so nothing may be
+                                  // left to produce
+                                  promise.complete(
+                                      StreamingArrayResult.materialize(jsonRpcResponse));
                                 })
                             .onSuccess(
                                 jsonRpcResponse -> {
@@ -137,13 +141,14 @@ public class JsonRpcIpcService {
                                           continue;
                                         }
                                         responses.add(
-                                            jsonRpcExecutor.execute(
-                                                Optional.empty(),
-                                                null,
-                                                null,
-                                                closedSocket::get,
-                                                jsonRequest,
-                                                req -> req.mapTo(JsonRpcRequest.class)));
+                                            StreamingArrayResult.materialize(
+                                                jsonRpcExecutor.execute(
+                                                    Optional.empty(),
+                                                    null,
+                                                    null,
+                                                    closedSocket::get,
+                                                    jsonRequest,
+                                                    req -> req.mapTo(JsonRpcRequest.class))));
                                       }
                                       promise.complete(responses);
                                     })
@@ -36,11 +36,15 @@ public class TraceJsonRpcMethods extends ApiGroupJsonRpcMethods {
 
   private final BlockchainQueries blockchainQueries;
   private final ProtocolSchedule protocolSchedule;
+  private final boolean nativeFlatTracerEnabled;
 
   TraceJsonRpcMethods(
-      final BlockchainQueries blockchainQueries, final ProtocolSchedule protocolSchedule) {
+      final BlockchainQueries blockchainQueries,
+      final ProtocolSchedule protocolSchedule,
+      final boolean nativeFlatTracerEnabled) {
     this.blockchainQueries = blockchainQueries;
     this.protocolSchedule = protocolSchedule;
+    this.nativeFlatTracerEnabled = nativeFlatTracerEnabled;
   }
 
   @Override
@@ -54,11 +58,15 @@ public class TraceJsonRpcMethods extends ApiGroupJsonRpcMethods {
         new BlockReplay(protocolSchedule, blockchainQueries.getBlockchain());
     return mapOf(
         new TraceReplayBlockTransactions(protocolSchedule, blockchainQueries),
-        new TraceFilter(() -> new BlockTracer(blockReplay), protocolSchedule, blockchainQueries),
+        new TraceFilter(
+            () -> new BlockTracer(blockReplay),
+            protocolSchedule,
+            blockchainQueries,
+            nativeFlatTracerEnabled),
         new TraceGet(() -> new BlockTracer(blockReplay), blockchainQueries, protocolSchedule),
         new TraceTransaction(
             () -> new BlockTracer(blockReplay), protocolSchedule, blockchainQueries),
-        new TraceBlock(protocolSchedule, blockchainQueries),
+        new TraceBlock(protocolSchedule, blockchainQueries, nativeFlatTracerEnabled),
         new TraceCall(
             blockchainQueries,
             protocolSchedule,
@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponseType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 
@@ -94,7 +95,8 @@ public class WebSocketMessageHandler {
                               websocketRequest.setConnectionId(websocket.textHandlerID());
                               return websocketRequest;
                             });
-                    promise.complete(jsonRpcResponse);
+                    // responses are written on the event loop, so nothing may be left to produce
+                    promise.complete(StreamingArrayResult.materialize(jsonRpcResponse));
                   } catch (RuntimeException e) {
                     promise.fail(e);
                   }
@@ -125,18 +127,19 @@ public class WebSocketMessageHandler {
                         continue;
                       }
                       responses.add(
-                          jsonRpcExecutor.execute(
-                              user,
-                              null,
-                              null,
-                              new IsAliveHandler(ethScheduler, timeoutSec),
-                              jsonRequest,
-                              req -> {
-                                final WebSocketRpcRequest websocketRequest =
-                                    req.mapTo(WebSocketRpcRequest.class);
-                                websocketRequest.setConnectionId(websocket.textHandlerID());
-                                return websocketRequest;
-                              }));
+                          StreamingArrayResult.materialize(
+                              jsonRpcExecutor.execute(
+                                  user,
+                                  null,
+                                  null,
+                                  new IsAliveHandler(ethScheduler, timeoutSec),
+                                  jsonRequest,
+                                  req -> {
+                                    final WebSocketRpcRequest websocketRequest =
+                                        req.mapTo(WebSocketRpcRequest.class);
+                                    websocketRequest.setConnectionId(websocket.textHandlerID());
+                                    return websocketRequest;
+                                  })));
                     }
                     promise.complete(responses);
                   })
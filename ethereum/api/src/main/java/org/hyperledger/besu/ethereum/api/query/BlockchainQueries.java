@@ -22,6 +22,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.BloomBitsIndex;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
@@ -33,6 +34,7 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.storage.logindex.LogIndex;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
@@ -44,6 +46,7 @@ import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -69,6 +72,7 @@ public class BlockchainQueries {
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
+  private final Optional<LogIndex> logIndex;
 
   public BlockchainQueries(final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
     this(blockchain, worldStateArchive, Optional.empty(), Optional.empty());
@@ -100,6 +104,16 @@ public class BlockchainQueries {
       final Optional<Path> cachePath,
       final Optional<EthScheduler> scheduler,
       final ApiConfiguration apiConfig) {
+    this(blockchain, worldStateArchive, cachePath, scheduler, apiConfig, Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<Path> cachePath,
+      final Optional<EthScheduler> scheduler,
+      final ApiConfiguration apiConfig,
+      final Optional<LogIndex> logIndex) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.cachePath = cachePath;
@@ -110,6 +124,7 @@ public class BlockchainQueries {
                 new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
             : Optional.empty();
     this.apiConfig = apiConfig;
+    this.logIndex = logIndex;
   }
 
   public Blockchain getBlockchain() {
@@ -669,48 +684,100 @@ public class BlockchainQueries {
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
     try {
-      final List<LogWithMetadata> result = new ArrayList<>();
-      final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      long currentStep = fromBlockNumber;
-      for (long segment = startSegment; segment <= endSegment; segment++) {
-        final long thisSegment = segment;
-        final long thisStep = currentStep;
-        final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
-        BackendQuery.stopIfExpired(isQueryAlive);
-        result.addAll(
-            cachePath
-                .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
-                .filter(Files::isRegularFile)
-                .map(
-                    cacheFile -> {
-                      try {
-                        return matchingLogsCached(
-                            thisSegment * BLOCKS_PER_BLOOM_CACHE,
-                            thisStep % BLOCKS_PER_BLOOM_CACHE,
-                            Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
-                            query,
-                            cacheFile,
-                            isQueryAlive);
-                      } catch (final Exception e) {
-                        throw new RuntimeException(e);
-                      }
-                    })
-                .orElseGet(
-                    () ->
-                        matchingLogsUncached(
-                            thisStep,
-                            Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
-                            query,
-                            isQueryAlive)));
-        currentStep = nextStep;
+      final Optional<LogIndex.IndexedBlocks> indexedBlocks =
+          logIndex.flatMap(LogIndex::getIndexedBlocks);
+      if (indexedBlocks.isPresent()) {
+        final long indexedFrom = Math.max(fromBlockNumber, indexedBlocks.get().fromBlockNumber());
+        final long indexedTo = Math.min(toBlockNumber, indexedBlocks.get().toBlockNumber());
+        final Optional<BitSet> matchingBlocks =
+            indexedFrom <= indexedTo
+                ? logIndex
+                    .get()
+                    .matchingBlocks(query.getAddresses(), query.getTopics(), indexedFrom, indexedTo)
+                : Optional.empty();
+        if (matchingBlocks.isPresent()) {
+          // the blocks out of the indexed range are still found from the blooms
+          final List<LogWithMetadata> result = new ArrayList<>();
+          if (fromBlockNumber < indexedFrom) {
+            result.addAll(
+                matchingLogsFromBlooms(fromBlockNumber, indexedFrom - 1, query, isQueryAlive));
+          }
+          result.addAll(
+              matchingLogsFromLogIndex(indexedFrom, matchingBlocks.get(), query, isQueryAlive));
+          if (indexedTo < toBlockNumber) {
+            result.addAll(
+                matchingLogsFromBlooms(indexedTo + 1, toBlockNumber, query, isQueryAlive));
+          }
+          return result;
+        }
       }
-      return result;
+      return matchingLogsFromBlooms(fromBlockNumber, toBlockNumber, query, isQueryAlive);
     } catch (final Exception e) {
       throw new IllegalStateException("Error retrieving matching logs", e);
     }
   }
 
+  private List<LogWithMetadata> matchingLogsFromBlooms(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final List<LogWithMetadata> result = new ArrayList<>();
+    final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
+    final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
+    long currentStep = fromBlockNumber;
+    for (long segment = startSegment; segment <= endSegment; segment++) {
+      final long thisSegment = segment;
+      final long thisStep = currentStep;
+      final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
+      BackendQuery.stopIfExpired(isQueryAlive);
+      result.addAll(
+          cachePath
+              .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
+              .filter(Files::isRegularFile)
+              .map(
+                  cacheFile -> {
+                    try {
+                      return matchingLogsCached(
+                          thisSegment * BLOCKS_PER_BLOOM_CACHE,
+                          thisStep % BLOCKS_PER_BLOOM_CACHE,
+                          Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
+                          query,
+                          cacheFile,
+                          isQueryAlive);
+                    } catch (final Exception e) {
+                      throw new RuntimeException(e);
+                    }
+                  })
+              .orElseGet(
+                  () ->
+                      matchingLogsUncached(
+                          thisStep,
+                          Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
+                          query,
+                          isQueryAlive)));
+      currentStep = nextStep;
+    }
+    return result;
+  }
+
+  private List<LogWithMetadata> matchingLogsFromLogIndex(
+      final long fromBlockNumber,
+      final BitSet matchingBlocks,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final List<LogWithMetadata> result = new ArrayList<>();
+    for (int offset = matchingBlocks.nextSetBit(0);
+        offset >= 0;
+        offset = matchingBlocks.nextSetBit(offset + 1)) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      result.addAll(matchingLogsAtBlock(fromBlockNumber + offset, query, isQueryAlive));
+    }
+    return result;
+  }
+
   private List<LogWithMetadata> matchingLogsUncached(
       final long fromBlockNumber,
       final long toBlockNumber,
@@ -737,6 +804,17 @@ public class BlockchainQueries {
       final Path cacheFile,
       final Supplier<Boolean> isQueryAlive)
       throws Exception {
+    final long segment = segmentStart / BLOCKS_PER_BLOOM_CACHE;
+    // the cacher keeps the indexes mapped, without one there is nothing to invalidate them
+    final Optional<BloomBitsIndex> bloomBitsIndex =
+        transactionLogBloomCacher.isPresent()
+            ? transactionLogBloomCacher.get().getBloomBitsIndex(segment)
+            : BloomBitsIndex.open(
+                BloomBitsIndex.calculateIndexFileName(cacheFile.getParent(), segment));
+    if (bloomBitsIndex.isPresent()) {
+      return matchingLogsIndexed(
+          segmentStart, offset, endOffset, query, bloomBitsIndex.get(), isQueryAlive);
+    }
     final List<LogWithMetadata> results = new ArrayList<>();
     try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
       raf.seek(offset * 256);
@@ -754,11 +832,7 @@ public class BlockchainQueries {
         }
         final LogsBloomFilter logsBloom = new LogsBloomFilter(bytesValue);
         if (query.couldMatch(logsBloom)) {
-          results.addAll(
-              matchingLogs(
-                  blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
-                  query,
-                  isQueryAlive));
+          results.addAll(matchingLogsAtBlock(segmentStart + pos, query, isQueryAlive));
         }
       }
     } catch (final IOException e) {
@@ -768,6 +842,32 @@ public class BlockchainQueries {
     return results;
   }
 
+  private List<LogWithMetadata> matchingLogsIndexed(
+      final long segmentStart,
+      final long offset,
+      final long endOffset,
+      final LogsQuery query,
+      final BloomBitsIndex bloomBitsIndex,
+      final Supplier<Boolean> isQueryAlive) {
+    final List<LogWithMetadata> results = new ArrayList<>();
+    // only the blocks whose bloom could match are read, the index covers the whole segment
+    final BitSet candidates = bloomBitsIndex.matchingBlocks(query, (int) offset, (int) endOffset);
+    for (int pos = candidates.nextSetBit(0); pos >= 0; pos = candidates.nextSetBit(pos + 1)) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      results.addAll(matchingLogsAtBlock(segmentStart + pos, query, isQueryAlive));
+    }
+    return results;
+  }
+
+  private List<LogWithMetadata> matchingLogsAtBlock(
+      final long blockNumber, final LogsQuery query, final Supplier<Boolean> isQueryAlive) {
+    // a block can be missing from the canonical chain, e.g. a range that is not synced yet
+    return blockchain
+        .getBlockHashByNumber(blockNumber)
+        .map(blockHash -> matchingLogs(blockHash, query, isQueryAlive))
+        .orElse(Collections.emptyList());
+  }
+
   public List<LogWithMetadata> matchingLogs(
       final Hash blockHash, final LogsQuery query, final Supplier<Boolean> isQueryAlive) {
     try {
@@ -0,0 +1,204 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A bit-sliced copy of a complete log bloom cache segment.
+ *
+ * <p>The segment files written by {@link TransactionLogBloomCacher} hold the 256 byte bloom of
+ * each block one after the other, so answering a query means reading the full bloom of every block
+ * of the range. The index transposes a segment: each of the 2048 bloom bits is stored as a column
+ * holding that bit for every block of the segment. A query only reads the three columns of each of
+ * its addresses and topics, and combines them a word of 64 blocks at a time.
+ */
+public class BloomBitsIndex {
+
+  static final int BLOOM_BITS = LogsBloomFilter.BYTE_SIZE * Byte.SIZE;
+  private static final int WORDS_PER_COLUMN = (BLOCKS_PER_BLOOM_CACHE + Long.SIZE - 1) / Long.SIZE;
+  private static final int COLUMN_SIZE = WORDS_PER_COLUMN * Long.BYTES;
+  static final int EXPECTED_INDEX_FILE_SIZE = BLOOM_BITS * COLUMN_SIZE;
+  private static final long EXPECTED_BLOOM_FILE_SIZE =
+      (long) BLOCKS_PER_BLOOM_CACHE * BLOOM_BITS_LENGTH;
+
+  private final ByteBuffer columns;
+
+  private BloomBitsIndex(final ByteBuffer columns) {
+    this.columns = columns;
+  }
+
+  public static Path calculateIndexFileName(final Path cacheDir, final long segment) {
+    return cacheDir.resolve("logBloom-" + segment + ".bits");
+  }
+
+  /**
+   * Maps the index of a segment in memory.
+   *
+   * @param indexFile the index file of the segment
+   * @return the index, or empty if the segment has no complete index
+   * @throws IOException if the index cannot be read
+   */
+  public static Optional<BloomBitsIndex> open(final Path indexFile) throws IOException {
+    try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      if (channel.size() != EXPECTED_INDEX_FILE_SIZE) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          new BloomBitsIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Transposes a complete log bloom cache segment into its index. The index is written to a
+   * temporary file which is then moved in place, so readers never see a partial index.
+   *
+   * @param cacheFile the log bloom cache file of the segment
+   * @param indexFile the index file to write
+   * @throws IOException if the cache file cannot be read or the index cannot be written
+   */
+  public static void generate(final Path cacheFile, final Path indexFile) throws IOException {
+    final Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+    try (final FileChannel in = FileChannel.open(cacheFile, StandardOpenOption.READ);
+        final FileChannel out =
+            FileChannel.open(
+                tempFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+      checkState(
+          in.size() == EXPECTED_BLOOM_FILE_SIZE, "Log bloom cache %s is incomplete", cacheFile);
+      final MappedByteBuffer blooms = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+      final MappedByteBuffer index =
+          out.map(FileChannel.MapMode.READ_WRITE, 0, EXPECTED_INDEX_FILE_SIZE);
+      // transpose 64 blocks at a time so that every word of the index is written once
+      final long[] words = new long[BLOOM_BITS];
+      for (int word = 0; word < WORDS_PER_COLUMN; word++) {
+        Arrays.fill(words, 0L);
+        final int firstBlock = word * Long.SIZE;
+        final int lastBlock = Math.min(firstBlock + Long.SIZE, BLOCKS_PER_BLOOM_CACHE);
+        for (int block = firstBlock; block < lastBlock; block++) {
+          final long blockBit = 1L << (block - firstBlock);
+          final int bloomOffset = block * BLOOM_BITS_LENGTH;
+          for (int i = 0; i < BLOOM_BITS_LENGTH; i++) {
+            int value = blooms.get(bloomOffset + i) & 0xff;
+            while (value != 0) {
+              words[i * Byte.SIZE + Integer.numberOfTrailingZeros(value)] |= blockBit;
+              value &= value - 1;
+            }
+          }
+        }
+        for (int column = 0; column < BLOOM_BITS; column++) {
+          index.putLong(column * COLUMN_SIZE + word * Long.BYTES, words[column]);
+        }
+      }
+      index.force();
+    }
+    Files.move(
+        tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Finds the blocks of the segment whose bloom could match the query, it returns the same blocks
+   * as checking {@link LogsQuery#couldMatch(LogsBloomFilter)} against the bloom of each block.
+   *
+   * @param query the logs query
+   * @param fromOffset the offset of the first block in the segment (inclusive)
+   * @param toOffset the offset of the last block in the segment (inclusive)
+   * @return the offsets in the segment of the blocks that could match
+   */
+  public BitSet matchingBlocks(final LogsQuery query, final int fromOffset, final int toOffset) {
+    checkArgument(
+        fromOffset >= 0 && toOffset < BLOCKS_PER_BLOOM_CACHE,
+        "Block offsets must be within the segment");
+    if (fromOffset > toOffset) {
+      return new BitSet();
+    }
+    final int fromWord = fromOffset / Long.SIZE;
+    final int toWord = toOffset / Long.SIZE;
+    final long[] matches = new long[toWord + 1];
+    Arrays.fill(matches, fromWord, toWord + 1, -1L);
+    if (!query.getAddressBlooms().isEmpty()) {
+      and(matches, anyOf(query.getAddressBlooms(), fromWord, toWord), fromWord, toWord);
+    }
+    for (final List<LogsBloomFilter> topicBlooms : query.getTopicsBlooms()) {
+      if (!topicBlooms.isEmpty()) {
+        and(matches, anyOf(topicBlooms, fromWord, toWord), fromWord, toWord);
+      }
+    }
+    final BitSet blocks = BitSet.valueOf(matches);
+    blocks.clear(0, fromOffset);
+    blocks.clear(toOffset + 1, (toWord + 1) * Long.SIZE);
+    return blocks;
+  }
+
+  private long[] anyOf(final List<LogsBloomFilter> blooms, final int fromWord, final int toWord) {
+    final long[] result = new long[toWord + 1];
+    final long[] bloomMatches = new long[toWord + 1];
+    for (final LogsBloomFilter bloom : blooms) {
+      Arrays.fill(bloomMatches, fromWord, toWord + 1, -1L);
+      for (int i = 0; i < LogsBloomFilter.BYTE_SIZE; i++) {
+        int value = bloom.get(i) & 0xff;
+        while (value != 0) {
+          andColumn(
+              bloomMatches, i * Byte.SIZE + Integer.numberOfTrailingZeros(value), fromWord, toWord);
+          value &= value - 1;
+        }
+      }
+      for (int word = fromWord; word <= toWord; word++) {
+        result[word] |= bloomMatches[word];
+      }
+    }
+    return result;
+  }
+
+  private void andColumn(
+      final long[] matches, final int column, final int fromWord, final int toWord) {
+    final int columnOffset = column * COLUMN_SIZE;
+    for (int word = fromWord; word <= toWord; word++) {
+      matches[word] &= columns.getLong(columnOffset + word * Long.BYTES);
+    }
+  }
+
+  private static void and(
+      final long[] matches, final long[] other, final int fromWord, final int toWord) {
+    for (int word = fromWord; word <= toWord; word++) {
+      matches[word] &= other[word];
+    }
+  }
+}
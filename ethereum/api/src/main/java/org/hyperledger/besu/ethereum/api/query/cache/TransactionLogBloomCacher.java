@@ -30,6 +30,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -37,6 +38,7 @@ import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -56,6 +58,7 @@ public class TransactionLogBloomCacher {
   private static final int EXPECTED_BLOOM_FILE_SIZE = BLOCKS_PER_BLOOM_CACHE * BLOOM_BITS_LENGTH;
   public static final String CURRENT = "current";
   private final Map<Long, Boolean> cachedSegments;
+  private final Map<Long, Optional<BloomBitsIndex>> bloomBitsIndexes = new ConcurrentHashMap<>();
 
   private final Lock submissionLock = new ReentrantLock();
 
@@ -109,6 +112,7 @@ public class TransactionLogBloomCacher {
         for (long blockNum = start; blockNum < stop; blockNum += BLOCKS_PER_BLOOM_CACHE) {
           LOG.trace("Caching segment at {}", blockNum);
           final File cacheFile = calculateCacheFileName(blockNum, cacheDir);
+          removeBloomBitsIndex(blockNum);
           blockchain
               .getBlockHeader(blockNum)
               .ifPresent(
@@ -116,6 +120,9 @@ public class TransactionLogBloomCacher {
                       cacheLogsBloomForBlockHeader(
                           blockHeader, Optional.empty(), Optional.of(cacheFile)));
           fillCacheFile(blockNum, blockNum + BLOCKS_PER_BLOOM_CACHE, cacheFile);
+          if (cacheFile.length() == EXPECTED_BLOOM_FILE_SIZE) {
+            generateBloomBitsIndex(blockNum);
+          }
         }
       } catch (final Exception e) {
         LOG.error("Unhandled caching exception", e);
@@ -206,6 +213,10 @@ public class TransactionLogBloomCacher {
       if (isCheckSizeNeeded && blockIndex > nbCachedBlocks) {
         throw new InvalidCacheException();
       }
+      if (nbCachedBlocks == BLOCKS_PER_BLOOM_CACHE) {
+        // the segment was complete, its index no longer matches
+        removeBloomBitsIndex(blockHeader.getNumber());
+      }
       writer.seek(offset);
       writer.write(ensureBloomBitsAreCorrectLength(blockHeader.getLogsBloom().toArray()));
 
@@ -232,6 +243,7 @@ public class TransactionLogBloomCacher {
         }
         blockNumber++;
       }
+      removeBloomBitsIndex(blockNumber);
       Files.move(
           currentFile.toPath(),
           calculateCacheFileName(blockNumber, cacheDir).toPath(),
@@ -259,6 +271,7 @@ public class TransactionLogBloomCacher {
           final long fromBlock = segmentNumber * BLOCKS_PER_BLOOM_CACHE;
           final File cacheFile = calculateCacheFileName(fromBlock, cacheDir);
           cachedSegments.remove(segmentNumber);
+          removeBloomBitsIndex(fromBlock);
           if (Files.deleteIfExists(cacheFile.toPath())) {
             LOG.info(
                 "Deleted transaction log bloom cache file: {}/{}", cacheDir, cacheFile.getName());
@@ -298,6 +311,9 @@ public class TransactionLogBloomCacher {
                               || !cacheFile.isFile()
                               || cacheFile.length() != EXPECTED_BLOOM_FILE_SIZE) {
                             generateLogBloomCache(startBlock, startBlock + BLOCKS_PER_BLOOM_CACHE);
+                          } else if (!Files.isRegularFile(
+                              BloomBitsIndex.calculateIndexFileName(cacheDir, currentSegment))) {
+                            generateBloomBitsIndex(startBlock);
                           }
                           cachedSegments.put(currentSegment, true);
                         }
@@ -311,6 +327,50 @@ public class TransactionLogBloomCacher {
     }
   }
 
+  /**
+   * Returns the bloom bits index of a segment. The index is mapped the first time it is requested
+   * and stays mapped until the segment is indexed again or its index is removed.
+   *
+   * @param segment the segment number
+   * @return the index, or empty if the segment has not been indexed
+   */
+  public Optional<BloomBitsIndex> getBloomBitsIndex(final long segment) {
+    return bloomBitsIndexes.computeIfAbsent(
+        segment,
+        key -> {
+          try {
+            return BloomBitsIndex.open(BloomBitsIndex.calculateIndexFileName(cacheDir, key));
+          } catch (final IOException e) {
+            // not cached, the next query tries again
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private void generateBloomBitsIndex(final long blockNumber) {
+    final long segmentNumber = blockNumber / BLOCKS_PER_BLOOM_CACHE;
+    try {
+      BloomBitsIndex.generate(
+          calculateCacheFileName(blockNumber, cacheDir).toPath(),
+          BloomBitsIndex.calculateIndexFileName(cacheDir, segmentNumber));
+    } catch (final IOException e) {
+      LOG.error(
+          String.format("Unhandled exception indexing log bloom cache segment %d", segmentNumber),
+          e);
+    } finally {
+      bloomBitsIndexes.remove(segmentNumber);
+    }
+  }
+
+  private void removeBloomBitsIndex(final long blockNumber) throws IOException {
+    final long segmentNumber = blockNumber / BLOCKS_PER_BLOOM_CACHE;
+    try {
+      Files.deleteIfExists(BloomBitsIndex.calculateIndexFileName(cacheDir, segmentNumber));
+    } finally {
+      bloomBitsIndexes.remove(segmentNumber);
+    }
+  }
+
   private void fillCacheFileWithBlock(final BlockHeader blockHeader, final OutputStream fos)
       throws IOException {
     fos.write(ensureBloomBitsAreCorrectLength(blockHeader.getLogsBloom().toArray()));
@@ -0,0 +1,157 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import org.junit.After;
+import org.junit.Test;
+
+public class JsonRpcBatchExecutorTest {
+
+  private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+  private final JsonRpcBatchExecutor batchExecutor =
+      new JsonRpcBatchExecutor(executorService, new NoOpMetricsSystem());
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void executesTheRequestsConcurrently() {
+    final CountDownLatch started = new CountDownLatch(4);
+    final List<Supplier<Boolean>> requests =
+        IntStream.range(0, 4)
+            .<Supplier<Boolean>>mapToObj(
+                i ->
+                    () -> {
+                      started.countDown();
+                      try {
+                        // only completes if all the requests run at the same time
+                        return started.await(10, TimeUnit.SECONDS);
+                      } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                      }
+                    })
+            .collect(Collectors.toList());
+
+    assertThat(batchExecutor.executeAll(requests)).containsOnly(true);
+  }
+
+  @Test
+  public void returnsTheResponsesInTheOrderOfTheRequests() {
+    final List<Supplier<Integer>> requests =
+        IntStream.range(0, 20)
+            .<Supplier<Integer>>mapToObj(
+                i ->
+                    () -> {
+                      // the first requests complete last
+                      sleep(20 - i);
+                      return i;
+                    })
+            .collect(Collectors.toList());
+
+    assertThat(batchExecutor.executeAll(requests))
+        .containsExactlyElementsOf(IntStream.range(0, 20).boxed().collect(Collectors.toList()));
+  }
+
+  @Test
+  public void runsTheRequestsInTheContextOfTheCaller() {
+    final ContextKey<String> key = ContextKey.named("batch");
+    final List<Supplier<String>> requests =
+        IntStream.range(0, 8)
+            .<Supplier<String>>mapToObj(i -> () -> Context.current().get(key))
+            .collect(Collectors.toList());
+
+    final List<String> values;
+    try (final Scope scope = Context.current().with(key, "caller").makeCurrent()) {
+      values = batchExecutor.executeAll(requests);
+    }
+
+    assertThat(values).containsOnly("caller");
+  }
+
+  @Test
+  public void runsTheRequestsOnTheCallingThreadWhenThePoolIsSaturated() {
+    // one worker and room for one waiting request
+    final ExecutorService saturatedService =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+    final Thread caller = Thread.currentThread();
+    final CountDownLatch callerRan = new CountDownLatch(1);
+    final List<Supplier<Thread>> requests =
+        List.of(
+            () -> {
+              try {
+                // holds the worker until the rejected request ran
+                callerRan.await(10, TimeUnit.SECONDS);
+              } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return Thread.currentThread();
+            },
+            Thread::currentThread,
+            () -> {
+              callerRan.countDown();
+              return Thread.currentThread();
+            });
+
+    try {
+      final List<Thread> threads =
+          new JsonRpcBatchExecutor(saturatedService, new NoOpMetricsSystem())
+              .executeAll(requests);
+
+      assertThat(threads.get(0)).isNotEqualTo(caller);
+      assertThat(threads.get(1)).isEqualTo(threads.get(0));
+      assertThat(threads.get(2)).isEqualTo(caller);
+    } finally {
+      saturatedService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void sequentialExecutorRunsTheRequestsOnTheCallingThread() {
+    final Thread caller = Thread.currentThread();
+    final List<Supplier<Thread>> requests = List.of(Thread::currentThread, Thread::currentThread);
+
+    assertThat(JsonRpcBatchExecutor.sequential().executeAll(requests))
+        .containsExactly(caller, caller);
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
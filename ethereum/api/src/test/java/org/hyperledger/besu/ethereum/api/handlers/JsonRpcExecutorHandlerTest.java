@@ -0,0 +1,163 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError.TIMEOUT_ERROR;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.context.ContextKey;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonRpcExecutorHandlerTest {
+
+  private final JsonRpcExecutor jsonRpcExecutor = mock(JsonRpcExecutor.class);
+  private final RoutingContext ctx = mock(RoutingContext.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final AtomicBoolean responseClosed = new AtomicBoolean();
+  private final Buffer written = Buffer.buffer();
+
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() {
+    when(ctx.request()).thenReturn(mock(HttpServerRequest.class));
+    when(ctx.response()).thenReturn(response);
+    when(response.putHeader(anyString(), anyString())).thenReturn(response);
+    when(response.setStatusCode(anyInt())).thenReturn(response);
+    when(response.closed()).thenAnswer(invocation -> responseClosed.get());
+    when(response.write(any(Buffer.class)))
+        .thenAnswer(
+            invocation -> {
+              written.appendBuffer(invocation.getArgument(0));
+              return Future.succeededFuture();
+            });
+  }
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void returnsTheResponsesOfABatchInOrderWhenARequestIsSlow() {
+    executorService = Executors.newFixedThreadPool(3);
+    final CountDownLatch othersCompleted = new CountDownLatch(4);
+    when(jsonRpcExecutor.execute(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonObject request = invocation.getArgument(4);
+              if (request.getString("method").equals("slow")) {
+                // only completes after the requests that follow it in the batch
+                assertThat(othersCompleted.await(10, TimeUnit.SECONDS)).isTrue();
+              } else {
+                othersCompleted.countDown();
+              }
+              return new JsonRpcSuccessResponse(
+                  request.getValue("id"), request.getString("method"));
+            });
+
+    final JsonArray responses =
+        handle(batch("eth_chainId", "eth_blockNumber", "slow", "eth_gasPrice", "net_version"));
+
+    assertThat(ids(responses)).containsExactly(1, 2, 3, 4, 5);
+    assertThat(responses.getJsonObject(2).getString("result")).isEqualTo("slow");
+  }
+
+  @Test
+  public void returnsTimeoutErrorsForTheRequestsStillQueuedWhenTheResponseCloses() {
+    executorService = Executors.newSingleThreadExecutor();
+    when(jsonRpcExecutor.execute(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              // the batch times out while the first request runs
+              responseClosed.set(true);
+              final JsonObject request = invocation.getArgument(4);
+              return new JsonRpcSuccessResponse(request.getValue("id"), "0x1");
+            });
+
+    final JsonArray responses = handle(batch("eth_chainId", "eth_blockNumber", "eth_gasPrice"));
+
+    verify(jsonRpcExecutor, times(1)).execute(any(), any(), any(), any(), any(), any());
+    assertThat(ids(responses)).containsExactly(1, 2, 3);
+    assertThat(responses.getJsonObject(0).getString("result")).isEqualTo("0x1");
+    for (int i = 1; i < 3; i++) {
+      assertThat(responses.getJsonObject(i).getJsonObject("error").getInteger("code"))
+          .isEqualTo(TIMEOUT_ERROR.getCode());
+    }
+  }
+
+  private JsonArray handle(final JsonArray batch) {
+    when(ctx.data()).thenReturn(Map.of(ContextKey.REQUEST_BODY_AS_JSON_ARRAY.name(), batch));
+    when(ctx.<JsonArray>get(ContextKey.REQUEST_BODY_AS_JSON_ARRAY.name())).thenReturn(batch);
+    JsonRpcExecutorHandler.handler(
+            jsonRpcExecutor,
+            mock(Tracer.class),
+            JsonRpcConfiguration.createDefault(),
+            new JsonRpcBatchExecutor(executorService, new NoOpMetricsSystem()))
+        .handle(ctx);
+    return new JsonArray(written);
+  }
+
+  private static JsonArray batch(final String... methods) {
+    return new JsonArray(
+        IntStream.range(0, methods.length)
+            .mapToObj(
+                i ->
+                    new JsonObject()
+                        .put("jsonrpc", "2.0")
+                        .put("id", i + 1)
+                        .put("method", methods[i])
+                        .put("params", new JsonArray()))
+            .collect(Collectors.toList()));
+  }
+
+  private static List<Integer> ids(final JsonArray responses) {
+    return IntStream.range(0, responses.size())
+        .mapToObj(i -> responses.getJsonObject(i).getInteger("id"))
+        .collect(Collectors.toList());
+  }
+}
@@ -108,6 +108,26 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  public void waitForDrainWhenWriteQueueIsFull() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true, true, false);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    verify(httpResponse).write(argThat(bufferContains("xyz")));
+    verify(httpResponse).drainHandler(any());
+  }
+
+  @Test
+  public void stopWaitingForDrainWhenResponseIsClosed() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    when(httpResponse.closed()).thenReturn(true);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+
+    assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+        .isInstanceOf(IOException.class);
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
@@ -0,0 +1,167 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.handlers.JsonRpcExecutorHandler;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonRpcResponseCacheTest {
+
+  private static final long FINALIZED_BLOCK_NUMBER = 10L;
+
+  private final BlockchainQueries blockchainQueries = mock(BlockchainQueries.class);
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcResponseCache responseCache =
+      new JsonRpcResponseCache(blockchainQueries, 16 * 1024, new NoOpMetricsSystem());
+
+  @Before
+  public void setUp() {
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+    final BlockHeader finalized = addBlock(FINALIZED_BLOCK_NUMBER);
+    when(blockchain.getFinalized()).thenReturn(Optional.of(finalized.getHash()));
+    when(blockchain.getBlockHeader(finalized.getHash())).thenReturn(Optional.of(finalized));
+  }
+
+  @Test
+  public void cachesResultsOfFinalizedBlocks() throws JsonProcessingException {
+    addBlock(5);
+    final JsonRpcResponseCache.CacheKey key =
+        responseCache.cacheKey(blockByNumberRequest("0x5")).orElseThrow();
+    assertThat(responseCache.get(key)).isEmpty();
+
+    assertThat(write(responseCache.put(key, Map.of("number", "0x5"))))
+        .isEqualTo("{\"number\":\"0x5\"}");
+
+    assertThat(responseCache.get(key)).map(Object::toString).contains("{\"number\":\"0x5\"}");
+  }
+
+  @Test
+  public void cachesStreamingResultsAsTheyAreWritten() throws JsonProcessingException {
+    addBlock(5);
+    final JsonRpcResponseCache.CacheKey key =
+        responseCache.cacheKey(blockByNumberRequest("0x5")).orElseThrow();
+    final AtomicInteger productions = new AtomicInteger();
+    final StreamingArrayResult<String> result =
+        new StreamingArrayResult<>(
+            consumer -> {
+              productions.incrementAndGet();
+              consumer.accept("0x1");
+              consumer.accept("0x2");
+            });
+
+    assertThat(write(responseCache.put(key, result))).isEqualTo("[\"0x1\",\"0x2\"]");
+
+    assertThat(productions).hasValue(1);
+    assertThat(responseCache.get(key)).map(Object::toString).contains("[\"0x1\",\"0x2\"]");
+  }
+
+  @Test
+  public void normalisesHexParameters() {
+    assertThat(responseCache.cacheKey(blockByNumberRequest("0XA")))
+        .isEqualTo(responseCache.cacheKey(blockByNumberRequest("0xa")));
+  }
+
+  @Test
+  public void doesNotCacheBlocksAboveFinalizedBlock() {
+    addBlock(11);
+
+    assertThat(responseCache.cacheKey(blockByNumberRequest("0xb"))).isEmpty();
+  }
+
+  @Test
+  public void doesNotCacheUnsupportedMethods() {
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(
+            new JsonRpcRequest("2.0", "eth_getBalance", new Object[] {"0x00", "0x5"}));
+
+    assertThat(responseCache.cacheKey(request)).isEmpty();
+  }
+
+  @Test
+  public void doesNotCacheResultsLargerThanEntrySize() throws JsonProcessingException {
+    addBlock(5);
+    final JsonRpcResponseCache.CacheKey key =
+        responseCache.cacheKey(blockByNumberRequest("0x5")).orElseThrow();
+    final String largeResult = "0".repeat(2048);
+
+    assertThat(write(responseCache.put(key, largeResult))).isEqualTo(write(largeResult));
+    assertThat(responseCache.get(key)).isEmpty();
+  }
+
+  @Test
+  public void dropsEntriesAboveCommonAncestorOnReorg() throws JsonProcessingException {
+    final BlockHeader commonAncestor = addBlock(3);
+    addBlock(2);
+    addBlock(5);
+    final JsonRpcResponseCache.CacheKey belowAncestor =
+        responseCache.cacheKey(blockByNumberRequest("0x2")).orElseThrow();
+    final JsonRpcResponseCache.CacheKey aboveAncestor =
+        responseCache.cacheKey(blockByNumberRequest("0x5")).orElseThrow();
+    write(responseCache.put(belowAncestor, "0x2"));
+    write(responseCache.put(aboveAncestor, "0x5"));
+
+    responseCache.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            new Block(new BlockHeaderTestFixture().number(6).buildHeader(), BlockBody.empty()),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            commonAncestor.getHash()));
+
+    assertThat(responseCache.get(belowAncestor)).isPresent();
+    assertThat(responseCache.get(aboveAncestor)).isEmpty();
+  }
+
+  private BlockHeader addBlock(final long number) {
+    final BlockHeader header = new BlockHeaderTestFixture().number(number).buildHeader();
+    when(blockchainQueries.getBlockHeaderByNumber(number)).thenReturn(Optional.of(header));
+    when(blockchainQueries.getBlockHeaderByHash(header.getHash())).thenReturn(Optional.of(header));
+    when(blockchain.getBlockHashByNumber(number)).thenReturn(Optional.of(header.getHash()));
+    return header;
+  }
+
+  private static String write(final Object result) throws JsonProcessingException {
+    return JsonRpcExecutorHandler.getJsonObjectMapper().writeValueAsString(result);
+  }
+
+  private JsonRpcRequestContext blockByNumberRequest(final String blockNumber) {
+    return new JsonRpcRequestContext(
+        new JsonRpcRequest("2.0", "eth_getBlockByNumber", new Object[] {blockNumber, false}));
+  }
+}
@@ -31,16 +31,20 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -127,12 +131,40 @@ public class DebugTraceBlockByHashTest {
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
-    when(blockTracer.trace(any(Tracer.TraceableState.class), eq(blockHash), any()))
-        .thenReturn(Optional.of(blockTrace));
+    when(blockchainQueries.getWorldStateArchive().isWorldStateAvailable(any(), any()))
+        .thenReturn(true);
+    doAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> consumer = invocation.getArgument(3);
+              blockTrace.getTransactionTraces().forEach(consumer);
+              return true;
+            })
+        .when(blockTracer)
+        .trace(any(Tracer.TraceableState.class), eq(blockHash), any(), any());
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
+    final List<DebugTraceTransactionResult> result = new ArrayList<>();
+    getResult(response).forEach(result::add);
     assertThat(result).hasSize(2);
   }
+
+  @Test
+  public void shouldReturnNullWhenWorldStateIsNotAvailable() {
+    final Object[] params = new Object[] {blockHash};
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(new JsonRpcRequest("2.0", "debug_traceBlockByHash", params));
+    when(blockchainQueries.getWorldStateArchive().isWorldStateAvailable(any(), any()))
+        .thenReturn(false);
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
+    assertThat(response.getResult()).isNull();
+  }
+
+  @SuppressWarnings("unchecked")
+  private StreamingArrayResult<DebugTraceTransactionResult> getResult(
+      final JsonRpcSuccessResponse response) {
+    return (StreamingArrayResult<DebugTraceTransactionResult>) response.getResult();
+  }
 }
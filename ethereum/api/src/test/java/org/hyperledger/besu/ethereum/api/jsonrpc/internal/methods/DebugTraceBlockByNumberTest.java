@@ -33,15 +33,18 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -125,19 +128,30 @@ public class DebugTraceBlockByNumberTest {
                     .apply(worldState))
         .when(blockchainQueries)
         .getAndMapWorldState(any(), any());
-    when(blockTracer.trace(any(Tracer.TraceableState.class), any(Hash.class), any()))
-        .thenReturn(Optional.of(blockTrace));
+    when(blockchainQueries.getWorldStateArchive().isWorldStateAvailable(any(), any()))
+        .thenReturn(true);
+    doAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> consumer = invocation.getArgument(3);
+              blockTrace.getTransactionTraces().forEach(consumer);
+              return true;
+            })
+        .when(blockTracer)
+        .trace(any(Tracer.TraceableState.class), any(Hash.class), any(), any());
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByNumber.response(request);
-    final Collection<DebugTraceTransactionResult> result = getResult(response);
+    final List<DebugTraceTransactionResult> result = getResult(response);
     assertThat(result)
         .usingFieldByFieldElementComparator()
         .isEqualTo(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces()));
   }
 
   @SuppressWarnings("unchecked")
-  private Collection<DebugTraceTransactionResult> getResult(final JsonRpcSuccessResponse response) {
-    return (Collection<DebugTraceTransactionResult>) response.getResult();
+  private List<DebugTraceTransactionResult> getResult(final JsonRpcSuccessResponse response) {
+    final List<DebugTraceTransactionResult> results = new ArrayList<>();
+    ((StreamingArrayResult<DebugTraceTransactionResult>) response.getResult())
+        .forEach(results::add);
+    return results;
   }
 }
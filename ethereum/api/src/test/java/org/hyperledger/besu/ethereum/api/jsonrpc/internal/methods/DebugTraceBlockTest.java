@@ -18,6 +18,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -33,20 +34,26 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionT
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingArrayResult;
 import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
@@ -127,11 +134,20 @@ public class DebugTraceBlockTest {
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
-    when(blockTracer.trace(any(Tracer.TraceableState.class), Mockito.eq(block), any()))
-        .thenReturn(Optional.of(blockTrace));
+    doAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> consumer = invocation.getArgument(3);
+              blockTrace.getTransactionTraces().forEach(consumer);
+              return true;
+            })
+        .when(blockTracer)
+        .trace(any(Tracer.TraceableState.class), Mockito.eq(block), any(), any());
 
     when(blockchain.getBlockHeader(parentBlock.getHash()))
         .thenReturn(Optional.of(parentBlock.getHeader()));
+    when(archive.isWorldStateAvailable(any(), any())).thenReturn(true);
+    when(archive.getMutable(any(BlockHeader.class), anyBoolean()))
+        .thenReturn(Optional.of(mock(MutableWorldState.class)));
     doAnswer(
             invocation ->
                 Optional.of(
@@ -146,7 +162,8 @@ public class DebugTraceBlockTest {
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlock.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
+    final List<DebugTraceTransactionResult> result = new ArrayList<>();
+    getResult(response).forEach(result::add);
     assertThat(result).hasSize(2);
   }
 
@@ -167,4 +184,10 @@ public class DebugTraceBlockTest {
     final JsonRpcErrorResponse response = (JsonRpcErrorResponse) debugTraceBlock.response(request);
     assertThat(response.getError()).isEqualByComparingTo(JsonRpcError.PARENT_BLOCK_NOT_FOUND);
   }
+
+  @SuppressWarnings("unchecked")
+  private StreamingArrayResult<DebugTraceTransactionResult> getResult(
+      final JsonRpcSuccessResponse response) {
+    return (StreamingArrayResult<DebugTraceTransactionResult>) response.getResult();
+  }
 }
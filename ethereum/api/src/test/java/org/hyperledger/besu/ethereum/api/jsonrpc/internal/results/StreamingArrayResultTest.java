@@ -0,0 +1,89 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class StreamingArrayResultTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void serializesProducedElementsAsArray() throws JsonProcessingException {
+    final StreamingArrayResult<String> result =
+        new StreamingArrayResult<>(consumer -> List.of("a", "b", "c").forEach(consumer));
+
+    assertThat(objectMapper.writeValueAsString(result)).isEqualTo("[\"a\",\"b\",\"c\"]");
+  }
+
+  @Test
+  public void serializesEmptyArrayWhenNothingIsProduced() throws JsonProcessingException {
+    final StreamingArrayResult<String> result = new StreamingArrayResult<>(consumer -> {});
+
+    assertThat(objectMapper.writeValueAsString(result)).isEqualTo("[]");
+  }
+
+  @Test
+  public void producesElementsAgainOnEachSerialization() throws JsonProcessingException {
+    final StreamingArrayResult<Integer> result =
+        new StreamingArrayResult<>(consumer -> List.of(1, 2).forEach(consumer));
+
+    assertThat(objectMapper.writeValueAsString(result)).isEqualTo("[1,2]");
+    assertThat(objectMapper.writeValueAsString(result)).isEqualTo("[1,2]");
+  }
+
+  @Test
+  public void materializeReplacesStreamingResultWithElements() {
+    final JsonRpcResponse response =
+        new JsonRpcSuccessResponse(
+            1, new StreamingArrayResult<>(consumer -> List.of(1, 2).forEach(consumer)));
+
+    assertThat(StreamingArrayResult.materialize(response))
+        .isEqualTo(new JsonRpcSuccessResponse(1, List.of(1, 2)));
+  }
+
+  @Test
+  public void materializeReturnsInternalErrorWhenProducingFails() {
+    final JsonRpcResponse response =
+        new JsonRpcSuccessResponse(
+            1,
+            new StreamingArrayResult<Integer>(
+                consumer -> {
+                  consumer.accept(1);
+                  throw new IllegalStateException();
+                }));
+
+    assertThat(StreamingArrayResult.materialize(response))
+        .isEqualTo(new JsonRpcErrorResponse(1, JsonRpcError.INTERNAL_ERROR));
+  }
+
+  @Test
+  public void materializeLeavesOtherResponsesUnchanged() {
+    final JsonRpcResponse response = new JsonRpcSuccessResponse(1, "result");
+
+    assertThat(StreamingArrayResult.materialize(response)).isSameAs(response);
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.Trace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProtocolScheduleFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class CallTracerTest {
+
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address CONTRACT = Address.fromHexString("0x02");
+  private static final Address LIBRARY = Address.fromHexString("0x03");
+  private static final Address PRECOMPILE = Address.fromHexString("0x04");
+
+  // the first contract this sender creates is the well known
+  // 0xcd234a471b72ba2f1ccf0a70fcaba648a5eecd8d
+  private static final Address EOA =
+      Address.fromHexString("0x6ac7ea33f8831ea9dcc53393aaa88b25a785dbf0");
+  private static final Address CALLER = Address.fromHexString("0xaa");
+  private static final Address RETURNER = Address.fromHexString("0xbb");
+  private static final Address REVERTER = Address.fromHexString("0xcc");
+  private static final Address DESTRUCTOR = Address.fromHexString("0xdd");
+
+  // CALL the returner with 10000 gas, no value, no input and no output, then STOP
+  private static final Bytes CALLER_CODE =
+      Bytes.fromHexString(
+          "0x6000600060006000600073" + RETURNER.toUnprefixedHexString() + "612710f100");
+  // MSTORE 0x2a at 0 and RETURN the word
+  private static final Bytes RETURNER_CODE = Bytes.fromHexString("0x602a60005260206000f3");
+  // REVERT with no data
+  private static final Bytes REVERTER_CODE = Bytes.fromHexString("0x60006000fd");
+  // SELFDESTRUCT to the sender of the transaction
+  private static final Bytes DESTRUCTOR_CODE =
+      Bytes.fromHexString("0x73" + EOA.toUnprefixedHexString() + "ff");
+  // MSTORE8 0x00 at 0 and RETURN it as the code of the contract
+  private static final Bytes INIT_CODE = Bytes.fromHexString("0x600060005360016000f3");
+
+  // a London block
+  private static final BlockHeader HEADER =
+      new BlockHeaderTestFixture()
+          .number(15_000_000L)
+          .gasLimit(30_000_000L)
+          .baseFeePerGas(Wei.of(7))
+          .buildHeader();
+
+  private final CallTracer tracer = new CallTracer();
+
+  @Test
+  public void recordsNestedCalls() {
+    final MessageFrame rootFrame = rootFrame("DELEGATECALL");
+    final MessageFrame childFrame = messageCall(LIBRARY, 50_000L, 40_000L);
+    when(childFrame.getState()).thenReturn(MessageFrame.State.COMPLETED_FAILED);
+    when(childFrame.getExceptionalHaltReason()).thenReturn(Optional.empty());
+
+    tracer.traceContextEnter(rootFrame);
+    tracer.traceContextEnter(childFrame);
+    tracer.traceContextExit(childFrame);
+    tracer.traceContextExit(rootFrame);
+
+    final CallFrame rootCall = tracer.getRootCall();
+    assertThat(rootCall.getType()).isEqualTo("CALL");
+    assertThat(rootCall.getFromAddress()).isEqualTo(SENDER);
+    assertThat(rootCall.getToAddress()).isEqualTo(CONTRACT);
+    assertThat(rootCall.getGasUsedLong()).isEqualTo(40_000L);
+    assertThat(rootCall.getOutput()).isEqualTo("0x01");
+    assertThat(rootCall.getError()).isNull();
+    assertThat(rootCall.getCalls()).hasSize(1);
+
+    final CallFrame childCall = rootCall.getCalls().get(0);
+    assertThat(childCall.getType()).isEqualTo("DELEGATECALL");
+    assertThat(childCall.getFromAddress()).isEqualTo(CONTRACT);
+    assertThat(childCall.getToAddress()).isEqualTo(LIBRARY);
+    assertThat(childCall.getValue()).isNull();
+    assertThat(childCall.getGasUsedLong()).isEqualTo(10_000L);
+    assertThat(childCall.getError()).isEqualTo("execution reverted");
+    assertThat(childCall.isReverted()).isTrue();
+  }
+
+  @Test
+  public void generatesFlatTracesWithoutPrecompileCalls() {
+    final MessageFrame rootFrame = rootFrame("CALL");
+    final MessageFrame precompileFrame = messageCall(PRECOMPILE, 50_000L, 49_000L);
+    when(precompileFrame.getValue()).thenReturn(Wei.ZERO);
+    when(precompileFrame.getState()).thenReturn(MessageFrame.State.COMPLETED_SUCCESS);
+
+    tracer.traceContextEnter(rootFrame);
+    tracer.traceContextEnter(precompileFrame);
+    tracer.tracePrecompileCall(precompileFrame, 1_000L, Bytes.EMPTY);
+    tracer.traceContextExit(precompileFrame);
+    tracer.traceContextExit(rootFrame);
+
+    assertThat(tracer.getRootCall().getCalls()).hasSize(1);
+    final List<Trace> traces =
+        FlatTraceGenerator.generateFromCallFrame(tracer.getRootCall(), builder -> {})
+            .collect(Collectors.toList());
+    assertThat(traces).hasSize(1);
+    final FlatTrace rootTrace = (FlatTrace) traces.get(0);
+    assertThat(rootTrace.getSubtraces()).isZero();
+    assertThat(rootTrace.getTraceAddress()).isEmpty();
+    assertThat(rootTrace.getAction().getCallType()).isEqualTo("call");
+    assertThat(rootTrace.getAction().getTo()).isEqualTo(CONTRACT.toHexString());
+    assertThat(rootTrace.getResult().get().getGasUsed()).isEqualTo("0x9c40");
+  }
+
+  @Test
+  public void tracesCallLikeGeth() throws IOException {
+    assertThat(traceTransaction(Optional.of(CALLER), Bytes.EMPTY)).isEqualTo(gethResult("call"));
+  }
+
+  @Test
+  public void tracesCreateLikeGeth() throws IOException {
+    assertThat(traceTransaction(Optional.empty(), INIT_CODE)).isEqualTo(gethResult("create"));
+  }
+
+  @Test
+  public void tracesRevertLikeGeth() throws IOException {
+    assertThat(traceTransaction(Optional.of(REVERTER), Bytes.EMPTY))
+        .isEqualTo(gethResult("revert"));
+  }
+
+  @Test
+  public void tracesSelfDestructLikeGeth() throws IOException {
+    assertThat(traceTransaction(Optional.of(DESTRUCTOR), Bytes.EMPTY))
+        .isEqualTo(gethResult("selfdestruct"));
+  }
+
+  @Test
+  public void resetClearsTheRecordedCalls() {
+    final MessageFrame rootFrame = rootFrame(null);
+
+    tracer.traceContextEnter(rootFrame);
+    tracer.traceContextExit(rootFrame);
+    tracer.reset();
+
+    assertThat(tracer.getResult()).isNull();
+  }
+
+  private MessageFrame rootFrame(final String childOperationName) {
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getType()).thenReturn(MessageFrame.Type.MESSAGE_CALL);
+    when(frame.getSenderAddress()).thenReturn(SENDER);
+    when(frame.getContractAddress()).thenReturn(CONTRACT);
+    when(frame.getValue()).thenReturn(Wei.ZERO);
+    when(frame.getRemainingGas()).thenReturn(100_000L, 60_000L);
+    when(frame.getInputData()).thenReturn(Bytes.EMPTY);
+    when(frame.getOutputData()).thenReturn(Bytes.of(1));
+    when(frame.getState()).thenReturn(MessageFrame.State.COMPLETED_SUCCESS);
+    if (childOperationName != null) {
+      final Operation operation = mock(Operation.class);
+      when(operation.getName()).thenReturn(childOperationName);
+      when(frame.getCurrentOperation()).thenReturn(operation);
+      when(frame.getRecipientAddress()).thenReturn(CONTRACT);
+    }
+    return frame;
+  }
+
+  private MessageFrame messageCall(
+      final Address contract, final long initialGas, final long remainingGas) {
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getType()).thenReturn(MessageFrame.Type.MESSAGE_CALL);
+    when(frame.getContractAddress()).thenReturn(contract);
+    when(frame.getRemainingGas()).thenReturn(initialGas, remainingGas);
+    when(frame.getInputData()).thenReturn(Bytes.fromHexString("0x12345678"));
+    when(frame.getOutputData()).thenReturn(Bytes.EMPTY);
+    return frame;
+  }
+
+  private JsonNode traceTransaction(final Optional<Address> to, final Bytes payload) {
+    final MutableWorldState worldState = InMemoryKeyValueStorageProvider.createInMemoryWorldState();
+    final WorldUpdater setup = worldState.updater();
+    setup.getOrCreate(EOA).getMutable().setBalance(Wei.fromEth(1));
+    deploy(setup, CALLER, CALLER_CODE, Wei.ZERO);
+    deploy(setup, RETURNER, RETURNER_CODE, Wei.ZERO);
+    deploy(setup, REVERTER, REVERTER_CODE, Wei.ZERO);
+    deploy(setup, DESTRUCTOR, DESTRUCTOR_CODE, Wei.of(100));
+    setup.commit();
+
+    final Transaction transaction =
+        new TransactionTestFixture()
+            .sender(EOA)
+            .to(to)
+            .value(Wei.ZERO)
+            .gasPrice(Wei.of(10))
+            .gasLimit(100_000L)
+            .payload(payload)
+            .chainId(Optional.of(BigInteger.ONE))
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    final TransactionProcessingResult result =
+        ProtocolScheduleFixture.MAINNET
+            .getByBlockHeader(HEADER)
+            .getTransactionProcessor()
+            .processTransaction(
+                mock(Blockchain.class),
+                worldState.updater(),
+                HEADER,
+                transaction,
+                HEADER.getCoinbase(),
+                tracer,
+                number -> Hash.ZERO,
+                false,
+                TransactionValidationParams.processingBlock(),
+                Wei.ZERO);
+    assertThat(result.isInvalid()).isFalse();
+
+    tracer.traceEndTransaction(transaction, result);
+    return new ObjectMapper().valueToTree(tracer.getResult());
+  }
+
+  private static void deploy(
+      final WorldUpdater updater, final Address address, final Bytes code, final Wei balance) {
+    final MutableAccount account = updater.getOrCreate(address).getMutable();
+    account.setCode(code);
+    account.setBalance(balance);
+  }
+
+  // the results go-ethereum's callTracer gives for the same transactions
+  private static JsonNode gethResult(final String name) throws IOException {
+    return new ObjectMapper()
+        .readTree(CallTracerTest.class.getResource("call_tracer/" + name + ".json"));
+  }
+}
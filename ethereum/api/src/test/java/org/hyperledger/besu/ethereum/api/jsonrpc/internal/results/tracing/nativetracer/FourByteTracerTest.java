@@ -0,0 +1,85 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class FourByteTracerTest {
+
+  private static final String TRANSFER_CALL =
+      "0xa9059cbb"
+          + "0000000000000000000000000000000000000000000000000000000000000001"
+          + "0000000000000000000000000000000000000000000000000000000000000002";
+  private static final String BALANCE_OF_CALL =
+      "0x70a08231" + "0000000000000000000000000000000000000000000000000000000000000001";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final FourByteTracer tracer = new FourByteTracer();
+
+  @Test
+  public void resultHasTheGeth4ByteFormat() throws Exception {
+    traceCall(frame(MessageFrame.Type.MESSAGE_CALL, TRANSFER_CALL, 100));
+    traceCall(frame(MessageFrame.Type.MESSAGE_CALL, BALANCE_OF_CALL, 100));
+    traceCall(frame(MessageFrame.Type.MESSAGE_CALL, TRANSFER_CALL, 100));
+
+    assertThat(objectMapper.writeValueAsString(tracer.getResult()))
+        .isEqualTo("{\"0xa9059cbb-64\":2,\"0x70a08231-32\":1}");
+  }
+
+  @Test
+  public void ignoresCallsWithoutSelector() {
+    // a precompiled contract, a contract creation and a call with a short input
+    traceCall(frame(MessageFrame.Type.MESSAGE_CALL, TRANSFER_CALL, 0));
+    traceCall(frame(MessageFrame.Type.CONTRACT_CREATION, TRANSFER_CALL, 100));
+    traceCall(frame(MessageFrame.Type.MESSAGE_CALL, "0xa9059c", 100));
+
+    assertThat((Map<?, ?>) tracer.getResult()).isEmpty();
+  }
+
+  @Test
+  public void resetClearsTheRecordedSelectors() {
+    traceCall(frame(MessageFrame.Type.MESSAGE_CALL, TRANSFER_CALL, 100));
+    tracer.reset();
+
+    assertThat((Map<?, ?>) tracer.getResult()).isEmpty();
+  }
+
+  private void traceCall(final MessageFrame frame) {
+    tracer.traceContextEnter(frame);
+    tracer.traceContextExit(frame);
+  }
+
+  private MessageFrame frame(
+      final MessageFrame.Type type, final String inputData, final int codeSize) {
+    final MessageFrame frame = mock(MessageFrame.class);
+    final Code code = mock(Code.class);
+    when(code.getSize()).thenReturn(codeSize);
+    when(frame.getType()).thenReturn(type);
+    when(frame.getInputData()).thenReturn(Bytes.fromHexString(inputData));
+    when(frame.getCode()).thenReturn(code);
+    return frame;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.nativetracer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrestateTracerTest {
+
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address CONTRACT = Address.fromHexString("0x02");
+  private static final Address COINBASE = Address.fromHexString("0x03");
+  private static final int SLOAD_OPCODE = 0x54;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final WorldView worldView = mock(WorldView.class);
+  private final Account sender = mock(Account.class);
+  private final Account contract = mock(Account.class);
+  private final PrestateTracer tracer = new PrestateTracer();
+
+  @Before
+  public void setUp() {
+    when(sender.getBalance()).thenReturn(Wei.of(100));
+    when(sender.getNonce()).thenReturn(1L);
+    when(contract.getBalance()).thenReturn(Wei.ZERO);
+    when(contract.hasCode()).thenReturn(true);
+    when(contract.getCode()).thenReturn(Bytes.fromHexString("0x600154"));
+    when(contract.getStorageValue(UInt256.ONE)).thenReturn(UInt256.valueOf(7));
+    when(worldView.get(SENDER)).thenReturn(sender);
+    when(worldView.get(CONTRACT)).thenReturn(contract);
+  }
+
+  @Test
+  public void resultHasTheGethPrestateFormat() throws Exception {
+    final MessageFrame rootFrame = rootFrame();
+
+    tracer.traceStartTransaction(worldView, SENDER);
+    tracer.traceContextEnter(rootFrame);
+    tracer.tracePreExecution(rootFrame);
+    tracer.traceContextExit(rootFrame);
+
+    // the coinbase does not exist yet, so it is left out
+    assertThat(objectMapper.readTree(objectMapper.writeValueAsString(tracer.getResult())))
+        .isEqualTo(
+            objectMapper.readTree(
+                "{\"0x0000000000000000000000000000000000000001\": {"
+                    + "\"balance\": \"0x64\", \"nonce\": 1},"
+                    + "\"0x0000000000000000000000000000000000000002\": {"
+                    + "\"balance\": \"0x0\", \"code\": \"0x600154\", \"storage\": {"
+                    + "\"0x0000000000000000000000000000000000000000000000000000000000000001\":"
+                    + " \"0x0000000000000000000000000000000000000000000000000000000000000007\""
+                    + "}}}"));
+  }
+
+  @Test
+  public void recordsTheStateWhenItIsFirstTouched() throws Exception {
+    final MessageFrame rootFrame = rootFrame();
+
+    tracer.traceStartTransaction(worldView, SENDER);
+    tracer.traceContextEnter(rootFrame);
+    tracer.tracePreExecution(rootFrame);
+    when(sender.getBalance()).thenReturn(Wei.of(50));
+    when(contract.getStorageValue(UInt256.ONE)).thenReturn(UInt256.valueOf(9));
+    tracer.tracePreExecution(rootFrame);
+
+    final String result = objectMapper.writeValueAsString(tracer.getResult());
+    assertThat(result).contains("\"balance\":\"0x64\"");
+    assertThat(result)
+        .contains("\"0x0000000000000000000000000000000000000000000000000000000000000007\"");
+    assertThat(result)
+        .doesNotContain("\"0x0000000000000000000000000000000000000000000000000000000000000009\"");
+  }
+
+  @Test
+  public void resetClearsTheRecordedAccounts() {
+    tracer.traceStartTransaction(worldView, SENDER);
+    tracer.reset();
+
+    assertThat((Map<?, ?>) tracer.getResult()).isEmpty();
+  }
+
+  private MessageFrame rootFrame() {
+    final MessageFrame frame = mock(MessageFrame.class);
+    final Operation operation = mock(Operation.class);
+    when(operation.getOpcode()).thenReturn(SLOAD_OPCODE);
+    when(frame.getMessageStackDepth()).thenReturn(0);
+    when(frame.getMiningBeneficiary()).thenReturn(COINBASE);
+    when(frame.getRecipientAddress()).thenReturn(CONTRACT);
+    when(frame.getContractAddress()).thenReturn(CONTRACT);
+    when(frame.getCurrentOperation()).thenReturn(operation);
+    when(frame.stackSize()).thenReturn(1);
+    when(frame.getStackItem(0)).thenReturn(UInt256.ONE);
+    return frame;
+  }
+}
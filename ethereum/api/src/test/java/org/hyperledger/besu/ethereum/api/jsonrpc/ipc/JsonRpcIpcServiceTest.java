@@ -16,20 +16,31 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.ipc;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugTraceBlockByNumber;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
@@ -45,6 +56,7 @@ import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
 
 @EnabledOnOs({OS.LINUX, OS.MAC})
 @ExtendWith(VertxExtension.class)
@@ -115,6 +127,40 @@ class JsonRpcIpcServiceTest {
             .toBuffer());
   }
 
+  @Test
+  void debugTraceBlockIsTracedBeforeTheResponseIsWritten() {
+    final Path socketPath = tempDir.resolve("besu-test.ipc");
+    final BlockTracer blockTracer = mock(BlockTracer.class);
+    doAnswer(
+            invocation -> {
+              // the response is written on the event loop, which must not trace
+              assertThat(Context.isOnEventLoopThread()).isFalse();
+              return true;
+            })
+        .when(blockTracer)
+        .trace(any(Tracer.TraceableState.class), any(Hash.class), any(), any());
+    final JsonRpcIpcService service = debugTraceBlockService(socketPath, blockTracer);
+
+    assertSocketCall(
+        service,
+        socketPath,
+        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[]}\n",
+        debugTraceBlockRequest());
+  }
+
+  @Test
+  void debugTraceBlockFailureShouldReturnInternalError() {
+    final Path socketPath = tempDir.resolve("besu-test.ipc");
+    final BlockTracer blockTracer = mock(BlockTracer.class);
+    when(blockTracer.trace(any(Tracer.TraceableState.class), any(Hash.class), any(), any()))
+        .thenThrow(new RuntimeException());
+    final JsonRpcIpcService service = debugTraceBlockService(socketPath, blockTracer);
+    final String expectedResponse =
+        "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32603,\"message\":\"Internal error\"}}\n";
+
+    assertSocketCall(service, socketPath, expectedResponse, debugTraceBlockRequest());
+  }
+
   @Test
   void validJsonButNotRpcShouldReturnInvalidRequest() {
     final Path socketPath = tempDir.resolve("besu-test.ipc");
@@ -162,6 +208,40 @@ class JsonRpcIpcServiceTest {
                                         })))));
   }
 
+  private Buffer debugTraceBlockRequest() {
+    return new JsonObject()
+        .put("id", 1)
+        .put("method", "debug_traceBlockByNumber")
+        .put("params", new JsonArray().add("0x1"))
+        .toBuffer();
+  }
+
+  private JsonRpcIpcService debugTraceBlockService(
+      final Path socketPath, final BlockTracer blockTracer) {
+    final BlockchainQueries blockchainQueries =
+        mock(BlockchainQueries.class, Answers.RETURNS_DEEP_STUBS);
+    when(blockchainQueries.getBlockHashByNumber(1L)).thenReturn(Optional.of(Hash.ZERO));
+    when(blockchainQueries.getBlockHeaderByHash(any(Hash.class)))
+        .thenReturn(Optional.of(mock(BlockHeader.class, Answers.RETURNS_DEEP_STUBS)));
+    when(blockchainQueries.getWorldStateArchive().isWorldStateAvailable(any(), any()))
+        .thenReturn(true);
+    doAnswer(
+            invocation ->
+                invocation
+                    .<Function<MutableWorldState, Optional<?>>>getArgument(1)
+                    .apply(mock(MutableWorldState.class)))
+        .when(blockchainQueries)
+        .getAndMapWorldState(any(), any());
+    return new JsonRpcIpcService(
+        vertx,
+        socketPath,
+        new JsonRpcExecutor(
+            new BaseJsonRpcProcessor(),
+            Map.of(
+                "debug_traceBlockByNumber",
+                new DebugTraceBlockByNumber(() -> blockTracer, blockchainQueries))));
+  }
+
   private void assertSocketCall(
       final JsonRpcIpcService service,
       final Path socketPath,
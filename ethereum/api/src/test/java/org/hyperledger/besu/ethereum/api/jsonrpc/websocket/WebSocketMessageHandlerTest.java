@@ -14,24 +14,34 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugTraceBlockByNumber;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 
 import java.util.HashMap;
@@ -39,7 +49,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -55,6 +67,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
@@ -289,6 +302,84 @@ public class WebSocketMessageHandlerTest {
     verify(websocketMock).writeFrame(argThat(this::isFinalFrame));
   }
 
+  @Test
+  public void debugTraceBlockIsTracedBeforeTheResponseIsWritten(final TestContext context) {
+    final Async async = context.async();
+    final BlockTracer blockTracer = mock(BlockTracer.class);
+    doAnswer(
+            invocation -> {
+              // the response is written on the event loop, which must not trace
+              assertThat(Context.isOnEventLoopThread()).isFalse();
+              return true;
+            })
+        .when(blockTracer)
+        .trace(any(Tracer.TraceableState.class), any(Hash.class), any(), any());
+    final WebSocketMessageHandler debugHandler = debugTraceBlockHandler(blockTracer);
+    final JsonRpcSuccessResponse expectedResponse = new JsonRpcSuccessResponse(1, List.of());
+
+    when(websocketMock.writeFrame(argThat(this::isFinalFrame))).then(completeOnLastFrame(async));
+
+    debugHandler.handle(websocketMock, debugTraceBlockRequest().toBuffer(), Optional.empty());
+
+    async.awaitSuccess(WebSocketMessageHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS);
+
+    // can verify only after async not before
+    verify(websocketMock).writeFrame(argThat(isFrameWithText(Json.encode(expectedResponse))));
+  }
+
+  @Test
+  public void debugTraceBlockFailureShouldRespondInternalError(final TestContext context) {
+    final Async async = context.async();
+    final BlockTracer blockTracer = mock(BlockTracer.class);
+    when(blockTracer.trace(any(Tracer.TraceableState.class), any(Hash.class), any(), any()))
+        .thenThrow(new RuntimeException());
+    final WebSocketMessageHandler debugHandler = debugTraceBlockHandler(blockTracer);
+    final JsonRpcErrorResponse expectedResponse =
+        new JsonRpcErrorResponse(1, JsonRpcError.INTERNAL_ERROR);
+
+    when(websocketMock.writeFrame(argThat(this::isFinalFrame))).then(completeOnLastFrame(async));
+
+    debugHandler.handle(websocketMock, debugTraceBlockRequest().toBuffer(), Optional.empty());
+
+    async.awaitSuccess(WebSocketMessageHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS);
+
+    // can verify only after async not before
+    verify(websocketMock).writeFrame(argThat(isFrameWithText(Json.encode(expectedResponse))));
+  }
+
+  private JsonObject debugTraceBlockRequest() {
+    return new JsonObject()
+        .put("id", 1)
+        .put("method", "debug_traceBlockByNumber")
+        .put("params", new JsonArray().add("0x1"));
+  }
+
+  private WebSocketMessageHandler debugTraceBlockHandler(final BlockTracer blockTracer) {
+    final BlockchainQueries blockchainQueries =
+        mock(BlockchainQueries.class, Answers.RETURNS_DEEP_STUBS);
+    when(blockchainQueries.getBlockHashByNumber(1L)).thenReturn(Optional.of(Hash.ZERO));
+    when(blockchainQueries.getBlockHeaderByHash(any(Hash.class)))
+        .thenReturn(Optional.of(mock(BlockHeader.class, Answers.RETURNS_DEEP_STUBS)));
+    when(blockchainQueries.getWorldStateArchive().isWorldStateAvailable(any(), any()))
+        .thenReturn(true);
+    doAnswer(
+            invocation ->
+                invocation
+                    .<Function<MutableWorldState, Optional<?>>>getArgument(1)
+                    .apply(mock(MutableWorldState.class)))
+        .when(blockchainQueries)
+        .getAndMapWorldState(any(), any());
+    return new WebSocketMessageHandler(
+        vertx,
+        new JsonRpcExecutor(
+            new BaseJsonRpcProcessor(),
+            Map.of(
+                "debug_traceBlockByNumber",
+                new DebugTraceBlockByNumber(() -> blockTracer, blockchainQueries))),
+        mock(EthScheduler.class),
+        TimeoutOptions.defaultOptions().getTimeoutSeconds());
+  }
+
   private ArgumentMatcher<WebSocketFrame> isFrameWithText(final String text) {
     return f -> f.isText() && f.textData().equals(text);
   }
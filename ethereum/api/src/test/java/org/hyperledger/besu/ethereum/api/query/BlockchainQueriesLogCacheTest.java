@@ -16,6 +16,7 @@
 
 package org.hyperledger.besu.ethereum.api.query;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -26,6 +27,7 @@ import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.cache.BloomBitsIndex;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -38,6 +40,8 @@ import org.hyperledger.besu.evm.log.LogsBloomFilter;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +50,7 @@ import org.apache.tuweni.bytes.Bytes;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
@@ -56,6 +61,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class BlockchainQueriesLogCacheTest {
 
   @ClassRule public static TemporaryFolder cacheDir = new TemporaryFolder();
+  @Rule public TemporaryFolder indexedCacheDir = new TemporaryFolder();
 
   private static LogsQuery logsQuery;
   private Hash testHash;
@@ -199,4 +205,31 @@ public class BlockchainQueriesLogCacheTest {
 
     verifyNoMoreInteractions(blockchain);
   }
+
+  @Test
+  public void cachedSkipsMissingBlocks() {
+    when(blockchain.getBlockHashByNumber(1L)).thenReturn(Optional.empty());
+
+    assertThat(blockchainQueries.matchingLogs(0, 2, logsQuery, () -> true)).isEmpty();
+
+    verify(blockchain, times(3)).getBlockHashByNumber(anyLong());
+    verify(blockchain, times(2)).getBlockHeader(testHash);
+  }
+
+  @Test
+  public void indexedSkipsMissingBlocks() throws IOException {
+    final Path cacheFile = cacheDir.getRoot().toPath().resolve("logBloom-0.cache");
+    final Path indexedDir = indexedCacheDir.getRoot().toPath();
+    Files.copy(cacheFile, indexedDir.resolve("logBloom-0.cache"));
+    BloomBitsIndex.generate(cacheFile, BloomBitsIndex.calculateIndexFileName(indexedDir, 0));
+    final BlockchainQueries indexedQueries =
+        new BlockchainQueries(
+            blockchain, worldStateArchive, Optional.of(indexedDir), Optional.of(scheduler));
+    when(blockchain.getBlockHashByNumber(1L)).thenReturn(Optional.empty());
+
+    assertThat(indexedQueries.matchingLogs(0, 2, logsQuery, () -> true)).isEmpty();
+
+    verify(blockchain, times(3)).getBlockHashByNumber(anyLong());
+    verify(blockchain, times(2)).getBlockHeader(testHash);
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BloomBitsIndexTest {
+
+  private static final Address ADDRESS_A = Address.fromHexString("0x0a");
+  private static final Address ADDRESS_B = Address.fromHexString("0x0b");
+  private static final LogTopic TOPIC = LogTopic.fromHexString("0x" + "11".repeat(32));
+
+  @Rule public TemporaryFolder cacheDir = new TemporaryFolder();
+
+  private Path indexFile;
+
+  @Before
+  public void setUp() throws IOException {
+    final Path cacheFile = cacheDir.getRoot().toPath().resolve("logBloom-0.cache");
+    try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(cacheFile))) {
+      for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+        out.write(bloomOf(block).toArray());
+      }
+    }
+    indexFile = BloomBitsIndex.calculateIndexFileName(cacheDir.getRoot().toPath(), 0);
+    BloomBitsIndex.generate(cacheFile, indexFile);
+  }
+
+  @Test
+  public void matchesSameBlocksAsBloomScan() throws IOException {
+    final BloomBitsIndex index = BloomBitsIndex.open(indexFile).orElseThrow();
+    final List<LogsQuery> queries =
+        List.of(
+            new LogsQuery.Builder().build(),
+            new LogsQuery.Builder().address(ADDRESS_A).build(),
+            new LogsQuery.Builder().addresses(ADDRESS_A, ADDRESS_B).build(),
+            new LogsQuery.Builder().address(ADDRESS_B).topics(List.of(List.of(TOPIC))).build(),
+            new LogsQuery.Builder()
+                .topics(List.of(Arrays.asList((LogTopic) null), List.of(TOPIC)))
+                .build());
+
+    for (final LogsQuery query : queries) {
+      assertThat(index.matchingBlocks(query, 0, BLOCKS_PER_BLOOM_CACHE - 1))
+          .isEqualTo(scanBlooms(query, 0, BLOCKS_PER_BLOOM_CACHE - 1));
+    }
+  }
+
+  @Test
+  public void matchesOnlyBlocksInRange() throws IOException {
+    final BloomBitsIndex index = BloomBitsIndex.open(indexFile).orElseThrow();
+    final LogsQuery query = new LogsQuery.Builder().address(ADDRESS_A).build();
+
+    final BitSet matches = index.matchingBlocks(query, 70, 130);
+
+    assertThat(matches).isEqualTo(scanBlooms(query, 70, 130));
+    assertThat(matches.nextSetBit(0)).isEqualTo(72);
+    assertThat(matches.length()).isEqualTo(130);
+  }
+
+  @Test
+  public void openReturnsEmptyWithoutCompleteIndex() throws IOException {
+    final Path missingIndexFile =
+        BloomBitsIndex.calculateIndexFileName(cacheDir.getRoot().toPath(), 1);
+    assertThat(BloomBitsIndex.open(missingIndexFile)).isEmpty();
+
+    Files.write(indexFile, new byte[16]);
+    assertThat(BloomBitsIndex.open(indexFile)).isEmpty();
+  }
+
+  private static LogsBloomFilter bloomOf(final int block) {
+    final LogsBloomFilter.Builder bloom = LogsBloomFilter.builder();
+    if (block % 3 == 0) {
+      bloom.insertBytes(ADDRESS_A);
+    }
+    if (block % 7 == 0) {
+      bloom.insertBytes(ADDRESS_B);
+    }
+    if (block % 5 == 0) {
+      bloom.insertBytes(TOPIC);
+    }
+    return bloom.build();
+  }
+
+  private static BitSet scanBlooms(final LogsQuery query, final int fromBlock, final int toBlock) {
+    final BitSet matches = new BitSet();
+    for (int block = fromBlock; block <= toBlock; block++) {
+      if (query.couldMatch(bloomOf(block))) {
+        matches.set(block);
+      }
+    }
+    return matches;
+  }
+}
@@ -129,7 +129,9 @@ public class TransactionLogBloomCacherTest {
     when(blockchain.getChainHeadBlockNumber()).thenReturn(200003L);
     assertThat(cacheDir.getRoot().list().length).isEqualTo(0);
     transactionLogBloomCacher.cacheAll();
-    assertThat(cacheDir.getRoot().list().length).isEqualTo(2);
+    assertThat(cacheDir.getRoot().list())
+        .containsExactlyInAnyOrder(
+            "logBloom-0.cache", "logBloom-0.bits", "logBloom-1.cache", "logBloom-1.bits");
   }
 
   @Test
@@ -189,7 +191,48 @@ public class TransactionLogBloomCacherTest {
     assertThat(logBloom.length()).isEqualTo(BLOOM_BITS_LENGTH * BLOCKS_PER_BLOOM_CACHE);
     assertThat(logBloom1.length()).isEqualTo(0);
 
-    assertThat(cacheDir.getRoot().list().length).isEqualTo(2);
+    assertThat(cacheDir.getRoot().list())
+        .containsExactlyInAnyOrder("logBloom-0.cache", "logBloom-0.bits", "logBloom-1.cache");
+  }
+
+  @Test
+  public void shouldRemoveIndexWhenCompleteSegmentIsRewritten() throws IOException {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100003L);
+    transactionLogBloomCacher.cacheAll();
+    final File logBloom = cacheDir.getRoot().toPath().resolve("logBloom-0.cache").toFile();
+    assertThat(BloomBitsIndex.calculateIndexFileName(cacheDir.getRoot().toPath(), 0)).exists();
+
+    transactionLogBloomCacher.cacheLogsBloomForBlockHeader(
+        createBlock(BLOCKS_PER_BLOOM_CACHE - 1), Optional.empty(), Optional.of(logBloom));
+
+    assertThat(logBloom.length()).isEqualTo(BLOOM_BITS_LENGTH * BLOCKS_PER_BLOOM_CACHE);
+    assertThat(BloomBitsIndex.calculateIndexFileName(cacheDir.getRoot().toPath(), 0))
+        .doesNotExist();
+  }
+
+  @Test
+  public void shouldKeepIndexOpenBetweenQueries() {
+    assertThat(transactionLogBloomCacher.getBloomBitsIndex(0)).isEmpty();
+
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100003L);
+    transactionLogBloomCacher.cacheAll();
+
+    final Optional<BloomBitsIndex> index = transactionLogBloomCacher.getBloomBitsIndex(0);
+    assertThat(index).isPresent();
+    assertThat(transactionLogBloomCacher.getBloomBitsIndex(0).get()).isSameAs(index.get());
+  }
+
+  @Test
+  public void shouldDropOpenIndexWhenCompleteSegmentIsRewritten() {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100003L);
+    transactionLogBloomCacher.cacheAll();
+    assertThat(transactionLogBloomCacher.getBloomBitsIndex(0)).isPresent();
+    final File logBloom = cacheDir.getRoot().toPath().resolve("logBloom-0.cache").toFile();
+
+    transactionLogBloomCacher.cacheLogsBloomForBlockHeader(
+        createBlock(BLOCKS_PER_BLOOM_CACHE - 1), Optional.empty(), Optional.of(logBloom));
+
+    assertThat(transactionLogBloomCacher.getBloomBitsIndex(0)).isEmpty();
   }
 
   @Test
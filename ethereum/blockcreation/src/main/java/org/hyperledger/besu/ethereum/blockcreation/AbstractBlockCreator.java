@@ -42,7 +42,10 @@ import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.WithdrawalsProcessor;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.EvmAccount;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.data.TransactionType;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
@@ -53,6 +56,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import com.google.common.collect.Lists;
@@ -84,6 +89,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   protected final BlockHeader parentHeader;
 
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
+  private final Lock incrementalSelectionLock = new ReentrantLock();
+  private IncrementalSelection incrementalSelection;
 
   protected AbstractBlockCreator(
       final Address coinbase,
@@ -162,100 +169,249 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
           createPendingBlockHeader(timestamp, maybePrevRandao, newProtocolSpec);
       final Address miningBeneficiary =
           miningBeneficiaryCalculator.getMiningBeneficiary(processableBlockHeader.getNumber());
-      final Wei dataGasPrice =
-          newProtocolSpec
-              .getFeeMarket()
-              .dataPrice(parentHeader.getExcessDataGas().orElse(DataGas.ZERO));
+      final Wei dataGasPrice = dataGasPrice(newProtocolSpec);
 
       throwIfStopped();
 
       final List<BlockHeader> ommers = maybeOmmers.orElse(selectOmmers());
 
       throwIfStopped();
-      final BlockTransactionSelector.TransactionSelectionResults transactionResults =
-          selectTransactions(
+      final BlockTransactionSelector selector =
+          createTransactionSelector(
               processableBlockHeader,
               disposableWorldState,
-              maybeTransactions,
+              Optional.empty(),
               miningBeneficiary,
               dataGasPrice,
               newProtocolSpec);
+      final BlockTransactionSelector.TransactionSelectionResults transactionResults =
+          maybeTransactions.isPresent()
+              ? selector.evaluateTransactions(maybeTransactions.get())
+              : selector.buildTransactionListForBlock();
 
       throwIfStopped();
 
-      final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
-          newProtocolSpec.getWithdrawalsProcessor();
-      final boolean withdrawalsCanBeProcessed =
-          maybeWithdrawalsProcessor.isPresent() && maybeWithdrawals.isPresent();
-      if (withdrawalsCanBeProcessed) {
-        maybeWithdrawalsProcessor
-            .get()
-            .processWithdrawals(maybeWithdrawals.get(), disposableWorldState.updater());
-      }
-
-      throwIfStopped();
+      return finalizeBlock(
+          disposableWorldState,
+          processableBlockHeader,
+          ommers,
+          miningBeneficiary,
+          transactionResults,
+          maybeWithdrawals,
+          rewardCoinbase,
+          newProtocolSpec);
+    } catch (final SecurityModuleException ex) {
+      throw new IllegalStateException("Failed to create block signature", ex);
+    } catch (final CancellationException | StorageException ex) {
+      throw ex;
+    } catch (final Exception ex) {
+      throw new IllegalStateException(
+          "Block creation failed unexpectedly. Will restart on next block added to chain.", ex);
+    }
+  }
 
-      final Optional<List<Deposit>> maybeDeposits =
-          Optional.empty(); // TODO 6110: Extract deposits from transaction receipts
+  /**
+   * Creates a block with the pending transactions, extending the transaction selection of the
+   * previous call instead of starting again from the parent state.
+   *
+   * <p>The selected transactions are kept on top of a world state at the parent that stays open
+   * between calls, so only the transactions that became pending since the previous call are
+   * executed. Each call then applies the state changes of the selection to a fresh world state to
+   * process the withdrawals, reward the coinbase and compute the state root. The selection is
+   * discarded when the timestamp or the prevRandao change, when the block creation fails and when
+   * the block creator is cancelled.
+   *
+   * @param maybeWithdrawals the withdrawals of the block
+   * @param maybePrevRandao the prevRandao of the block
+   * @param timestamp the timestamp of the block
+   * @param rewardCoinbase whether the coinbase is rewarded
+   * @return the block creation result
+   */
+  protected BlockCreationResult createBlockIncrementally(
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final long timestamp,
+      final boolean rewardCoinbase) {
+    incrementalSelectionLock.lock();
+    try {
+      return extendIncrementalSelection(
+          maybeWithdrawals, maybePrevRandao, timestamp, rewardCoinbase);
+    } finally {
+      incrementalSelectionLock.unlock();
+      discardIncrementalSelectionIfCancelled();
+    }
+  }
 
-      if (rewardCoinbase
-          && !rewardBeneficiary(
-              disposableWorldState,
-              processableBlockHeader,
-              ommers,
-              miningBeneficiary,
-              newProtocolSpec.getBlockReward(),
-              newProtocolSpec.isSkipZeroBlockRewards(),
-              newProtocolSpec)) {
-        LOG.trace("Failed to apply mining reward, exiting.");
-        throw new RuntimeException("Failed to apply mining reward.");
+  private BlockCreationResult extendIncrementalSelection(
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final long timestamp,
+      final boolean rewardCoinbase) {
+    try {
+      if (incrementalSelection == null || !incrementalSelection.isFor(timestamp, maybePrevRandao)) {
+        discardIncrementalSelection();
+        incrementalSelection = startIncrementalSelection(maybePrevRandao, timestamp);
       }
 
       throwIfStopped();
 
-      final DataGas newExcessDataGas = computeExcessDataGas(transactionResults, newProtocolSpec);
+      final BlockTransactionSelector.TransactionSelectionResults transactionResults =
+          incrementalSelection.selector.buildTransactionListForBlock();
 
       throwIfStopped();
 
-      final SealableBlockHeader sealableBlockHeader =
-          BlockHeaderBuilder.create()
-              .populateFrom(processableBlockHeader)
-              .ommersHash(BodyValidation.ommersHash(ommers))
-              .stateRoot(disposableWorldState.rootHash())
-              .transactionsRoot(
-                  BodyValidation.transactionsRoot(transactionResults.getTransactions()))
-              .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
-              .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
-              .gasUsed(transactionResults.getCumulativeGasUsed())
-              .extraData(extraDataCalculator.get(parentHeader))
-              .withdrawalsRoot(
-                  withdrawalsCanBeProcessed
-                      ? BodyValidation.withdrawalsRoot(maybeWithdrawals.get())
-                      : null)
-              .depositsRoot(null) // TODO 6110: Derive deposit roots from deposits
-              .excessDataGas(newExcessDataGas)
-              .buildSealableBlockHeader();
-
-      final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
-
-      final Optional<List<Withdrawal>> withdrawals =
-          withdrawalsCanBeProcessed ? maybeWithdrawals : Optional.empty();
-      final Block block =
-          new Block(
-              blockHeader,
-              new BlockBody(
-                  transactionResults.getTransactions(), ommers, withdrawals, maybeDeposits));
-      return new BlockCreationResult(block, transactionResults);
+      try (final MutableWorldState disposableWorldState = duplicateWorldStateAtParent()) {
+        incrementalSelection.applyTo(disposableWorldState);
+        return finalizeBlock(
+            disposableWorldState,
+            incrementalSelection.processableBlockHeader,
+            selectOmmers(),
+            incrementalSelection.miningBeneficiary,
+            transactionResults,
+            maybeWithdrawals,
+            rewardCoinbase,
+            incrementalSelection.protocolSpec);
+      }
     } catch (final SecurityModuleException ex) {
+      discardIncrementalSelection();
       throw new IllegalStateException("Failed to create block signature", ex);
     } catch (final CancellationException | StorageException ex) {
+      discardIncrementalSelection();
       throw ex;
     } catch (final Exception ex) {
+      discardIncrementalSelection();
       throw new IllegalStateException(
           "Block creation failed unexpectedly. Will restart on next block added to chain.", ex);
     }
   }
 
+  private IncrementalSelection startIncrementalSelection(
+      final Optional<Bytes32> maybePrevRandao, final long timestamp) {
+    final ProtocolSpec newProtocolSpec =
+        protocolSchedule.getForNextBlockHeader(parentHeader, timestamp);
+    final ProcessableBlockHeader processableBlockHeader =
+        createPendingBlockHeader(timestamp, maybePrevRandao, newProtocolSpec);
+    final Address miningBeneficiary =
+        miningBeneficiaryCalculator.getMiningBeneficiary(processableBlockHeader.getNumber());
+    final MutableWorldState selectionWorldState = duplicateWorldStateAtParent();
+    // the world state itself is never updated, the selection is stacked on top of it
+    final WorldUpdater selectionUpdater = selectionWorldState.updater().updater();
+    final BlockTransactionSelector selector =
+        createTransactionSelector(
+            processableBlockHeader,
+            selectionWorldState,
+            Optional.of(selectionUpdater),
+            miningBeneficiary,
+            dataGasPrice(newProtocolSpec),
+            newProtocolSpec);
+    return new IncrementalSelection(
+        timestamp,
+        maybePrevRandao,
+        newProtocolSpec,
+        processableBlockHeader,
+        miningBeneficiary,
+        selectionWorldState,
+        selectionUpdater,
+        selector);
+  }
+
+  private void discardIncrementalSelection() {
+    if (incrementalSelection != null) {
+      incrementalSelection.close();
+      incrementalSelection = null;
+    }
+  }
+
+  private void discardIncrementalSelectionIfCancelled() {
+    // a block creation in progress holds the lock and discards the selection once it stops
+    if (isCancelled.get() && incrementalSelectionLock.tryLock()) {
+      try {
+        discardIncrementalSelection();
+      } finally {
+        incrementalSelectionLock.unlock();
+      }
+    }
+  }
+
+  private BlockCreationResult finalizeBlock(
+      final MutableWorldState disposableWorldState,
+      final ProcessableBlockHeader processableBlockHeader,
+      final List<BlockHeader> ommers,
+      final Address miningBeneficiary,
+      final BlockTransactionSelector.TransactionSelectionResults transactionResults,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final boolean rewardCoinbase,
+      final ProtocolSpec newProtocolSpec) {
+
+    final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
+        newProtocolSpec.getWithdrawalsProcessor();
+    final boolean withdrawalsCanBeProcessed =
+        maybeWithdrawalsProcessor.isPresent() && maybeWithdrawals.isPresent();
+    if (withdrawalsCanBeProcessed) {
+      maybeWithdrawalsProcessor
+          .get()
+          .processWithdrawals(maybeWithdrawals.get(), disposableWorldState.updater());
+    }
+
+    throwIfStopped();
+
+    final Optional<List<Deposit>> maybeDeposits =
+        Optional.empty(); // TODO 6110: Extract deposits from transaction receipts
+
+    if (rewardCoinbase
+        && !rewardBeneficiary(
+            disposableWorldState,
+            processableBlockHeader,
+            ommers,
+            miningBeneficiary,
+            newProtocolSpec.getBlockReward(),
+            newProtocolSpec.isSkipZeroBlockRewards(),
+            newProtocolSpec)) {
+      LOG.trace("Failed to apply mining reward, exiting.");
+      throw new RuntimeException("Failed to apply mining reward.");
+    }
+
+    throwIfStopped();
+
+    final DataGas newExcessDataGas = computeExcessDataGas(transactionResults, newProtocolSpec);
+
+    throwIfStopped();
+
+    // the selection may be extended later on, so the block gets its own copy of the transactions
+    final List<Transaction> transactions = List.copyOf(transactionResults.getTransactions());
+    final SealableBlockHeader sealableBlockHeader =
+        BlockHeaderBuilder.create()
+            .populateFrom(processableBlockHeader)
+            .ommersHash(BodyValidation.ommersHash(ommers))
+            .stateRoot(disposableWorldState.rootHash())
+            .transactionsRoot(BodyValidation.transactionsRoot(transactions))
+            .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
+            .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
+            .gasUsed(transactionResults.getCumulativeGasUsed())
+            .extraData(extraDataCalculator.get(parentHeader))
+            .withdrawalsRoot(
+                withdrawalsCanBeProcessed
+                    ? BodyValidation.withdrawalsRoot(maybeWithdrawals.get())
+                    : null)
+            .depositsRoot(null) // TODO 6110: Derive deposit roots from deposits
+            .excessDataGas(newExcessDataGas)
+            .buildSealableBlockHeader();
+
+    final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
+
+    final Optional<List<Withdrawal>> withdrawals =
+        withdrawalsCanBeProcessed ? maybeWithdrawals : Optional.empty();
+    final Block block =
+        new Block(blockHeader, new BlockBody(transactions, ommers, withdrawals, maybeDeposits));
+    return new BlockCreationResult(block, transactionResults);
+  }
+
+  private Wei dataGasPrice(final ProtocolSpec protocolSpec) {
+    return protocolSpec
+        .getFeeMarket()
+        .dataPrice(parentHeader.getExcessDataGas().orElse(DataGas.ZERO));
+  }
+
   private DataGas computeExcessDataGas(
       BlockTransactionSelector.TransactionSelectionResults transactionResults,
       ProtocolSpec newProtocolSpec) {
@@ -276,41 +432,34 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     return null;
   }
 
-  private BlockTransactionSelector.TransactionSelectionResults selectTransactions(
+  private BlockTransactionSelector createTransactionSelector(
       final ProcessableBlockHeader processableBlockHeader,
       final MutableWorldState disposableWorldState,
-      final Optional<List<Transaction>> transactions,
+      final Optional<WorldUpdater> selectionUpdater,
       final Address miningBeneficiary,
       final Wei dataGasPrice,
-      final ProtocolSpec protocolSpec)
-      throws RuntimeException {
+      final ProtocolSpec protocolSpec) {
     final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
 
     final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
         protocolSpec.getTransactionReceiptFactory();
 
-    final BlockTransactionSelector selector =
-        new BlockTransactionSelector(
-            transactionProcessor,
-            protocolContext.getBlockchain(),
-            disposableWorldState,
-            pendingTransactions,
-            processableBlockHeader,
-            transactionReceiptFactory,
-            minTransactionGasPrice,
-            minBlockOccupancyRatio,
-            isCancelled::get,
-            miningBeneficiary,
-            dataGasPrice,
-            protocolSpec.getFeeMarket(),
-            protocolSpec.getGasCalculator(),
-            protocolSpec.getGasLimitCalculator());
-
-    if (transactions.isPresent()) {
-      return selector.evaluateTransactions(transactions.get());
-    } else {
-      return selector.buildTransactionListForBlock();
-    }
+    return new BlockTransactionSelector(
+        transactionProcessor,
+        protocolContext.getBlockchain(),
+        disposableWorldState,
+        pendingTransactions,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled::get,
+        miningBeneficiary,
+        dataGasPrice,
+        protocolSpec.getFeeMarket(),
+        protocolSpec.getGasCalculator(),
+        protocolSpec.getGasLimitCalculator(),
+        selectionUpdater);
   }
 
   private MutableWorldState duplicateWorldStateAtParent() {
@@ -379,6 +528,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   @Override
   public void cancel() {
     isCancelled.set(true);
+    discardIncrementalSelectionIfCancelled();
   }
 
   @Override
@@ -446,4 +596,67 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   protected interface MiningBeneficiaryCalculator {
     Address getMiningBeneficiary(long blockNumber);
   }
+
+  /** The transactions selected so far for a block and the state changes they made. */
+  private static class IncrementalSelection {
+    private final long timestamp;
+    private final Optional<Bytes32> maybePrevRandao;
+    private final ProtocolSpec protocolSpec;
+    private final ProcessableBlockHeader processableBlockHeader;
+    private final Address miningBeneficiary;
+    private final MutableWorldState selectionWorldState;
+    private final WorldUpdater selectionUpdater;
+    private final BlockTransactionSelector selector;
+
+    IncrementalSelection(
+        final long timestamp,
+        final Optional<Bytes32> maybePrevRandao,
+        final ProtocolSpec protocolSpec,
+        final ProcessableBlockHeader processableBlockHeader,
+        final Address miningBeneficiary,
+        final MutableWorldState selectionWorldState,
+        final WorldUpdater selectionUpdater,
+        final BlockTransactionSelector selector) {
+      this.timestamp = timestamp;
+      this.maybePrevRandao = maybePrevRandao;
+      this.protocolSpec = protocolSpec;
+      this.processableBlockHeader = processableBlockHeader;
+      this.miningBeneficiary = miningBeneficiary;
+      this.selectionWorldState = selectionWorldState;
+      this.selectionUpdater = selectionUpdater;
+      this.selector = selector;
+    }
+
+    boolean isFor(final long timestamp, final Optional<Bytes32> maybePrevRandao) {
+      return this.timestamp == timestamp && this.maybePrevRandao.equals(maybePrevRandao);
+    }
+
+    /* Same as StackedUpdater.commit(), but targeting another world state at the parent. */
+    void applyTo(final MutableWorldState worldState) {
+      final WorldUpdater updater = worldState.updater();
+      selectionUpdater.getDeletedAccountAddresses().forEach(updater::deleteAccount);
+      for (final Account account : selectionUpdater.getTouchedAccounts()) {
+        final UpdateTrackingAccount<?> selected = (UpdateTrackingAccount<?>) account;
+        final MutableAccount target = updater.getOrCreate(selected.getAddress()).getMutable();
+        target.setNonce(selected.getNonce());
+        target.setBalance(selected.getBalance());
+        if (selected.codeWasUpdated()) {
+          target.setCode(selected.getCode());
+        }
+        if (selected.getStorageWasCleared()) {
+          target.clearStorage();
+        }
+        selected.getUpdatedStorage().forEach(target::setStorageValue);
+      }
+      updater.commit();
+    }
+
+    void close() {
+      try {
+        selectionWorldState.close();
+      } catch (final Exception e) {
+        LOG.debug("Failed to close the world state of the transaction selection", e);
+      }
+    }
+  }
 }
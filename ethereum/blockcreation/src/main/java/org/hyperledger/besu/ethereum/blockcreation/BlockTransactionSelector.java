@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.blockcreation;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.GasLimitCalculator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -33,15 +34,20 @@ import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.data.TransactionType;
 
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -69,6 +75,11 @@ import org.slf4j.LoggerFactory;
  *
  * Once "used" this class must be discarded and another created. This class contains state which is
  * not cleared between executions of buildTransactionListForBlock().
+ *
+ * <p>When created with a selection updater, the selected transactions are committed to that updater
+ * instead of the world state, and further calls to buildTransactionListForBlock() extend the
+ * current selection with the pending transactions that have not been selected yet, without
+ * executing again the transactions already selected.
  */
 public class BlockTransactionSelector {
   public static class TransactionValidationResult {
@@ -218,9 +229,11 @@ public class BlockTransactionSelector {
   private final FeeMarket feeMarket;
   private final GasCalculator gasCalculator;
   private final GasLimitCalculator gasLimitCalculator;
+  private final Optional<WorldUpdater> selectionUpdater;
 
   private final TransactionSelectionResults transactionSelectionResult =
       new TransactionSelectionResults();
+  private final Set<Hash> selectedTransactions = new HashSet<>();
 
   public BlockTransactionSelector(
       final MainnetTransactionProcessor transactionProcessor,
@@ -237,6 +250,61 @@ public class BlockTransactionSelector {
       final FeeMarket feeMarket,
       final GasCalculator gasCalculator,
       final GasLimitCalculator gasLimitCalculator) {
+    this(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        pendingTransactions,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled,
+        miningBeneficiary,
+        dataGasPrice,
+        feeMarket,
+        gasCalculator,
+        gasLimitCalculator,
+        Optional.empty());
+  }
+
+  /**
+   * Creates a selector whose selection can be extended by calling buildTransactionListForBlock()
+   * again once new transactions are pending.
+   *
+   * @param transactionProcessor the transaction processor
+   * @param blockchain the blockchain
+   * @param worldState the world state at the parent of the block
+   * @param pendingTransactions the pending transactions
+   * @param processableBlockHeader the header of the block
+   * @param transactionReceiptFactory the transaction receipt factory
+   * @param minTransactionGasPrice the min transaction gas price
+   * @param minBlockOccupancyRatio the min block occupancy ratio
+   * @param isCancelled the cancellation supplier
+   * @param miningBeneficiary the mining beneficiary
+   * @param dataGasPrice the data gas price
+   * @param feeMarket the fee market
+   * @param gasCalculator the gas calculator
+   * @param gasLimitCalculator the gas limit calculator
+   * @param selectionUpdater the updater the selected transactions are committed to, stacked on the
+   *     world state, or empty to commit them to the world state
+   */
+  public BlockTransactionSelector(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final PendingTransactions pendingTransactions,
+      final ProcessableBlockHeader processableBlockHeader,
+      final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory,
+      final Wei minTransactionGasPrice,
+      final Double minBlockOccupancyRatio,
+      final Supplier<Boolean> isCancelled,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final FeeMarket feeMarket,
+      final GasCalculator gasCalculator,
+      final GasLimitCalculator gasLimitCalculator,
+      final Optional<WorldUpdater> selectionUpdater) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
@@ -251,6 +319,7 @@ public class BlockTransactionSelector {
     this.feeMarket = feeMarket;
     this.gasCalculator = gasCalculator;
     this.gasLimitCalculator = gasLimitCalculator;
+    this.selectionUpdater = selectionUpdater;
   }
 
   /*
@@ -265,7 +334,10 @@ public class BlockTransactionSelector {
         .addArgument(pendingTransactions.logStats())
         .log();
     pendingTransactions.selectTransactions(
-        pendingTransaction -> evaluateTransaction(pendingTransaction, false));
+        pendingTransaction ->
+            selectedTransactions.contains(pendingTransaction.getHash())
+                ? TransactionSelectionResult.CONTINUE
+                : evaluateTransaction(pendingTransaction, false));
     LOG.atTrace()
         .setMessage("Transaction selection result result {}")
         .addArgument(transactionSelectionResult::toTraceLog)
@@ -319,7 +391,8 @@ public class BlockTransactionSelector {
       return TransactionSelectionResult.CONTINUE;
     }
 
-    final WorldUpdater worldStateUpdater = worldState.updater();
+    final WorldUpdater worldStateUpdater =
+        selectionUpdater.map(WorldUpdater::updater).orElseGet(worldState::updater);
     final BlockHashLookup blockHashLookup =
         new CachingBlockHashLookup(processableBlockHeader, blockchain);
 
@@ -337,6 +410,7 @@ public class BlockTransactionSelector {
 
     if (!effectiveResult.isInvalid()) {
       worldStateUpdater.commit();
+      selectionUpdater.ifPresent(BlockTransactionSelector::markTransactionBoundary);
       LOG.atTrace()
           .setMessage("Selected {} for block creation")
           .addArgument(transaction::toTraceLog)
@@ -396,7 +470,7 @@ public class BlockTransactionSelector {
 
     final TransactionInvalidReason invalidReason = invalidReasonValidationResult.getInvalidReason();
     // If the invalid reason is transient, then leave the transaction in the pool and continue
-    if (isTransientValidationError(invalidReason)) {
+    if (isTransientValidationError(transaction, invalidReason)) {
       LOG.atTrace()
           .setMessage("Transient validation error {} for transaction {} keeping it in the pool")
           .addArgument(invalidReason)
@@ -413,9 +487,32 @@ public class BlockTransactionSelector {
     return TransactionSelectionResult.DELETE_TRANSACTION_AND_CONTINUE;
   }
 
-  private boolean isTransientValidationError(final TransactionInvalidReason invalidReason) {
+  private boolean isTransientValidationError(
+      final Transaction transaction, final TransactionInvalidReason invalidReason) {
     return invalidReason.equals(TransactionInvalidReason.GAS_PRICE_BELOW_CURRENT_BASE_FEE)
-        || invalidReason.equals(TransactionInvalidReason.NONCE_TOO_HIGH);
+        || invalidReason.equals(TransactionInvalidReason.NONCE_TOO_HIGH)
+        || (invalidReason.equals(TransactionInvalidReason.NONCE_TOO_LOW)
+            && isNonceUsedBySelection(transaction));
+  }
+
+  /*
+   * When extending a selection, a transaction can have a nonce too low only because of the
+   * transactions already selected, such as the replacement of a selected transaction. It is only
+   * invalid for this selection, unlike a transaction whose nonce is too low at the parent block.
+   */
+  private boolean isNonceUsedBySelection(final Transaction transaction) {
+    if (selectionUpdater.isEmpty() || selectedTransactions.isEmpty()) {
+      return false;
+    }
+    final Account sender = worldState.get(transaction.getSender());
+    final long parentNonce = sender == null ? 0L : sender.getNonce();
+    return transaction.getNonce() >= parentNonce;
+  }
+
+  private static void markTransactionBoundary(final WorldUpdater updater) {
+    if (updater instanceof StackedUpdater) {
+      ((StackedUpdater<?, ?>) updater).markTransactionBoundary();
+    }
   }
 
   /*
@@ -432,6 +529,7 @@ public class BlockTransactionSelector {
 
     final long dataGasUsed = gasCalculator.dataGasCost(transaction.getBlobCount());
 
+    selectedTransactions.add(transaction.getHash());
     transactionSelectionResult.update(
         transaction,
         transactionReceiptFactory.create(
@@ -22,6 +22,8 @@ import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
 import org.hyperledger.besu.config.GenesisConfigOptions;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.GWei;
 import org.hyperledger.besu.datatypes.Hash;
@@ -29,12 +31,15 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreator.BlockCreationResult;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.SealableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
 import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.sorter.AbstractPendingTransactionsSorter;
@@ -55,6 +60,7 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt64;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -63,7 +69,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 abstract class AbstractBlockCreatorTest {
+  private static final String INCREMENTAL_GENESIS =
+      "{\"config\": {}, \"difficulty\": \"0x1\", \"gasLimit\": \"0x1c9c380\", \"alloc\": {}}";
+  private static final Optional<Bytes32> PREV_RANDAO = Optional.of(Bytes32.ZERO);
+  private static final KeyPair FIRST_SENDER =
+      SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair SECOND_SENDER =
+      SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
   @Mock private WithdrawalsProcessor withdrawalsProcessor;
+  private ExecutionContextTestFixture executionContextTestFixture;
+  private AbstractPendingTransactionsSorter pendingTransactions;
 
   @Test
   void withProcessorAndEmptyWithdrawals_NoWithdrawalsAreProcessed() {
@@ -126,6 +142,79 @@ abstract class AbstractBlockCreatorTest {
     assertThat(blockCreationResult.getBlock().getBody().getWithdrawals()).isEmpty();
   }
 
+  @Test
+  void incrementallyCreatedBlockMatchesFullyCreatedBlock() {
+    final TestBlockCreator incrementalBlockCreator = createBlockCreatorForIncrementalSelection();
+    addTransaction(FIRST_SENDER, 0);
+    incrementalBlockCreator.createBlockIncrementally(Optional.empty(), PREV_RANDAO, 1L, false);
+    addTransaction(FIRST_SENDER, 1);
+    addTransaction(SECOND_SENDER, 0);
+    final BlockCreationResult incrementalResult =
+        incrementalBlockCreator.createBlockIncrementally(Optional.empty(), PREV_RANDAO, 1L, false);
+
+    final BlockCreationResult fullResult =
+        createBlockCreator(Wei.ZERO)
+            .createBlock(
+                Optional.empty(), Optional.empty(), Optional.empty(), PREV_RANDAO, 1L, false);
+
+    final Block incrementalBlock = incrementalResult.getBlock();
+    final Block fullBlock = fullResult.getBlock();
+    assertThat(incrementalBlock.getBody().getTransactions()).hasSize(3);
+    assertThat(incrementalBlock.getHeader().getStateRoot())
+        .isEqualTo(fullBlock.getHeader().getStateRoot());
+    assertThat(incrementalBlock.getHeader().getReceiptsRoot())
+        .isEqualTo(fullBlock.getHeader().getReceiptsRoot());
+    assertThat(incrementalResult.getTransactionSelectionResults().getReceipts())
+        .isEqualTo(fullResult.getTransactionSelectionResults().getReceipts());
+    assertThat(incrementalBlock).isEqualTo(fullBlock);
+  }
+
+  @Test
+  void incrementalSelectionIsDiscardedWhenTimestampChanges() {
+    final TestBlockCreator blockCreator = createBlockCreatorForIncrementalSelection();
+    final Transaction transaction = addTransaction(FIRST_SENDER, 0);
+    blockCreator.createBlockIncrementally(Optional.empty(), PREV_RANDAO, 1L, false);
+    pendingTransactions.transactionAddedToBlock(transaction);
+
+    // the selection made for the same attributes is kept
+    assertThat(
+            blockCreator
+                .createBlockIncrementally(Optional.empty(), PREV_RANDAO, 1L, false)
+                .getBlock()
+                .getBody()
+                .getTransactions())
+        .containsExactly(transaction);
+
+    final Block block =
+        blockCreator.createBlockIncrementally(Optional.empty(), PREV_RANDAO, 2L, false).getBlock();
+    assertThat(block.getHeader().getTimestamp()).isEqualTo(2L);
+    assertThat(block.getBody().getTransactions()).isEmpty();
+  }
+
+  @Test
+  void incrementalSelectionIsDiscardedWhenPrevRandaoChanges() {
+    final TestBlockCreator blockCreator = createBlockCreatorForIncrementalSelection();
+    final Transaction transaction = addTransaction(FIRST_SENDER, 0);
+    blockCreator.createBlockIncrementally(Optional.empty(), PREV_RANDAO, 1L, false);
+    pendingTransactions.transactionAddedToBlock(transaction);
+
+    // the selection made for the same attributes is kept
+    assertThat(
+            blockCreator
+                .createBlockIncrementally(Optional.empty(), PREV_RANDAO, 1L, false)
+                .getBlock()
+                .getBody()
+                .getTransactions())
+        .containsExactly(transaction);
+
+    final Block block =
+        blockCreator
+            .createBlockIncrementally(
+                Optional.empty(), Optional.of(Bytes32.fromHexStringLenient("0x01")), 1L, false)
+            .getBlock();
+    assertThat(block.getBody().getTransactions()).isEmpty();
+  }
+
   private AbstractBlockCreator blockCreatorWithWithdrawalsProcessor() {
     final ProtocolSpecAdapters protocolSpecAdapters =
         ProtocolSpecAdapters.create(
@@ -138,9 +227,16 @@ abstract class AbstractBlockCreatorTest {
   }
 
   private AbstractBlockCreator createBlockCreator(final ProtocolSpecAdapters protocolSpecAdapters) {
+    setUpExecutionContext(protocolSpecAdapters, GenesisConfigFile.mainnet());
+    return createBlockCreator(Wei.of(1L));
+  }
+
+  private void setUpExecutionContext(
+      final ProtocolSpecAdapters protocolSpecAdapters, final GenesisConfigFile genesisConfigFile) {
     final GenesisConfigOptions genesisConfigOptions = GenesisConfigFile.DEFAULT.getConfigOptions();
-    final ExecutionContextTestFixture executionContextTestFixture =
+    executionContextTestFixture =
         ExecutionContextTestFixture.builder()
+            .genesisConfigFile(genesisConfigFile)
             .protocolSchedule(
                 new ProtocolScheduleBuilder(
                         genesisConfigOptions,
@@ -153,26 +249,50 @@ abstract class AbstractBlockCreatorTest {
             .build();
 
     final MutableBlockchain blockchain = executionContextTestFixture.getBlockchain();
-    final AbstractPendingTransactionsSorter sorter =
+    pendingTransactions =
         new GasPricePendingTransactionsSorter(
             ImmutableTransactionPoolConfiguration.builder().txPoolMaxSize(100).build(),
             Clock.systemUTC(),
             new NoOpMetricsSystem(),
             blockchain::getChainHeadHeader);
+  }
 
+  private TestBlockCreator createBlockCreator(final Wei minTransactionGasPrice) {
+    final MutableBlockchain blockchain = executionContextTestFixture.getBlockchain();
     return new TestBlockCreator(
         Address.ZERO,
         __ -> Address.ZERO,
         () -> Optional.of(30_000_000L),
         __ -> Bytes.fromHexString("deadbeef"),
-        sorter,
+        pendingTransactions,
         executionContextTestFixture.getProtocolContext(),
         executionContextTestFixture.getProtocolSchedule(),
-        Wei.of(1L),
+        minTransactionGasPrice,
         0d,
         blockchain.getChainHeadHeader());
   }
 
+  private TestBlockCreator createBlockCreatorForIncrementalSelection() {
+    setUpExecutionContext(
+        new ProtocolSpecAdapters(Map.of()), GenesisConfigFile.fromConfig(INCREMENTAL_GENESIS));
+    // the senders are not funded, the transactions are free to pay for
+    return createBlockCreator(Wei.ZERO);
+  }
+
+  private Transaction addTransaction(final KeyPair keyPair, final long nonce) {
+    final Transaction transaction =
+        new TransactionTestFixture()
+            .nonce(nonce)
+            .gasPrice(Wei.ZERO)
+            .gasLimit(21_000L)
+            .value(Wei.ZERO)
+            .to(Optional.of(Address.fromHexString("0xdeadbeef")))
+            .chainId(Optional.empty())
+            .createTransaction(keyPair);
+    pendingTransactions.addRemoteTransaction(transaction, Optional.empty());
+    return transaction;
+  }
+
   static class TestBlockCreator extends AbstractBlockCreator {
 
     protected TestBlockCreator(
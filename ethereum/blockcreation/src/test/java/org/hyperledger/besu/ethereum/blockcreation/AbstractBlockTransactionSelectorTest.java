@@ -19,6 +19,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
@@ -446,6 +448,52 @@ public abstract class AbstractBlockTransactionSelectorTest {
     assertThat(results.getTransactions().size()).isEqualTo(0);
   }
 
+  @Test
+  public void selectionIsExtendedWithTheNewPendingTransactionsOnly() {
+    final Transaction transaction0 = createTransaction(0);
+    final Transaction transaction1 = createTransaction(1);
+    pendingTransactions.addRemoteTransaction(transaction0, Optional.empty());
+    ensureTransactionIsValid(transaction0);
+    ensureTransactionIsValid(transaction1);
+
+    final ProcessableBlockHeader blockHeader = createBlock(5000);
+
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            pendingTransactions,
+            blockHeader,
+            this::createReceipt,
+            Wei.ZERO,
+            0.8,
+            this::isCancelled,
+            miningBeneficiary,
+            Wei.ZERO,
+            getFeeMarket(),
+            new LondonGasCalculator(),
+            GasLimitCalculator.constant(),
+            Optional.of(worldState.updater().updater()));
+
+    assertThat(selector.buildTransactionListForBlock().getTransactions())
+        .containsExactly(transaction0);
+
+    pendingTransactions.addRemoteTransaction(transaction1, Optional.empty());
+
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        selector.buildTransactionListForBlock();
+
+    assertThat(results.getTransactions()).containsExactly(transaction0, transaction1);
+    assertThat(results.getReceipts().size()).isEqualTo(2);
+    assertThat(results.getCumulativeGasUsed()).isEqualTo(200);
+    verify(transactionProcessor, times(1))
+        .processTransaction(
+            any(), any(), any(), eq(transaction0), any(), any(), anyBoolean(), any(), any());
+  }
+
   protected BlockTransactionSelector createBlockSelector(
       final MainnetTransactionProcessor transactionProcessor,
       final ProcessableBlockHeader blockHeader,
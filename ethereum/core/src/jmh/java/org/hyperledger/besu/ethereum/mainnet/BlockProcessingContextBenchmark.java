@@ -0,0 +1,142 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static java.util.Collections.emptyList;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.DataGas;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares computing the per-block invariants of transaction execution for every transaction with
+ * computing them once in a {@link BlockProcessingContext}. Run with {@code -prof gc} to compare the
+ * allocation rates, the {@code headerLookups} counter reports the reads of the blockchain storage.
+ */
+@State(Scope.Thread)
+public class BlockProcessingContextBenchmark {
+
+  @Param({"500", "1000", "2000"})
+  public int transactionCount;
+
+  private final FeeMarket feeMarket = FeeMarket.cancun(0, Optional.empty());
+  private final MiningBeneficiaryCalculator miningBeneficiaryCalculator = BlockHeader::getCoinbase;
+
+  private CountingKeyValueStorage blockchainStorage;
+  private MutableBlockchain blockchain;
+  private BlockHeader blockHeader;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HeaderLookups {
+    public long headerLookups;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      headerLookups = 0;
+    }
+  }
+
+  @Setup
+  public void prepare() {
+    blockchainStorage = new CountingKeyValueStorage();
+    final ExecutionContextTestFixture executionContext =
+        ExecutionContextTestFixture.builder().keyValueStorage(blockchainStorage).build();
+    blockchain = executionContext.getBlockchain();
+    for (int i = 1; i < 256; i++) {
+      blockchain.appendBlock(
+          new Block(
+              new BlockHeaderTestFixture()
+                  .parentHash(blockchain.getChainHeadHash())
+                  .number(i)
+                  .difficulty(Difficulty.ONE)
+                  .buildHeader(),
+              new BlockBody(emptyList(), emptyList())),
+          emptyList());
+    }
+    blockHeader =
+        new BlockHeaderTestFixture()
+            .parentHash(blockchain.getChainHeadHash())
+            .number(blockchain.getChainHeadBlockNumber() + 1)
+            .difficulty(Difficulty.ONE)
+            .buildHeader();
+  }
+
+  @Benchmark
+  public void perTransactionInvariants(final HeaderLookups counters, final Blackhole blackhole) {
+    final long lookupsBefore = blockchainStorage.reads;
+    for (int i = 0; i < transactionCount; i++) {
+      final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
+      final Address miningBeneficiary =
+          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+      final Wei dataGasPrice =
+          feeMarket.dataPrice(
+              blockchain
+                  .getBlockHeader(blockHeader.getParentHash())
+                  .flatMap(BlockHeader::getExcessDataGas)
+                  .orElse(DataGas.ZERO));
+      blackhole.consume(blockHashLookup);
+      blackhole.consume(miningBeneficiary);
+      blackhole.consume(dataGasPrice);
+    }
+    counters.headerLookups += blockchainStorage.reads - lookupsBefore;
+  }
+
+  @Benchmark
+  public void perBlockContext(final HeaderLookups counters, final Blackhole blackhole) {
+    final long lookupsBefore = blockchainStorage.reads;
+    final BlockProcessingContext context =
+        BlockProcessingContext.create(
+            blockchain, blockHeader, feeMarket, miningBeneficiaryCalculator);
+    for (int i = 0; i < transactionCount; i++) {
+      blackhole.consume(context.getBlockHashLookup());
+      blackhole.consume(context.getMiningBeneficiary());
+      blackhole.consume(context.getDataGasPrice());
+    }
+    counters.headerLookups += blockchainStorage.reads - lookupsBefore;
+  }
+
+  private static class CountingKeyValueStorage extends InMemoryKeyValueStorage {
+    private long reads;
+
+    @Override
+    public Optional<byte[]> get(final byte[] key) {
+      reads++;
+      return super.get(key);
+    }
+  }
+}
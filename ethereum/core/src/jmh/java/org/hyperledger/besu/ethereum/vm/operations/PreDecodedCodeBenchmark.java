@@ -0,0 +1,152 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the regular interpreter with the pre-decoded one, the {@code instructions} counter
+ * reports the executed instructions per second.
+ *
+ * <p>The {@code code} parameter is either {@code loop}, a counting loop made of stack and jump
+ * instructions, the name of a contract bundled with the benchmark, or the path of a file holding
+ * the hex encoded code of a contract, for instance fetched from mainnet with {@code eth_getCode},
+ * optionally followed on a second line by the hex encoded call data.
+ *
+ * <p>The bundled contracts are deployed contracts called with empty storage: a multisig wallet
+ * listing its owners, and the node and account permissioning contracts checking a connection and
+ * a transaction. They exercise the solidity function dispatcher, ABI decoding and hashing.
+ */
+@State(Scope.Thread)
+public class PreDecodedCodeBenchmark {
+
+  // PUSH2 0xffff, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, DUP1, SWAP2, POP, PUSH1 3, JUMPI, STOP
+  private static final String LOOP = "0x61ffff5b600190038080915060035700";
+  private static final long GAS_LIMIT = 1_000_000_000L;
+
+  @Param({"loop", "multisig-wallet", "node-permissioning", "account-permissioning"})
+  public String code;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private EVM interpreter;
+  private EVM preDecodingInterpreter;
+  private Code contractCode;
+  private Bytes callData = Bytes.EMPTY;
+  private long instructionsPerRun;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Instructions {
+    public long instructions;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      instructions = 0;
+    }
+  }
+
+  @Setup
+  public void prepare() throws IOException {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    interpreter = MainnetEVMs.cancun(EvmConfiguration.DEFAULT);
+    preDecodingInterpreter =
+        MainnetEVMs.cancun(EvmConfiguration.DEFAULT.withPreDecodingEnabled(true));
+    if ("loop".equals(code)) {
+      contractCode = CodeFactory.createCode(Bytes.fromHexString(LOOP), 0, false);
+    } else {
+      final List<String> lines = readContract(code);
+      contractCode = CodeFactory.createCode(Bytes.fromHexString(lines.get(0).trim()), 0, false);
+      if (lines.size() > 1) {
+        callData = Bytes.fromHexString(lines.get(1).trim());
+      }
+    }
+    final InstructionCounter counter = new InstructionCounter();
+    interpreter.runToHalt(createMessageFrame(), counter);
+    instructionsPerRun = counter.count;
+  }
+
+  @TearDown
+  public void cleanUp() throws IOException {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public MessageFrame interpreter(final Instructions counters) {
+    return run(interpreter, counters);
+  }
+
+  @Benchmark
+  public MessageFrame preDecoded(final Instructions counters) {
+    return run(preDecodingInterpreter, counters);
+  }
+
+  private static List<String> readContract(final String name) throws IOException {
+    try (InputStream bundled =
+        PreDecodedCodeBenchmark.class.getResourceAsStream(name + ".hex")) {
+      if (bundled == null) {
+        return Files.readAllLines(Path.of(name), StandardCharsets.UTF_8);
+      }
+      return new String(bundled.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+    }
+  }
+
+  private MessageFrame run(final EVM evm, final Instructions counters) {
+    final MessageFrame frame = createMessageFrame();
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    counters.instructions += instructionsPerRun;
+    return frame;
+  }
+
+  private MessageFrame createMessageFrame() {
+    return operationBenchmarkHelper
+        .createMessageFrameBuilder()
+        .code(contractCode)
+        .inputData(callData)
+        .initialGas(GAS_LIMIT)
+        .build();
+  }
+
+  private static class InstructionCounter implements OperationTracer {
+    private long count;
+
+    @Override
+    public void tracePreExecution(final MessageFrame frame) {
+      count++;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.io.IOException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the {@link Bytes} operand stack with the primitive one on a
+ * loop of arithmetic, comparison and bitwise operations. The {@code instructions} counter reports
+ * the executed instructions per second, run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+public class PrimitiveStackBenchmark {
+
+  // PUSH2 0xffff, JUMPDEST, DUP1, DUP1, MUL, DUP2, ADD, PUSH1 3, SHL, DUP2, XOR, PUSH1 7, AND, POP,
+  // PUSH1 1, SWAP1, SUB, DUP1, PUSH1 3, JUMPI, STOP
+  private static final Bytes LOOP =
+      Bytes.fromHexString("0x61ffff5b808002810160031b811860071650600190038060035700");
+  private static final long GAS_LIMIT = 1_000_000_000L;
+
+  @Param({"false", "true"})
+  public boolean primitiveStack;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private EVM evm;
+  private Code code;
+  private long instructionsPerRun;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Instructions {
+    public long instructions;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      instructions = 0;
+    }
+  }
+
+  @Setup
+  public void prepare() throws IOException {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    evm = MainnetEVMs.cancun(EvmConfiguration.DEFAULT.withPrimitiveStackEnabled(primitiveStack));
+    code = CodeFactory.createCode(LOOP, 0, false);
+    final InstructionCounter counter = new InstructionCounter();
+    evm.runToHalt(createMessageFrame(), counter);
+    instructionsPerRun = counter.count;
+  }
+
+  @TearDown
+  public void cleanUp() throws IOException {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public MessageFrame arithmeticLoop(final Instructions counters) {
+    final MessageFrame frame = createMessageFrame();
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    counters.instructions += instructionsPerRun;
+    return frame;
+  }
+
+  private MessageFrame createMessageFrame() {
+    return operationBenchmarkHelper
+        .createMessageFrameBuilder()
+        .code(code)
+        .initialGas(GAS_LIMIT)
+        .primitiveStack(primitiveStack)
+        .build();
+  }
+
+  private static class InstructionCounter implements OperationTracer {
+    private long count;
+
+    @Override
+    public void tracePreExecution(final MessageFrame frame) {
+      count++;
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.hyperledger.besu.plugin.services.exception.StorageException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +96,12 @@ public class MainnetBlockValidator implements BlockValidator {
 
     final BlockHeader header = block.getHeader();
     final BlockHeader parentHeader;
+    // the senders are recovered while the header is validated and the world state is loaded
+    final CompletableFuture<Void> senderRecovery =
+        context
+            .getSenderRecovery()
+            .map(recovery -> recovery.recoverSenders(block.getBody().getTransactions()))
+            .orElseGet(() -> CompletableFuture.completedFuture(null));
 
     try {
       final MutableBlockchain blockchain = context.getBlockchain();
@@ -132,6 +139,7 @@ public class MainnetBlockValidator implements BlockValidator {
         handleAndLogImportFailure(block, retval, shouldRecordBadBlock);
         return retval;
       }
+      senderRecovery.join();
       var result = processBlock(context, worldState, block);
       if (result.isFailed()) {
         handleAndLogImportFailure(block, result, shouldRecordBadBlock);
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum;
 
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
+import org.hyperledger.besu.ethereum.mainnet.ParallelSenderRecovery;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
@@ -32,6 +33,7 @@ public class ProtocolContext {
   private final ConsensusContext consensusContext;
 
   private Optional<Synchronizer> synchronizer;
+  private Optional<ParallelSenderRecovery> senderRecovery;
 
   public ProtocolContext(
       final MutableBlockchain blockchain,
@@ -41,6 +43,7 @@ public class ProtocolContext {
     this.worldStateArchive = worldStateArchive;
     this.consensusContext = consensusContext;
     this.synchronizer = Optional.empty();
+    this.senderRecovery = Optional.empty();
   }
 
   public static ProtocolContext init(
@@ -62,6 +65,14 @@ public class ProtocolContext {
     this.synchronizer = synchronizer;
   }
 
+  public Optional<ParallelSenderRecovery> getSenderRecovery() {
+    return senderRecovery;
+  }
+
+  public void setSenderRecovery(final Optional<ParallelSenderRecovery> senderRecovery) {
+    this.senderRecovery = senderRecovery;
+  }
+
   public MutableBlockchain getBlockchain() {
     return blockchain;
   }
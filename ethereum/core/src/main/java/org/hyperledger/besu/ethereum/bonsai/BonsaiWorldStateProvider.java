@@ -20,16 +20,19 @@ import static org.hyperledger.besu.ethereum.bonsai.cache.CachedWorldStorageManag
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.cache.BonsaiStatePrefetcher;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogPruner;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionExecutionService;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -66,6 +69,12 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
 
   private final CachedMerkleTrieLoader cachedMerkleTrieLoader;
 
+  private final Optional<ParallelTransactionExecutionService> parallelTransactionExecutionService;
+
+  private final Optional<TrieLogPruner> trieLogPruner;
+
+  private final Optional<BonsaiStatePrefetcher> statePrefetcher;
+
   public BonsaiWorldStateProvider(
       final StorageProvider provider,
       final Blockchain blockchain,
@@ -86,6 +95,26 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
       final Optional<Long> maxLayersToLoad,
       final CachedMerkleTrieLoader cachedMerkleTrieLoader,
       final ObservableMetricsSystem metricsSystem) {
+    this(
+        worldStateStorage,
+        blockchain,
+        maxLayersToLoad,
+        cachedMerkleTrieLoader,
+        metricsSystem,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  public BonsaiWorldStateProvider(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final Optional<Long> maxLayersToLoad,
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader,
+      final ObservableMetricsSystem metricsSystem,
+      final Optional<ParallelTransactionExecutionService> parallelTransactionExecutionService,
+      final Optional<TrieLogPruner> trieLogPruner,
+      final Optional<BonsaiStatePrefetcher> statePrefetcher) {
 
     // TODO: de-dup constructors
     this.trieLogManager =
@@ -94,11 +123,16 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
             blockchain,
             worldStateStorage,
             metricsSystem,
-            maxLayersToLoad.orElse(RETAINED_LAYERS));
+            maxLayersToLoad.orElse(RETAINED_LAYERS),
+            trieLogPruner);
+    this.trieLogPruner = trieLogPruner;
     this.blockchain = blockchain;
     this.worldStateStorage = worldStateStorage;
     this.persistedState = new BonsaiWorldState(this, worldStateStorage);
     this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.parallelTransactionExecutionService = parallelTransactionExecutionService;
+    this.statePrefetcher = statePrefetcher;
+    trieLogPruner.ifPresent(TrieLogPruner::initialize);
     blockchain
         .getBlockHeader(persistedState.worldStateBlockHash)
         .ifPresent(
@@ -118,6 +152,9 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     this.worldStateStorage = worldStateStorage;
     this.persistedState = new BonsaiWorldState(this, worldStateStorage);
     this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.parallelTransactionExecutionService = Optional.empty();
+    this.trieLogPruner = Optional.empty();
+    this.statePrefetcher = Optional.empty();
     blockchain
         .getBlockHeader(persistedState.worldStateBlockHash)
         .ifPresent(
@@ -281,6 +318,18 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     return cachedMerkleTrieLoader;
   }
 
+  public Optional<ParallelTransactionExecutionService> getParallelTransactionExecutionService() {
+    return parallelTransactionExecutionService;
+  }
+
+  public Optional<BonsaiStatePrefetcher> getStatePrefetcher() {
+    return statePrefetcher;
+  }
+
+  public BonsaiWorldStateKeyValueStorage getWorldStateStorage() {
+    return worldStateStorage;
+  }
+
   @Override
   public MutableWorldState getMutable() {
     return persistedState;
@@ -365,6 +414,8 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
 
   @Override
   public void close() {
+    trieLogPruner.ifPresent(TrieLogPruner::close);
+    statePrefetcher.ifPresent(BonsaiStatePrefetcher::close);
     try {
       worldStateStorage.close();
     } catch (Exception e) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.cache;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage.BonsaiStorageSubscriber;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.bonsai.worldview.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.evm.AccessListEntry;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the state a block is likely to touch before the block is executed.
+ *
+ * <p>When a block is about to be processed, the accounts and storage slots it is expected to read
+ * are collected from the senders, recipients and declared access lists of its transactions, its
+ * coinbase and the changes of the parent block. Each account is then read on a dedicated pool: its
+ * account trie path and the storage trie paths of its slots go into the {@link
+ * CachedMerkleTrieLoader} caches, and its flat database entries are read so that they are in the
+ * storage block cache when the EVM needs them. The root hash calculation and the transactions then
+ * mostly hit memory instead of waiting on storage reads.
+ *
+ * <p>Prefetching is best effort: failures are ignored, and the work still queued for a block is
+ * skipped as soon as the next block is submitted.
+ */
+public class BonsaiStatePrefetcher implements BonsaiStorageSubscriber {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BonsaiStatePrefetcher.class);
+
+  private final CachedMerkleTrieLoader cachedMerkleTrieLoader;
+  private final ExecutorService executor;
+  private final AtomicLong currentBlock = new AtomicLong();
+
+  private final Counter prefetchedAccountsCounter;
+  private final Counter prefetchedSlotsCounter;
+  private final Counter skippedAccountsCounter;
+
+  public BonsaiStatePrefetcher(
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader,
+      final ExecutorService executor,
+      final MetricsSystem metricsSystem) {
+    this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.executor = executor;
+    this.prefetchedAccountsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "state_prefetch_accounts_total",
+            "Accounts loaded before the execution of their block");
+    this.prefetchedSlotsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "state_prefetch_slots_total",
+            "Storage slots loaded before the execution of their block");
+    this.skippedAccountsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "state_prefetch_skipped_total",
+            "Accounts not prefetched because a newer block was submitted first");
+  }
+
+  /**
+   * Starts loading the state touched by a block. Returns immediately, the keys are collected and
+   * loaded on the prefetch pool.
+   *
+   * @param worldStateStorage the storage of the world state the block is executed on
+   * @param worldStateRootHash the root hash of that world state
+   * @param trieLogManager the trie log manager, used to find the changes of the parent block
+   * @param blockHeader the header of the block
+   * @param transactions the transactions of the block
+   */
+  public void prefetch(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Hash worldStateRootHash,
+      final TrieLogManager trieLogManager,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions) {
+    final long block = currentBlock.incrementAndGet();
+    submit(
+        () -> {
+          if (block != currentBlock.get()) {
+            return;
+          }
+          final Map<Address, Set<StorageSlotKey>> keys;
+          try {
+            keys = collectKeys(trieLogManager, blockHeader, transactions);
+          } catch (final RuntimeException e) {
+            LOG.trace("Failed to collect the state touched by block {}", blockHeader.getHash(), e);
+            return;
+          }
+          // the flat database entries of the accounts are read in a single batch
+          withStorage(
+              worldStateStorage,
+              () ->
+                  worldStateStorage.getFlatAccounts(
+                      keys.keySet().stream().map(Hash::hash).toList()));
+          prefetchedAccountsCounter.inc(keys.size());
+          keys.forEach(
+              (address, slots) ->
+                  submit(
+                      () -> {
+                        if (block != currentBlock.get()) {
+                          skippedAccountsCounter.inc();
+                          return;
+                        }
+                        withStorage(
+                            worldStateStorage,
+                            () ->
+                                loadAccount(
+                                    worldStateStorage, worldStateRootHash, address, slots));
+                      }));
+        });
+  }
+
+  /** Stops the prefetch pool, the work still queued is dropped. */
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  @VisibleForTesting
+  Map<Address, Set<StorageSlotKey>> collectKeys(
+      final TrieLogManager trieLogManager,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions) {
+    final Map<Address, Set<StorageSlotKey>> keys = new LinkedHashMap<>();
+    for (final Transaction transaction : transactions) {
+      addAccount(keys, transaction.getSender());
+      transaction.getTo().ifPresent(to -> addAccount(keys, to));
+      transaction
+          .getAccessList()
+          .ifPresent(
+              accessList -> {
+                for (final AccessListEntry entry : accessList) {
+                  final Set<StorageSlotKey> slots = addAccount(keys, entry.getAddress());
+                  for (final Bytes32 storageKey : entry.getStorageKeys()) {
+                    slots.add(new StorageSlotKey(UInt256.fromBytes(storageKey)));
+                  }
+                }
+              });
+    }
+    addAccount(keys, blockHeader.getCoinbase());
+    // the contracts used by the parent block are likely to be used again
+    trieLogManager
+        .getTrieLogLayer(blockHeader.getParentHash())
+        .ifPresent(parentChanges -> addChanges(keys, parentChanges));
+    return keys;
+  }
+
+  private static void addChanges(
+      final Map<Address, Set<StorageSlotKey>> keys, final TrieLogLayer parentChanges) {
+    parentChanges.streamAccountChanges().forEach(change -> addAccount(keys, change.getKey()));
+    parentChanges
+        .streamStorageChanges()
+        .forEach(change -> addAccount(keys, change.getKey()).addAll(change.getValue().keySet()));
+  }
+
+  private static Set<StorageSlotKey> addAccount(
+      final Map<Address, Set<StorageSlotKey>> keys, final Address address) {
+    return keys.computeIfAbsent(address, __ -> new HashSet<>());
+  }
+
+  private void loadAccount(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Hash worldStateRootHash,
+      final Address address,
+      final Set<StorageSlotKey> slots) {
+    cachedMerkleTrieLoader.cacheAccountNodes(worldStateStorage, worldStateRootHash, address);
+    if (slots.isEmpty()) {
+      return;
+    }
+    for (final StorageSlotKey slot : slots) {
+      cachedMerkleTrieLoader.cacheStorageNodes(worldStateStorage, address, slot);
+    }
+    worldStateStorage.getFlatStorageValues(Hash.hash(address), List.copyOf(slots));
+    prefetchedSlotsCounter.inc(slots.size());
+  }
+
+  private void withStorage(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage, final Runnable task) {
+    final long storageSubscriberId;
+    try {
+      storageSubscriberId = worldStateStorage.subscribe(this);
+    } catch (final RuntimeException e) {
+      // the world state has been closed, the block is already processed
+      return;
+    }
+    try {
+      task.run();
+    } catch (final RuntimeException e) {
+      LOG.trace("Failed to prefetch state", e);
+    } finally {
+      worldStateStorage.unSubscribe(storageSubscriberId);
+    }
+  }
+
+  private void submit(final Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (final RejectedExecutionException e) {
+      // the node is shutting down
+    }
+  }
+}
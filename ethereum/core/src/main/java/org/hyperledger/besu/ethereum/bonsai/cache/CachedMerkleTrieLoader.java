@@ -15,6 +15,8 @@
  */
 package org.hyperledger.besu.ethereum.bonsai.cache;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE_MIB;
+
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
@@ -25,36 +27,127 @@ import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
-import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import io.prometheus.client.guava.cache.CacheMetricsCollector;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
+/**
+ * Caches the account and storage trie nodes read while executing blocks so that the root hash
+ * calculation does not have to read them again from storage.
+ *
+ * <p>The caches are bounded by the estimated heap used by their entries rather than by their
+ * number of entries, since trie nodes range from a few bytes to more than 500. The hits, misses and
+ * evictions are reported by trie and by depth of the node in its trie.
+ */
 public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
 
-  private static final int ACCOUNT_CACHE_SIZE = 100_000;
-  private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  // estimated heap used by a cache entry on top of the node: the key, the node and entry objects
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+  // nodes deeper than this are reported together
+  private static final int MAX_REPORTED_DEPTH = 10;
+
+  private final Cache<Bytes, CachedNode> accountNodes;
+  private final Cache<Bytes, CachedNode> storageNodes;
+  private final TrieNodeCacheMetrics accountNodesMetrics;
+  private final TrieNodeCacheMetrics storageNodesMetrics;
 
   public CachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
+    this(metricsSystem, DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE_MIB);
+  }
+
+  /**
+   * Creates a loader whose caches use at most the given amount of heap.
+   *
+   * @param metricsSystem the metrics system
+   * @param cacheSizeMiB the heap budget shared by the account and storage node caches, in MiB
+   */
+  public CachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem, final long cacheSizeMiB) {
+    this(metricsSystem, cacheSizeMiB * 1024 * 1024 / 3, cacheSizeMiB * 1024 * 1024 * 2 / 3);
+  }
+
+  /**
+   * Creates a loader whose caches use at most the given number of bytes of heap.
+   *
+   * @param metricsSystem the metrics system
+   * @param cacheSizeBytes the heap budget shared by the account and storage node caches, in bytes
+   * @return the loader
+   */
+  @VisibleForTesting
+  public static CachedMerkleTrieLoader withCacheSizeBytes(
+      final ObservableMetricsSystem metricsSystem, final long cacheSizeBytes) {
+    return new CachedMerkleTrieLoader(metricsSystem, cacheSizeBytes / 3, cacheSizeBytes * 2 / 3);
+  }
+
+  // the storage tries are read about twice as often as the account trie, they get two thirds of the
+  // heap budget
+  private CachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem,
+      final long accountNodesWeight,
+      final long storageNodesWeight) {
+    final LabelledMetric<Counter> hits =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_hits_total",
+            "Trie nodes found in the trie node cache",
+            "trie",
+            "depth");
+    final LabelledMetric<Counter> misses =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_misses_total",
+            "Trie nodes read from storage because they were not in the trie node cache",
+            "trie",
+            "depth");
+    final LabelledMetric<Counter> evictions =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_evictions_total",
+            "Trie nodes evicted from the trie node cache to stay within its size",
+            "trie",
+            "depth");
+    this.accountNodesMetrics = new TrieNodeCacheMetrics("account", hits, misses, evictions);
+    this.storageNodesMetrics = new TrieNodeCacheMetrics("storage", hits, misses, evictions);
+    this.accountNodes = createCache(accountNodesWeight, accountNodesMetrics);
+    this.storageNodes = createCache(storageNodesWeight, storageNodesMetrics);
 
-    CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
-    cacheMetrics.addCache("accountsNodes", accountNodes);
-    cacheMetrics.addCache("storageNodes", storageNodes);
-    if (metricsSystem instanceof PrometheusMetricsSystem)
-      ((PrometheusMetricsSystem) metricsSystem)
-          .addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
+    final LabelledGauge cacheSize =
+        metricsSystem.createLabelledGauge(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_size_bytes",
+            "Estimated heap used by the trie node cache",
+            "trie");
+    cacheSize.labels(() -> weightedSize(accountNodes), "account");
+    cacheSize.labels(() -> weightedSize(storageNodes), "storage");
+  }
+
+  private static Cache<Bytes, CachedNode> createCache(
+      final long maximumWeight, final TrieNodeCacheMetrics metrics) {
+    return Caffeine.newBuilder()
+        .maximumWeight(maximumWeight)
+        .<Bytes, CachedNode>weigher(
+            (nodeHash, cachedNode) -> ENTRY_OVERHEAD_BYTES + cachedNode.node().size())
+        .evictionListener(
+            (nodeHash, cachedNode, cause) -> {
+              if (cause.wasEvicted() && cachedNode != null) {
+                metrics.evictions[cachedNode.depth()].inc();
+              }
+            })
+        .build();
+  }
+
+  private static double weightedSize(final Cache<Bytes, CachedNode> cache) {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
   }
 
   public void preLoadAccount(
@@ -65,7 +158,6 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
         () -> cacheAccountNodes(worldStateStorage, worldStateRootHash, account));
   }
 
-  @VisibleForTesting
   public void cacheAccountNodes(
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final Hash worldStateRootHash,
@@ -75,8 +167,9 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
       final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie =
           new StoredMerklePatriciaTrie<>(
               (location, hash) -> {
-                Optional<Bytes> node = getAccountStateTrieNode(worldStateStorage, location, hash);
-                node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes), bytes));
+                Optional<Bytes> node =
+                    getAccountStateTrieNode(worldStateStorage, location, hash, false);
+                node.ifPresent(bytes -> cacheNode(accountNodes, location, bytes));
                 return node;
               },
               worldStateRootHash,
@@ -97,7 +190,6 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
     CompletableFuture.runAsync(() -> cacheStorageNodes(worldStateStorage, account, slotKey));
   }
 
-  @VisibleForTesting
   public void cacheStorageNodes(
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final Address account,
@@ -115,8 +207,8 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
                           (location, hash) -> {
                             Optional<Bytes> node =
                                 getAccountStorageTrieNode(
-                                    worldStateStorage, accountHash, location, hash);
-                            node.ifPresent(bytes -> storageNodes.put(Hash.hash(bytes), bytes));
+                                    worldStateStorage, accountHash, location, hash, false);
+                            node.ifPresent(bytes -> cacheNode(storageNodes, location, bytes));
                             return node;
                           },
                           Hash.hash(storageRoot),
@@ -132,16 +224,34 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
     }
   }
 
+  private static void cacheNode(
+      final Cache<Bytes, CachedNode> cache, final Bytes location, final Bytes node) {
+    cache.put(Hash.hash(node), new CachedNode(node, depth(location)));
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Bytes location,
       final Bytes32 nodeHash) {
+    return getAccountStateTrieNode(worldStateKeyValueStorage, location, nodeHash, true);
+  }
+
+  private Optional<Bytes> getAccountStateTrieNode(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Bytes location,
+      final Bytes32 nodeHash,
+      final boolean recordStats) {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
-    } else {
-      return Optional.ofNullable(accountNodes.getIfPresent(nodeHash))
-          .or(() -> worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash));
     }
+    final CachedNode cachedNode = accountNodes.getIfPresent(nodeHash);
+    if (recordStats) {
+      accountNodesMetrics.record(cachedNode != null, location);
+    }
+    if (cachedNode != null) {
+      return Optional.of(cachedNode.node());
+    }
+    return worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash);
   }
 
   public Optional<Bytes> getAccountStorageTrieNode(
@@ -149,14 +259,57 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
       final Hash accountHash,
       final Bytes location,
       final Bytes32 nodeHash) {
+    return getAccountStorageTrieNode(
+        worldStateKeyValueStorage, accountHash, location, nodeHash, true);
+  }
+
+  private Optional<Bytes> getAccountStorageTrieNode(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash accountHash,
+      final Bytes location,
+      final Bytes32 nodeHash,
+      final boolean recordStats) {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
-    } else {
-      return Optional.ofNullable(storageNodes.getIfPresent(nodeHash))
-          .or(
-              () ->
-                  worldStateKeyValueStorage.getAccountStorageTrieNode(
-                      accountHash, location, nodeHash));
+    }
+    final CachedNode cachedNode = storageNodes.getIfPresent(nodeHash);
+    if (recordStats) {
+      storageNodesMetrics.record(cachedNode != null, location);
+    }
+    if (cachedNode != null) {
+      return Optional.of(cachedNode.node());
+    }
+    return worldStateKeyValueStorage.getAccountStorageTrieNode(accountHash, location, nodeHash);
+  }
+
+  private static int depth(final Bytes location) {
+    // a location holds one nibble per byte
+    return Math.min(location.size(), MAX_REPORTED_DEPTH);
+  }
+
+  private record CachedNode(Bytes node, int depth) {}
+
+  private static class TrieNodeCacheMetrics {
+    private final Counter[] hits = new Counter[MAX_REPORTED_DEPTH + 1];
+    private final Counter[] misses = new Counter[MAX_REPORTED_DEPTH + 1];
+    private final Counter[] evictions = new Counter[MAX_REPORTED_DEPTH + 1];
+
+    TrieNodeCacheMetrics(
+        final String trie,
+        final LabelledMetric<Counter> hits,
+        final LabelledMetric<Counter> misses,
+        final LabelledMetric<Counter> evictions) {
+      for (int depth = 0; depth <= MAX_REPORTED_DEPTH; depth++) {
+        final String depthLabel =
+            depth == MAX_REPORTED_DEPTH ? depth + "+" : Integer.toString(depth);
+        this.hits[depth] = hits.labels(trie, depthLabel);
+        this.misses[depth] = misses.labels(trie, depthLabel);
+        this.evictions[depth] = evictions.labels(trie, depthLabel);
+      }
+    }
+
+    void record(final boolean hit, final Bytes location) {
+      (hit ? hits : misses)[depth(location)].inc();
     }
   }
 }
@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStor
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage.BonsaiStorageSubscriber;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateLayerStorage;
 import org.hyperledger.besu.ethereum.bonsai.trielog.AbstractTrieLogManager;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogPruner;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -51,7 +52,25 @@ public class CachedWorldStorageManager extends AbstractTrieLogManager
       final long maxLayersToLoad,
       final Map<Bytes32, CachedBonsaiWorldView> cachedWorldStatesByHash,
       final ObservableMetricsSystem metricsSystem) {
-    super(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash);
+    this(
+        archive,
+        blockchain,
+        worldStateStorage,
+        maxLayersToLoad,
+        cachedWorldStatesByHash,
+        metricsSystem,
+        Optional.empty());
+  }
+
+  CachedWorldStorageManager(
+      final BonsaiWorldStateProvider archive,
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final long maxLayersToLoad,
+      final Map<Bytes32, CachedBonsaiWorldView> cachedWorldStatesByHash,
+      final ObservableMetricsSystem metricsSystem,
+      final Optional<TrieLogPruner> trieLogPruner) {
+    super(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash, trieLogPruner);
     worldStateStorage.subscribe(this);
     this.archive = archive;
     this.metricsSystem = metricsSystem;
@@ -63,13 +82,24 @@ public class CachedWorldStorageManager extends AbstractTrieLogManager
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final ObservableMetricsSystem metricsSystem,
       final long maxLayersToLoad) {
+    this(archive, blockchain, worldStateStorage, metricsSystem, maxLayersToLoad, Optional.empty());
+  }
+
+  public CachedWorldStorageManager(
+      final BonsaiWorldStateProvider archive,
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final long maxLayersToLoad,
+      final Optional<TrieLogPruner> trieLogPruner) {
     this(
         archive,
         blockchain,
         worldStateStorage,
         maxLayersToLoad,
         new ConcurrentHashMap<>(),
-        metricsSystem);
+        metricsSystem,
+        trieLogPruner);
   }
 
   @Override
@@ -31,12 +31,15 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.rlp.RLP;
@@ -163,6 +166,24 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
     }
   }
 
+  /**
+   * Looks up a code by its hash, for the peers that request it. The code is indexed by its hash
+   * next to the code of the accounts since it has been written to this storage, the codes written
+   * before are not found.
+   *
+   * @param codeHash the hash of the code
+   * @return the code, if it is indexed by its hash
+   */
+  public Optional<Bytes> getCodeByHash(final Hash codeHash) {
+    if (codeHash.equals(Hash.EMPTY)) {
+      return Optional.of(Bytes.EMPTY);
+    }
+    return codeStorage
+        .get(codeHash.toArrayUnsafe())
+        .map(Bytes::wrap)
+        .filter(b -> Hash.hash(b).equals(codeHash));
+  }
+
   public Optional<Bytes> getAccount(final Hash accountHash) {
     getAccountCounter.inc();
     Optional<Bytes> response = accountStorage.get(accountHash.toArrayUnsafe()).map(Bytes::wrap);
@@ -186,6 +207,78 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
     return response;
   }
 
+  /**
+   * Reads the flat database entries of several accounts in one batch. Unlike {@link
+   * #getAccount(Hash)}, the accounts missing from the flat database are not looked up in the trie.
+   *
+   * @param accountHashes the hashes of the accounts
+   * @return the flat database entries of the accounts, in the order of the hashes
+   */
+  public List<Optional<Bytes>> getFlatAccounts(final List<Hash> accountHashes) {
+    return accountStorage
+        .multiGet(accountHashes.stream().map(Hash::toArrayUnsafe).toList())
+        .stream()
+        .map(value -> value.map(Bytes::wrap))
+        .toList();
+  }
+
+  /**
+   * Reads the flat database entries of several storage slots of an account in one batch, without
+   * looking up the missing slots in the trie.
+   *
+   * @param accountHash the hash of the account
+   * @param storageSlotKeys the slots
+   * @return the flat database entries of the slots, in the order of the slots
+   */
+  public List<Optional<Bytes>> getFlatStorageValues(
+      final Hash accountHash, final List<StorageSlotKey> storageSlotKeys) {
+    return storageStorage
+        .multiGet(
+            storageSlotKeys.stream()
+                .map(slot -> Bytes.concatenate(accountHash, slot.slotHash()).toArrayUnsafe())
+                .toList())
+        .stream()
+        .map(value -> value.map(Bytes::wrap))
+        .toList();
+  }
+
+  /**
+   * Streams the flat database entries of the accounts whose hash is in the given range, in
+   * ascending order of the hashes. The stream holds a database iterator and must be closed.
+   *
+   * @param startKeyHash the first account hash of the range, included
+   * @param endKeyHash the last account hash of the range, included
+   * @return the account hashes and their flat database entries
+   */
+  public Stream<Pair<Bytes32, Bytes>> streamFlatAccounts(
+      final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
+    return accountStorage
+        .streamFromKey(startKeyHash.toArrayUnsafe())
+        .map(pair -> Pair.of(Bytes32.wrap(pair.getKey()), Bytes.wrap(pair.getValue())))
+        .takeWhile(pair -> pair.getKey().compareTo(endKeyHash) <= 0);
+  }
+
+  /**
+   * Streams the flat database entries of the storage slots of an account whose hash is in the
+   * given range, in ascending order of the slot hashes. The stream holds a database iterator and
+   * must be closed.
+   *
+   * @param accountHash the hash of the account
+   * @param startKeyHash the first slot hash of the range, included
+   * @param endKeyHash the last slot hash of the range, included
+   * @return the slot hashes and their flat database entries
+   */
+  public Stream<Pair<Bytes32, Bytes>> streamFlatStorages(
+      final Hash accountHash, final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
+    return storageStorage
+        .streamFromKey(Bytes.concatenate(accountHash, startKeyHash).toArrayUnsafe())
+        .takeWhile(pair -> Bytes.wrap(pair.getKey(), 0, Bytes32.SIZE).equals(accountHash))
+        .map(
+            pair ->
+                Pair.of(Bytes32.wrap(pair.getKey(), Bytes32.SIZE), Bytes.wrap(pair.getValue())))
+        .takeWhile(pair -> pair.getKey().compareTo(endKeyHash) <= 0);
+  }
+
   @Override
   public Optional<Bytes> getAccountTrieNodeData(final Bytes location, final Bytes32 hash) {
     // for Bonsai trie fast sync this method should return an empty
@@ -217,10 +310,30 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
     }
   }
 
+  /**
+   * Takes a read only view of the storage that is not affected by the changes persisted after it
+   * was taken. The snapshot must be closed once it is no longer used.
+   *
+   * @return the snapshot of the storage
+   */
+  public BonsaiSnapshotWorldStateKeyValueStorage takeSnapshot() {
+    return new BonsaiSnapshotWorldStateKeyValueStorage(this, metricsSystem);
+  }
+
   public Optional<byte[]> getTrieLog(final Hash blockHash) {
     return trieLogStorage.get(blockHash.toArrayUnsafe());
   }
 
+  public Stream<byte[]> streamTrieLogKeys() {
+    return trieLogStorage.streamKeys();
+  }
+
+  public void deleteTrieLogs(final List<Hash> blockHashes) {
+    final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+    blockHashes.forEach(blockHash -> transaction.remove(blockHash.toArrayUnsafe()));
+    transaction.commit();
+  }
+
   public Optional<Bytes> getStateTrieNode(final Bytes location) {
     return trieBranchStorage.get(location.toArrayUnsafe()).map(Bytes::wrap);
   }
@@ -392,6 +505,10 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
         return this;
       }
       codeStorageTransaction.put(accountHash.toArrayUnsafe(), code.toArrayUnsafe());
+      // the code is also indexed by its hash to serve it to the peers, this entry is kept when the
+      // code of the account is removed as the same code can be used by other accounts
+      final Bytes32 hash = codeHash == null ? Hash.hash(code) : codeHash;
+      codeStorageTransaction.put(hash.toArrayUnsafe(), code.toArrayUnsafe());
       return this;
     }
 
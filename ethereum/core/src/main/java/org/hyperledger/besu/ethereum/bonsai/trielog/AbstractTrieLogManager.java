@@ -42,6 +42,7 @@ public abstract class AbstractTrieLogManager implements TrieLogManager {
 
   protected final Map<Bytes32, CachedBonsaiWorldView> cachedWorldStatesByHash;
   protected final long maxLayersToLoad;
+  private final Optional<TrieLogPruner> trieLogPruner;
   private final Subscribers<TrieLogAddedObserver> trieLogAddedObservers = Subscribers.create();
 
   // TODO plumb factory from plugin service:
@@ -52,10 +53,20 @@ public abstract class AbstractTrieLogManager implements TrieLogManager {
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final long maxLayersToLoad,
       final Map<Bytes32, CachedBonsaiWorldView> cachedWorldStatesByHash) {
+    this(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash, Optional.empty());
+  }
+
+  protected AbstractTrieLogManager(
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final long maxLayersToLoad,
+      final Map<Bytes32, CachedBonsaiWorldView> cachedWorldStatesByHash,
+      final Optional<TrieLogPruner> trieLogPruner) {
     this.blockchain = blockchain;
     this.rootWorldStateStorage = worldStateStorage;
     this.cachedWorldStatesByHash = cachedWorldStatesByHash;
     this.maxLayersToLoad = maxLayersToLoad;
+    this.trieLogPruner = trieLogPruner;
   }
 
   @Override
@@ -81,6 +92,11 @@ public abstract class AbstractTrieLogManager implements TrieLogManager {
       } finally {
         if (success) {
           stateUpdater.commit();
+          trieLogPruner.ifPresent(
+              pruner -> {
+                pruner.addToPruningQueue(forBlockHeader.getNumber(), forBlockHeader.getHash());
+                pruner.requestPruning();
+              });
         } else {
           stateUpdater.rollback();
         }
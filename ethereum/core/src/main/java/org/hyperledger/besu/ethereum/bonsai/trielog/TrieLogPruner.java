@@ -0,0 +1,267 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the persisted trie logs of the blocks that are more than a retention threshold below the
+ * finalized block, or below the chain head when no block is finalized.
+ *
+ * <p>The trie logs saved by the node are queued by block number as they are persisted. Pruning runs
+ * on its own thread and deletes the trie logs in bounded batches, each in its own storage
+ * transaction, so that block import is never blocked by it. The trie logs persisted before the
+ * node started are discovered by {@link #initialize()} on the same thread.
+ */
+public class TrieLogPruner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TrieLogPruner.class);
+
+  private final BonsaiWorldStateKeyValueStorage rootWorldStateStorage;
+  private final Blockchain blockchain;
+  private final ExecutorService executor;
+  private final long retentionThreshold;
+  private final int batchSize;
+
+  // guarded by this
+  private final TreeMap<Long, List<Hash>> trieLogsByBlockNumber = new TreeMap<>();
+  private int queuedTrieLogs;
+  private long backlog;
+  private volatile long pruningLimit;
+
+  private final AtomicBoolean pruningRequested = new AtomicBoolean();
+  private final Counter prunedTrieLogsCounter;
+
+  public TrieLogPruner(
+      final BonsaiWorldStateKeyValueStorage rootWorldStateStorage,
+      final Blockchain blockchain,
+      final ExecutorService executor,
+      final long retentionThreshold,
+      final int batchSize,
+      final MetricsSystem metricsSystem) {
+    this.rootWorldStateStorage = rootWorldStateStorage;
+    this.blockchain = blockchain;
+    this.executor = executor;
+    this.retentionThreshold = retentionThreshold;
+    this.batchSize = batchSize;
+    this.prunedTrieLogsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER, "trie_logs_pruned_total", "Trie logs deleted by the pruner");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.PRUNER,
+        "trie_log_pruning_backlog",
+        "Trie logs below the pruning limit that have not been deleted yet",
+        this::getBacklog);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.PRUNER,
+        "trie_log_pruning_limit",
+        "Block number below which trie logs are deleted",
+        () -> pruningLimit);
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.PRUNER,
+        "trie_log_pruning_queue_size",
+        "Trie logs known to the pruner, retained or waiting to be deleted",
+        this::getQueuedTrieLogs);
+  }
+
+  /**
+   * Discovers the trie logs already persisted and deletes those below the pruning limit, in the
+   * background.
+   */
+  public void initialize() {
+    submit(this::loadPersistedTrieLogs);
+  }
+
+  /**
+   * Queues the trie log of a block that has just been persisted.
+   *
+   * @param blockNumber the number of the block
+   * @param blockHash the hash of the block
+   */
+  public synchronized void addToPruningQueue(final long blockNumber, final Hash blockHash) {
+    trieLogsByBlockNumber.computeIfAbsent(blockNumber, __ -> new ArrayList<>(1)).add(blockHash);
+    queuedTrieLogs++;
+    if (blockNumber < pruningLimit) {
+      backlog++;
+    }
+  }
+
+  /**
+   * Requests the deletion of the queued trie logs that are below the pruning limit. Returns
+   * immediately, a request made while pruning is pending is merged with it.
+   */
+  public void requestPruning() {
+    if (pruningRequested.compareAndSet(false, true)) {
+      submit(
+          () -> {
+            pruningRequested.set(false);
+            pruneFromQueue();
+          });
+    }
+  }
+
+  /** Stops the pruning thread, a batch being deleted is completed first. */
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private void submit(final Runnable task) {
+    try {
+      executor.execute(
+          () -> {
+            try {
+              task.run();
+            } catch (final RuntimeException e) {
+              LOG.warn("Trie log pruning failed", e);
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      // the node is shutting down
+      pruningRequested.set(false);
+    }
+  }
+
+  private void loadPersistedTrieLogs() {
+    final long limit = computePruningLimit();
+    List<Hash> toDelete = new ArrayList<>(batchSize);
+    int loaded = 0;
+    try (final Stream<byte[]> keys = rootWorldStateStorage.streamTrieLogKeys()) {
+      final Iterator<byte[]> iterator = keys.iterator();
+      while (iterator.hasNext() && !Thread.currentThread().isInterrupted()) {
+        final byte[] key = iterator.next();
+        if (key.length != Bytes32.SIZE) {
+          continue;
+        }
+        final Hash blockHash = Hash.wrap(Bytes32.wrap(key));
+        // trie logs of blocks that the blockchain does not know about are left alone
+        final Long blockNumber =
+            blockchain.getBlockHeader(blockHash).map(BlockHeader::getNumber).orElse(null);
+        if (blockNumber == null) {
+          continue;
+        }
+        if (blockNumber < limit) {
+          toDelete.add(blockHash);
+          if (toDelete.size() >= batchSize) {
+            deleteTrieLogs(toDelete);
+            toDelete = new ArrayList<>(batchSize);
+          }
+        } else {
+          addToPruningQueue(blockNumber, blockHash);
+          loaded++;
+        }
+      }
+    }
+    deleteTrieLogs(toDelete);
+    LOG.info("Loaded {} retained trie logs for pruning", loaded);
+    pruneFromQueue();
+  }
+
+  @VisibleForTesting
+  void pruneFromQueue() {
+    final long limit = computePruningLimit();
+    updatePruningLimit(limit);
+    List<Hash> batch;
+    while (!(batch = pollBatch(limit)).isEmpty() && !Thread.currentThread().isInterrupted()) {
+      deleteTrieLogs(batch);
+    }
+  }
+
+  /* Only the trie logs between the previous and the new limit are counted into the backlog. */
+  private synchronized void updatePruningLimit(final long limit) {
+    if (limit > pruningLimit) {
+      backlog += countTrieLogs(trieLogsByBlockNumber.subMap(pruningLimit, true, limit, false));
+    } else if (limit < pruningLimit) {
+      backlog -= countTrieLogs(trieLogsByBlockNumber.subMap(limit, true, pruningLimit, false));
+    }
+    pruningLimit = limit;
+  }
+
+  private static long countTrieLogs(final Map<Long, List<Hash>> trieLogs) {
+    long count = 0;
+    for (final List<Hash> blockHashes : trieLogs.values()) {
+      count += blockHashes.size();
+    }
+    return count;
+  }
+
+  private synchronized List<Hash> pollBatch(final long limit) {
+    final List<Hash> batch = new ArrayList<>(batchSize);
+    final Iterator<Map.Entry<Long, List<Hash>>> entries =
+        trieLogsByBlockNumber.headMap(limit, false).entrySet().iterator();
+    while (batch.size() < batchSize && entries.hasNext()) {
+      final List<Hash> blockHashes = entries.next().getValue();
+      batch.addAll(blockHashes);
+      entries.remove();
+    }
+    queuedTrieLogs -= batch.size();
+    backlog -= batch.size();
+    return batch;
+  }
+
+  private void deleteTrieLogs(final List<Hash> blockHashes) {
+    if (blockHashes.isEmpty()) {
+      return;
+    }
+    rootWorldStateStorage.deleteTrieLogs(blockHashes);
+    prunedTrieLogsCounter.inc(blockHashes.size());
+    LOG.atTrace()
+        .setMessage("Pruned {} trie logs below block {}")
+        .addArgument(blockHashes::size)
+        .addArgument(pruningLimit)
+        .log();
+  }
+
+  private long computePruningLimit() {
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    final long finalized =
+        blockchain
+            .getFinalized()
+            .flatMap(blockchain::getBlockHeader)
+            .map(BlockHeader::getNumber)
+            .orElse(chainHead);
+    return Math.min(finalized, chainHead) - retentionThreshold;
+  }
+
+  @VisibleForTesting
+  synchronized int getQueuedTrieLogs() {
+    return queuedTrieLogs;
+  }
+
+  @VisibleForTesting
+  synchronized long getBacklog() {
+    return backlog;
+  }
+}
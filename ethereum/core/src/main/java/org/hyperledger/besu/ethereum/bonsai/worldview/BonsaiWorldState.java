@@ -36,6 +36,7 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.NodeUpdater;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.evm.account.Account;
@@ -43,8 +44,11 @@ import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -148,17 +152,22 @@ public class BonsaiWorldState
     clearStorage(maybeStateUpdater, worldStateUpdater);
 
     // This must be done before updating the accounts so
-    // that we can get the storage state hash
-    Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, BonsaiValue<UInt256>>>>
-        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
-    if (maybeStateUpdater.isEmpty()) {
-      storageStream =
-          storageStream
-              .parallel(); // if we are not updating the state updater we can use parallel stream
-    }
-    storageStream.forEach(
-        addressMapEntry ->
-            updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
+    // that we can get the storage state hash. The storage tries are independent of each other so
+    // they are updated in parallel, buffering the writes of each account as the state updater is
+    // not thread safe, and the buffered writes are then applied in order.
+    final List<List<Consumer<BonsaiWorldStateKeyValueStorage.BonsaiUpdater>>> storageWrites =
+        worldStateUpdater
+            .getStorageToUpdate()
+            .entrySet()
+            .parallelStream()
+            .map(
+                addressMapEntry ->
+                    updateAccountStorageState(
+                        maybeStateUpdater.isPresent(), worldStateUpdater, addressMapEntry))
+            .toList();
+    maybeStateUpdater.ifPresent(
+        bonsaiUpdater ->
+            storageWrites.forEach(writes -> writes.forEach(write -> write.accept(bonsaiUpdater))));
 
     // Third update the code.  This has the side effect of ensuring a code hash is calculated.
     updateCode(maybeStateUpdater, worldStateUpdater);
@@ -177,12 +186,26 @@ public class BonsaiWorldState
 
     // TODO write to a cache and then generate a layer update from that and the
     // DB tx updates.  Right now it is just DB updates.
+    // The subtries below each top level branch of the account trie are hashed and committed in
+    // parallel, each worker buffering its node writes into its own batch.
+    final List<TrieNodeWriteBatch> trieNodeWrites = new ArrayList<>();
+    if (maybeStateUpdater.isPresent()) {
+      final TrieNodeWriteBatch rootNodeWrites = new TrieNodeWriteBatch();
+      accountTrie.commitInParallel(
+          rootNodeWrites,
+          () -> {
+            final TrieNodeWriteBatch childNodeWrites = new TrieNodeWriteBatch();
+            trieNodeWrites.add(childNodeWrites);
+            return childNodeWrites;
+          });
+      trieNodeWrites.add(rootNodeWrites);
+    } else {
+      accountTrie.commitInParallel(NO_OP_NODE_UPDATER, () -> NO_OP_NODE_UPDATER);
+    }
     maybeStateUpdater.ifPresent(
-        bonsaiUpdater -> {
-          accountTrie.commit(
-              (location, hash, value) ->
-                  writeTrieNode(bonsaiUpdater.getTrieBranchStorageTransaction(), location, value));
-        });
+        bonsaiUpdater ->
+            trieNodeWrites.forEach(
+                batch -> batch.writeTo(bonsaiUpdater.getTrieBranchStorageTransaction())));
     final Bytes32 rootHash = accountTrie.getRootHash();
     return Hash.wrap(rootHash);
   }
@@ -236,11 +259,13 @@ public class BonsaiWorldState
         });
   }
 
-  private void updateAccountStorageState(
-      final Optional<BonsaiWorldStateKeyValueStorage.BonsaiUpdater> maybeStateUpdater,
+  private List<Consumer<BonsaiWorldStateKeyValueStorage.BonsaiUpdater>> updateAccountStorageState(
+      final boolean collectWrites,
       final BonsaiWorldStateUpdateAccumulator worldStateUpdater,
       final Map.Entry<Address, StorageConsumingMap<StorageSlotKey, BonsaiValue<UInt256>>>
           storageAccountUpdate) {
+    final Optional<List<Consumer<BonsaiWorldStateKeyValueStorage.BonsaiUpdater>>> maybeWrites =
+        collectWrites ? Optional.of(new ArrayList<>()) : Optional.empty();
     final Address updatedAddress = storageAccountUpdate.getKey();
     final Hash updatedAddressHash = Hash.hash(updatedAddress);
     if (worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
@@ -265,15 +290,20 @@ public class BonsaiWorldState
         final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
         try {
           if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
-            maybeStateUpdater.ifPresent(
-                bonsaiUpdater ->
-                    bonsaiUpdater.removeStorageValueBySlotHash(updatedAddressHash, slotHash));
+            maybeWrites.ifPresent(
+                writes ->
+                    writes.add(
+                        bonsaiUpdater ->
+                            bonsaiUpdater.removeStorageValueBySlotHash(
+                                updatedAddressHash, slotHash)));
             storageTrie.remove(slotHash);
           } else {
-            maybeStateUpdater.ifPresent(
-                bonsaiUpdater ->
-                    bonsaiUpdater.putStorageValueBySlotHash(
-                        updatedAddressHash, slotHash, updatedStorage));
+            maybeWrites.ifPresent(
+                writes ->
+                    writes.add(
+                        bonsaiUpdater ->
+                            bonsaiUpdater.putStorageValueBySlotHash(
+                                updatedAddressHash, slotHash, updatedStorage)));
             storageTrie.put(slotHash, BonsaiWorldView.encodeTrieValue(updatedStorage));
           }
         } catch (MerkleTrieException e) {
@@ -288,18 +318,21 @@ public class BonsaiWorldState
 
       final BonsaiAccount accountUpdated = accountValue.getUpdated();
       if (accountUpdated != null) {
-        maybeStateUpdater.ifPresent(
-            bonsaiUpdater -> {
+        maybeWrites.ifPresent(
+            writes -> {
               storageTrie.commit(
                   (location, key, value) ->
-                      writeStorageTrieNode(
-                          bonsaiUpdater, updatedAddressHash, location, key, value));
+                      writes.add(
+                          bonsaiUpdater ->
+                              writeStorageTrieNode(
+                                  bonsaiUpdater, updatedAddressHash, location, key, value)));
             });
         final Hash newStorageRoot = Hash.wrap(storageTrie.getRootHash());
         accountUpdated.setStorageRoot(newStorageRoot);
       }
     }
     // for manicured tries and composting, trim and compost here
+    return maybeWrites.orElse(List.of());
   }
 
   private void clearStorage(
@@ -482,11 +515,31 @@ public class BonsaiWorldState
     return worldStateStorage.getAccountStateTrieNode(location, nodeHash);
   }
 
-  private void writeTrieNode(
+  private static void writeTrieNode(
       final KeyValueStorageTransaction tx, final Bytes location, final Bytes value) {
     tx.put(location.toArrayUnsafe(), value.toArrayUnsafe());
   }
 
+  private static final NodeUpdater NO_OP_NODE_UPDATER = (location, hash, value) -> {};
+
+  /** Buffers the account trie nodes stored by one commit worker until they can be written. */
+  private static class TrieNodeWriteBatch implements NodeUpdater {
+    private final List<Bytes> locations = new ArrayList<>();
+    private final List<Bytes> values = new ArrayList<>();
+
+    @Override
+    public void store(final Bytes location, final Bytes32 hash, final Bytes value) {
+      locations.add(location);
+      values.add(value);
+    }
+
+    void writeTo(final KeyValueStorageTransaction tx) {
+      for (int i = 0; i < locations.size(); i++) {
+        writeTrieNode(tx, locations.get(i), values.get(i));
+      }
+    }
+  }
+
   protected Optional<Bytes> getStorageTrieNode(
       final Hash accountHash, final Bytes location, final Bytes32 nodeHash) {
     return worldStateStorage.getAccountStorageTrieNode(accountHash, location, nodeHash);
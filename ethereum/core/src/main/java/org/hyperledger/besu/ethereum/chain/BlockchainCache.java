@@ -0,0 +1,244 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Keeps the decoded headers, bodies and receipts of the recently used blocks in memory, so that
+ * the blocks queried over and over, usually the ones close to the chain head, are not read and
+ * decoded from storage on every query.
+ *
+ * <p>Headers, bodies and receipts are keyed by block hash and never change once stored, they are
+ * only evicted to stay within the heap budget. The canonical hash of a block number does change on
+ * reorgs, so it is only cached from the canonical chain updates, never from reads, and the owner
+ * has to reset it when the chain is reorganized.
+ */
+class BlockchainCache {
+
+  // estimated heap used by a cache entry on top of its value: the key and the entry objects
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+  // estimated heap used by a decoded header, its fields are mostly wrapped 32 bytes values
+  private static final int HEADER_BYTES = 1_024;
+  // estimated heap used by a decoded transaction on top of its payload
+  private static final int TRANSACTION_OVERHEAD_BYTES = 512;
+  // estimated heap used by a decoded receipt on top of its logs, including its bloom filter
+  private static final int RECEIPT_OVERHEAD_BYTES = 512;
+  // estimated heap used by a decoded log on top of its data
+  private static final int LOG_OVERHEAD_BYTES = 128;
+  private static final int TOPIC_BYTES = 64;
+  private static final int MAX_CANONICAL_HASHES = 8_192;
+
+  private final Cache<Hash, BlockHeader> blockHeaders;
+  private final Cache<Hash, BlockBody> blockBodies;
+  private final Cache<Hash, List<TransactionReceipt>> transactionReceipts;
+  private final Cache<Long, Hash> canonicalHashes;
+
+  private final CacheMetrics blockHeadersMetrics;
+  private final CacheMetrics blockBodiesMetrics;
+  private final CacheMetrics transactionReceiptsMetrics;
+  private final CacheMetrics canonicalHashesMetrics;
+
+  /**
+   * Creates a cache using at most the given amount of heap.
+   *
+   * @param metricsSystem the metrics system
+   * @param cacheSizeMiB the heap budget shared by the headers, bodies and receipts, in MiB
+   */
+  BlockchainCache(final MetricsSystem metricsSystem, final long cacheSizeMiB) {
+    final long cacheSizeBytes = cacheSizeMiB * 1024 * 1024;
+    // bodies and receipts are an order of magnitude larger than headers
+    final long blockHeadersWeight = cacheSizeBytes / 8;
+    final long blockBodiesWeight = (cacheSizeBytes - blockHeadersWeight) / 2;
+    this.blockHeaders =
+        createCache(blockHeadersWeight, (hash, header) -> ENTRY_OVERHEAD_BYTES + HEADER_BYTES);
+    this.blockBodies =
+        createCache(blockBodiesWeight, (hash, body) -> ENTRY_OVERHEAD_BYTES + weight(body));
+    this.transactionReceipts =
+        createCache(
+            cacheSizeBytes - blockHeadersWeight - blockBodiesWeight,
+            (hash, receipts) -> ENTRY_OVERHEAD_BYTES + weight(receipts));
+    this.canonicalHashes = Caffeine.newBuilder().maximumSize(MAX_CANONICAL_HASHES).build();
+
+    final LabelledMetric<Counter> hits =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_cache_hits_total",
+            "Blockchain data found in the block cache",
+            "type");
+    final LabelledMetric<Counter> misses =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_cache_misses_total",
+            "Blockchain data read from storage because it was not in the block cache",
+            "type");
+    this.blockHeadersMetrics = new CacheMetrics("header", hits, misses);
+    this.blockBodiesMetrics = new CacheMetrics("body", hits, misses);
+    this.transactionReceiptsMetrics = new CacheMetrics("receipts", hits, misses);
+    this.canonicalHashesMetrics = new CacheMetrics("hash", hits, misses);
+
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "block_cache_size_bytes",
+        "Estimated heap used by the block cache",
+        () ->
+            weightedSize(blockHeaders)
+                + weightedSize(blockBodies)
+                + weightedSize(transactionReceipts));
+  }
+
+  private static <V> Cache<Hash, V> createCache(
+      final long maximumWeight, final Weigher<Hash, V> weigher) {
+    return Caffeine.newBuilder().maximumWeight(maximumWeight).weigher(weigher).build();
+  }
+
+  private static long weightedSize(final Cache<Hash, ?> cache) {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+  }
+
+  private static int weight(final BlockBody body) {
+    int weight = body.getOmmers().size() * HEADER_BYTES;
+    for (final Transaction transaction : body.getTransactions()) {
+      weight += TRANSACTION_OVERHEAD_BYTES + transaction.getPayload().size();
+    }
+    return weight;
+  }
+
+  private static int weight(final List<TransactionReceipt> receipts) {
+    int weight = 0;
+    for (final TransactionReceipt receipt : receipts) {
+      weight += RECEIPT_OVERHEAD_BYTES;
+      for (final Log log : receipt.getLogsList()) {
+        weight += LOG_OVERHEAD_BYTES + log.getData().size() + log.getTopics().size() * TOPIC_BYTES;
+      }
+    }
+    return weight;
+  }
+
+  Optional<BlockHeader> getBlockHeader(
+      final Hash blockHash, final Function<Hash, Optional<BlockHeader>> storage) {
+    return get(blockHeaders, blockHeadersMetrics, blockHash, storage);
+  }
+
+  Optional<BlockBody> getBlockBody(
+      final Hash blockHash, final Function<Hash, Optional<BlockBody>> storage) {
+    return get(blockBodies, blockBodiesMetrics, blockHash, storage);
+  }
+
+  Optional<List<TransactionReceipt>> getTransactionReceipts(
+      final Hash blockHash, final Function<Hash, Optional<List<TransactionReceipt>>> storage) {
+    return get(
+        transactionReceipts,
+        transactionReceiptsMetrics,
+        blockHash,
+        hash -> storage.apply(hash).map(List::copyOf));
+  }
+
+  /**
+   * Returns the canonical hash of a block number. The hashes read from storage are not cached, a
+   * concurrent reorg could otherwise leave a stale hash in the cache.
+   *
+   * @param blockNumber the block number
+   * @param storage reads the canonical hash from storage
+   * @return the canonical hash of the block number, if any
+   */
+  Optional<Hash> getBlockHash(
+      final long blockNumber, final Function<Long, Optional<Hash>> storage) {
+    final Hash cached = canonicalHashes.getIfPresent(blockNumber);
+    if (cached != null) {
+      canonicalHashesMetrics.hits.inc();
+      return Optional.of(cached);
+    }
+    canonicalHashesMetrics.misses.inc();
+    return storage.apply(blockNumber);
+  }
+
+  private static <V> Optional<V> get(
+      final Cache<Hash, V> cache,
+      final CacheMetrics metrics,
+      final Hash blockHash,
+      final Function<Hash, Optional<V>> storage) {
+    final V cached = cache.getIfPresent(blockHash);
+    if (cached != null) {
+      metrics.hits.inc();
+      return Optional.of(cached);
+    }
+    metrics.misses.inc();
+    final Optional<V> value = storage.apply(blockHash);
+    value.ifPresent(v -> cache.put(blockHash, v));
+    return value;
+  }
+
+  /**
+   * Caches a block that was just stored, it is likely to be queried right away.
+   *
+   * @param blockWithReceipts the block and its receipts
+   */
+  void cacheBlock(final BlockWithReceipts blockWithReceipts) {
+    final Hash blockHash = blockWithReceipts.getHash();
+    blockHeaders.put(blockHash, blockWithReceipts.getHeader());
+    blockBodies.put(blockHash, blockWithReceipts.getBlock().getBody());
+    transactionReceipts.put(blockHash, List.copyOf(blockWithReceipts.getReceipts()));
+  }
+
+  /**
+   * Records the canonical hash of a block number once it is committed to storage.
+   *
+   * @param blockNumber the block number
+   * @param blockHash the canonical hash of the block number
+   */
+  void cacheBlockHash(final long blockNumber, final Hash blockHash) {
+    canonicalHashes.put(blockNumber, blockHash);
+  }
+
+  void invalidateBlockHash(final long blockNumber) {
+    canonicalHashes.invalidate(blockNumber);
+  }
+
+  /** Forgets the canonical hashes of all the block numbers, after a reorg. */
+  void invalidateBlockHashes() {
+    canonicalHashes.invalidateAll();
+  }
+
+  private static class CacheMetrics {
+    private final Counter hits;
+    private final Counter misses;
+
+    CacheMetrics(
+        final String type,
+        final LabelledMetric<Counter> hits,
+        final LabelledMetric<Counter> misses) {
+      this.hits = hits.labels(type);
+      this.misses = misses.labels(type);
+    }
+  }
+}
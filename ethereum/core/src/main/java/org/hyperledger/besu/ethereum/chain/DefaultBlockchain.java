@@ -65,6 +65,7 @@ public class DefaultBlockchain implements MutableBlockchain {
   private final Subscribers<BlockAddedObserver> blockAddedObservers = Subscribers.create();
   private final Subscribers<ChainReorgObserver> blockReorgObservers = Subscribers.create();
   private final long reorgLoggingThreshold;
+  private final Optional<BlockchainCache> blockchainCache;
 
   private volatile BlockHeader chainHeader;
   private volatile Difficulty totalDifficulty;
@@ -87,11 +88,25 @@ public class DefaultBlockchain implements MutableBlockchain {
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold,
       final String dataDirectory) {
+    this(genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, dataDirectory, 0);
+  }
+
+  private DefaultBlockchain(
+      final Optional<Block> genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final long reorgLoggingThreshold,
+      final String dataDirectory,
+      final long cacheSizeMiB) {
     checkNotNull(genesisBlock);
     checkNotNull(blockchainStorage);
     checkNotNull(metricsSystem);
 
     this.blockchainStorage = blockchainStorage;
+    this.blockchainCache =
+        cacheSizeMiB > 0
+            ? Optional.of(new BlockchainCache(metricsSystem, cacheSizeMiB))
+            : Optional.empty();
     genesisBlock.ifPresent(block -> this.setGenesis(block, dataDirectory));
 
     final Hash chainHead = blockchainStorage.getChainHead().get();
@@ -171,6 +186,35 @@ public class DefaultBlockchain implements MutableBlockchain {
         dataDirectory);
   }
 
+  /**
+   * Creates a blockchain keeping the recently used blocks and receipts in memory.
+   *
+   * @param genesisBlock the genesis block
+   * @param blockchainStorage the blockchain storage
+   * @param metricsSystem the metrics system
+   * @param reorgLoggingThreshold the depth from which reorgs are logged
+   * @param dataDirectory the data directory, reported if the genesis block does not match
+   * @param cacheSizeMiB the heap used to cache the recent blocks and receipts, in MiB, 0 disables
+   *     the cache
+   * @return the blockchain
+   */
+  public static MutableBlockchain createMutable(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final long reorgLoggingThreshold,
+      final String dataDirectory,
+      final long cacheSizeMiB) {
+    checkNotNull(genesisBlock);
+    return new DefaultBlockchain(
+        Optional.of(genesisBlock),
+        blockchainStorage,
+        metricsSystem,
+        reorgLoggingThreshold,
+        dataDirectory,
+        cacheSizeMiB);
+  }
+
   public static Blockchain create(
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem,
@@ -222,32 +266,42 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   @Override
   public Block getChainHeadBlock() {
-    return new Block(chainHeader, blockchainStorage.getBlockBody(chainHeader.getHash()).get());
+    return new Block(chainHeader, getBlockBody(chainHeader.getHash()).get());
   }
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final long blockNumber) {
-    return blockchainStorage.getBlockHash(blockNumber).flatMap(blockchainStorage::getBlockHeader);
+    return getBlockHashByNumber(blockNumber).flatMap(this::getBlockHeader);
   }
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHeaderHash) {
-    return blockchainStorage.getBlockHeader(blockHeaderHash);
+    return blockchainCache.isPresent()
+        ? blockchainCache.get().getBlockHeader(blockHeaderHash, blockchainStorage::getBlockHeader)
+        : blockchainStorage.getBlockHeader(blockHeaderHash);
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
-    return blockchainStorage.getBlockBody(blockHeaderHash);
+    return blockchainCache.isPresent()
+        ? blockchainCache.get().getBlockBody(blockHeaderHash, blockchainStorage::getBlockBody)
+        : blockchainStorage.getBlockBody(blockHeaderHash);
   }
 
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
-    return blockchainStorage.getTransactionReceipts(blockHeaderHash);
+    return blockchainCache.isPresent()
+        ? blockchainCache
+            .get()
+            .getTransactionReceipts(blockHeaderHash, blockchainStorage::getTransactionReceipts)
+        : blockchainStorage.getTransactionReceipts(blockHeaderHash);
   }
 
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
-    return blockchainStorage.getBlockHash(number);
+    return blockchainCache.isPresent()
+        ? blockchainCache.get().getBlockHash(number, blockchainStorage::getBlockHash)
+        : blockchainStorage.getBlockHash(number);
   }
 
   @Override
@@ -261,8 +315,7 @@ public class DefaultBlockchain implements MutableBlockchain {
         .getTransactionLocation(transactionHash)
         .flatMap(
             l ->
-                blockchainStorage
-                    .getBlockBody(l.getBlockHash())
+                getBlockBody(l.getBlockHash())
                     .map(b -> b.getTransactions().get(l.getTransactionIndex())));
   }
 
@@ -327,12 +380,13 @@ public class DefaultBlockchain implements MutableBlockchain {
       blockAddedEvent = handleStoreOnly(blockWithReceipts);
     } else {
       blockAddedEvent = updateCanonicalChainData(updater, blockWithReceipts);
-      if (blockAddedEvent.isNewCanonicalHead()) {
-        updateCacheForNewCanonicalHead(block, td);
-      }
     }
 
     updater.commit();
+    blockchainCache.ifPresent(cache -> cache.cacheBlock(blockWithReceipts));
+    if (blockAddedEvent.isNewCanonicalHead()) {
+      updateCacheForNewCanonicalHead(block, td);
+    }
     blockAddedObservers.forEach(observer -> observer.onBlockAdded(blockAddedEvent));
   }
 
@@ -355,6 +409,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     maybeTotalDifficulty.ifPresent(
         totalDifficulty -> updater.putTotalDifficulty(hash, totalDifficulty));
     updater.commit();
+    blockchainCache.ifPresent(cache -> cache.invalidateBlockHash(block.getHeader().getNumber()));
   }
 
   @Override
@@ -578,9 +633,9 @@ public class DefaultBlockchain implements MutableBlockchain {
 
       var reorgEvent = handleChainReorg(updater, blockWithReceipts);
       updater.commit();
-      blockAddedObservers.forEach(o -> o.onBlockAdded(reorgEvent));
-
       updateCacheForNewCanonicalHead(block, calculateTotalDifficulty(block.getHeader()));
+
+      blockAddedObservers.forEach(o -> o.onBlockAdded(reorgEvent));
       return true;
     } catch (final NoSuchElementException e) {
       // Any Optional.get() calls in this block should be present, missing data means data
@@ -602,9 +657,9 @@ public class DefaultBlockchain implements MutableBlockchain {
       final BlockWithReceipts blockWithReceipts = getBlockWithReceipts(blockHeader).get();
 
       BlockAddedEvent newHeadEvent = handleNewHead(updater, blockWithReceipts);
+      updater.commit();
       updateCacheForNewCanonicalHead(
           blockWithReceipts.getBlock(), calculateTotalDifficulty(blockHeader));
-      updater.commit();
       blockAddedObservers.forEach(observer -> observer.onBlockAdded(newHeadEvent));
       return true;
     } catch (final NoSuchElementException e) {
@@ -630,6 +685,15 @@ public class DefaultBlockchain implements MutableBlockchain {
   }
 
   private void updateCacheForNewCanonicalHead(final Block block, final Difficulty uInt256) {
+    final boolean headAdvanced = block.getHeader().getParentHash().equals(chainHeader.getHash());
+    blockchainCache.ifPresent(
+        cache -> {
+          if (!headAdvanced) {
+            // a reorg or a rewind changed the canonical hash of some of the block numbers
+            cache.invalidateBlockHashes();
+          }
+          cache.cacheBlockHash(block.getHeader().getNumber(), block.getHash());
+        });
     chainHeader = block.getHeader();
     totalDifficulty = uInt256;
     chainHeadTransactionCount = block.getBody().getTransactions().size();
@@ -701,7 +765,7 @@ public class DefaultBlockchain implements MutableBlockchain {
   }
 
   private boolean blockIsConnected(final Block block) {
-    return blockchainStorage.getBlockHeader(block.getHeader().getParentHash()).isPresent();
+    return getBlockHeader(block.getHeader().getParentHash()).isPresent();
   }
 
   private void addAddedLogsWithMetadata(
@@ -721,19 +785,16 @@ public class DefaultBlockchain implements MutableBlockchain {
   }
 
   private Optional<BlockWithReceipts> getBlockWithReceipts(final BlockHeader blockHeader) {
-    return blockchainStorage
-        .getBlockBody(blockHeader.getHash())
+    return getBlockBody(blockHeader.getHash())
         .map(body -> new Block(blockHeader, body))
         .flatMap(
             block ->
-                blockchainStorage
-                    .getTransactionReceipts(blockHeader.getHash())
+                getTxReceipts(blockHeader.getHash())
                     .map(receipts -> new BlockWithReceipts(block, receipts)));
   }
 
   private BlockWithReceipts getParentBlockWithReceipts(final BlockWithReceipts blockWithReceipts) {
-    return blockchainStorage
-        .getBlockHeader(blockWithReceipts.getHeader().getParentHash())
+    return getBlockHeader(blockWithReceipts.getHeader().getParentHash())
         .flatMap(this::getBlockWithReceipts)
         .get();
   }
@@ -37,6 +37,7 @@ import org.hyperledger.besu.evm.AccessListEntry;
 import org.hyperledger.besu.plugin.data.TransactionType;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -520,6 +521,40 @@ public class Transaction
     return sender;
   }
 
+  /**
+   * Recovers with a single batch the senders of the transactions that are not known yet. A sender
+   * that cannot be recovered is left unset, so that {@link #getSender()} reports the failure as
+   * usual when the transaction is executed.
+   *
+   * @param transactions the transactions to recover the senders of
+   */
+  public static void recoverSenders(final List<Transaction> transactions) {
+    final List<Transaction> pending = new ArrayList<>(transactions.size());
+    final List<Bytes32> dataHashes = new ArrayList<>(transactions.size());
+    final List<SECPSignature> signatures = new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      if (transaction.sender == null) {
+        pending.add(transaction);
+        dataHashes.add(transaction.getOrComputeSenderRecoveryHash());
+        signatures.add(transaction.signature);
+      }
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+    final List<Optional<SECPPublicKey>> publicKeys =
+        SignatureAlgorithmFactory.getInstance()
+            .recoverPublicKeysFromSignatures(dataHashes, signatures);
+    for (int i = 0; i < pending.size(); i++) {
+      final Transaction transaction = pending.get(i);
+      publicKeys
+          .get(i)
+          .ifPresent(
+              publicKey ->
+                  transaction.sender = Address.extract(Hash.hash(publicKey.getEncodedBytes())));
+    }
+  }
+
   /**
    * Returns the public key extracted from the signature.
    *
@@ -14,8 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.mainnet;
 
-import org.hyperledger.besu.datatypes.Address;
-import org.hyperledger.besu.datatypes.DataGas;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
@@ -28,11 +26,10 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
-import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldState;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -103,57 +100,75 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
     final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(blockHeader);
 
-    for (final Transaction transaction : transactions) {
-      if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
-        return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
-      }
+    prefetchState(worldState, blockHeader, transactions);
+
+    final long transactionProcessingStartTime = System.nanoTime();
+    // the values shared by every transaction are computed once, and only if there is one
+    final BlockProcessingContext blockProcessingContext =
+        transactions.isEmpty()
+            ? null
+            : BlockProcessingContext.create(
+                blockchain, blockHeader, protocolSpec.getFeeMarket(), miningBeneficiaryCalculator);
+    final Optional<ParallelizedConcurrentTransactionProcessor> maybeParallelProcessor =
+        createParallelProcessor(worldState, transactions, privateMetadataUpdater);
+    maybeParallelProcessor.ifPresent(
+        parallelProcessor ->
+            parallelProcessor.runAsyncBlock(
+                blockchain, (BonsaiWorldState) worldState, transactions, blockProcessingContext));
 
-      final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-      final Wei dataGasPrice =
-          protocolSpec
-              .getFeeMarket()
-              .dataPrice(
-                  blockchain
-                      .getBlockHeader(blockHeader.getParentHash())
-                      .flatMap(BlockHeader::getExcessDataGas)
-                      .orElse(DataGas.ZERO));
-
-      final TransactionProcessingResult result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              OperationTracer.NO_TRACING,
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock(),
-              privateMetadataUpdater,
-              dataGasPrice);
-      if (result.isInvalid()) {
-        String errorMessage =
-            MessageFormat.format(
-                "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
-                result.getValidationResult().getErrorMessage(),
-                blockHeader.getHash().toHexString(),
-                transaction.getHash().toHexString());
-        LOG.info(errorMessage);
-        if (worldState instanceof BonsaiWorldState) {
-          ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+    // the speculative executions must not outlive the block, whichever way its processing ends
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
+          return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
         }
-        return new BlockProcessingResult(Optional.empty(), errorMessage);
-      }
-      worldStateUpdater.commit();
 
-      currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
-      final TransactionReceipt transactionReceipt =
-          transactionReceiptFactory.create(
-              transaction.getType(), result, worldState, currentGasUsed);
-      receipts.add(transactionReceipt);
+        final WorldUpdater worldStateUpdater = worldState.updater();
+
+        final int transactionLocation = i;
+        final TransactionProcessingResult result =
+            maybeParallelProcessor
+                .flatMap(
+                    parallelProcessor ->
+                        parallelProcessor.applyParallelizedTransactionResult(
+                            (BonsaiWorldStateUpdateAccumulator) worldStateUpdater,
+                            blockProcessingContext.getMiningBeneficiary(),
+                            transactionLocation))
+                .orElseGet(
+                    () ->
+                        transactionProcessor.processTransaction(
+                            blockchain,
+                            worldStateUpdater,
+                            blockProcessingContext,
+                            transaction,
+                            OperationTracer.NO_TRACING,
+                            true,
+                            TransactionValidationParams.processingBlock(),
+                            privateMetadataUpdater));
+        if (result.isInvalid()) {
+          String errorMessage =
+              MessageFormat.format(
+                  "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
+                  result.getValidationResult().getErrorMessage(),
+                  blockHeader.getHash().toHexString(),
+                  transaction.getHash().toHexString());
+          LOG.info(errorMessage);
+          if (worldState instanceof BonsaiWorldState) {
+            ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+          }
+          return new BlockProcessingResult(Optional.empty(), errorMessage);
+        }
+        worldStateUpdater.commit();
+
+        currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(
+                transaction.getType(), result, worldState, currentGasUsed);
+        receipts.add(transactionReceipt);
+      }
+    } finally {
+      completeParallelProcessing(maybeParallelProcessor, transactionProcessingStartTime);
     }
 
     final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
@@ -210,6 +225,56 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     return true;
   }
 
+  private Optional<ParallelizedConcurrentTransactionProcessor> createParallelProcessor(
+      final MutableWorldState worldState,
+      final List<Transaction> transactions,
+      final PrivateMetadataUpdater privateMetadataUpdater) {
+    // speculative execution relies on Bonsai accumulators, and private transactions need the
+    // private state of every preceding transaction
+    if (transactions.isEmpty()
+        || !(worldState instanceof BonsaiWorldState)
+        || privateMetadataUpdater != null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(((BonsaiWorldState) worldState).getArchive())
+        .flatMap(archive -> archive.getParallelTransactionExecutionService())
+        .map(
+            executionService ->
+                new ParallelizedConcurrentTransactionProcessor(
+                    transactionProcessor, executionService));
+  }
+
+  private static void prefetchState(
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions) {
+    if (!(worldState instanceof BonsaiWorldState)) {
+      return;
+    }
+    final BonsaiWorldState bonsaiWorldState = (BonsaiWorldState) worldState;
+    Optional.ofNullable(bonsaiWorldState.getArchive())
+        .ifPresent(
+            archive ->
+                archive
+                    .getStatePrefetcher()
+                    .ifPresent(
+                        prefetcher ->
+                            prefetcher.prefetch(
+                                bonsaiWorldState.getWorldStateStorage(),
+                                bonsaiWorldState.worldStateRootHash,
+                                archive.getTrieLogManager(),
+                                blockHeader,
+                                transactions)));
+  }
+
+  private static void completeParallelProcessing(
+      final Optional<ParallelizedConcurrentTransactionProcessor> maybeParallelProcessor,
+      final long transactionProcessingStartTime) {
+    maybeParallelProcessor.ifPresent(
+        parallelProcessor ->
+            parallelProcessor.complete(System.nanoTime() - transactionProcessingStartTime));
+  }
+
   protected MiningBeneficiaryCalculator getMiningBeneficiaryCalculator() {
     return miningBeneficiaryCalculator;
   }
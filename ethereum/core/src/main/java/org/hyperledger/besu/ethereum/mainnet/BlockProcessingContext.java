@@ -0,0 +1,99 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.DataGas;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+
+/**
+ * The values every transaction of a block is executed with. They only depend on the block, so they
+ * are computed once and shared by all the transactions of the block instead of being recomputed
+ * for each of them.
+ */
+public class BlockProcessingContext {
+
+  private final ProcessableBlockHeader blockHeader;
+  private final Address miningBeneficiary;
+  private final BlockHashLookup blockHashLookup;
+  private final Wei dataGasPrice;
+
+  public BlockProcessingContext(
+      final ProcessableBlockHeader blockHeader,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei dataGasPrice) {
+    this.blockHeader = blockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.blockHashLookup = blockHashLookup;
+    this.dataGasPrice = dataGasPrice;
+  }
+
+  /**
+   * Creates the context of a block that is being imported.
+   *
+   * @param blockchain the blockchain the block is imported into
+   * @param blockHeader the header of the block
+   * @param feeMarket the fee market of the block
+   * @param miningBeneficiaryCalculator the calculator of the mining beneficiary of the block
+   * @return the context shared by the transactions of the block
+   */
+  public static BlockProcessingContext create(
+      final Blockchain blockchain,
+      final BlockHeader blockHeader,
+      final FeeMarket feeMarket,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator) {
+    return new BlockProcessingContext(
+        blockHeader,
+        miningBeneficiaryCalculator.calculateBeneficiary(blockHeader),
+        new CachingBlockHashLookup(blockHeader, blockchain),
+        dataGasPrice(blockchain, blockHeader, feeMarket));
+  }
+
+  private static Wei dataGasPrice(
+      final Blockchain blockchain, final BlockHeader blockHeader, final FeeMarket feeMarket) {
+    if (!feeMarket.implementsDataFee()) {
+      // no need to look up the parent, the price does not depend on the excess data gas
+      return feeMarket.dataPrice(DataGas.ZERO);
+    }
+    return feeMarket.dataPrice(
+        blockchain
+            .getBlockHeader(blockHeader.getParentHash())
+            .flatMap(BlockHeader::getExcessDataGas)
+            .orElse(DataGas.ZERO));
+  }
+
+  public ProcessableBlockHeader getBlockHeader() {
+    return blockHeader;
+  }
+
+  public Address getMiningBeneficiary() {
+    return miningBeneficiary;
+  }
+
+  public BlockHashLookup getBlockHashLookup() {
+    return blockHashLookup;
+  }
+
+  public Wei getDataGasPrice() {
+    return dataGasPrice;
+  }
+}
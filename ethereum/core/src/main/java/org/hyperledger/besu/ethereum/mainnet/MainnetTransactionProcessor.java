@@ -258,6 +258,42 @@ public class MainnetTransactionProcessor {
         dataGasPrice);
   }
 
+  /**
+   * Applies a transaction of a block to the current system state.
+   *
+   * @param blockchain The current blockchain
+   * @param worldState The current world state
+   * @param blockProcessingContext The values shared by all the transactions of the block
+   * @param transaction The transaction to process
+   * @param operationTracer The tracer to record results of each EVM operation
+   * @param isPersistingPrivateState Whether the resulting private state will be persisted
+   * @param transactionValidationParams The transaction validation parameters to use
+   * @param privateMetadataUpdater The updater of the private metadata, may be null
+   * @return the transaction result
+   */
+  public TransactionProcessingResult processTransaction(
+      final Blockchain blockchain,
+      final WorldUpdater worldState,
+      final BlockProcessingContext blockProcessingContext,
+      final Transaction transaction,
+      final OperationTracer operationTracer,
+      final Boolean isPersistingPrivateState,
+      final TransactionValidationParams transactionValidationParams,
+      final PrivateMetadataUpdater privateMetadataUpdater) {
+    return processTransaction(
+        blockchain,
+        worldState,
+        blockProcessingContext.getBlockHeader(),
+        transaction,
+        blockProcessingContext.getMiningBeneficiary(),
+        operationTracer,
+        blockProcessingContext.getBlockHashLookup(),
+        isPersistingPrivateState,
+        transactionValidationParams,
+        privateMetadataUpdater,
+        blockProcessingContext.getDataGasPrice());
+  }
+
   public TransactionProcessingResult processTransaction(
       final Blockchain ignoredBlockchain,
       final WorldUpdater worldState,
@@ -294,6 +330,8 @@ public class MainnetTransactionProcessor {
         return TransactionProcessingResult.invalid(validationResult);
       }
 
+      operationTracer.traceStartTransaction(worldState, senderAddress);
+
       final MutableAccount senderMutableAccount = sender.getMutable();
       final long previousNonce = senderMutableAccount.incrementNonce();
       LOG.trace(
@@ -363,6 +401,8 @@ public class MainnetTransactionProcessor {
           MessageFrame.builder()
               .messageFrameStack(messageFrameStack)
               .maxStackSize(maxStackSize)
+              .primitiveStack(messageCallProcessor.isPrimitiveStackEnabled())
+              .memoryPool(messageCallProcessor.getMemoryPoolMetrics())
               .worldUpdater(worldUpdater.updater())
               .initialGas(gasAvailable)
               .originator(senderAddress)
@@ -445,6 +485,8 @@ public class MainnetTransactionProcessor {
 
       final long gasUsedByTransaction = transaction.getGasLimit() - initialFrame.getRemainingGas();
 
+      operationTracer.traceBeforeRewardTransaction(worldState, miningBeneficiary);
+
       // update the coinbase
       final var coinbase = worldState.getOrCreate(miningBeneficiary).getMutable();
       final long usedGas = transaction.getGasLimit() - refundedGas;
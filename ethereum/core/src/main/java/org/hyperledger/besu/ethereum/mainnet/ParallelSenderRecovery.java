@@ -0,0 +1,114 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the senders of the transactions of a block on a bounded pool before the block is
+ * executed, so that the recovery does not happen one transaction at a time on the thread
+ * processing the block. The transactions are split in one batch per worker and every batch is
+ * recovered with {@link Transaction#recoverSenders(List)}.
+ *
+ * <p>The block validators find the instance in the {@link
+ * org.hyperledger.besu.ethereum.ProtocolContext}, and without one the senders are recovered
+ * lazily during execution.
+ */
+public class ParallelSenderRecovery implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelSenderRecovery.class);
+
+  // below this size the cost of handing a batch over to a worker is not worth it
+  private static final int MIN_BATCH_SIZE = 16;
+
+  private final ExecutorService executor;
+  private final int parallelism;
+  private final Consumer<List<Transaction>> batchRecovery;
+
+  public ParallelSenderRecovery(final ExecutorService executor, final int parallelism) {
+    this(executor, parallelism, Transaction::recoverSenders);
+  }
+
+  @VisibleForTesting
+  ParallelSenderRecovery(
+      final ExecutorService executor,
+      final int parallelism,
+      final Consumer<List<Transaction>> batchRecovery) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.batchRecovery = batchRecovery;
+  }
+
+  /**
+   * Starts recovering the senders of the transactions. A sender that cannot be recovered is left
+   * unset and is recovered, or reported as invalid, when the transaction is executed.
+   *
+   * @param transactions the transactions of the block
+   * @return a future completing when all the batches are done
+   */
+  public CompletableFuture<Void> recoverSenders(final List<Transaction> transactions) {
+    if (transactions.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final int batchSize =
+        Math.max(MIN_BATCH_SIZE, (transactions.size() + parallelism - 1) / parallelism);
+    final int batchCount = (transactions.size() + batchSize - 1) / batchSize;
+    final CompletableFuture<?>[] batches = new CompletableFuture<?>[batchCount];
+    for (int i = 0; i < batchCount; i++) {
+      final List<Transaction> batch =
+          transactions.subList(i * batchSize, Math.min(transactions.size(), (i + 1) * batchSize));
+      batches[i] = recoverBatch(batch);
+    }
+    return CompletableFuture.allOf(batches);
+  }
+
+  private CompletableFuture<Void> recoverBatch(final List<Transaction> batch) {
+    try {
+      return CompletableFuture.runAsync(() -> batchRecovery.accept(batch), executor)
+          .exceptionally(
+              throwable -> {
+                LOG.trace("Failed to recover the senders of a batch of transactions", throwable);
+                return null;
+              });
+    } catch (final RejectedExecutionException e) {
+      // the senders are recovered lazily during execution
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("The sender recovery did not complete before shutdown");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
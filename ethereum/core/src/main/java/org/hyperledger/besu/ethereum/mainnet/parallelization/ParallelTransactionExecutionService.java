@@ -0,0 +1,99 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the resources shared by every block processed with optimistic parallel transaction
+ * execution: the bounded pool the speculative executions run on and the metrics that report how
+ * effective the speculation is.
+ */
+public class ParallelTransactionExecutionService implements Closeable {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelTransactionExecutionService.class);
+
+  private final ExecutorService executor;
+  private final Counter parallelizedTransactionCounter;
+  private final Counter conflictingTransactionCounter;
+
+  private volatile double lastBlockConflictRatio;
+  private volatile double lastBlockSpeedup;
+
+  public ParallelTransactionExecutionService(
+      final ExecutorService executor, final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    final LabelledMetric<Counter> transactionCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "parallel_transactions_total",
+            "Transactions executed speculatively, by whether their result was merged or they had"
+                + " to be re-executed sequentially",
+            "outcome");
+    this.parallelizedTransactionCounter = transactionCounter.labels("parallelized");
+    this.conflictingTransactionCounter = transactionCounter.labels("conflicting");
+    metricsSystem.createGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "parallel_conflict_ratio",
+        "Share of the transactions of the last processed block that had to be re-executed",
+        () -> lastBlockConflictRatio);
+    metricsSystem.createGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "parallel_speedup_ratio",
+        "Sequential execution time of the last processed block divided by its actual transaction"
+            + " processing time",
+        () -> lastBlockSpeedup);
+  }
+
+  public ExecutorService getExecutor() {
+    return executor;
+  }
+
+  void recordBlock(
+      final int parallelizedTransactions,
+      final int conflictingTransactions,
+      final long sequentialExecutionTimeNanos,
+      final long processingTimeNanos) {
+    parallelizedTransactionCounter.inc(parallelizedTransactions);
+    conflictingTransactionCounter.inc(conflictingTransactions);
+    final int total = parallelizedTransactions + conflictingTransactions;
+    lastBlockConflictRatio = total == 0 ? 0 : (double) conflictingTransactions / total;
+    lastBlockSpeedup =
+        processingTimeNanos == 0 ? 0 : (double) sequentialExecutionTimeNanos / processingTimeNanos;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("The speculative transaction executions did not complete before shutdown");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
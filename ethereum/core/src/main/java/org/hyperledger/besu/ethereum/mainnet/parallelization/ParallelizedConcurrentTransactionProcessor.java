@@ -0,0 +1,275 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.bonsai.worldview.StorageSlotKey;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingContext;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optimistically executes the transactions of a block in parallel.
+ *
+ * <p>Every transaction is first executed speculatively on its own {@link
+ * BonsaiWorldStateUpdateAccumulator} layered over the state at the start of the block. The block
+ * processor then walks the transactions in order: a speculative result whose reads do not overlap
+ * the writes of the preceding transactions is merged into the block accumulator, anything else is
+ * executed again sequentially by the caller.
+ *
+ * <p>A new instance is created for each block.
+ */
+public class ParallelizedConcurrentTransactionProcessor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelizedConcurrentTransactionProcessor.class);
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final ParallelTransactionExecutionService executionService;
+  private final TransactionCollisionDetector transactionCollisionDetector;
+
+  private final List<CompletableFuture<Optional<ParallelizedTransactionContext>>>
+      speculativeExecutions = new ArrayList<>();
+
+  private volatile boolean completed;
+  private int parallelizedTransactions;
+  private int conflictingTransactions;
+  private long sequentialExecutionTimeNanos;
+
+  public ParallelizedConcurrentTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final ParallelTransactionExecutionService executionService) {
+    this(transactionProcessor, executionService, new TransactionCollisionDetector());
+  }
+
+  ParallelizedConcurrentTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final ParallelTransactionExecutionService executionService,
+      final TransactionCollisionDetector transactionCollisionDetector) {
+    this.transactionProcessor = transactionProcessor;
+    this.executionService = executionService;
+    this.transactionCollisionDetector = transactionCollisionDetector;
+  }
+
+  /**
+   * Starts the speculative execution of every transaction of the block on the shared pool.
+   *
+   * @param blockchain the blockchain the block is imported into
+   * @param worldState the world state at the start of the block
+   * @param transactions the transactions of the block, in block order
+   * @param blockProcessingContext the values shared by all the transactions of the block
+   */
+  public void runAsyncBlock(
+      final Blockchain blockchain,
+      final BonsaiWorldState worldState,
+      final List<Transaction> transactions,
+      final BlockProcessingContext blockProcessingContext) {
+    for (final Transaction transaction : transactions) {
+      speculativeExecutions.add(
+          CompletableFuture.supplyAsync(
+                  () -> runTransaction(blockchain, worldState, transaction, blockProcessingContext),
+                  executionService.getExecutor())
+              .exceptionally(
+                  throwable -> {
+                    LOG.trace(
+                        "Speculative execution of transaction {} failed",
+                        transaction.getHash(),
+                        throwable);
+                    return Optional.empty();
+                  }));
+    }
+  }
+
+  private Optional<ParallelizedTransactionContext> runTransaction(
+      final Blockchain blockchain,
+      final BonsaiWorldState worldState,
+      final Transaction transaction,
+      final BlockProcessingContext blockProcessingContext) {
+    if (completed) {
+      return Optional.empty();
+    }
+    final long startTime = System.nanoTime();
+    final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+        new BonsaiWorldStateUpdateAccumulator(worldState, (__, ___) -> {}, (__, ___) -> {});
+    final MiningBeneficiaryAccessTracer tracer =
+        new MiningBeneficiaryAccessTracer(transactionAccumulator);
+    final TransactionProcessingResult result =
+        transactionProcessor.processTransaction(
+            blockchain,
+            transactionAccumulator,
+            blockProcessingContext,
+            transaction,
+            tracer,
+            true,
+            TransactionValidationParams.processingBlock(),
+            null);
+    // move the tracked changes into the account, code and storage maps
+    transactionAccumulator.commit();
+    return Optional.of(
+        new ParallelizedTransactionContext(
+            transactionAccumulator,
+            result,
+            tracer.isMiningBeneficiaryTouched(),
+            System.nanoTime() - startTime));
+  }
+
+  /**
+   * Merges the speculative result of a transaction into the block accumulator if it does not
+   * conflict with the preceding transactions. The changes are not committed, the caller commits
+   * the block accumulator as it does after a sequential execution.
+   *
+   * @param blockAccumulator the accumulator of the block world state
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param transactionLocation the index of the transaction in the block
+   * @return the result of the transaction, or empty if it has to be executed sequentially
+   */
+  public Optional<TransactionProcessingResult> applyParallelizedTransactionResult(
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator,
+      final Address miningBeneficiary,
+      final int transactionLocation) {
+    final Optional<ParallelizedTransactionContext> maybeContext =
+        speculativeExecutions.get(transactionLocation).join();
+    if (maybeContext.isEmpty()) {
+      conflictingTransactions++;
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = maybeContext.get();
+    sequentialExecutionTimeNanos += context.executionTimeNanos();
+    if (context.transactionProcessingResult().isInvalid()
+        || transactionCollisionDetector.hasCollision(
+            context, miningBeneficiary, blockAccumulator)) {
+      conflictingTransactions++;
+      return Optional.empty();
+    }
+    importStateChanges(context, miningBeneficiary, blockAccumulator);
+    parallelizedTransactions++;
+    return Optional.of(context.transactionProcessingResult());
+  }
+
+  /**
+   * Records the metrics of the block and skips the speculative executions that have not been
+   * consumed, for instance because the block turned out to be invalid. Waits for the executions
+   * that are still running so that none of them reads the world state once it is persisted or
+   * closed.
+   *
+   * @param processingTimeNanos the time spent processing the transactions of the block
+   */
+  public void complete(final long processingTimeNanos) {
+    completed = true;
+    speculativeExecutions.forEach(CompletableFuture::join);
+    executionService.recordBlock(
+        parallelizedTransactions,
+        conflictingTransactions,
+        sequentialExecutionTimeNanos,
+        processingTimeNanos);
+  }
+
+  private void importStateChanges(
+      final ParallelizedTransactionContext context,
+      final Address miningBeneficiary,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+        context.transactionAccumulator();
+    transactionAccumulator
+        .getAccountsToUpdate()
+        .forEach(
+            (address, value) -> {
+              if (!TransactionCollisionDetector.isAccountModified(value)) {
+                return;
+              }
+              final BonsaiAccount updated = value.getUpdated();
+              final MutableAccount target = blockAccumulator.getOrCreate(address).getMutable();
+              if (address.equals(miningBeneficiary)
+                  && !context.isMiningBeneficiaryTouchedPreReward()) {
+                // the speculative balance is based on the start of the block, only apply the fee
+                final Wei prior =
+                    value.getPrior() == null ? Wei.ZERO : value.getPrior().getBalance();
+                target.incrementBalance(updated.getBalance().subtract(prior));
+                return;
+              }
+              target.setNonce(updated.getNonce());
+              target.setBalance(updated.getBalance());
+              if (value.getPrior() == null
+                  || !value.getPrior().getCodeHash().equals(updated.getCodeHash())) {
+                target.setCode(updated.getCode());
+              }
+            });
+    transactionAccumulator
+        .getStorageToUpdate()
+        .forEach(
+            (address, slots) -> {
+              MutableAccount target = null;
+              for (final Map.Entry<StorageSlotKey, BonsaiValue<UInt256>> slot : slots.entrySet()) {
+                if (!TransactionCollisionDetector.isSlotModified(slot.getValue())) {
+                  continue;
+                }
+                if (target == null) {
+                  target = blockAccumulator.getOrCreate(address).getMutable();
+                }
+                final UInt256 updated = slot.getValue().getUpdated();
+                target.setStorageValue(
+                    slot.getKey().slotKey().orElseThrow(),
+                    updated == null ? UInt256.ZERO : updated);
+              }
+            });
+  }
+
+  /**
+   * Records whether the mining beneficiary was read or written by the transaction before it was
+   * credited with the fee. If it was not, the fee can be applied on top of the block state even
+   * when preceding transactions changed the beneficiary balance.
+   */
+  private static class MiningBeneficiaryAccessTracer implements OperationTracer {
+
+    private final BonsaiWorldStateUpdateAccumulator transactionAccumulator;
+    private boolean miningBeneficiaryTouched;
+
+    MiningBeneficiaryAccessTracer(final BonsaiWorldStateUpdateAccumulator transactionAccumulator) {
+      this.transactionAccumulator = transactionAccumulator;
+    }
+
+    @Override
+    public void traceBeforeRewardTransaction(
+        final WorldView worldView, final Address miningBeneficiary) {
+      miningBeneficiaryTouched =
+          transactionAccumulator.getAccountsToUpdate().containsKey(miningBeneficiary);
+    }
+
+    boolean isMiningBeneficiaryTouched() {
+      return miningBeneficiaryTouched;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+
+/**
+ * The outcome of the speculative execution of a single transaction against the state at the
+ * start of the block.
+ *
+ * @param transactionAccumulator the accumulator holding every account and slot read or written by
+ *     the transaction
+ * @param transactionProcessingResult the result of the speculative execution
+ * @param isMiningBeneficiaryTouchedPreReward whether the transaction accessed the mining
+ *     beneficiary before it was credited with the transaction fee
+ * @param executionTimeNanos the time spent executing the transaction
+ */
+public record ParallelizedTransactionContext(
+    BonsaiWorldStateUpdateAccumulator transactionAccumulator,
+    TransactionProcessingResult transactionProcessingResult,
+    boolean isMiningBeneficiaryTouchedPreReward,
+    long executionTimeNanos) {}
@@ -0,0 +1,130 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.bonsai.worldview.StorageSlotKey;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Decides whether the result of a speculatively executed transaction can be merged into the block
+ * accumulator.
+ *
+ * <p>A speculative execution reads the state at the start of the block. Its result is only valid if
+ * none of the accounts and storage slots it read have been modified by the transactions that
+ * precede it in the block. Both sides are tracked by the Bonsai accumulators: every account and
+ * slot the transaction reads is recorded in its own accumulator, and the block accumulator keeps
+ * the value at the start of the block next to the current value.
+ */
+public class TransactionCollisionDetector {
+
+  /**
+   * Checks whether the speculative execution of a transaction conflicts with the changes already
+   * applied to the block.
+   *
+   * @param context the speculative execution context of the transaction
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param blockAccumulator the accumulator holding the changes of the preceding transactions
+   * @return true if the transaction has to be executed again sequentially
+   */
+  public boolean hasCollision(
+      final ParallelizedTransactionContext context,
+      final Address miningBeneficiary,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+        context.transactionAccumulator();
+    if (!isReplayable(transactionAccumulator)) {
+      return true;
+    }
+    for (final Map.Entry<Address, BonsaiValue<BonsaiAccount>> entry :
+        transactionAccumulator.getAccountsToUpdate().entrySet()) {
+      final Address address = entry.getKey();
+      if (address.equals(miningBeneficiary) && !context.isMiningBeneficiaryTouchedPreReward()) {
+        // the fee credit is applied as a delta on top of the block state
+        continue;
+      }
+      final BonsaiValue<BonsaiAccount> blockValue =
+          blockAccumulator.getAccountsToUpdate().get(address);
+      if (blockValue != null && isAccountModified(blockValue)) {
+        return true;
+      }
+      if (blockAccumulator.getStorageToClear().contains(address)) {
+        return true;
+      }
+    }
+    for (final var entry : transactionAccumulator.getStorageToUpdate().entrySet()) {
+      final Map<StorageSlotKey, BonsaiValue<UInt256>> blockSlots =
+          blockAccumulator.getStorageToUpdate().get(entry.getKey());
+      if (blockSlots == null) {
+        continue;
+      }
+      for (final StorageSlotKey slotKey : entry.getValue().keySet()) {
+        final BonsaiValue<UInt256> blockSlot = blockSlots.get(slotKey);
+        if (blockSlot != null && isSlotModified(blockSlot)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Self-destructs, storage clears and slots without a preimage cannot be replayed on top of the
+   * block accumulator through the world updater API, so those transactions always run again.
+   */
+  private boolean isReplayable(final BonsaiWorldStateUpdateAccumulator transactionAccumulator) {
+    if (!transactionAccumulator.getStorageToClear().isEmpty()) {
+      return false;
+    }
+    for (final BonsaiValue<BonsaiAccount> value :
+        transactionAccumulator.getAccountsToUpdate().values()) {
+      if (value.getPrior() != null && value.getUpdated() == null) {
+        return false;
+      }
+    }
+    for (final var slots : transactionAccumulator.getStorageToUpdate().values()) {
+      for (final Map.Entry<StorageSlotKey, BonsaiValue<UInt256>> slot : slots.entrySet()) {
+        if (isSlotModified(slot.getValue()) && slot.getKey().slotKey().isEmpty()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  static boolean isAccountModified(final BonsaiValue<BonsaiAccount> value) {
+    final BonsaiAccount prior = value.getPrior();
+    final BonsaiAccount updated = value.getUpdated();
+    if (prior == null || updated == null) {
+      return prior != updated;
+    }
+    return prior.getNonce() != updated.getNonce()
+        || !prior.getBalance().equals(updated.getBalance())
+        || !prior.getCodeHash().equals(updated.getCodeHash());
+  }
+
+  static boolean isSlotModified(final BonsaiValue<UInt256> value) {
+    final UInt256 prior = value.getPrior() == null ? UInt256.ZERO : value.getPrior();
+    final UInt256 updated = value.getUpdated() == null ? UInt256.ZERO : value.getUpdated();
+    return !Objects.equals(prior, updated);
+  }
+}
@@ -25,6 +25,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -81,12 +82,13 @@ public class PrivateStateKeyValueStorage implements PrivateStateStorage {
 
   @Override
   public boolean isEmpty() {
-    return keyValueStorage
-        .getAllKeysThat(
-            containsSuffix(LEGACY_STATUS_KEY_SUFFIX)
-                .or(containsSuffix(TX_RECEIPT_SUFFIX))
-                .or(containsSuffix(METADATA_KEY_SUFFIX)))
-        .isEmpty();
+    // stops at the first matching key instead of collecting all of them
+    try (final Stream<byte[]> keys = keyValueStorage.streamKeys()) {
+      return keys.noneMatch(
+          containsSuffix(LEGACY_STATUS_KEY_SUFFIX)
+              .or(containsSuffix(TX_RECEIPT_SUFFIX))
+              .or(containsSuffix(METADATA_KEY_SUFFIX)));
+    }
   }
 
   private Predicate<byte[]> containsSuffix(final Bytes suffix) {
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.proof;
 
+import static org.hyperledger.besu.crypto.Hash.keccak256Batch;
+
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.rlp.RLP;
@@ -94,6 +96,13 @@ public class WorldStateProofProvider {
     return accountProof.getProofRelatedNodes();
   }
 
+  public List<Bytes> getStorageProofRelatedNodes(
+      final Bytes32 storageRoot, final Bytes32 accountHash, final Bytes32 slotHash) {
+    final Proof<Bytes> storageProof =
+        newAccountStorageTrie(Hash.wrap(accountHash), storageRoot).getValueWithProof(slotHash);
+    return storageProof.getProofRelatedNodes();
+  }
+
   private MerkleTrie<Bytes, Bytes> newAccountStateTrie(final Bytes32 rootHash) {
     return new StoredMerklePatriciaTrie<>(
         worldStateStorage::getAccountStateTrieNode, rootHash, b -> b, b -> b);
@@ -133,10 +142,7 @@ public class WorldStateProofProvider {
     }
 
     // reconstruct a part of the trie with the proof
-    final Map<Bytes32, Bytes> proofsEntries = new HashMap<>();
-    for (Bytes proof : proofs) {
-      proofsEntries.put(Hash.hash(proof), proof);
-    }
+    final Map<Bytes32, Bytes> proofsEntries = proofsByHash(proofs);
 
     if (keys.isEmpty()) {
       final MerkleTrie<Bytes, Bytes> trie =
@@ -187,4 +193,19 @@ public class WorldStateProofProvider {
     // check if the generated root hash is valid
     return rootHash.equals(trie.getRootHash());
   }
+
+  /**
+   * Indexes the nodes of a proof by their hash, to look them up while rebuilding part of a trie.
+   *
+   * @param proofs the nodes of the proof
+   * @return the nodes of the proof by hash
+   */
+  public static Map<Bytes32, Bytes> proofsByHash(final List<Bytes> proofs) {
+    final Map<Bytes32, Bytes> proofsByHash = new HashMap<>(proofs.size());
+    final List<Bytes32> proofHashes = keccak256Batch(proofs);
+    for (int i = 0; i < proofs.size(); i++) {
+      proofsByHash.put(proofHashes.get(i), proofs.get(i));
+    }
+    return proofsByHash;
+  }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Keeps the bodies and receipts of the old canonical blocks in append-only {@link FreezerTable}s
+ * instead of the key value storage, where they would be rewritten by every compaction although
+ * they never change.
+ *
+ * <p>The blocks are frozen in order from the genesis block. The hash of every frozen block is
+ * kept along its data so that a lookup for a block that is not canonical any more returns empty.
+ */
+public class BlockFreezer implements Closeable {
+
+  public static final String DIRECTORY_NAME = "freezer";
+  // keeps the segments below the maximum size of a memory mapping
+  private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+  private final FreezerTable blockHashes;
+  private final FreezerTable blockBodies;
+  private final FreezerTable transactionReceipts;
+
+  private long nextBlockNumber;
+
+  BlockFreezer(
+      final FreezerTable blockHashes,
+      final FreezerTable blockBodies,
+      final FreezerTable transactionReceipts) {
+    this.blockHashes = blockHashes;
+    this.blockBodies = blockBodies;
+    this.transactionReceipts = transactionReceipts;
+    // a crash during a commit can leave some tables ahead of the others
+    final long frozenBlocks =
+        Math.min(blockHashes.size(), Math.min(blockBodies.size(), transactionReceipts.size()));
+    blockHashes.truncate(frozenBlocks);
+    blockBodies.truncate(frozenBlocks);
+    transactionReceipts.truncate(frozenBlocks);
+    this.nextBlockNumber = frozenBlocks;
+  }
+
+  /**
+   * Opens the freezer stored in a directory, creating it if it does not exist.
+   *
+   * @param directory the directory of the freezer files
+   * @return the freezer
+   */
+  public static BlockFreezer open(final Path directory) {
+    return new BlockFreezer(
+        FreezerTable.open(directory, "hashes", MAX_SEGMENT_SIZE),
+        FreezerTable.open(directory, "bodies", MAX_SEGMENT_SIZE),
+        FreezerTable.open(directory, "receipts", MAX_SEGMENT_SIZE));
+  }
+
+  /**
+   * Returns the number of committed blocks, which is also the number of the next block to freeze.
+   *
+   * @return the number of committed blocks
+   */
+  public long getFrozenBlocks() {
+    return blockHashes.size();
+  }
+
+  public Optional<BlockBody> getBlockBody(
+      final long blockNumber,
+      final Hash blockHash,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    return get(blockBodies, blockNumber, blockHash)
+        .map(bytes -> BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions));
+  }
+
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(
+      final long blockNumber, final Hash blockHash) {
+    return get(transactionReceipts, blockNumber, blockHash)
+        .map(bytes -> RLP.input(bytes).readList(TransactionReceipt::readFrom));
+  }
+
+  private Optional<Bytes> get(final FreezerTable table, final long blockNumber, final Hash hash) {
+    if (blockHashes.get(blockNumber).filter(hash::equals).isEmpty()) {
+      return Optional.empty();
+    }
+    return table.get(blockNumber);
+  }
+
+  /**
+   * Appends a block after the last appended one, it is not visible until committed. The data is
+   * encoded the same way as in the key value storage.
+   *
+   * @param blockNumber the number of the block
+   * @param blockHash the hash of the block
+   * @param blockBody the body of the block
+   * @param receipts the receipts of the block
+   */
+  public synchronized void freeze(
+      final long blockNumber,
+      final Hash blockHash,
+      final BlockBody blockBody,
+      final List<TransactionReceipt> receipts) {
+    checkArgument(
+        blockNumber == nextBlockNumber,
+        "Expected to freeze block %s but got block %s",
+        nextBlockNumber,
+        blockNumber);
+    blockBodies.append(RLP.encode(blockBody::writeWrappedBodyTo));
+    transactionReceipts.append(
+        RLP.encode(o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason)));
+    blockHashes.append(blockHash);
+    nextBlockNumber++;
+  }
+
+  /** Flushes the frozen blocks to disk and makes them visible. */
+  public synchronized void commit() {
+    // the hashes are committed last, a block is only found once all its data is committed
+    blockBodies.commit();
+    transactionReceipts.commit();
+    blockHashes.commit();
+  }
+
+  @Override
+  public void close() throws IOException {
+    blockHashes.close();
+    blockBodies.close();
+    transactionReceipts.close();
+  }
+}
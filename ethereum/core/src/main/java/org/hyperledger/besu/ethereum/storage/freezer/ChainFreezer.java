@@ -0,0 +1,175 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the bodies and receipts of the canonical blocks that are more than a given number of
+ * blocks below the finalized block from the blockchain storage to the {@link BlockFreezer}.
+ *
+ * <p>The blocks are frozen in the background when the chain head changes, in batches: a batch is
+ * committed to the freezer before it is removed from the blockchain storage, so that the blocks
+ * can always be read from one of them.
+ *
+ * <p>Closing the chain freezer waits for the running batch, it must be closed before the storages
+ * it writes to.
+ */
+public class ChainFreezer implements BlockAddedObserver, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ChainFreezer.class);
+  static final int FREEZE_BATCH_SIZE = 1_000;
+
+  private final BlockchainStorage blockchainStorage;
+  private final BlockFreezer blockFreezer;
+  private final long blocksRetained;
+  private final ExecutorService freezerExecutor;
+  private final AtomicBoolean freezing = new AtomicBoolean(false);
+
+  private volatile boolean missingBlockData;
+  private volatile boolean closed;
+  private boolean removedLastBatch;
+
+  public ChainFreezer(
+      final BlockchainStorage blockchainStorage,
+      final BlockFreezer blockFreezer,
+      final long blocksRetained,
+      final ExecutorService freezerExecutor,
+      final MetricsSystem metricsSystem) {
+    this.blockchainStorage = blockchainStorage;
+    this.blockFreezer = blockFreezer;
+    this.blocksRetained = blocksRetained;
+    this.freezerExecutor = freezerExecutor;
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "frozen_blocks",
+        "Number of blocks whose bodies and receipts are stored in the freezer",
+        blockFreezer::getFrozenBlocks);
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead() || missingBlockData || !freezing.compareAndSet(false, true)) {
+      return;
+    }
+    final long chainHeadNumber = event.getBlock().getHeader().getNumber();
+    try {
+      freezerExecutor.execute(
+          () -> {
+            try {
+              freezeBlocks(chainHeadNumber);
+            } catch (final RuntimeException e) {
+              LOG.error("Unable to move blocks to the freezer", e);
+            } finally {
+              freezing.set(false);
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      freezing.set(false);
+    }
+  }
+
+  void freezeBlocks(final long chainHeadNumber) {
+    if (!removedLastBatch) {
+      // a crash may have happened between the commit of the last batch and its removal
+      final long frozenBlocks = blockFreezer.getFrozenBlocks();
+      removeFrozenBlocks(Math.max(0, frozenBlocks - FREEZE_BATCH_SIZE), frozenBlocks);
+      removedLastBatch = true;
+    }
+    final long finalizedNumber =
+        blockchainStorage
+            .getFinalized()
+            .flatMap(blockchainStorage::getBlockHeader)
+            .map(BlockHeader::getNumber)
+            .orElse(chainHeadNumber);
+    final long freezeLimit = Math.min(finalizedNumber, chainHeadNumber) - blocksRetained;
+    while (!closed && !missingBlockData && blockFreezer.getFrozenBlocks() < freezeLimit) {
+      final long firstBlock = blockFreezer.getFrozenBlocks();
+      final long lastBlock = Math.min(freezeLimit, firstBlock + FREEZE_BATCH_SIZE);
+      for (long blockNumber = firstBlock; blockNumber < lastBlock; blockNumber++) {
+        if (!freezeBlock(blockNumber)) {
+          LOG.warn(
+              "Block {} cannot be moved to the freezer, its body or receipts are missing",
+              blockNumber);
+          missingBlockData = true;
+          break;
+        }
+      }
+      blockFreezer.commit();
+      removeFrozenBlocks(firstBlock, blockFreezer.getFrozenBlocks());
+      LOG.debug("Moved blocks {} to {} to the freezer", firstBlock, blockFreezer.getFrozenBlocks());
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    freezerExecutor.shutdown();
+    try {
+      if (!freezerExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("Moving blocks to the freezer did not complete before shutdown");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean freezeBlock(final long blockNumber) {
+    final Optional<Hash> blockHash = blockchainStorage.getBlockHash(blockNumber);
+    if (blockHash.isEmpty()) {
+      return false;
+    }
+    final Optional<BlockBody> blockBody = blockchainStorage.getBlockBody(blockHash.get());
+    final Optional<List<TransactionReceipt>> receipts =
+        blockchainStorage.getTransactionReceipts(blockHash.get());
+    if (blockBody.isEmpty() || receipts.isEmpty()) {
+      return false;
+    }
+    blockFreezer.freeze(blockNumber, blockHash.get(), blockBody.get(), receipts.get());
+    return true;
+  }
+
+  private void removeFrozenBlocks(final long fromBlock, final long toBlock) {
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    for (long blockNumber = fromBlock; blockNumber < toBlock; blockNumber++) {
+      blockchainStorage
+          .getBlockHash(blockNumber)
+          .ifPresent(
+              blockHash -> {
+                updater.removeBlockBody(blockHash);
+                updater.removeTransactionReceipts(blockHash);
+              });
+    }
+    updater.commit();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link BlockchainStorage} reading the bodies and receipts that are not in the underlying
+ * storage any more from the {@link BlockFreezer}. The headers, which give the number of a block,
+ * stay in the underlying storage.
+ */
+public class FreezerBlockchainStorage implements BlockchainStorage {
+
+  private final BlockchainStorage blockchainStorage;
+  private final BlockFreezer blockFreezer;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+
+  public FreezerBlockchainStorage(
+      final BlockchainStorage blockchainStorage,
+      final BlockFreezer blockFreezer,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this.blockchainStorage = blockchainStorage;
+    this.blockFreezer = blockFreezer;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return blockchainStorage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return blockchainStorage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return blockchainStorage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return blockchainStorage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return blockchainStorage.getBlockHeader(blockHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return blockchainStorage
+        .getBlockBody(blockHash)
+        .or(
+            () ->
+                getFrozenBlockNumber(blockHash)
+                    .flatMap(
+                        number ->
+                            blockFreezer.getBlockBody(number, blockHash, blockHeaderFunctions)));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return blockchainStorage
+        .getTransactionReceipts(blockHash)
+        .or(
+            () ->
+                getFrozenBlockNumber(blockHash)
+                    .flatMap(number -> blockFreezer.getTransactionReceipts(number, blockHash)));
+  }
+
+  private Optional<Long> getFrozenBlockNumber(final Hash blockHash) {
+    if (blockFreezer.getFrozenBlocks() == 0) {
+      return Optional.empty();
+    }
+    return blockchainStorage
+        .getBlockHeader(blockHash)
+        .map(BlockHeader::getNumber)
+        .filter(number -> number < blockFreezer.getFrozenBlocks());
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return blockchainStorage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return blockchainStorage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return blockchainStorage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return blockchainStorage.updater();
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An append-only table holding one item per block number, starting at the genesis block.
+ *
+ * <p>The items are appended to data files of at most {@code maxSegmentSize} bytes, the segments.
+ * An index file holds the segment, offset and length of every item, so that any item is found with
+ * a single index read. The segments are memory mapped and the items are returned as views of the
+ * mapping, without copy.
+ *
+ * <p>Appended items are only visible, and only survive a restart, once committed. The segments are
+ * flushed before the index entries are written, so that the index never references missing data,
+ * and the data written after the last committed index entry is discarded when the table is opened.
+ * The table supports a single writer and concurrent readers.
+ */
+public class FreezerTable implements Closeable {
+
+  // the segment, offset and length of an item
+  static final int INDEX_ENTRY_SIZE = 3 * Integer.BYTES;
+
+  private final Path directory;
+  private final String name;
+  private final int maxSegmentSize;
+  private final FileChannel index;
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+  private final ByteArrayOutputStream pendingIndexEntries = new ByteArrayOutputStream();
+
+  private volatile long items;
+  private int pendingItems;
+  private int headOffset;
+  private int firstModifiedSegment;
+  private boolean closed;
+
+  private FreezerTable(final Path directory, final String name, final int maxSegmentSize)
+      throws IOException {
+    this.directory = directory;
+    this.name = name;
+    this.maxSegmentSize = maxSegmentSize;
+    this.index =
+        FileChannel.open(
+            directory.resolve(name + ".idx"),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    for (int i = 0; Files.exists(segmentPath(i)); i++) {
+      segments.add(Segment.open(segmentPath(i)));
+    }
+    if (segments.isEmpty()) {
+      segments.add(Segment.open(segmentPath(0)));
+    }
+    long committedItems = index.size() / INDEX_ENTRY_SIZE;
+    // drop the index entries referencing data lost in a crash
+    while (committedItems > 0 && !isStored(readIndexEntry(committedItems - 1))) {
+      committedItems--;
+    }
+    truncateTo(committedItems);
+  }
+
+  /**
+   * Opens a table, creating it if it does not exist.
+   *
+   * @param directory the directory of the table files
+   * @param name the name of the table, used as prefix of its files
+   * @param maxSegmentSize the size from which items are appended to a new segment
+   * @return the table
+   */
+  public static FreezerTable open(
+      final Path directory, final String name, final int maxSegmentSize) {
+    try {
+      Files.createDirectories(directory);
+      return new FreezerTable(directory, name, maxSegmentSize);
+    } catch (final IOException e) {
+      throw new StorageException("Unable to open freezer table " + name, e);
+    }
+  }
+
+  /**
+   * Returns the number of committed items.
+   *
+   * @return the number of committed items
+   */
+  public long size() {
+    return items;
+  }
+
+  /**
+   * Returns a committed item. The item is a view of the memory mapped segment, it is only valid
+   * until the table is closed.
+   *
+   * @param itemNumber the number of the item
+   * @return the item, or empty if it is not committed
+   */
+  public Optional<Bytes> get(final long itemNumber) {
+    if (itemNumber < 0 || itemNumber >= items) {
+      return Optional.empty();
+    }
+    try {
+      final IndexEntry entry = readIndexEntry(itemNumber);
+      final ByteBuffer mapping = segments.get(entry.segment()).map(entry.offset() + entry.length());
+      return Optional.of(Bytes.wrapByteBuffer(mapping, entry.offset(), entry.length()));
+    } catch (final IOException e) {
+      throw new StorageException("Unable to read item " + itemNumber + " of " + name, e);
+    }
+  }
+
+  /**
+   * Appends an item after the last appended one. It is not visible until committed.
+   *
+   * @param item the item
+   */
+  public synchronized void append(final Bytes item) {
+    checkState(!closed, "Freezer table %s is closed", name);
+    try {
+      if (headOffset > 0 && (long) headOffset + item.size() > maxSegmentSize) {
+        segments.add(Segment.open(segmentPath(segments.size())));
+        headOffset = 0;
+      }
+      final int segment = segments.size() - 1;
+      segments.get(segment).write(ByteBuffer.wrap(item.toArrayUnsafe()), headOffset);
+      pendingIndexEntries.writeBytes(
+          ByteBuffer.allocate(INDEX_ENTRY_SIZE)
+              .putInt(segment)
+              .putInt(headOffset)
+              .putInt(item.size())
+              .array());
+      headOffset += item.size();
+      pendingItems++;
+    } catch (final IOException e) {
+      throw new StorageException("Unable to append to " + name, e);
+    }
+  }
+
+  /** Flushes the appended items to disk and makes them visible. */
+  public synchronized void commit() {
+    if (pendingItems == 0) {
+      return;
+    }
+    try {
+      for (int i = firstModifiedSegment; i < segments.size(); i++) {
+        segments.get(i).channel.force(false);
+      }
+      writeFully(
+          index, ByteBuffer.wrap(pendingIndexEntries.toByteArray()), items * INDEX_ENTRY_SIZE);
+      index.force(false);
+    } catch (final IOException e) {
+      throw new StorageException("Unable to commit " + name, e);
+    }
+    items += pendingItems;
+    pendingItems = 0;
+    pendingIndexEntries.reset();
+    firstModifiedSegment = segments.size() - 1;
+  }
+
+  /**
+   * Removes the items from the given number, including the ones not committed.
+   *
+   * @param itemCount the number of items to keep
+   */
+  public synchronized void truncate(final long itemCount) {
+    try {
+      truncateTo(Math.min(itemCount, items));
+    } catch (final IOException e) {
+      throw new StorageException("Unable to truncate " + name, e);
+    }
+  }
+
+  private void truncateTo(final long itemCount) throws IOException {
+    final IndexEntry last =
+        itemCount == 0 ? new IndexEntry(0, 0, 0) : readIndexEntry(itemCount - 1);
+    index.truncate(itemCount * INDEX_ENTRY_SIZE);
+    while (segments.size() > last.segment() + 1) {
+      final Segment removed = segments.remove(segments.size() - 1);
+      removed.close();
+      Files.delete(removed.path);
+    }
+    segments.get(last.segment()).truncate(last.offset() + last.length());
+    items = itemCount;
+    pendingItems = 0;
+    pendingIndexEntries.reset();
+    headOffset = last.offset() + last.length();
+    firstModifiedSegment = last.segment();
+  }
+
+  private boolean isStored(final IndexEntry entry) throws IOException {
+    return entry.segment() < segments.size()
+        && segments.get(entry.segment()).channel.size() >= (long) entry.offset() + entry.length();
+  }
+
+  private IndexEntry readIndexEntry(final long itemNumber) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+    long position = itemNumber * INDEX_ENTRY_SIZE;
+    while (buffer.hasRemaining()) {
+      final int read = index.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of index at item " + itemNumber);
+      }
+      position += read;
+    }
+    buffer.flip();
+    return new IndexEntry(buffer.getInt(), buffer.getInt(), buffer.getInt());
+  }
+
+  private Path segmentPath(final int segment) {
+    return directory.resolve(String.format("%s.%04d.dat", name, segment));
+  }
+
+  private static void writeFully(
+      final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+    long currentPosition = position;
+    while (buffer.hasRemaining()) {
+      currentPosition += channel.write(buffer, currentPosition);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    index.close();
+    for (final Segment segment : segments) {
+      segment.close();
+    }
+  }
+
+  private record IndexEntry(int segment, int offset, int length) {}
+
+  private static class Segment implements Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private volatile MappedByteBuffer mapping;
+
+    private Segment(final Path path, final FileChannel channel) {
+      this.path = path;
+      this.channel = channel;
+    }
+
+    static Segment open(final Path path) throws IOException {
+      return new Segment(
+          path,
+          FileChannel.open(
+              path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    void write(final ByteBuffer buffer, final long position) throws IOException {
+      writeFully(channel, buffer, position);
+    }
+
+    synchronized void truncate(final long size) throws IOException {
+      // the current mapping would reference the removed data
+      mapping = null;
+      channel.truncate(size);
+    }
+
+    /** Returns a mapping of the segment covering at least the given number of bytes. */
+    ByteBuffer map(final int minimumSize) throws IOException {
+      final MappedByteBuffer current = mapping;
+      if (current != null && current.capacity() >= minimumSize) {
+        return current;
+      }
+      return remap(minimumSize);
+    }
+
+    private synchronized ByteBuffer remap(final int minimumSize) throws IOException {
+      if (mapping == null || mapping.capacity() < minimumSize) {
+        // the head segment keeps growing, map all of its committed data at once
+        mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+      return mapping;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.logindex;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Finds the blocks with logs matching addresses and topics from the posting lists of the {@link
+ * LogIndexStorage}, without reading the blooms or the receipts of the other blocks.
+ */
+public class LogIndex {
+
+  /**
+   * The range of canonical blocks covered by the index.
+   *
+   * @param fromBlockNumber the first indexed block (inclusive)
+   * @param toBlockNumber the last indexed block (inclusive)
+   */
+  public record IndexedBlocks(long fromBlockNumber, long toBlockNumber) {}
+
+  private final Blockchain blockchain;
+  private final LogIndexStorage logIndexStorage;
+
+  public LogIndex(final Blockchain blockchain, final LogIndexStorage logIndexStorage) {
+    this.blockchain = blockchain;
+    this.logIndexStorage = logIndexStorage;
+  }
+
+  /**
+   * Returns the canonical blocks covered by the index. The index is updated in the background, so
+   * the last blocks of the chain may not be indexed yet.
+   *
+   * @return the indexed blocks, empty if the index is not built or has not caught up with a reorg
+   */
+  public Optional<IndexedBlocks> getIndexedBlocks() {
+    final Optional<Long> indexedFrom = logIndexStorage.getIndexedFrom();
+    final Optional<Long> indexedHeadNumber = logIndexStorage.getIndexedHeadNumber();
+    final Optional<Hash> indexedHeadHash = logIndexStorage.getIndexedHeadHash();
+    if (indexedFrom.isEmpty() || indexedHeadNumber.isEmpty() || indexedHeadHash.isEmpty()) {
+      return Optional.empty();
+    }
+    // the indexed blocks are canonical as long as the indexed head is
+    if (!blockchain.getBlockHashByNumber(indexedHeadNumber.get()).equals(indexedHeadHash)) {
+      return Optional.empty();
+    }
+    return Optional.of(new IndexedBlocks(indexedFrom.get(), indexedHeadNumber.get()));
+  }
+
+  /**
+   * Finds the blocks of an indexed range with a log emitted by one of the addresses and, at each
+   * position, with one of the topics. An empty list of addresses or a list of topics containing
+   * null matches any value.
+   *
+   * @param addresses the addresses
+   * @param topics the topics allowed at each position
+   * @param fromBlockNumber the first block of the range (inclusive)
+   * @param toBlockNumber the last block of the range (inclusive)
+   * @return the matching blocks as offsets from {@code fromBlockNumber}, empty if neither the
+   *     addresses nor the topics restrict the blocks
+   */
+  public Optional<BitSet> matchingBlocks(
+      final List<Address> addresses,
+      final List<List<LogTopic>> topics,
+      final long fromBlockNumber,
+      final long toBlockNumber) {
+    BitSet matches = null;
+    if (!addresses.isEmpty()) {
+      matches =
+          anyOf(
+              addresses.stream().map(LogIndexStorage::addressTerm).toList(),
+              fromBlockNumber,
+              toBlockNumber);
+    }
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> positionTopics = topics.get(position);
+      if (positionTopics.isEmpty() || positionTopics.stream().anyMatch(Objects::isNull)) {
+        continue;
+      }
+      final int topicPosition = position;
+      final BitSet positionMatches =
+          anyOf(
+              positionTopics.stream()
+                  .map(topic -> LogIndexStorage.topicTerm(topicPosition, topic))
+                  .toList(),
+              fromBlockNumber,
+              toBlockNumber);
+      if (matches == null) {
+        matches = positionMatches;
+      } else {
+        matches.and(positionMatches);
+      }
+    }
+    return Optional.ofNullable(matches);
+  }
+
+  private BitSet anyOf(
+      final List<Bytes> terms, final long fromBlockNumber, final long toBlockNumber) {
+    final BitSet blocks = new BitSet();
+    for (final Bytes term : terms) {
+      blocks.or(logIndexStorage.getBlocks(term, fromBlockNumber, toBlockNumber));
+    }
+    return blocks;
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.logindex;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Stores the posting lists of the log index: for each log address and each topic at a given
+ * position, the numbers of the blocks with a log matching it.
+ *
+ * <p>A posting list is split in buckets of {@value #BLOCKS_PER_BUCKET} blocks, each stored under
+ * the term followed by the bucket number, so that a block range only reads its buckets. The block
+ * numbers of a bucket are encoded as variable length deltas.
+ */
+public class LogIndexStorage {
+  static final int BLOCKS_PER_BUCKET = 1024;
+
+  private static final Bytes INDEXED_FROM_KEY =
+      Bytes.wrap("indexedFrom".getBytes(StandardCharsets.UTF_8));
+  private static final Bytes INDEXED_HEAD_NUMBER_KEY =
+      Bytes.wrap("indexedHeadNumber".getBytes(StandardCharsets.UTF_8));
+  private static final Bytes INDEXED_HEAD_HASH_KEY =
+      Bytes.wrap("indexedHeadHash".getBytes(StandardCharsets.UTF_8));
+
+  private static final Bytes VARIABLES_PREFIX = Bytes.of(1);
+  private static final Bytes POSTINGS_PREFIX = Bytes.of(2);
+
+  private static final byte ADDRESS_TERM = 0;
+  private static final byte FIRST_TOPIC_TERM = 1;
+
+  private final KeyValueStorage storage;
+
+  public LogIndexStorage(final KeyValueStorage storage) {
+    this.storage = storage;
+  }
+
+  public static Bytes addressTerm(final Address address) {
+    return Bytes.concatenate(Bytes.of(ADDRESS_TERM), address);
+  }
+
+  public static Bytes topicTerm(final int position, final LogTopic topic) {
+    return Bytes.concatenate(Bytes.of(FIRST_TOPIC_TERM + position), topic);
+  }
+
+  /**
+   * Returns the lowest block number of the indexed range.
+   *
+   * @return the lowest indexed block number, empty if nothing has been indexed yet
+   */
+  public Optional<Long> getIndexedFrom() {
+    return getVariable(INDEXED_FROM_KEY).map(UInt256::fromBytes).map(UInt256::toLong);
+  }
+
+  /**
+   * Returns the number of the block up to which the index is built.
+   *
+   * @return the number of the indexed head, empty if nothing has been indexed yet
+   */
+  public Optional<Long> getIndexedHeadNumber() {
+    return getVariable(INDEXED_HEAD_NUMBER_KEY).map(UInt256::fromBytes).map(UInt256::toLong);
+  }
+
+  /**
+   * Returns the hash of the block up to which the index is built. The index matches the chain
+   * ending with this block, which may have been reorganised since.
+   *
+   * @return the hash of the indexed head, empty if nothing has been indexed yet
+   */
+  public Optional<Hash> getIndexedHeadHash() {
+    return getVariable(INDEXED_HEAD_HASH_KEY).map(bytes -> Hash.wrap(Bytes32.wrap(bytes, 0)));
+  }
+
+  /**
+   * Reads the blocks of a range with a log matching a term.
+   *
+   * @param term the address or topic term
+   * @param fromBlockNumber the first block of the range (inclusive)
+   * @param toBlockNumber the last block of the range (inclusive)
+   * @return the blocks, as offsets from {@code fromBlockNumber}
+   */
+  public BitSet getBlocks(final Bytes term, final long fromBlockNumber, final long toBlockNumber) {
+    final BitSet blocks = new BitSet();
+    if (fromBlockNumber > toBlockNumber) {
+      return blocks;
+    }
+    final long fromBucket = fromBlockNumber / BLOCKS_PER_BUCKET;
+    final long toBucket = toBlockNumber / BLOCKS_PER_BUCKET;
+    try (final Stream<Pair<byte[], byte[]>> buckets =
+        storage.streamRange(
+            postingsKey(term, fromBucket).toArrayUnsafe(),
+            postingsKey(term, toBucket + 1).toArrayUnsafe())) {
+      buckets.forEach(
+          bucket -> {
+            final Bytes key = Bytes.wrap(bucket.getKey());
+            final long bucketNumber = key.getLong(key.size() - Long.BYTES);
+            for (final long blockNumber : decode(bucketNumber, Bytes.wrap(bucket.getValue()))) {
+              if (blockNumber >= fromBlockNumber && blockNumber <= toBlockNumber) {
+                blocks.set(Math.toIntExact(blockNumber - fromBlockNumber));
+              }
+            }
+          });
+    }
+    return blocks;
+  }
+
+  public Updater updater() {
+    return new Updater();
+  }
+
+  private Optional<Bytes> getVariable(final Bytes key) {
+    return storage.get(Bytes.concatenate(VARIABLES_PREFIX, key).toArrayUnsafe()).map(Bytes::wrap);
+  }
+
+  private static Bytes postingsKey(final Bytes term, final long bucketNumber) {
+    return Bytes.concatenate(POSTINGS_PREFIX, term, Bytes.ofUnsignedLong(bucketNumber));
+  }
+
+  private static NavigableSet<Long> decode(final long bucketNumber, final Bytes encoded) {
+    final NavigableSet<Long> blockNumbers = new TreeSet<>();
+    long blockNumber = bucketNumber * BLOCKS_PER_BUCKET;
+    long delta = 0;
+    int shift = 0;
+    for (int i = 0; i < encoded.size(); i++) {
+      final byte b = encoded.get(i);
+      delta |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        blockNumber += delta;
+        blockNumbers.add(blockNumber);
+        delta = 0;
+        shift = 0;
+      } else {
+        shift += 7;
+      }
+    }
+    return blockNumbers;
+  }
+
+  private static Bytes encode(final long bucketNumber, final NavigableSet<Long> blockNumbers) {
+    final MutableBytes encoded = MutableBytes.create(blockNumbers.size() * 2);
+    int size = 0;
+    long previous = bucketNumber * BLOCKS_PER_BUCKET;
+    for (final long blockNumber : blockNumbers) {
+      // deltas are below BLOCKS_PER_BUCKET, so two bytes are always enough
+      long delta = blockNumber - previous;
+      while (delta >= 0x80) {
+        encoded.set(size++, (byte) (delta | 0x80));
+        delta >>>= 7;
+      }
+      encoded.set(size++, (byte) delta);
+      previous = blockNumber;
+    }
+    return encoded.slice(0, size);
+  }
+
+  /**
+   * Collects the changes of the posting lists and applies them in a single transaction. The
+   * buckets changed several times are only read and written once.
+   */
+  public class Updater {
+    private final Map<Bytes, NavigableMap<Long, Boolean>> changes = new HashMap<>();
+    private final KeyValueStorageTransaction transaction = storage.startTransaction();
+
+    private Updater() {}
+
+    public void addBlock(final Bytes term, final long blockNumber) {
+      change(term, blockNumber, true);
+    }
+
+    public void removeBlock(final Bytes term, final long blockNumber) {
+      change(term, blockNumber, false);
+    }
+
+    public void setIndexedFrom(final long blockNumber) {
+      putVariable(INDEXED_FROM_KEY, UInt256.valueOf(blockNumber));
+    }
+
+    public void setIndexedHead(final long blockNumber, final Hash blockHash) {
+      putVariable(INDEXED_HEAD_NUMBER_KEY, UInt256.valueOf(blockNumber));
+      putVariable(INDEXED_HEAD_HASH_KEY, blockHash);
+    }
+
+    public void commit() {
+      final List<Bytes> keys = new ArrayList<>(changes.keySet());
+      final List<Optional<byte[]>> values =
+          storage.multiGet(keys.stream().map(Bytes::toArrayUnsafe).toList());
+      for (int i = 0; i < keys.size(); i++) {
+        final Bytes key = keys.get(i);
+        final long bucketNumber = key.getLong(key.size() - Long.BYTES);
+        final NavigableSet<Long> blockNumbers =
+            values
+                .get(i)
+                .map(value -> decode(bucketNumber, Bytes.wrap(value)))
+                .orElseGet(TreeSet::new);
+        changes
+            .get(key)
+            .forEach(
+                (blockNumber, added) -> {
+                  if (added) {
+                    blockNumbers.add(blockNumber);
+                  } else {
+                    blockNumbers.remove(blockNumber);
+                  }
+                });
+        if (blockNumbers.isEmpty()) {
+          transaction.remove(key.toArrayUnsafe());
+        } else {
+          transaction.put(key.toArrayUnsafe(), encode(bucketNumber, blockNumbers).toArrayUnsafe());
+        }
+      }
+      transaction.commit();
+    }
+
+    private void change(final Bytes term, final long blockNumber, final boolean added) {
+      changes
+          .computeIfAbsent(
+              postingsKey(term, blockNumber / BLOCKS_PER_BUCKET), __ -> new TreeMap<>())
+          .put(blockNumber, added);
+    }
+
+    private void putVariable(final Bytes key, final Bytes value) {
+      transaction.put(
+          Bytes.concatenate(VARIABLES_PREFIX, key).toArrayUnsafe(), value.toArrayUnsafe());
+    }
+  }
+}
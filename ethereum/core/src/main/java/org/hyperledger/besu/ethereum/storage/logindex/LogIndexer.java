@@ -0,0 +1,227 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.logindex;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link LogIndexStorage} in line with the canonical chain.
+ *
+ * <p>When the chain head changes the index is updated in the background: the indexed blocks that
+ * are no longer canonical are removed, walking back from the indexed head to the canonical chain,
+ * then the canonical blocks up to the chain head are added. The index starts at the chain head it
+ * is enabled at, the older blocks are indexed afterwards, a batch at a time between the head
+ * updates, down to the genesis block or the first block whose receipts are missing.
+ */
+public class LogIndexer implements BlockAddedObserver, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(LogIndexer.class);
+  static final int INDEX_BATCH_SIZE = 1_000;
+
+  private final Blockchain blockchain;
+  private final LogIndexStorage logIndexStorage;
+  private final ExecutorService indexerExecutor;
+  private final AtomicBoolean indexing = new AtomicBoolean(false);
+  private final AtomicBoolean chainHeadChanged = new AtomicBoolean(false);
+
+  private volatile long indexedFrom;
+  private boolean olderBlocksMissing;
+
+  public LogIndexer(
+      final Blockchain blockchain,
+      final LogIndexStorage logIndexStorage,
+      final ExecutorService indexerExecutor,
+      final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.logIndexStorage = logIndexStorage;
+    this.indexerExecutor = indexerExecutor;
+    this.indexedFrom = logIndexStorage.getIndexedFrom().orElse(-1L);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "log_index_from_block",
+        "Number of the lowest block covered by the log index",
+        () -> indexedFrom);
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    chainHeadChanged.set(true);
+    scheduleIndexing();
+  }
+
+  private void scheduleIndexing() {
+    if (indexerExecutor.isShutdown() || !indexing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      indexerExecutor.execute(
+          () -> {
+            boolean olderBlocksRemaining = false;
+            try {
+              while (chainHeadChanged.getAndSet(false)) {
+                indexChainHead();
+              }
+              olderBlocksRemaining = indexOlderBlocks();
+            } catch (final RuntimeException e) {
+              LOG.error("Unable to update the log index", e);
+            } finally {
+              indexing.set(false);
+            }
+            if (olderBlocksRemaining || chainHeadChanged.get()) {
+              scheduleIndexing();
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      indexing.set(false);
+    }
+  }
+
+  void indexChainHead() {
+    final BlockHeader chainHead = blockchain.getChainHeadHeader();
+    LogIndexStorage.Updater updater = logIndexStorage.updater();
+    final long firstBlock;
+    final Optional<Hash> indexedHeadHash = logIndexStorage.getIndexedHeadHash();
+    if (indexedHeadHash.isEmpty()) {
+      updater.setIndexedFrom(chainHead.getNumber());
+      indexedFrom = chainHead.getNumber();
+      firstBlock = chainHead.getNumber();
+    } else {
+      BlockHeader indexedHead = getBlockHeader(indexedHeadHash.get());
+      while (!isCanonical(indexedHead)) {
+        final BlockHeader removedBlock = indexedHead;
+        blockchain
+            .getTxReceipts(removedBlock.getHash())
+            .ifPresent(receipts -> indexBlock(updater, removedBlock.getNumber(), receipts, false));
+        indexedHead = getBlockHeader(indexedHead.getParentHash());
+      }
+      firstBlock = indexedHead.getNumber() + 1;
+      if (firstBlock > chainHead.getNumber()) {
+        updater.setIndexedHead(indexedHead.getNumber(), indexedHead.getHash());
+      }
+    }
+    for (long blockNumber = firstBlock; blockNumber <= chainHead.getNumber(); blockNumber++) {
+      final Hash blockHash = blockchain.getBlockHashByNumber(blockNumber).orElseThrow();
+      final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockHash).orElseThrow();
+      indexBlock(updater, blockNumber, receipts, true);
+      updater.setIndexedHead(blockNumber, blockHash);
+      if ((blockNumber - firstBlock + 1) % INDEX_BATCH_SIZE == 0) {
+        updater.commit();
+        updater = logIndexStorage.updater();
+      }
+    }
+    updater.commit();
+  }
+
+  boolean indexOlderBlocks() {
+    if (olderBlocksMissing || indexedFrom <= 0) {
+      return false;
+    }
+    final LogIndexStorage.Updater updater = logIndexStorage.updater();
+    final long lastBlock = Math.max(0, indexedFrom - INDEX_BATCH_SIZE);
+    long blockNumber = indexedFrom - 1;
+    while (blockNumber >= lastBlock) {
+      final Optional<List<TransactionReceipt>> receipts =
+          blockchain.getBlockHashByNumber(blockNumber).flatMap(blockchain::getTxReceipts);
+      if (receipts.isEmpty()) {
+        LOG.info(
+            "The log index starts at block {}, the receipts of the older blocks are missing",
+            blockNumber + 1);
+        olderBlocksMissing = true;
+        break;
+      }
+      indexBlock(updater, blockNumber, receipts.get(), true);
+      blockNumber--;
+    }
+    updater.setIndexedFrom(blockNumber + 1);
+    updater.commit();
+    indexedFrom = blockNumber + 1;
+    return !olderBlocksMissing && indexedFrom > 0;
+  }
+
+  private static void indexBlock(
+      final LogIndexStorage.Updater updater,
+      final long blockNumber,
+      final List<TransactionReceipt> receipts,
+      final boolean added) {
+    final Set<Bytes> terms = new HashSet<>();
+    for (final TransactionReceipt receipt : receipts) {
+      for (final Log log : receipt.getLogsList()) {
+        terms.add(LogIndexStorage.addressTerm(log.getLogger()));
+        final List<LogTopic> topics = log.getTopics();
+        for (int position = 0; position < topics.size(); position++) {
+          terms.add(LogIndexStorage.topicTerm(position, topics.get(position)));
+        }
+      }
+    }
+    for (final Bytes term : terms) {
+      if (added) {
+        updater.addBlock(term, blockNumber);
+      } else {
+        updater.removeBlock(term, blockNumber);
+      }
+    }
+  }
+
+  private boolean isCanonical(final BlockHeader header) {
+    return blockchain
+        .getBlockHashByNumber(header.getNumber())
+        .map(header.getHash()::equals)
+        .orElse(false);
+  }
+
+  private BlockHeader getBlockHeader(final Hash blockHash) {
+    return blockchain
+        .getBlockHeader(blockHash)
+        .orElseThrow(
+            () -> new IllegalStateException("Indexed block " + blockHash + " is missing"));
+  }
+
+  @Override
+  public void close() {
+    indexerExecutor.shutdown();
+    try {
+      if (!indexerExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("The log index update did not complete before shutdown");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -30,7 +30,8 @@ import java.util.Map;
  * the block being imported is on a fork.
  *
  * <p>A new BlockHashCache must be created for each block being processed but should be reused for
- * all transactions within that block.
+ * all transactions within that block. Lookups are synchronized so that transactions of the block
+ * executed concurrently can share it.
  */
 public class CachingBlockHashLookup implements BlockHashLookup {
 
@@ -46,7 +47,7 @@ public class CachingBlockHashLookup implements BlockHashLookup {
   }
 
   @Override
-  public Hash apply(final Long blockNumber) {
+  public synchronized Hash apply(final Long blockNumber) {
     final Hash cachedHash = hashByNumber.get(blockNumber);
     if (cachedHash != null) {
       return cachedHash;
@@ -22,6 +22,11 @@ import org.immutables.value.Value;
 public interface DataStorageConfiguration {
 
   long DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD = 512;
+  long DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD = 512;
+  int DEFAULT_BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE = 1_000;
+  long DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE_MIB = 128;
+  long DEFAULT_BLOCKCHAIN_CACHE_SIZE_MIB = 64;
+  long DEFAULT_CHAIN_FREEZER_BLOCKS_RETAINED = 90_000;
 
   DataStorageConfiguration DEFAULT_CONFIG =
       ImmutableDataStorageConfiguration.builder()
@@ -32,4 +37,54 @@ public interface DataStorageConfiguration {
   DataStorageFormat getDataStorageFormat();
 
   Long getBonsaiMaxLayersToLoad();
+
+  @Value.Default
+  default boolean getBonsaiParallelTxProcessingEnabled() {
+    return false;
+  }
+
+  @Value.Default
+  default boolean getBonsaiStatePrefetchEnabled() {
+    return false;
+  }
+
+  @Value.Default
+  default long getBonsaiTrieNodeCacheSizeMib() {
+    return DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE_MIB;
+  }
+
+  @Value.Default
+  default boolean getBonsaiTrieLogPruningEnabled() {
+    return false;
+  }
+
+  @Value.Default
+  default long getBonsaiTrieLogRetentionThreshold() {
+    return DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD;
+  }
+
+  @Value.Default
+  default int getBonsaiTrieLogPruningBatchSize() {
+    return DEFAULT_BONSAI_TRIE_LOG_PRUNING_BATCH_SIZE;
+  }
+
+  @Value.Default
+  default long getBlockchainCacheSizeMib() {
+    return DEFAULT_BLOCKCHAIN_CACHE_SIZE_MIB;
+  }
+
+  @Value.Default
+  default boolean getChainFreezerEnabled() {
+    return false;
+  }
+
+  @Value.Default
+  default long getChainFreezerBlocksRetained() {
+    return DEFAULT_CHAIN_FREEZER_BLOCKS_RETAINED;
+  }
+
+  @Value.Default
+  default boolean getLogIndexEnabled() {
+    return false;
+  }
 }
@@ -45,10 +45,11 @@ public class ExecutionContextTestFixture {
 
   private final ProtocolSchedule protocolSchedule;
   private final ProtocolContext protocolContext;
-  private static final GenesisConfigFile genesisConfigFile = GenesisConfigFile.mainnet();
 
   private ExecutionContextTestFixture(
-      final ProtocolSchedule protocolSchedule, final KeyValueStorage keyValueStorage) {
+      final GenesisConfigFile genesisConfigFile,
+      final ProtocolSchedule protocolSchedule,
+      final KeyValueStorage keyValueStorage) {
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfigFile, protocolSchedule);
     this.genesis = genesisState.getBlock();
     this.keyValueStorage = keyValueStorage;
@@ -99,9 +100,15 @@ public class ExecutionContextTestFixture {
 
   public static class Builder {
 
+    private GenesisConfigFile genesisConfigFile;
     private KeyValueStorage keyValueStorage;
     private ProtocolSchedule protocolSchedule;
 
+    public Builder genesisConfigFile(final GenesisConfigFile genesisConfigFile) {
+      this.genesisConfigFile = genesisConfigFile;
+      return this;
+    }
+
     public Builder keyValueStorage(final KeyValueStorage keyValueStorage) {
       this.keyValueStorage = keyValueStorage;
       return this;
@@ -113,6 +120,9 @@ public class ExecutionContextTestFixture {
     }
 
     public ExecutionContextTestFixture build() {
+      if (genesisConfigFile == null) {
+        genesisConfigFile = GenesisConfigFile.mainnet();
+      }
       if (protocolSchedule == null) {
         protocolSchedule =
             new ProtocolScheduleBuilder(
@@ -127,7 +137,7 @@ public class ExecutionContextTestFixture {
       if (keyValueStorage == null) {
         keyValueStorage = new InMemoryKeyValueStorage();
       }
-      return new ExecutionContextTestFixture(protocolSchedule, keyValueStorage);
+      return new ExecutionContextTestFixture(genesisConfigFile, protocolSchedule, keyValueStorage);
     }
   }
 }
@@ -101,6 +101,17 @@ public class BonsaiWorldStateKeyValueStorageTest {
     assertThat(storage.getCode(Hash.hash(bytes), Hash.EMPTY)).contains(bytes);
   }
 
+  @Test
+  public void getCodeByHash_returnsTheCodeOfAnyAccount() {
+    final Bytes bytes = Bytes.fromHexString("0x123456");
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    storage.updater().putCode(Hash.hash(Bytes.of(1)), null, bytes).commit();
+
+    assertThat(storage.getCodeByHash(Hash.hash(bytes))).contains(bytes);
+    assertThat(storage.getCodeByHash(Hash.EMPTY)).contains(Bytes.EMPTY);
+    assertThat(storage.getCodeByHash(Hash.hash(Bytes.of(2)))).isEmpty();
+  }
+
   @Test
   public void getAccountStateTrieNode_saveAndGetSpecialValues() {
     final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
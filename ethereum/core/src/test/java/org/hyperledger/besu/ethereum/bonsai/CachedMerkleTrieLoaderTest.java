@@ -16,6 +16,7 @@
 package org.hyperledger.besu.ethereum.bonsai;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
@@ -30,6 +31,7 @@ import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.TrieIterator;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.ArrayList;
@@ -37,14 +39,23 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 public class CachedMerkleTrieLoaderTest {
 
+  private static final String HITS = "trie_node_cache_hits_total";
+  private static final String MISSES = "trie_node_cache_misses_total";
+  private static final String EVICTIONS = "trie_node_cache_evictions_total";
+  // the heap a cache entry is estimated to use on top of its node
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
   private CachedMerkleTrieLoader merkleTrieLoader;
   private final StorageProvider storageProvider = new InMemoryKeyValueStorageProvider();
   private final BonsaiWorldStateKeyValueStorage inMemoryWorldState =
@@ -60,7 +71,7 @@ public class CachedMerkleTrieLoaderTest {
     trie =
         TrieGenerator.generateTrie(
             inMemoryWorldState, accounts.stream().map(Hash::hash).collect(Collectors.toList()));
-    merkleTrieLoader = new CachedMerkleTrieLoader(new NoOpMetricsSystem());
+    merkleTrieLoader = new CachedMerkleTrieLoader(metricsSystem);
   }
 
   @Test
@@ -176,4 +187,117 @@ public class CachedMerkleTrieLoaderTest {
     assertThat(originalSlots).isNotEmpty();
     assertThat(originalSlots).isEqualTo(cachedSlots);
   }
+
+  @Test
+  public void shouldNotCountPreloadsAsHitsOrMisses() {
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+    merkleTrieLoader.cacheStorageNodes(
+        inMemoryWorldState,
+        accounts.get(0),
+        new StorageSlotKey(Hash.hash(UInt256.ONE), Optional.empty()));
+
+    for (final String trieName : List.of("account", "storage")) {
+      assertThat(countAtAllDepths(HITS, trieName)).isZero();
+      assertThat(countAtAllDepths(MISSES, trieName)).isZero();
+    }
+  }
+
+  @Test
+  public void shouldCountHitsAndMissesByDepth() {
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    // the root is at depth 0, every node of the path of the preloaded account is cached
+    readAccount(accounts.get(0));
+    assertThat(metricsSystem.getCounterValue(HITS, "account", "0")).isEqualTo(1);
+    assertThat(countAtAllDepths(HITS, "account")).isEqualTo(accountPath(accounts.get(0)).size());
+    assertThat(countAtAllDepths(MISSES, "account")).isZero();
+
+    // the other account shares the root but its leaf was not preloaded
+    readAccount(accounts.get(1));
+    assertThat(metricsSystem.getCounterValue(HITS, "account", "0")).isEqualTo(2);
+    assertThat(metricsSystem.getCounterValue(MISSES, "account", "0")).isZero();
+    assertThat(countAtAllDepths(MISSES, "account")).isPositive();
+  }
+
+  @Test
+  public void shouldCountNodesDeeperThanTenTogether() {
+    merkleTrieLoader.getAccountStateTrieNode(
+        inMemoryWorldState, Bytes.repeat((byte) 0, 12), Hash.ZERO);
+    merkleTrieLoader.getAccountStorageTrieNode(
+        inMemoryWorldState, Hash.hash(accounts.get(0)), Bytes.repeat((byte) 0, 10), Hash.ZERO);
+
+    assertThat(metricsSystem.getCounterValue(MISSES, "account", "10+")).isEqualTo(1);
+    assertThat(metricsSystem.getCounterValue(MISSES, "storage", "10+")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepNodesThatFitInTheCacheSize() {
+    // the account trie gets a third of the budget, exactly the weight of the path of the account
+    merkleTrieLoader =
+        CachedMerkleTrieLoader.withCacheSizeBytes(
+            metricsSystem, 3 * accountPathWeight(accounts.get(0)));
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    readAccount(accounts.get(0));
+    assertThat(countAtAllDepths(MISSES, "account")).isZero();
+    assertThat(countAtAllDepths(EVICTIONS, "account")).isZero();
+  }
+
+  @Test
+  public void shouldEvictNodesToStayWithinTheCacheSize() {
+    // one byte short of the weight of the path of the account
+    merkleTrieLoader =
+        CachedMerkleTrieLoader.withCacheSizeBytes(
+            metricsSystem, 3 * (accountPathWeight(accounts.get(0)) - 1));
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    // the cache evicts in the background
+    await().untilAsserted(() -> assertThat(countAtAllDepths(EVICTIONS, "account")).isPositive());
+    readAccount(accounts.get(0));
+    assertThat(countAtAllDepths(MISSES, "account")).isPositive();
+  }
+
+  private void readAccount(final Address account) {
+    // a new trie for every read, a trie keeps the nodes it has loaded
+    new StoredMerklePatriciaTrie<Bytes, Bytes>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(inMemoryWorldState, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity())
+        .get(Hash.hash(account));
+  }
+
+  private List<Bytes> accountPath(final Address account) {
+    final List<Bytes> nodes = new ArrayList<>();
+    new StoredMerklePatriciaTrie<Bytes, Bytes>(
+            (location, hash) -> {
+              final Optional<Bytes> node =
+                  inMemoryWorldState.getAccountStateTrieNode(location, hash);
+              node.ifPresent(nodes::add);
+              return node;
+            },
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity())
+        .get(Hash.hash(account));
+    return nodes;
+  }
+
+  private long accountPathWeight(final Address account) {
+    return accountPath(account).stream()
+        .mapToLong(node -> ENTRY_OVERHEAD_BYTES + node.size())
+        .sum();
+  }
+
+  private long countAtAllDepths(final String counter, final String trieName) {
+    return IntStream.rangeClosed(0, 10)
+        .mapToObj(depth -> depth == 10 ? "10+" : Integer.toString(depth))
+        .mapToLong(depth -> metricsSystem.getCounterValue(counter, trieName, depth))
+        .sum();
+  }
 }
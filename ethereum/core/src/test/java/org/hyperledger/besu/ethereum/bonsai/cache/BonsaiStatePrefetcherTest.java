@@ -0,0 +1,141 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.bonsai.worldview.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.evm.AccessListEntry;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BonsaiStatePrefetcherTest {
+
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address RECIPIENT = Address.fromHexString("0x02");
+  private static final Address ACCESSED = Address.fromHexString("0x03");
+  private static final Address COINBASE = Address.fromHexString("0x04");
+  private static final Address PARENT_TOUCHED = Address.fromHexString("0x05");
+  private static final Hash ROOT_HASH = Hash.hash(Bytes32.ZERO);
+
+  @Mock private CachedMerkleTrieLoader cachedMerkleTrieLoader;
+  @Mock private BonsaiWorldStateKeyValueStorage worldStateStorage;
+  @Mock private TrieLogManager trieLogManager;
+  @Mock private BlockHeader blockHeader;
+  @Mock private Transaction transaction;
+
+  private final StorageSlotKey accessedSlot = new StorageSlotKey(UInt256.ONE);
+  private final StorageSlotKey parentSlot = new StorageSlotKey(UInt256.valueOf(2));
+
+  @Before
+  public void setUp() {
+    when(transaction.getSender()).thenReturn(SENDER);
+    when(transaction.getTo()).thenReturn(Optional.of(RECIPIENT));
+    when(transaction.getAccessList())
+        .thenReturn(Optional.of(List.of(new AccessListEntry(ACCESSED, List.of(UInt256.ONE)))));
+    when(blockHeader.getCoinbase()).thenReturn(COINBASE);
+    when(blockHeader.getParentHash()).thenReturn(Hash.ZERO);
+    final TrieLogLayer parentChanges = new TrieLogLayer();
+    parentChanges.addStorageChange(PARENT_TOUCHED, parentSlot, UInt256.ZERO, UInt256.ONE);
+    when(trieLogManager.getTrieLogLayer(Hash.ZERO)).thenReturn(Optional.of(parentChanges));
+  }
+
+  @Test
+  public void shouldCollectTheKeysTouchedByTheBlock() {
+    final BonsaiStatePrefetcher prefetcher =
+        createPrefetcher(MoreExecutors.newDirectExecutorService());
+
+    final Map<Address, Set<StorageSlotKey>> keys =
+        prefetcher.collectKeys(trieLogManager, blockHeader, List.of(transaction));
+
+    assertThat(keys)
+        .containsOnlyKeys(SENDER, RECIPIENT, ACCESSED, COINBASE, PARENT_TOUCHED)
+        .containsEntry(ACCESSED, Set.of(accessedSlot))
+        .containsEntry(PARENT_TOUCHED, Set.of(parentSlot))
+        .containsEntry(SENDER, Set.of());
+  }
+
+  @Test
+  public void shouldLoadTrieNodesAndFlatEntries() {
+    final BonsaiStatePrefetcher prefetcher =
+        createPrefetcher(MoreExecutors.newDirectExecutorService());
+
+    prefetcher.prefetch(
+        worldStateStorage, ROOT_HASH, trieLogManager, blockHeader, List.of(transaction));
+
+    final List<Address> accounts = List.of(SENDER, RECIPIENT, ACCESSED, COINBASE, PARENT_TOUCHED);
+    for (final Address address : accounts) {
+      verify(cachedMerkleTrieLoader).cacheAccountNodes(worldStateStorage, ROOT_HASH, address);
+    }
+    verify(worldStateStorage).getFlatAccounts(accounts.stream().map(Hash::hash).toList());
+    verify(cachedMerkleTrieLoader).cacheStorageNodes(worldStateStorage, ACCESSED, accessedSlot);
+    verify(cachedMerkleTrieLoader).cacheStorageNodes(worldStateStorage, PARENT_TOUCHED, parentSlot);
+    verify(worldStateStorage).getFlatStorageValues(Hash.hash(ACCESSED), List.of(accessedSlot));
+  }
+
+  @Test
+  public void shouldSkipTheQueuedWorkOfAnOlderBlock() {
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+    final ExecutorService executor = mock(ExecutorService.class);
+    doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any());
+    final BonsaiStatePrefetcher prefetcher = createPrefetcher(executor);
+
+    prefetcher.prefetch(
+        worldStateStorage, ROOT_HASH, trieLogManager, blockHeader, List.of(transaction));
+    // collect the keys of the first block, then submit the next one
+    tasks.poll().run();
+    prefetcher.prefetch(worldStateStorage, ROOT_HASH, trieLogManager, blockHeader, List.of());
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    verify(cachedMerkleTrieLoader, never()).cacheAccountNodes(worldStateStorage, ROOT_HASH, SENDER);
+    verify(cachedMerkleTrieLoader).cacheAccountNodes(worldStateStorage, ROOT_HASH, COINBASE);
+  }
+
+  private BonsaiStatePrefetcher createPrefetcher(final ExecutorService executor) {
+    return new BonsaiStatePrefetcher(cachedMerkleTrieLoader, executor, new NoOpMetricsSystem());
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TrieLogPrunerTest {
+
+  @Mock BonsaiWorldStateKeyValueStorage worldStateStorage;
+  @Mock Blockchain blockchain;
+
+  private TrieLogPruner trieLogPruner;
+
+  @Before
+  public void setup() {
+    trieLogPruner =
+        new TrieLogPruner(
+            worldStateStorage,
+            blockchain,
+            MoreExecutors.newDirectExecutorService(),
+            10,
+            2,
+            new NoOpMetricsSystem());
+  }
+
+  @Test
+  public void prunesTrieLogsBelowFinalizedBlockMinusRetention() {
+    for (long i = 0; i < 20; i++) {
+      trieLogPruner.addToPruningQueue(i, blockHash(i));
+    }
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(20L);
+    final BlockHeader finalized = new BlockHeaderTestFixture().number(15).buildHeader();
+    when(blockchain.getFinalized()).thenReturn(Optional.of(finalized.getHash()));
+    when(blockchain.getBlockHeader(finalized.getHash())).thenReturn(Optional.of(finalized));
+
+    trieLogPruner.requestPruning();
+
+    // blocks 0 to 4 are below 15 - 10, deleted two at a time
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<Hash>> deleted = ArgumentCaptor.forClass(List.class);
+    verify(worldStateStorage, times(3)).deleteTrieLogs(deleted.capture());
+    assertThat(deleted.getAllValues().stream().flatMap(List::stream))
+        .containsExactly(blockHash(0), blockHash(1), blockHash(2), blockHash(3), blockHash(4));
+    assertThat(trieLogPruner.getQueuedTrieLogs()).isEqualTo(15);
+  }
+
+  @Test
+  public void usesChainHeadWithoutFinalizedBlock() {
+    trieLogPruner.addToPruningQueue(5, blockHash(5));
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(15L);
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+
+    trieLogPruner.requestPruning();
+
+    verify(worldStateStorage, never()).deleteTrieLogs(any());
+    assertThat(trieLogPruner.getQueuedTrieLogs()).isEqualTo(1);
+  }
+
+  @Test
+  public void initializeDeletesOldPersistedTrieLogsAndQueuesTheOthers() {
+    final BlockHeader oldHeader = new BlockHeaderTestFixture().number(1).buildHeader();
+    final BlockHeader recentHeader = new BlockHeaderTestFixture().number(95).buildHeader();
+    final Hash unknown = blockHash(42);
+    when(worldStateStorage.streamTrieLogKeys())
+        .thenReturn(
+            Stream.of(
+                oldHeader.getHash().toArrayUnsafe(),
+                recentHeader.getHash().toArrayUnsafe(),
+                unknown.toArrayUnsafe()));
+    when(blockchain.getBlockHeader(oldHeader.getHash())).thenReturn(Optional.of(oldHeader));
+    when(blockchain.getBlockHeader(recentHeader.getHash())).thenReturn(Optional.of(recentHeader));
+    when(blockchain.getBlockHeader(unknown)).thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100L);
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+
+    trieLogPruner.initialize();
+
+    verify(worldStateStorage).deleteTrieLogs(List.of(oldHeader.getHash()));
+    assertThat(trieLogPruner.getQueuedTrieLogs()).isEqualTo(1);
+  }
+
+  @Test
+  public void backlogDecreasesWithEachDeletedBatch() {
+    for (long i = 0; i < 20; i++) {
+      trieLogPruner.addToPruningQueue(i, blockHash(i));
+    }
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(20L);
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    final List<Long> backlogs = new ArrayList<>();
+    doAnswer(__ -> backlogs.add(trieLogPruner.getBacklog()))
+        .when(worldStateStorage)
+        .deleteTrieLogs(any());
+
+    trieLogPruner.requestPruning();
+
+    // blocks 0 to 9 are below 20 - 10
+    assertThat(backlogs).containsExactly(8L, 6L, 4L, 2L, 0L);
+    assertThat(trieLogPruner.getQueuedTrieLogs()).isEqualTo(10);
+  }
+
+  @Test
+  public void backlogCountsTrieLogsQueuedBelowTheLimit() {
+    for (long i = 10; i < 20; i++) {
+      trieLogPruner.addToPruningQueue(i, blockHash(i));
+    }
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(20L);
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    trieLogPruner.requestPruning();
+    assertThat(trieLogPruner.getBacklog()).isZero();
+
+    trieLogPruner.addToPruningQueue(5, blockHash(5));
+    trieLogPruner.addToPruningQueue(25, blockHash(25));
+    assertThat(trieLogPruner.getBacklog()).isEqualTo(1);
+
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(25L);
+    trieLogPruner.requestPruning();
+
+    // block 5 and blocks 10 to 14 are deleted
+    verify(worldStateStorage, times(3)).deleteTrieLogs(any());
+    assertThat(trieLogPruner.getBacklog()).isZero();
+    assertThat(trieLogPruner.getQueuedTrieLogs()).isEqualTo(6);
+  }
+
+  private static Hash blockHash(final long number) {
+    return Hash.wrap(Bytes32.fromHexStringLenient(Long.toHexString(number)));
+  }
+}
@@ -16,6 +16,12 @@ package org.hyperledger.besu.ethereum.chain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -687,6 +693,107 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.blockIsOnCanonicalChain(originalHead.getHash())).isFalse();
   }
 
+  @Test
+  public void cachedBlockchainServesAppendedBlocksFromMemory() {
+    final BlockDataGenerator gen = new BlockDataGenerator(2);
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final BlockchainStorage storage = spy(createStorage(new InMemoryKeyValueStorage()));
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                chain.get(0), storage, new NoOpMetricsSystem(), 0, "dataDirectory", 1);
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+    }
+    clearInvocations(storage);
+
+    for (int i = 1; i < chain.size(); i++) {
+      assertBlockDataIsStored(blockchain, chain.get(i), blockReceipts.get(i));
+    }
+    verify(storage, never()).getBlockHash(anyLong());
+    verify(storage, never()).getBlockHeader(any());
+    verify(storage, never()).getBlockBody(any());
+    verify(storage, never()).getTransactionReceipts(any());
+  }
+
+  @Test
+  public void cachedBlockchainForgetsRewoundBlockNumbers() {
+    final BlockDataGenerator gen = new BlockDataGenerator(2);
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final DefaultBlockchain blockchain =
+        createCachedMutableBlockchain(new InMemoryKeyValueStorage(), chain.get(0));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+    }
+
+    blockchain.rewindToBlock(1);
+
+    assertBlockIsHead(blockchain, chain.get(1));
+    assertBlockDataIsStored(blockchain, chain.get(1), blockReceipts.get(1));
+    assertThat(blockchain.getBlockHashByNumber(2)).isNotPresent();
+    assertThat(blockchain.getBlockHeader(3)).isNotPresent();
+    // the blocks are still stored, only their number is no longer canonical
+    assertThat(blockchain.getBlockHeader(chain.get(3).getHash()))
+        .contains(chain.get(3).getHeader());
+  }
+
+  @Test
+  public void cachedBlockchainIsUpdatedBeforeRewindIsObserved() {
+    final BlockDataGenerator gen = new BlockDataGenerator(2);
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final DefaultBlockchain blockchain =
+        createCachedMutableBlockchain(new InMemoryKeyValueStorage(), chain.get(0));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+    }
+    final List<Hash> observedHeads = new ArrayList<>();
+    final List<Optional<Hash>> observedRewoundHashes = new ArrayList<>();
+    blockchain.observeBlockAdded(
+        __ -> {
+          observedHeads.add(blockchain.getChainHeadHash());
+          observedRewoundHashes.add(blockchain.getBlockHashByNumber(2));
+        });
+
+    blockchain.rewindToBlock(1);
+
+    assertThat(observedHeads).containsExactly(chain.get(1).getHash());
+    assertThat(observedRewoundHashes).containsExactly(Optional.empty());
+  }
+
+  @Test
+  public void cachedBlockchainFollowsReorgToChainAtEqualHeight() {
+    final BlockDataGenerator gen = new BlockDataGenerator(2);
+    final List<Block> chain = gen.blockSequence(3);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final DefaultBlockchain blockchain =
+        createCachedMutableBlockchain(new InMemoryKeyValueStorage(), chain.get(0));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+    }
+    assertThat(blockchain.getBlockHashByNumber(2)).contains(chain.get(2).getHash());
+
+    final Block fork =
+        gen.block(
+            new BlockDataGenerator.BlockOptions()
+                .setParentHash(chain.get(1).getHash())
+                .setBlockNumber(2)
+                .setDifficulty(chain.get(2).getHeader().getDifficulty().add(10L)));
+    final List<TransactionReceipt> forkReceipts = gen.receipts(fork);
+    blockchain.appendBlock(fork, forkReceipts);
+
+    assertBlockIsHead(blockchain, fork);
+    assertBlockDataIsStored(blockchain, chain.get(1), blockReceipts.get(1));
+    assertBlockDataIsStored(blockchain, fork, forkReceipts);
+    assertThat(blockchain.blockIsOnCanonicalChain(chain.get(2).getHash())).isFalse();
+  }
+
   @Test
   public void appendBlockForFork() {
     final BlockDataGenerator gen = new BlockDataGenerator(2);
@@ -956,6 +1063,13 @@ public class DefaultBlockchainTest {
             genesisBlock, createStorage(kvStore), new NoOpMetricsSystem(), 0);
   }
 
+  private DefaultBlockchain createCachedMutableBlockchain(
+      final KeyValueStorage kvStore, final Block genesisBlock) {
+    return (DefaultBlockchain)
+        DefaultBlockchain.createMutable(
+            genesisBlock, createStorage(kvStore), new NoOpMetricsSystem(), 0, "dataDirectory", 1);
+  }
+
   private DefaultBlockchain createMutableBlockchain(
       final KeyValueStorage kvStore, final Block genesisBlock, final String dataDirectory) {
     return (DefaultBlockchain)
@@ -0,0 +1,52 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TransactionRecoverSendersTest {
+
+  @Test
+  void setsTheSendersThatAreNotKnownYet() {
+    final List<Address> expectedSenders = new ArrayList<>();
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final Transaction signed =
+          new TransactionTestFixture()
+              .nonce(i)
+              .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+      expectedSenders.add(signed.getSender());
+      final BytesValueRLPOutput out = new BytesValueRLPOutput();
+      signed.writeTo(out);
+      transactions.add(Transaction.readFrom(out.encoded()));
+    }
+    assertThat(transactions).allSatisfy(transaction -> assertThat(transaction.sender).isNull());
+
+    Transaction.recoverSenders(transactions);
+
+    // read the field, getSender() would recover a missing sender on demand
+    assertThat(transactions.stream().map(transaction -> transaction.sender))
+        .containsExactlyElementsOf(expectedSenders);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class BlockProcessingContextTest {
+
+  private static final Address COINBASE = Address.fromHexString("0x01");
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final BlockHeader parentHeader = new BlockHeaderTestFixture().number(1).buildHeader();
+  private final BlockHeader blockHeader =
+      new BlockHeaderTestFixture()
+          .number(2)
+          .parentHash(parentHeader.getHash())
+          .coinbase(COINBASE)
+          .buildHeader();
+
+  @Test
+  void dataGasPriceLooksUpParentOnlyOnce() {
+    when(blockchain.getBlockHeader(parentHeader.getHash())).thenReturn(Optional.of(parentHeader));
+
+    final BlockProcessingContext context =
+        BlockProcessingContext.create(
+            blockchain,
+            blockHeader,
+            FeeMarket.cancun(0, Optional.empty()),
+            BlockHeader::getCoinbase);
+
+    assertThat(context.getDataGasPrice()).isEqualTo(Wei.ONE);
+    assertThat(context.getDataGasPrice()).isEqualTo(Wei.ONE);
+    verify(blockchain, times(1)).getBlockHeader(any(Hash.class));
+  }
+
+  @Test
+  void parentIsNotLookedUpWithoutDataFee() {
+    final BlockProcessingContext context =
+        BlockProcessingContext.create(
+            blockchain, blockHeader, FeeMarket.london(0), BlockHeader::getCoinbase);
+
+    assertThat(context.getDataGasPrice()).isEqualTo(Wei.ZERO);
+    verify(blockchain, never()).getBlockHeader(any(Hash.class));
+  }
+
+  @Test
+  void sharesMiningBeneficiaryAndBlockHeader() {
+    final BlockProcessingContext context =
+        BlockProcessingContext.create(
+            blockchain, blockHeader, FeeMarket.legacy(), BlockHeader::getCoinbase);
+
+    assertThat(context.getMiningBeneficiary()).isEqualTo(COINBASE);
+    assertThat(context.getBlockHeader()).isSameAs(blockHeader);
+    assertThat(context.getBlockHashLookup().apply(1L)).isEqualTo(parentHeader.getHash());
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelSenderRecoveryTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(3);
+  private final List<List<Transaction>> batches = new CopyOnWriteArrayList<>();
+  private final ParallelSenderRecovery senderRecovery =
+      new ParallelSenderRecovery(
+          executor,
+          3,
+          batch -> {
+            batches.add(batch);
+            Transaction.recoverSenders(batch);
+          });
+
+  private final List<Address> expectedSenders = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void recoversSendersOfEveryBatchInOrder() {
+    final List<Transaction> transactions = transactions(50);
+
+    senderRecovery.recoverSenders(transactions).join();
+
+    // one batch per worker, each a contiguous slice of the block
+    assertThat(batches).hasSize(3);
+    assertThat(
+            batches.stream()
+                .sorted(Comparator.comparingInt(batch -> transactions.indexOf(batch.get(0))))
+                .flatMap(List::stream)
+                .collect(Collectors.toList()))
+        .containsExactlyElementsOf(transactions);
+    assertThat(senders(transactions)).containsExactlyElementsOf(expectedSenders);
+  }
+
+  @Test
+  void recoversSmallBlocksInOneBatch() {
+    final List<Transaction> transactions = transactions(10);
+
+    senderRecovery.recoverSenders(transactions).join();
+
+    assertThat(batches).containsExactly(transactions);
+    assertThat(senders(transactions)).containsExactlyElementsOf(expectedSenders);
+  }
+
+  @Test
+  void leavesSendersToExecutionWhenThePoolIsShutDown() {
+    final List<Transaction> transactions = transactions(50);
+    executor.shutdown();
+
+    assertThat(senderRecovery.recoverSenders(transactions)).isDone();
+
+    assertThat(batches).isEmpty();
+    assertThat(senders(transactions)).containsExactlyElementsOf(expectedSenders);
+  }
+
+  @Test
+  void completesImmediatelyWithoutTransactions() {
+    assertThat(senderRecovery.recoverSenders(List.of())).isDone();
+
+    assertThat(batches).isEmpty();
+  }
+
+  // transactions decoded from the network, whose senders are not known yet
+  private List<Transaction> transactions(final int count) {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final Transaction signed =
+          new TransactionTestFixture()
+              .nonce(i)
+              .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+      expectedSenders.add(signed.getSender());
+      final BytesValueRLPOutput out = new BytesValueRLPOutput();
+      signed.writeTo(out);
+      transactions.add(Transaction.readFrom(out.encoded()));
+    }
+    return transactions;
+  }
+
+  private static List<Address> senders(final List<Transaction> transactions) {
+    return transactions.stream().map(Transaction::getSender).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessingContext;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.OngoingStubbing;
+
+public class ParallelizedConcurrentTransactionProcessorTest {
+
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address COINBASE = Address.fromHexString("0x03");
+
+  private final MainnetTransactionProcessor transactionProcessor =
+      mock(MainnetTransactionProcessor.class);
+  private final ParallelTransactionExecutionService executionService =
+      mock(ParallelTransactionExecutionService.class);
+  private final TransactionCollisionDetector collisionDetector =
+      mock(TransactionCollisionDetector.class);
+  private final BonsaiWorldState worldState = mock(BonsaiWorldState.class);
+  private final TransactionProcessingResult transactionResult =
+      mock(TransactionProcessingResult.class);
+
+  private ParallelizedConcurrentTransactionProcessor processor;
+  private BonsaiWorldStateUpdateAccumulator blockAccumulator;
+
+  @Before
+  public void setUp() {
+    when(executionService.getExecutor()).thenReturn(MoreExecutors.newDirectExecutorService());
+    processor =
+        new ParallelizedConcurrentTransactionProcessor(
+            transactionProcessor, executionService, collisionDetector);
+    blockAccumulator =
+        new BonsaiWorldStateUpdateAccumulator(worldState, (__, ___) -> {}, (__, ___) -> {});
+  }
+
+  @Test
+  public void nonConflictingResultIsApplied() {
+    whenTransactionProcessed()
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(1);
+              updater.getOrCreate(SENDER).getMutable().setBalance(Wei.of(10));
+              return transactionResult;
+            });
+    when(collisionDetector.hasCollision(any(), eq(COINBASE), eq(blockAccumulator)))
+        .thenReturn(false);
+
+    runAsyncBlock();
+
+    assertThat(processor.applyParallelizedTransactionResult(blockAccumulator, COINBASE, 0))
+        .contains(transactionResult);
+    assertThat(blockAccumulator.get(SENDER).getBalance()).isEqualTo(Wei.of(10));
+
+    processor.complete(1L);
+    verify(executionService).recordBlock(eq(1), eq(0), anyLong(), eq(1L));
+  }
+
+  @Test
+  public void conflictingResultFallsBackToSequentialExecution() {
+    whenTransactionProcessed()
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(1);
+              updater.getOrCreate(SENDER).getMutable().setBalance(Wei.of(10));
+              return transactionResult;
+            });
+    when(collisionDetector.hasCollision(any(), eq(COINBASE), eq(blockAccumulator)))
+        .thenReturn(true);
+
+    runAsyncBlock();
+
+    assertThat(processor.applyParallelizedTransactionResult(blockAccumulator, COINBASE, 0))
+        .isEmpty();
+    assertThat(blockAccumulator.getAccountsToUpdate()).doesNotContainKey(SENDER);
+    assertThat(blockAccumulator.getTouchedAccounts()).isEmpty();
+
+    processor.complete(1L);
+    verify(executionService).recordBlock(eq(0), eq(1), anyLong(), eq(1L));
+  }
+
+  @Test
+  public void failedSpeculativeExecutionFallsBackToSequentialExecution() {
+    whenTransactionProcessed().thenThrow(new IllegalStateException("speculative failure"));
+
+    runAsyncBlock();
+
+    assertThat(processor.applyParallelizedTransactionResult(blockAccumulator, COINBASE, 0))
+        .isEmpty();
+    assertThat(blockAccumulator.getTouchedAccounts()).isEmpty();
+
+    processor.complete(1L);
+    verify(executionService).recordBlock(eq(0), eq(1), eq(0L), eq(1L));
+  }
+
+  private OngoingStubbing<TransactionProcessingResult> whenTransactionProcessed() {
+    return when(
+        transactionProcessor.processTransaction(
+            any(Blockchain.class),
+            any(WorldUpdater.class),
+            any(),
+            any(Transaction.class),
+            any(),
+            anyBoolean(),
+            any(),
+            any()));
+  }
+
+  private void runAsyncBlock() {
+    processor.runAsyncBlock(
+        mock(Blockchain.class),
+        worldState,
+        List.of(mock(Transaction.class)),
+        mock(BlockProcessingContext.class));
+  }
+}
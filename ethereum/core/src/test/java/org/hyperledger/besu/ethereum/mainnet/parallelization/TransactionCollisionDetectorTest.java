@@ -0,0 +1,182 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator.StorageConsumingMap;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldView;
+import org.hyperledger.besu.ethereum.bonsai.worldview.StorageSlotKey;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransactionCollisionDetectorTest {
+
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address CONTRACT = Address.fromHexString("0x02");
+  private static final Address COINBASE = Address.fromHexString("0x03");
+
+  private final BonsaiWorldView worldView = mock(BonsaiWorldView.class);
+  private final TransactionCollisionDetector collisionDetector = new TransactionCollisionDetector();
+
+  private BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  private BonsaiWorldStateUpdateAccumulator transactionAccumulator;
+
+  @Before
+  public void setUp() {
+    blockAccumulator = createAccumulator();
+    transactionAccumulator = createAccumulator();
+  }
+
+  @Test
+  public void noCollisionWhenBlockDidNotModifyReadAccounts() {
+    readAccount(blockAccumulator, SENDER, 1);
+    writeAccount(transactionAccumulator, SENDER, 1, 2);
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isFalse();
+  }
+
+  @Test
+  public void collisionWhenBlockModifiedReadAccount() {
+    writeAccount(blockAccumulator, SENDER, 1, 2);
+    writeAccount(transactionAccumulator, SENDER, 1, 2);
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isTrue();
+  }
+
+  @Test
+  public void collisionWhenBlockCreatedAccountReadAsMissing() {
+    blockAccumulator.getAccountsToUpdate().put(CONTRACT, new BonsaiValue<>(null, account(0)));
+    transactionAccumulator.getAccountsToUpdate().put(CONTRACT, new BonsaiValue<>(null, null));
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isTrue();
+  }
+
+  @Test
+  public void collisionWhenBlockModifiedReadSlot() {
+    final StorageSlotKey slot = new StorageSlotKey(UInt256.ONE);
+    storage(blockAccumulator, CONTRACT).put(slot, new BonsaiValue<>(UInt256.ONE, UInt256.ZERO));
+    storage(transactionAccumulator, CONTRACT)
+        .put(slot, new BonsaiValue<>(UInt256.ONE, UInt256.ONE));
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isTrue();
+  }
+
+  @Test
+  public void noCollisionWhenBlockOnlyReadSlot() {
+    final StorageSlotKey slot = new StorageSlotKey(UInt256.ONE);
+    storage(blockAccumulator, CONTRACT).put(slot, new BonsaiValue<>(UInt256.ONE, UInt256.ONE));
+    storage(transactionAccumulator, CONTRACT)
+        .put(slot, new BonsaiValue<>(UInt256.ONE, UInt256.valueOf(2)));
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isFalse();
+  }
+
+  @Test
+  public void miningBeneficiaryRewardAloneIsNotACollision() {
+    writeAccount(blockAccumulator, COINBASE, 0, 10);
+    writeAccount(transactionAccumulator, COINBASE, 0, 5);
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isFalse();
+  }
+
+  @Test
+  public void miningBeneficiaryTouchedBeforeRewardIsACollision() {
+    writeAccount(blockAccumulator, COINBASE, 0, 10);
+    writeAccount(transactionAccumulator, COINBASE, 0, 5);
+
+    assertThat(collisionDetector.hasCollision(context(true), COINBASE, blockAccumulator)).isTrue();
+  }
+
+  @Test
+  public void deletedAccountIsAlwaysACollision() {
+    transactionAccumulator
+        .getAccountsToUpdate()
+        .put(CONTRACT, new BonsaiValue<>(account(1), null));
+
+    assertThat(collisionDetector.hasCollision(context(false), COINBASE, blockAccumulator))
+        .isTrue();
+  }
+
+  private ParallelizedTransactionContext context(final boolean miningBeneficiaryTouched) {
+    return new ParallelizedTransactionContext(
+        transactionAccumulator,
+        mock(TransactionProcessingResult.class),
+        miningBeneficiaryTouched,
+        0L);
+  }
+
+  private BonsaiWorldStateUpdateAccumulator createAccumulator() {
+    return new BonsaiWorldStateUpdateAccumulator(worldView, (__, ___) -> {}, (__, ___) -> {});
+  }
+
+  private BonsaiAccount account(final long balance) {
+    return new BonsaiAccount(
+        worldView,
+        SENDER,
+        Hash.hash(SENDER),
+        0,
+        Wei.of(balance),
+        Hash.EMPTY_TRIE_HASH,
+        Hash.EMPTY,
+        true);
+  }
+
+  private void readAccount(
+      final BonsaiWorldStateUpdateAccumulator accumulator,
+      final Address address,
+      final long balance) {
+    accumulator
+        .getAccountsToUpdate()
+        .put(address, new BonsaiValue<>(account(balance), account(balance)));
+  }
+
+  private void writeAccount(
+      final BonsaiWorldStateUpdateAccumulator accumulator,
+      final Address address,
+      final long priorBalance,
+      final long updatedBalance) {
+    accumulator
+        .getAccountsToUpdate()
+        .put(address, new BonsaiValue<>(account(priorBalance), account(updatedBalance)));
+  }
+
+  private StorageConsumingMap<StorageSlotKey, BonsaiValue<UInt256>> storage(
+      final BonsaiWorldStateUpdateAccumulator accumulator, final Address address) {
+    return accumulator
+        .getStorageToUpdate()
+        .computeIfAbsent(
+            address,
+            __ -> new StorageConsumingMap<>(address, new ConcurrentHashMap<>(), (___, ____) -> {}));
+  }
+}
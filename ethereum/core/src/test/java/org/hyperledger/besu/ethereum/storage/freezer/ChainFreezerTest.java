@@ -0,0 +1,196 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChainFreezerTest {
+
+  private static final int BLOCKS_RETAINED = 3;
+
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final List<Block> chain = gen.blockSequence(10);
+  private final List<List<TransactionReceipt>> receipts =
+      chain.stream().map(gen::receipts).collect(Collectors.toList());
+  private final BlockchainStorage keyValueStorage =
+      new KeyValueStoragePrefixedKeyBlockchainStorage(
+          new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions());
+
+  private Path freezerDirectory;
+  private BlockFreezer blockFreezer;
+  private MutableBlockchain blockchain;
+
+  @Before
+  public void setup() throws IOException {
+    freezerDirectory = tmp.newFolder().toPath();
+    blockFreezer = BlockFreezer.open(freezerDirectory);
+    final BlockchainStorage blockchainStorage =
+        new FreezerBlockchainStorage(
+            keyValueStorage, blockFreezer, new MainnetBlockHeaderFunctions());
+    blockchain =
+        DefaultBlockchain.createMutable(
+            chain.get(0), blockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(
+        new ChainFreezer(
+            blockchainStorage,
+            blockFreezer,
+            BLOCKS_RETAINED,
+            MoreExecutors.newDirectExecutorService(),
+            new NoOpMetricsSystem()));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    blockFreezer.close();
+  }
+
+  @Test
+  public void freezesTheBlocksBelowTheRetainedBlocks() {
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), receipts.get(i));
+    }
+
+    final long frozenBlocks = chain.size() - 1 - BLOCKS_RETAINED;
+    assertThat(blockFreezer.getFrozenBlocks()).isEqualTo(frozenBlocks);
+    for (int i = 0; i < chain.size(); i++) {
+      final Block block = chain.get(i);
+      assertThat(keyValueStorage.getBlockBody(block.getHash()).isPresent())
+          .isEqualTo(i >= frozenBlocks);
+      assertThat(blockchain.getBlockBody(block.getHash())).contains(block.getBody());
+      assertThat(blockchain.getTxReceipts(block.getHash())).contains(receipts.get(i));
+    }
+  }
+
+  @Test
+  public void freezesUpToTheRetainedBlocksBelowTheFinalizedBlock() {
+    for (int i = 1; i < chain.size(); i++) {
+      if (i == 6) {
+        blockchain.setFinalized(chain.get(5).getHash());
+      }
+      blockchain.appendBlock(chain.get(i), receipts.get(i));
+    }
+
+    assertThat(blockFreezer.getFrozenBlocks()).isEqualTo(5 - BLOCKS_RETAINED);
+  }
+
+  @Test
+  public void frozenBlocksAreReadAfterReopeningTheFreezer() throws IOException {
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), receipts.get(i));
+    }
+    blockFreezer.close();
+
+    blockFreezer = BlockFreezer.open(freezerDirectory);
+
+    assertThat(blockFreezer.getFrozenBlocks()).isEqualTo(chain.size() - 1 - BLOCKS_RETAINED);
+    assertThat(blockFreezer.getTransactionReceipts(1, chain.get(1).getHash()))
+        .contains(receipts.get(1));
+    assertThat(blockFreezer.getTransactionReceipts(1, chain.get(2).getHash())).isEmpty();
+  }
+
+  @Test
+  public void closeWaitsForTheRunningBatch() throws Exception {
+    final BlockchainStorage storage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions());
+    final MutableBlockchain unfrozenChain =
+        DefaultBlockchain.createMutable(chain.get(0), storage, new NoOpMetricsSystem(), 0);
+    for (int i = 1; i < chain.size() - 1; i++) {
+      unfrozenChain.appendBlock(chain.get(i), receipts.get(i));
+    }
+    final CountDownLatch batchStarted = new CountDownLatch(1);
+    final CountDownLatch batchReleased = new CountDownLatch(1);
+    final AtomicBoolean firstBlock = new AtomicBoolean(true);
+    final BlockchainStorage blockingStorage =
+        mock(BlockchainStorage.class, delegatesTo(storage));
+    doAnswer(
+            invocation -> {
+              if (firstBlock.getAndSet(false)) {
+                batchStarted.countDown();
+                batchReleased.await();
+              }
+              return storage.getBlockBody(invocation.getArgument(0));
+            })
+        .when(blockingStorage)
+        .getBlockBody(any(Hash.class));
+    final BlockFreezer freezer = BlockFreezer.open(tmp.newFolder().toPath());
+    final ChainFreezer chainFreezer =
+        new ChainFreezer(
+            blockingStorage,
+            freezer,
+            BLOCKS_RETAINED,
+            Executors.newSingleThreadExecutor(),
+            new NoOpMetricsSystem());
+    unfrozenChain.observeBlockAdded(chainFreezer);
+
+    try {
+      unfrozenChain.appendBlock(chain.get(chain.size() - 1), receipts.get(chain.size() - 1));
+      assertThat(batchStarted.await(10, TimeUnit.SECONDS)).isTrue();
+      final CompletableFuture<Void> closing = CompletableFuture.runAsync(chainFreezer::close);
+
+      assertThatThrownBy(() -> closing.get(100, TimeUnit.MILLISECONDS))
+          .isInstanceOf(TimeoutException.class);
+      batchReleased.countDown();
+      closing.get(10, TimeUnit.SECONDS);
+
+      final long frozenBlocks = chain.size() - 1 - BLOCKS_RETAINED;
+      assertThat(freezer.getFrozenBlocks()).isEqualTo(frozenBlocks);
+      for (int i = 0; i < chain.size(); i++) {
+        assertThat(storage.getBlockBody(chain.get(i).getHash()).isPresent())
+            .isEqualTo(i >= frozenBlocks);
+      }
+    } finally {
+      batchReleased.countDown();
+      freezer.close();
+    }
+  }
+}
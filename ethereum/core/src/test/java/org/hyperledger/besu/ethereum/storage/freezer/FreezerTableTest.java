@@ -0,0 +1,139 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FreezerTableTest {
+
+  private static final int MAX_SEGMENT_SIZE = 10;
+
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+  private Path directory;
+
+  @Before
+  public void setup() throws IOException {
+    directory = tmp.newFolder().toPath();
+  }
+
+  @Test
+  public void appendedItemsAreVisibleOnceCommitted() throws IOException {
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      table.append(Bytes.fromHexString("0x0102"));
+      table.append(Bytes.EMPTY);
+
+      assertThat(table.size()).isZero();
+      assertThat(table.get(0)).isEmpty();
+
+      table.commit();
+
+      assertThat(table.size()).isEqualTo(2);
+      assertThat(table.get(0)).contains(Bytes.fromHexString("0x0102"));
+      assertThat(table.get(1)).contains(Bytes.EMPTY);
+      assertThat(table.get(2)).isEmpty();
+    }
+  }
+
+  @Test
+  public void itemsAreSplitAcrossSegments() throws IOException {
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      for (int i = 0; i < 10; i++) {
+        table.append(item(i));
+        if (i % 3 == 0) {
+          table.commit();
+        }
+      }
+      table.commit();
+
+      for (int i = 0; i < 10; i++) {
+        assertThat(table.get(i)).contains(item(i));
+      }
+    }
+    assertThat(Files.exists(directory.resolve("test.0003.dat"))).isTrue();
+  }
+
+  @Test
+  public void committedItemsSurviveReopening() throws IOException {
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      for (int i = 0; i < 5; i++) {
+        table.append(item(i));
+      }
+      table.commit();
+      // never committed, as if the node crashed
+      table.append(item(5));
+      table.append(item(6));
+    }
+
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      assertThat(table.size()).isEqualTo(5);
+      table.append(item(7));
+      table.commit();
+
+      for (int i = 0; i < 5; i++) {
+        assertThat(table.get(i)).contains(item(i));
+      }
+      assertThat(table.get(5)).contains(item(7));
+    }
+  }
+
+  @Test
+  public void indexEntriesWithoutDataAreDropped() throws IOException {
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      for (int i = 0; i < 5; i++) {
+        table.append(item(i));
+      }
+      table.commit();
+    }
+    Files.delete(directory.resolve("test.0002.dat"));
+
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      assertThat(table.size()).isEqualTo(4);
+      assertThat(table.get(3)).contains(item(3));
+    }
+  }
+
+  @Test
+  public void truncateRemovesTheLastItems() throws IOException {
+    try (final FreezerTable table = FreezerTable.open(directory, "test", MAX_SEGMENT_SIZE)) {
+      for (int i = 0; i < 5; i++) {
+        table.append(item(i));
+      }
+      table.commit();
+
+      table.truncate(2);
+      table.append(item(9));
+      table.commit();
+
+      assertThat(table.size()).isEqualTo(3);
+      assertThat(table.get(1)).contains(item(1));
+      assertThat(table.get(2)).contains(item(9));
+    }
+    assertThat(Files.exists(directory.resolve("test.0002.dat"))).isFalse();
+  }
+
+  private static Bytes item(final int i) {
+    return Bytes.repeat((byte) i, 4);
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.logindex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogIndexerTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final List<Block> chain = gen.blockSequence(10);
+  private final List<List<TransactionReceipt>> receipts =
+      chain.stream().map(gen::receipts).collect(Collectors.toList());
+  private final LogIndexStorage logIndexStorage =
+      new LogIndexStorage(new InMemoryKeyValueStorage());
+
+  private MutableBlockchain blockchain;
+  private LogIndex logIndex;
+
+  @Before
+  public void setup() {
+    blockchain =
+        DefaultBlockchain.createMutable(
+            chain.get(0),
+            new KeyValueStoragePrefixedKeyBlockchainStorage(
+                new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions()),
+            new NoOpMetricsSystem(),
+            0);
+    logIndex = new LogIndex(blockchain, logIndexStorage);
+  }
+
+  @Test
+  public void indexesTheNewBlocksAndTheOlderBlocks() {
+    appendBlocks(1, 5);
+    blockchain.observeBlockAdded(
+        new LogIndexer(
+            blockchain,
+            logIndexStorage,
+            MoreExecutors.newDirectExecutorService(),
+            new NoOpMetricsSystem()));
+    appendBlocks(5, chain.size());
+
+    assertThat(logIndex.getIndexedBlocks())
+        .contains(new LogIndex.IndexedBlocks(0, chain.size() - 1));
+    assertIndexMatchesChain(chain, receipts);
+  }
+
+  @Test
+  public void removesTheBlocksOfReorganisedChain() {
+    blockchain.observeBlockAdded(
+        new LogIndexer(
+            blockchain,
+            logIndexStorage,
+            MoreExecutors.newDirectExecutorService(),
+            new NoOpMetricsSystem()));
+    appendBlocks(1, chain.size());
+
+    final int forkBlock = chain.size() - 1;
+    final Block fork =
+        gen.block(
+            new BlockDataGenerator.BlockOptions()
+                .setParentHash(chain.get(forkBlock - 1).getHash())
+                .setBlockNumber(forkBlock)
+                .setDifficulty(chain.get(forkBlock).getHeader().getDifficulty().add(10L)));
+    final List<TransactionReceipt> forkReceipts = gen.receipts(fork);
+    blockchain.appendBlock(fork, forkReceipts);
+
+    final List<Block> reorgedChain = new ArrayList<>(chain.subList(0, forkBlock));
+    reorgedChain.add(fork);
+    final List<List<TransactionReceipt>> reorgedReceipts =
+        new ArrayList<>(receipts.subList(0, forkBlock));
+    reorgedReceipts.add(forkReceipts);
+    assertThat(logIndex.getIndexedBlocks()).contains(new LogIndex.IndexedBlocks(0, forkBlock));
+    assertIndexMatchesChain(reorgedChain, reorgedReceipts);
+    for (final TransactionReceipt receipt : receipts.get(forkBlock)) {
+      for (final Log log : receipt.getLogsList()) {
+        assertThat(
+                logIndexStorage.getBlocks(
+                    LogIndexStorage.addressTerm(log.getLogger()), forkBlock, forkBlock))
+            .isEmpty();
+      }
+    }
+  }
+
+  @Test
+  public void indexIsNotUsedUntilItCatchesUpWithAReorg() {
+    final LogIndexer logIndexer =
+        new LogIndexer(
+            blockchain,
+            logIndexStorage,
+            MoreExecutors.newDirectExecutorService(),
+            new NoOpMetricsSystem());
+    appendBlocks(1, chain.size());
+    logIndexer.indexChainHead();
+
+    final int forkBlock = chain.size() - 1;
+    final Block fork =
+        gen.block(
+            new BlockDataGenerator.BlockOptions()
+                .setParentHash(chain.get(forkBlock - 1).getHash())
+                .setBlockNumber(forkBlock)
+                .setDifficulty(chain.get(forkBlock).getHeader().getDifficulty().add(10L)));
+    blockchain.appendBlock(fork, gen.receipts(fork));
+
+    assertThat(logIndex.getIndexedBlocks()).isEmpty();
+    logIndexer.indexChainHead();
+    assertThat(logIndex.getIndexedBlocks())
+        .contains(new LogIndex.IndexedBlocks(forkBlock, forkBlock));
+  }
+
+  @Test
+  public void matchesTheBlocksWithTheAddressAndTopics() {
+    blockchain.observeBlockAdded(
+        new LogIndexer(
+            blockchain,
+            logIndexStorage,
+            MoreExecutors.newDirectExecutorService(),
+            new NoOpMetricsSystem()));
+    appendBlocks(1, chain.size());
+
+    final Log log = firstLogWithTopics();
+    final List<List<LogTopic>> topics =
+        log.getTopics().stream().map(List::of).collect(Collectors.toList());
+    final BitSet expected = new BitSet();
+    for (int i = 0; i < chain.size(); i++) {
+      final List<Log> blockLogs =
+          receipts.get(i).stream()
+              .flatMap(receipt -> receipt.getLogsList().stream())
+              .collect(Collectors.toList());
+      // the posting lists match blocks, the address and the topics may come from different logs
+      boolean matches =
+          blockLogs.stream().anyMatch(other -> other.getLogger().equals(log.getLogger()));
+      for (int position = 0; position < log.getTopics().size(); position++) {
+        matches &= hasTopic(blockLogs, position, log.getTopics().get(position));
+      }
+      if (matches) {
+        expected.set(i);
+      }
+    }
+
+    assertThat(logIndex.matchingBlocks(List.of(log.getLogger()), topics, 0, chain.size() - 1))
+        .contains(expected);
+    assertThat(logIndex.matchingBlocks(List.of(), List.of(), 0, chain.size() - 1)).isEmpty();
+    assertThat(logIndex.matchingBlocks(List.of(Address.ZERO), List.of(), 0, chain.size() - 1))
+        .contains(new BitSet());
+  }
+
+  private void appendBlocks(final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      blockchain.appendBlock(chain.get(i), receipts.get(i));
+    }
+  }
+
+  private static boolean hasTopic(final List<Log> logs, final int position, final LogTopic topic) {
+    return logs.stream()
+        .anyMatch(
+            log -> log.getTopics().size() > position && log.getTopics().get(position).equals(topic));
+  }
+
+  private Log firstLogWithTopics() {
+    return receipts.stream()
+        .flatMap(List::stream)
+        .flatMap(receipt -> receipt.getLogsList().stream())
+        .filter(log -> !log.getTopics().isEmpty())
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private void assertIndexMatchesChain(
+      final List<Block> blocks, final List<List<TransactionReceipt>> blockReceipts) {
+    for (final List<TransactionReceipt> logReceipts : blockReceipts) {
+      for (final TransactionReceipt receipt : logReceipts) {
+        for (final Log log : receipt.getLogsList()) {
+          final BitSet expected = new BitSet();
+          for (int i = 0; i < blocks.size(); i++) {
+            if (blockReceipts.get(i).stream()
+                .flatMap(other -> other.getLogsList().stream())
+                .anyMatch(other -> other.getLogger().equals(log.getLogger()))) {
+              expected.set(i);
+            }
+          }
+          assertThat(
+                  logIndexStorage.getBlocks(
+                      LogIndexStorage.addressTerm(log.getLogger()), 0, blocks.size() - 1))
+              .isEqualTo(expected);
+        }
+      }
+    }
+  }
+}
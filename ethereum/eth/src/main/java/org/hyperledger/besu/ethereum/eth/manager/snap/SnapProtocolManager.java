@@ -30,12 +30,13 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.util.ExceptionUtils;
 
 import java.math.BigInteger;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
@@ -47,16 +48,18 @@ public class SnapProtocolManager implements ProtocolManager {
   private final List<Capability> supportedCapabilities;
   private final EthPeers ethPeers;
   private final EthMessages snapMessages;
+  private final SnapServer snapServer;
 
   public SnapProtocolManager(
       final List<PeerValidator> peerValidators,
       final EthPeers ethPeers,
       final EthMessages snapMessages,
-      final WorldStateArchive worldStateArchive) {
+      final WorldStateArchive worldStateArchive,
+      final MetricsSystem metricsSystem) {
     this.ethPeers = ethPeers;
     this.snapMessages = snapMessages;
     this.supportedCapabilities = calculateCapabilities();
-    new SnapServer(snapMessages, worldStateArchive);
+    this.snapServer = new SnapServer(snapMessages, worldStateArchive, metricsSystem);
   }
 
   private List<Capability> calculateCapabilities() {
@@ -77,10 +80,14 @@ public class SnapProtocolManager implements ProtocolManager {
   }
 
   @Override
-  public void stop() {}
+  public void stop() {
+    snapServer.stop();
+  }
 
   @Override
-  public void awaitStop() throws InterruptedException {}
+  public void awaitStop() throws InterruptedException {
+    snapServer.awaitStop();
+  }
 
   /**
    * This function is called by the P2P framework when an "SNAP message has been received.
@@ -110,29 +117,53 @@ public class SnapProtocolManager implements ProtocolManager {
     ethPeers.dispatchMessage(ethPeer, ethMessage, getSupportedProtocol());
 
     // This will handle requests
-    Optional<MessageData> maybeResponseData = Optional.empty();
+    final Map.Entry<BigInteger, MessageData> requestIdAndEthMessage;
     try {
-      final Map.Entry<BigInteger, MessageData> requestIdAndEthMessage =
-          ethMessage.getData().unwrapMessageData();
-      maybeResponseData =
-          snapMessages
-              .dispatch(new EthMessage(ethPeer, requestIdAndEthMessage.getValue()))
-              .map(responseData -> responseData.wrapMessageData(requestIdAndEthMessage.getKey()));
+      requestIdAndEthMessage = ethMessage.getData().unwrapMessageData();
+      if (!SnapServer.isRequest(code)) {
+        snapMessages.dispatch(new EthMessage(ethPeer, requestIdAndEthMessage.getValue()));
+        return;
+      }
     } catch (final RLPException e) {
-      LOG.debug(
-          "Received malformed message {} , disconnecting: {}", messageData.getData(), ethPeer, e);
-      ethPeer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
+      disconnectOnMalformedMessage(ethPeer, messageData, e);
+      return;
+    }
+    // the request is served off the network thread and answered once its response is ready
+    snapServer
+        .serve(ethPeer, requestIdAndEthMessage.getValue())
+        .whenComplete(
+            (maybeResponseData, error) -> {
+              if (error != null) {
+                final Throwable cause = ExceptionUtils.rootCause(error);
+                if (cause instanceof RLPException) {
+                  disconnectOnMalformedMessage(ethPeer, messageData, cause);
+                } else {
+                  LOG.debug("Failed to serve snap message {} from {}", code, ethPeer, cause);
+                }
+                return;
+              }
+              maybeResponseData
+                  .map(
+                      responseData ->
+                          responseData.wrapMessageData(requestIdAndEthMessage.getKey()))
+                  .ifPresent(responseData -> sendResponse(ethPeer, responseData));
+            });
+  }
+
+  private void disconnectOnMalformedMessage(
+      final EthPeer ethPeer, final MessageData messageData, final Throwable error) {
+    LOG.debug(
+        "Received malformed message {} , disconnecting: {}", messageData.getData(), ethPeer, error);
+    ethPeer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
+  }
+
+  private void sendResponse(final EthPeer ethPeer, final MessageData responseData) {
+    try {
+      ethPeer.send(responseData, getSupportedProtocol());
+    } catch (final PeerConnection.PeerNotConnected error) {
+      // Peer disconnected before we could respond - nothing to do
+      LOG.trace("Peer disconnected before we could respond - nothing to do " + error.getMessage());
     }
-    maybeResponseData.ifPresent(
-        responseData -> {
-          try {
-            ethPeer.send(responseData, getSupportedProtocol());
-          } catch (final PeerConnection.PeerNotConnected error) {
-            // Peer disconnected before we could respond - nothing to do
-            LOG.trace(
-                "Peer disconnected before we could respond - nothing to do " + error.getMessage());
-          }
-        });
   }
 
   @Override
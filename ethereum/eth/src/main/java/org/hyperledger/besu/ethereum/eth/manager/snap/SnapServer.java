@@ -14,66 +14,412 @@
  */
 package org.hyperledger.besu.ethereum.eth.manager.snap;
 
+import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager.MAX_RANGE;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.eth.manager.EthMessage;
 import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
 import org.hyperledger.besu.ethereum.eth.messages.snap.ByteCodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetAccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetByteCodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetStorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetTrieNodesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
 import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-import kotlin.collections.ArrayDeque;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-@SuppressWarnings("unused")
+/**
+ * Serves the snap/1 requests from the flat database and the trie of the Bonsai world state.
+ *
+ * <p>Each request is answered on dedicated worker threads, so that reading large ranges holds
+ * neither the network threads nor the block import. The ranges and the trie nodes are read from a
+ * snapshot of the storage, so that they stay consistent with their proofs while blocks are
+ * imported. Only the current world state is served, a request for another root gets an empty
+ * response. The codes are looked up by their hash and do not depend on the state root.
+ */
 class SnapServer {
+  private static final Logger LOG = LoggerFactory.getLogger(SnapServer.class);
+
+  // responses are capped to the soft limit of snap/1, whatever the peer asks for
+  static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
+  static final int MAX_CONCURRENT_REQUESTS_PER_PEER = 4;
+  private static final int MAX_CODE_LOOKUPS = 1024;
+  private static final int SERVING_THREADS = 2;
+  private static final int MAX_QUEUED_REQUESTS = 64;
 
   private final EthMessages snapMessages;
   private final WorldStateArchive worldStateArchive;
+  private final ExecutorService servingExecutor;
+  private final Map<EthPeer, Integer> inFlightRequests = new ConcurrentHashMap<>();
+  private final LabelledMetric<OperationTimer> servingTimer;
+  private final LabelledMetric<Counter> rejectedRequestsCounter;
 
-  SnapServer(final EthMessages snapMessages, final WorldStateArchive worldStateArchive) {
+  SnapServer(
+      final EthMessages snapMessages,
+      final WorldStateArchive worldStateArchive,
+      final MetricsSystem metricsSystem) {
     this.snapMessages = snapMessages;
     this.worldStateArchive = worldStateArchive;
+    this.servingExecutor =
+        MonitoredExecutors.newBoundedThreadPool(
+            SnapServer.class.getSimpleName(),
+            SERVING_THREADS,
+            SERVING_THREADS,
+            MAX_QUEUED_REQUESTS,
+            metricsSystem);
+    this.servingTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_request_latency",
+            "Time taken to answer the snap requests of the peers, queuing included",
+            "request");
+    this.rejectedRequestsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_rejected_requests_total",
+            "Number of snap requests answered with an empty response without being served",
+            "reason");
     this.registerResponseConstructors();
   }
 
+  static boolean isRequest(final int code) {
+    switch (code) {
+      case SnapV1.GET_ACCOUNT_RANGE:
+      case SnapV1.GET_STORAGE_RANGE:
+      case SnapV1.GET_BYTECODES:
+      case SnapV1.GET_TRIE_NODES:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Answers a request of a peer on the server workers. A peer that already has too many requests
+   * in flight, or a request that arrives while the server is saturated, gets an empty response
+   * right away, which snap/1 peers treat as the data not being available.
+   *
+   * @param ethPeer the peer that sent the request
+   * @param request the request, with its request id
+   * @return the response to the request
+   */
+  CompletableFuture<Optional<MessageData>> serve(final EthPeer ethPeer, final MessageData request) {
+    final int code = request.getCode();
+    if (!tryAcquire(ethPeer)) {
+      LOG.trace("Too many snap requests in flight from {}, not serving {}", ethPeer, code);
+      rejectedRequestsCounter.labels("peer_limit").inc();
+      return CompletableFuture.completedFuture(Optional.of(emptyResponse(code)));
+    }
+    final OperationTimer.TimingContext timingContext =
+        servingTimer.labels(requestName(code)).startTimer();
+    try {
+      return CompletableFuture.supplyAsync(
+              () -> snapMessages.dispatch(new EthMessage(ethPeer, request)), servingExecutor)
+          .whenComplete(
+              (response, error) -> {
+                timingContext.stopTimer();
+                release(ethPeer);
+              });
+    } catch (final RejectedExecutionException e) {
+      LOG.trace("Snap server is saturated, not serving {} from {}", code, ethPeer);
+      release(ethPeer);
+      rejectedRequestsCounter.labels("server_busy").inc();
+      return CompletableFuture.completedFuture(Optional.of(emptyResponse(code)));
+    }
+  }
+
+  void stop() {
+    servingExecutor.shutdownNow();
+  }
+
+  void awaitStop() throws InterruptedException {
+    if (!servingExecutor.awaitTermination(2L, TimeUnit.MINUTES)) {
+      LOG.error("{} did not shutdown cleanly.", servingExecutor.getClass().getSimpleName());
+    }
+  }
+
+  private boolean tryAcquire(final EthPeer ethPeer) {
+    if (inFlightRequests.merge(ethPeer, 1, Integer::sum) > MAX_CONCURRENT_REQUESTS_PER_PEER) {
+      release(ethPeer);
+      return false;
+    }
+    return true;
+  }
+
+  private void release(final EthPeer ethPeer) {
+    // the entry is removed with the last request so that disconnected peers are not retained
+    inFlightRequests.computeIfPresent(ethPeer, (peer, count) -> count > 1 ? count - 1 : null);
+  }
+
   private void registerResponseConstructors() {
     snapMessages.registerResponseConstructor(
-        SnapV1.GET_ACCOUNT_RANGE,
-        messageData -> constructGetAccountRangeResponse(worldStateArchive, messageData));
+        SnapV1.GET_ACCOUNT_RANGE, this::constructGetAccountRangeResponse);
     snapMessages.registerResponseConstructor(
-        SnapV1.GET_STORAGE_RANGE,
-        messageData -> constructGetStorageRangeResponse(worldStateArchive, messageData));
+        SnapV1.GET_STORAGE_RANGE, this::constructGetStorageRangeResponse);
     snapMessages.registerResponseConstructor(
-        SnapV1.GET_BYTECODES,
-        messageData -> constructGetBytecodesResponse(worldStateArchive, messageData));
+        SnapV1.GET_BYTECODES, this::constructGetBytecodesResponse);
     snapMessages.registerResponseConstructor(
-        SnapV1.GET_TRIE_NODES,
-        messageData -> constructGetTrieNodesResponse(worldStateArchive, messageData));
+        SnapV1.GET_TRIE_NODES, this::constructGetTrieNodesResponse);
+  }
+
+  private MessageData constructGetAccountRangeResponse(final MessageData message) {
+    final GetAccountRangeMessage.Range range = GetAccountRangeMessage.readFrom(message).range(true);
+    return serveFromSnapshot(
+        range.worldStateRootHash(),
+        storage -> {
+          final int maxResponseBytes = maxResponseBytes(range.responseBytes());
+          final TreeMap<Bytes32, Bytes> accounts = new TreeMap<>();
+          int responseBytes = 0;
+          try (final Stream<Pair<Bytes32, Bytes>> flatAccounts =
+              storage.streamFlatAccounts(range.startKeyHash(), range.endKeyHash())) {
+            final Iterator<Pair<Bytes32, Bytes>> iterator = flatAccounts.iterator();
+            // at least one account is sent, even if it is larger than the limit
+            while (responseBytes < maxResponseBytes && iterator.hasNext()) {
+              final Pair<Bytes32, Bytes> account = iterator.next();
+              accounts.put(account.getKey(), account.getValue());
+              responseBytes += Bytes32.SIZE + account.getValue().size();
+            }
+          }
+          final WorldStateProofProvider proofProvider = new WorldStateProofProvider(storage);
+          final Set<Bytes> proof =
+              new LinkedHashSet<>(
+                  proofProvider.getAccountProofRelatedNodes(
+                      range.worldStateRootHash(), range.startKeyHash()));
+          proof.addAll(
+              proofProvider.getAccountProofRelatedNodes(
+                  range.worldStateRootHash(),
+                  accounts.isEmpty() ? range.endKeyHash() : accounts.lastKey()));
+          return AccountRangeMessage.create(accounts, new ArrayList<>(proof));
+        },
+        () -> emptyResponse(SnapV1.GET_ACCOUNT_RANGE));
+  }
+
+  private MessageData constructGetStorageRangeResponse(final MessageData message) {
+    final GetStorageRangeMessage.StorageRange range =
+        GetStorageRangeMessage.readFrom(message).range(true);
+    return serveFromSnapshot(
+        range.worldStateRootHash(),
+        storage -> {
+          final int maxResponseBytes = maxResponseBytes(range.responseBytes());
+          final WorldStateProofProvider proofProvider = new WorldStateProofProvider(storage);
+          final List<TreeMap<Bytes32, Bytes>> slots = new ArrayList<>();
+          final Set<Bytes> proof = new LinkedHashSet<>();
+          int responseBytes = 0;
+          for (final Bytes32 accountHash : range.hashes()) {
+            if (responseBytes >= maxResponseBytes) {
+              break;
+            }
+            final Optional<Hash> storageRoot =
+                storage
+                    .getAccount(Hash.wrap(accountHash))
+                    .map(RLP::input)
+                    .map(StateTrieAccountValue::readFrom)
+                    .map(StateTrieAccountValue::getStorageRoot);
+            if (storageRoot.isEmpty()) {
+              break;
+            }
+            // the origin and the limit only apply to the first account of the request
+            final Bytes32 startKeyHash = slots.isEmpty() ? range.startKeyHash() : Hash.ZERO;
+            final Bytes32 endKeyHash =
+                range.hashes().size() == 1 && !range.endKeyHash().equals(Hash.ZERO)
+                    ? range.endKeyHash()
+                    : MAX_RANGE;
+            final TreeMap<Bytes32, Bytes> accountSlots = new TreeMap<>();
+            boolean isComplete = true;
+            try (final Stream<Pair<Bytes32, Bytes>> flatSlots =
+                storage.streamFlatStorages(Hash.wrap(accountHash), startKeyHash, endKeyHash)) {
+              final Iterator<Pair<Bytes32, Bytes>> iterator = flatSlots.iterator();
+              while (iterator.hasNext()) {
+                if (responseBytes >= maxResponseBytes) {
+                  isComplete = false;
+                  break;
+                }
+                final Pair<Bytes32, Bytes> slot = iterator.next();
+                // the slots are sent as the values of the leaves of the storage trie
+                final Bytes value = RLP.encodeOne(slot.getValue().trimLeadingZeros());
+                accountSlots.put(slot.getKey(), value);
+                responseBytes += Bytes32.SIZE + value.size();
+              }
+            }
+            slots.add(accountSlots);
+            // only the whole storage of an account is sent without proof, any other range is
+            // proven by its boundaries and is the last one of the response
+            if (!isComplete || !startKeyHash.equals(Hash.ZERO) || !endKeyHash.equals(MAX_RANGE)) {
+              proof.addAll(
+                  proofProvider.getStorageProofRelatedNodes(
+                      storageRoot.get(), accountHash, startKeyHash));
+              proof.addAll(
+                  proofProvider.getStorageProofRelatedNodes(
+                      storageRoot.get(),
+                      accountHash,
+                      accountSlots.isEmpty() ? endKeyHash : accountSlots.lastKey()));
+              break;
+            }
+          }
+          return StorageRangeMessage.create(slots, new ArrayList<>(proof));
+        },
+        () -> emptyResponse(SnapV1.GET_STORAGE_RANGE));
+  }
+
+  private MessageData constructGetBytecodesResponse(final MessageData message) {
+    final GetByteCodesMessage.CodeHashes codeHashes =
+        GetByteCodesMessage.readFrom(message).codeHashes(true);
+    if (!(worldStateArchive instanceof BonsaiWorldStateProvider)) {
+      return emptyResponse(SnapV1.GET_BYTECODES);
+    }
+    // the codes are not tied to a state root, they are read from the storage as it is
+    final BonsaiWorldStateKeyValueStorage storage =
+        ((BonsaiWorldStateProvider) worldStateArchive).getWorldStateStorage();
+    final int maxResponseBytes = maxResponseBytes(codeHashes.responseBytes());
+    final List<Bytes> codes = new ArrayList<>();
+    int responseBytes = 0;
+    for (final Bytes32 codeHash : codeHashes.hashes()) {
+      if (responseBytes >= maxResponseBytes || codes.size() >= MAX_CODE_LOOKUPS) {
+        break;
+      }
+      final Optional<Bytes> code = storage.getCodeByHash(Hash.wrap(codeHash));
+      if (code.isEmpty()) {
+        // the codes are matched with the hashes by their position, stop at the first gap
+        break;
+      }
+      codes.add(code.get());
+      responseBytes += code.get().size();
+    }
+    return ByteCodesMessage.create(codes);
+  }
+
+  private MessageData constructGetTrieNodesResponse(final MessageData message) {
+    final GetTrieNodesMessage.TrieNodesPaths paths =
+        GetTrieNodesMessage.readFrom(message).paths(true);
+    return serveFromSnapshot(
+        paths.worldStateRootHash(),
+        storage -> {
+          // an account path set is the path of a node of the account trie, a storage path set is
+          // the account hash followed by the paths of nodes of the storage trie of the account
+          final List<Bytes> locations = new ArrayList<>();
+          for (final List<Bytes> pathSet : paths.paths()) {
+            if (pathSet.size() == 1) {
+              locations.add(CompactEncoding.decode(pathSet.get(0)));
+            } else {
+              for (final Bytes path : pathSet.subList(1, pathSet.size())) {
+                locations.add(Bytes.concatenate(pathSet.get(0), CompactEncoding.decode(path)));
+              }
+            }
+          }
+          final int maxResponseBytes = maxResponseBytes(paths.responseBytes());
+          final List<Bytes> nodes = new ArrayList<>();
+          int responseBytes = 0;
+          for (final Bytes location : locations) {
+            if (responseBytes >= maxResponseBytes) {
+              break;
+            }
+            final Optional<Bytes> node = storage.getStateTrieNode(location);
+            if (node.isEmpty()) {
+              // the nodes are matched with the paths by their position, stop at the first gap
+              break;
+            }
+            nodes.add(node.get());
+            responseBytes += node.get().size();
+          }
+          return TrieNodesMessage.create(nodes);
+        },
+        () -> emptyResponse(SnapV1.GET_TRIE_NODES));
   }
 
-  private MessageData constructGetAccountRangeResponse(
-      final WorldStateArchive worldStateArchive, final MessageData message) {
-    // TODO implement
-    return AccountRangeMessage.create(new HashMap<>(), new ArrayDeque<>());
+  private MessageData serveFromSnapshot(
+      final Hash rootHash,
+      final Function<BonsaiWorldStateKeyValueStorage, MessageData> responseConstructor,
+      final Supplier<MessageData> emptyResponse) {
+    if (!(worldStateArchive instanceof BonsaiWorldStateProvider)) {
+      return emptyResponse.get();
+    }
+    final BonsaiWorldStateKeyValueStorage snapshot =
+        ((BonsaiWorldStateProvider) worldStateArchive).getWorldStateStorage().takeSnapshot();
+    try {
+      if (snapshot.getWorldStateRootHash().filter(rootHash::equals).isEmpty()) {
+        LOG.trace("Not serving snap request for unavailable state root {}", rootHash);
+        return emptyResponse.get();
+      }
+      return responseConstructor.apply(snapshot);
+    } finally {
+      try {
+        snapshot.close();
+      } catch (final Exception e) {
+        LOG.debug("Failed to close the snap server storage snapshot", e);
+      }
+    }
   }
 
-  private MessageData constructGetStorageRangeResponse(
-      final WorldStateArchive worldStateArchive, final MessageData message) {
-    // TODO implement
-    return StorageRangeMessage.create(new ArrayDeque<>(), new ArrayDeque<>());
+  private static int maxResponseBytes(final BigInteger requestedResponseBytes) {
+    return requestedResponseBytes.min(BigInteger.valueOf(MAX_RESPONSE_SIZE)).intValue();
   }
 
-  private MessageData constructGetBytecodesResponse(
-      final WorldStateArchive worldStateArchive, final MessageData message) {
-    // TODO implement
-    return ByteCodesMessage.create(new ArrayDeque<>());
+  private static MessageData emptyResponse(final int requestCode) {
+    switch (requestCode) {
+      case SnapV1.GET_ACCOUNT_RANGE:
+        return AccountRangeMessage.create(new HashMap<>(), new ArrayList<>());
+      case SnapV1.GET_STORAGE_RANGE:
+        return StorageRangeMessage.create(new ArrayList<>(), new ArrayList<>());
+      case SnapV1.GET_BYTECODES:
+        return ByteCodesMessage.create(new ArrayList<>());
+      case SnapV1.GET_TRIE_NODES:
+        return TrieNodesMessage.create(new ArrayList<>());
+      default:
+        throw new IllegalArgumentException("Not a snap request: " + requestCode);
+    }
   }
 
-  private MessageData constructGetTrieNodesResponse(
-      final WorldStateArchive worldStateArchive, final MessageData message) {
-    return TrieNodesMessage.create(new ArrayDeque<>());
+  private static String requestName(final int requestCode) {
+    switch (requestCode) {
+      case SnapV1.GET_ACCOUNT_RANGE:
+        return "get_account_range";
+      case SnapV1.GET_STORAGE_RANGE:
+        return "get_storage_range";
+      case SnapV1.GET_BYTECODES:
+        return "get_bytecodes";
+      default:
+        return "get_trie_nodes";
+    }
   }
 }
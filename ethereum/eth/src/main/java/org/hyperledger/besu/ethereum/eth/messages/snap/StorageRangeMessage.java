@@ -49,13 +49,13 @@ public final class StorageRangeMessage extends AbstractSnapMessageData {
   }
 
   public static StorageRangeMessage create(
-      final ArrayDeque<TreeMap<Bytes32, Bytes>> slots, final List<Bytes> proof) {
+      final List<TreeMap<Bytes32, Bytes>> slots, final List<Bytes> proof) {
     return create(Optional.empty(), slots, proof);
   }
 
   public static StorageRangeMessage create(
       final Optional<BigInteger> requestId,
-      final ArrayDeque<TreeMap<Bytes32, Bytes>> slots,
+      final List<TreeMap<Bytes32, Bytes>> slots,
       final List<Bytes> proof) {
     final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
     tmp.startList();
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.sync.snapsync;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.trie.CommitVisitor;
 import org.hyperledger.besu.ethereum.trie.InnerNodeDiscoveryManager;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
@@ -24,7 +25,6 @@ import org.hyperledger.besu.ethereum.trie.SnapPutVisitor;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -94,10 +94,7 @@ public class StackTrie {
                 keys.putAll(taskElement.keys());
               });
 
-      final Map<Bytes32, Bytes> proofsEntries = new HashMap<>();
-      for (Bytes proof : proofs) {
-        proofsEntries.put(Hash.hash(proof), proof);
-      }
+      final Map<Bytes32, Bytes> proofsEntries = WorldStateProofProvider.proofsByHash(proofs);
 
       final InnerNodeDiscoveryManager<Bytes> snapStoredNodeFactory =
           new InnerNodeDiscoveryManager<>(
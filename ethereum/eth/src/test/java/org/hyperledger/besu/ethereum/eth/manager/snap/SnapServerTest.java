@@ -0,0 +1,294 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager.MAX_RANGE;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.eth.manager.EthMessage;
+import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.ByteCodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetAccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetByteCodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetStorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetTrieNodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SnapServerTest {
+
+  private static final BigInteger REQUEST_ID = BigInteger.ONE;
+
+  private final EthPeer ethPeer = mock(EthPeer.class);
+  private final EthMessages snapMessages = new EthMessages();
+  private BonsaiWorldStateProvider worldStateArchive;
+  private WorldStateProofProvider proofProvider;
+  private Hash rootHash;
+  private SnapServer snapServer;
+
+  @Before
+  public void setUp() {
+    final BlockchainSetupUtil setupUtil = BlockchainSetupUtil.forTesting(DataStorageFormat.BONSAI);
+    setupUtil.importAllBlocks();
+    worldStateArchive = (BonsaiWorldStateProvider) setupUtil.getWorldArchive();
+    proofProvider = new WorldStateProofProvider(worldStateArchive.getWorldStateStorage());
+    rootHash = setupUtil.getBlockchain().getChainHeadHeader().getStateRoot();
+    snapServer = new SnapServer(snapMessages, worldStateArchive, new NoOpMetricsSystem());
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    snapServer.stop();
+    snapServer.awaitStop();
+  }
+
+  @Test
+  public void servesTheAccountRangeWithItsProof() {
+    final AccountRangeMessage.AccountRangeData accountData =
+        requestAccountRange(rootHash, Hash.ZERO, MAX_RANGE);
+
+    assertThat(accountData.accounts()).isNotEmpty();
+    assertThat(
+            proofProvider.isValidRangeProof(
+                Hash.ZERO, MAX_RANGE, rootHash, accountData.proofs(), accountData.accounts()))
+        .isTrue();
+  }
+
+  @Test
+  public void servesAPartialAccountRangeWithItsProof() {
+    final List<Bytes32> accountHashes =
+        new ArrayList<>(requestAccountRange(rootHash, Hash.ZERO, MAX_RANGE).accounts().keySet());
+    assertThat(accountHashes).hasSizeGreaterThan(3);
+    final Bytes32 startKeyHash = accountHashes.get(1);
+    final Bytes32 endKeyHash = accountHashes.get(2);
+
+    final AccountRangeMessage.AccountRangeData accountData =
+        requestAccountRange(rootHash, startKeyHash, endKeyHash);
+
+    assertThat(accountData.accounts()).containsOnlyKeys(startKeyHash, endKeyHash);
+    assertThat(
+            proofProvider.isValidRangeProof(
+                startKeyHash, endKeyHash, rootHash, accountData.proofs(), accountData.accounts()))
+        .isTrue();
+  }
+
+  @Test
+  public void servesTheStorageRangeOfAnAccount() {
+    final Map.Entry<Bytes32, Hash> accountWithStorage =
+        requestAccountRange(rootHash, Hash.ZERO, MAX_RANGE).accounts().entrySet().stream()
+            .map(
+                account ->
+                    Map.entry(
+                        account.getKey(),
+                        StateTrieAccountValue.readFrom(RLP.input(account.getValue()))
+                            .getStorageRoot()))
+            .filter(account -> !account.getValue().equals(Hash.EMPTY_TRIE_HASH))
+            .findFirst()
+            .orElseThrow();
+
+    final StorageRangeMessage.SlotRangeData slotsData =
+        StorageRangeMessage.readFrom(
+                dispatch(
+                    GetStorageRangeMessage.create(
+                        rootHash, List.of(accountWithStorage.getKey()), Hash.ZERO, MAX_RANGE)))
+            .slotsData(false);
+
+    assertThat(slotsData.slots()).hasSize(1);
+    final TreeMap<Bytes32, Bytes> slots = slotsData.slots().get(0);
+    assertThat(slots).isNotEmpty();
+    // the whole storage is sent without proof, the slots alone give the storage root
+    assertThat(slotsData.proofs()).isEmpty();
+    assertThat(
+            proofProvider.isValidRangeProof(
+                Hash.ZERO, MAX_RANGE, accountWithStorage.getValue(), slotsData.proofs(), slots))
+        .isTrue();
+  }
+
+  @Test
+  public void servesAStorageRangeBoundedByALimitWithItsProof() {
+    final Map.Entry<Bytes32, StateTrieAccountValue> accountWithStorage =
+        accounts().entrySet().stream()
+            .filter(account -> !account.getValue().getStorageRoot().equals(Hash.EMPTY_TRIE_HASH))
+            .max(Comparator.comparingInt(account -> requestStorage(account.getKey()).size()))
+            .orElseThrow();
+    final List<Bytes32> slotHashes =
+        new ArrayList<>(requestStorage(accountWithStorage.getKey()).keySet());
+    assertThat(slotHashes).hasSizeGreaterThan(1);
+    final Bytes32 endKeyHash = slotHashes.get(0);
+
+    final StorageRangeMessage.SlotRangeData slotsData =
+        StorageRangeMessage.readFrom(
+                dispatch(
+                    GetStorageRangeMessage.create(
+                        rootHash, List.of(accountWithStorage.getKey()), Hash.ZERO, endKeyHash)))
+            .slotsData(false);
+
+    assertThat(slotsData.slots()).hasSize(1);
+    final TreeMap<Bytes32, Bytes> slots = slotsData.slots().get(0);
+    assertThat(slots).containsOnlyKeys(endKeyHash);
+    // the range stops before the end of the storage, it cannot be verified without its proof
+    assertThat(slotsData.proofs()).isNotEmpty();
+    assertThat(
+            proofProvider.isValidRangeProof(
+                Hash.ZERO,
+                endKeyHash,
+                accountWithStorage.getValue().getStorageRoot(),
+                slotsData.proofs(),
+                slots))
+        .isTrue();
+  }
+
+  @Test
+  public void servesTheBytecodesByTheirHash() {
+    final List<Bytes32> codeHashes =
+        accounts().values().stream()
+            .<Bytes32>map(StateTrieAccountValue::getCodeHash)
+            .filter(codeHash -> !codeHash.equals(Hash.EMPTY))
+            .distinct()
+            .collect(Collectors.toList());
+    assertThat(codeHashes).isNotEmpty();
+
+    final List<Bytes> codes =
+        new ArrayList<>(
+            ByteCodesMessage.readFrom(dispatch(GetByteCodesMessage.create(codeHashes)))
+                .bytecodes(false)
+                .codes());
+
+    assertThat(codes.stream().<Bytes32>map(Hash::hash).collect(Collectors.toList()))
+        .containsExactlyElementsOf(codeHashes);
+  }
+
+  @Test
+  public void servesTheRootNodeOfTheAccountTrie() {
+    final List<Bytes> nodes =
+        TrieNodesMessage.readFrom(
+                dispatch(
+                    GetTrieNodesMessage.create(
+                        rootHash, List.of(List.of(CompactEncoding.encode(Bytes.EMPTY))))))
+            .nodes(false);
+
+    assertThat(nodes).hasSize(1);
+    assertThat(Hash.hash(nodes.get(0))).isEqualTo(rootHash);
+  }
+
+  @Test
+  public void answersWithAnEmptyResponseForAnotherRoot() {
+    final AccountRangeMessage.AccountRangeData accountData =
+        requestAccountRange(Hash.EMPTY_TRIE_HASH, Hash.ZERO, MAX_RANGE);
+
+    assertThat(accountData.accounts()).isEmpty();
+    assertThat(accountData.proofs()).isEmpty();
+  }
+
+  @Test
+  public void answersWithAnEmptyResponseWhenThePeerHasTooManyRequestsInFlight() {
+    final CountDownLatch servingLatch = new CountDownLatch(1);
+    final MessageData servedResponse = ByteCodesMessage.create(List.of(Bytes.of(1)));
+    snapMessages.registerResponseConstructor(
+        SnapV1.GET_BYTECODES,
+        message -> {
+          try {
+            servingLatch.await();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return servedResponse;
+        });
+    final MessageData request =
+        GetByteCodesMessage.create(List.of(Hash.EMPTY)).wrapMessageData(REQUEST_ID);
+
+    final List<CompletableFuture<Optional<MessageData>>> inFlightResponses = new ArrayList<>();
+    for (int i = 0; i < SnapServer.MAX_CONCURRENT_REQUESTS_PER_PEER; i++) {
+      inFlightResponses.add(snapServer.serve(ethPeer, request));
+    }
+    final CompletableFuture<Optional<MessageData>> rejectedResponse =
+        snapServer.serve(ethPeer, request);
+
+    assertThat(rejectedResponse).isCompleted();
+    assertThat(
+            ByteCodesMessage.readFrom(rejectedResponse.join().orElseThrow())
+                .bytecodes(false)
+                .codes())
+        .isEmpty();
+
+    servingLatch.countDown();
+    inFlightResponses.forEach(response -> assertThat(response.join()).contains(servedResponse));
+    // the requests that have been answered no longer count for the peer
+    assertThat(snapServer.serve(ethPeer, request).join()).contains(servedResponse);
+  }
+
+  private Map<Bytes32, StateTrieAccountValue> accounts() {
+    final Map<Bytes32, StateTrieAccountValue> accounts = new TreeMap<>();
+    requestAccountRange(rootHash, Hash.ZERO, MAX_RANGE)
+        .accounts()
+        .forEach(
+            (accountHash, account) ->
+                accounts.put(accountHash, StateTrieAccountValue.readFrom(RLP.input(account))));
+    return accounts;
+  }
+
+  private TreeMap<Bytes32, Bytes> requestStorage(final Bytes32 accountHash) {
+    return StorageRangeMessage.readFrom(
+            dispatch(
+                GetStorageRangeMessage.create(rootHash, List.of(accountHash), Hash.ZERO, MAX_RANGE)))
+        .slotsData(false)
+        .slots()
+        .get(0);
+  }
+
+  private AccountRangeMessage.AccountRangeData requestAccountRange(
+      final Hash worldStateRootHash, final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
+    return AccountRangeMessage.readFrom(
+            dispatch(GetAccountRangeMessage.create(worldStateRootHash, startKeyHash, endKeyHash)))
+        .accountData(false);
+  }
+
+  private MessageData dispatch(final MessageData request) {
+    return snapMessages
+        .dispatch(new EthMessage(ethPeer, request.wrapMessageData(REQUEST_ID)))
+        .orElseThrow();
+  }
+}
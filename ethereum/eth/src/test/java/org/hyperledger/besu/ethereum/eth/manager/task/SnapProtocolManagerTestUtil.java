@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.eth.manager.RespondingEthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.snap.SnapProtocolManager;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.Collections;
 
@@ -37,7 +38,8 @@ public class SnapProtocolManagerTestUtil {
 
     EthMessages messages = new EthMessages();
 
-    return new SnapProtocolManager(Collections.emptyList(), ethPeers, messages, worldStateArchive);
+    return new SnapProtocolManager(
+        Collections.emptyList(), ethPeers, messages, worldStateArchive, new NoOpMetricsSystem());
   }
 
   public static SnapProtocolManager create(
@@ -45,7 +47,11 @@ public class SnapProtocolManagerTestUtil {
       final EthPeers ethPeers,
       final EthMessages snapMessages) {
     return new SnapProtocolManager(
-        Collections.emptyList(), ethPeers, snapMessages, worldStateArchive);
+        Collections.emptyList(),
+        ethPeers,
+        snapMessages,
+        worldStateArchive,
+        new NoOpMetricsSystem());
   }
 
   public static RespondingEthPeer createPeer(
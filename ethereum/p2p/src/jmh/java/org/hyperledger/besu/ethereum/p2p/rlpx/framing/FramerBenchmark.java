@@ -0,0 +1,93 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+
+import java.util.Random;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the throughput of framing a message and deframing it again through pooled direct
+ * buffers, as the RLPx channel handlers do. The score is in frames per second, run with {@code
+ * -prof gc} and read {@code gc.alloc.rate.norm} for the bytes allocated per frame.
+ */
+@State(Scope.Thread)
+public class FramerBenchmark {
+
+  @Param({"64", "4096", "65536"})
+  public int messageSize;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  private Framer sendingFramer;
+  private Framer receivingFramer;
+  private MessageData message;
+  private ByteBuf buffer;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(42);
+    final byte[] aesSecret = new byte[32];
+    final byte[] macSecret = new byte[32];
+    final byte[] token = new byte[32];
+    random.nextBytes(aesSecret);
+    random.nextBytes(macSecret);
+    random.nextBytes(token);
+
+    // Fresh secrets start with empty MACs, the egress MAC of one end matches the ingress MAC of
+    // the other.
+    sendingFramer = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    receivingFramer = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    if (compression) {
+      sendingFramer.enableCompression();
+      receivingFramer.enableCompression();
+    }
+
+    // Half random, half repeated bytes so that compression has something to do.
+    final byte[] data = new byte[messageSize];
+    random.nextBytes(data);
+    for (int i = messageSize / 2; i < messageSize; i++) {
+      data[i] = (byte) (i % 16);
+    }
+    message = new RawMessage(0x10, Bytes.wrap(data));
+    buffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+  }
+
+  @TearDown
+  public void release() {
+    buffer.release();
+  }
+
+  @Benchmark
+  public MessageData roundTrip() {
+    sendingFramer.frame(message, buffer);
+    final MessageData received = receivingFramer.deframe(buffer);
+    buffer.clear();
+    return received;
+  }
+}
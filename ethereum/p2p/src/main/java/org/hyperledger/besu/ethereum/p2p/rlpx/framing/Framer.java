@@ -33,7 +33,6 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.FormatMethod;
 import io.netty.buffer.ByteBuf;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.MutableBytes;
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.StreamCipher;
 import org.bouncycastle.crypto.engines.AESEngine;
@@ -54,6 +53,15 @@ import org.slf4j.LoggerFactory;
  * fragmented frames, as well as streams of multiple messages within the same incoming buffer, as
  * long as the order of incoming bytes matches the underlying TCP sequence.
  *
+ * <p>Frames are decrypted, authenticated and decompressed in place in the buffers they are read
+ * from or written to, the only copy being the message data handed to, or taken from, the caller.
+ * As the cryptographic primitives operate on arrays, direct buffers are staged through a pooled
+ * heap buffer of the same allocator.
+ *
+ * <p>The ingress and egress paths keep disjoint state: {@link #deframe(ByteBuf)} and {@link
+ * #frame(MessageData, ByteBuf)} may be called concurrently, but each of them must only be called
+ * from a single thread at a time, which is the case for the event loop of the channel.
+ *
  * @see <a href="https://github.com/ethereum/devp2p/blob/master/rlpx.md#framing">RLPx framing</a>
  */
 public class Framer {
@@ -79,10 +87,13 @@ public class Framer {
   private static final SnappyCompressor compressor = new SnappyCompressor();
   private final StreamCipher encryptor;
   private final StreamCipher decryptor;
-  private final BlockCipher macEncryptor;
+  private final BlockCipher ingressMacEncryptor;
+  private final BlockCipher egressMacEncryptor;
+  private final byte[] ingressMacBlock = new byte[LENGTH_MAC];
+  private final byte[] egressMacBlock = new byte[LENGTH_MAC];
   private boolean headerProcessed;
   private int frameSize;
-  private boolean compressionEnabled = false;
+  private volatile boolean compressionEnabled = false;
   // have we ever successfully uncompressed a packet?
   private boolean compressionSuccessful = false;
 
@@ -90,7 +101,8 @@ public class Framer {
     this.secrets = null;
     this.encryptor = null;
     this.decryptor = null;
-    this.macEncryptor = null;
+    this.ingressMacEncryptor = null;
+    this.egressMacEncryptor = null;
   }
 
   /**
@@ -110,8 +122,11 @@ public class Framer {
     decryptor = new SICBlockCipher(new AESEngine());
     decryptor.init(false, new ParametersWithIV(aesKey, IV));
 
-    macEncryptor = new AESEngine();
-    macEncryptor.init(true, macKey);
+    ingressMacEncryptor = new AESEngine();
+    ingressMacEncryptor.init(true, macKey);
+
+    egressMacEncryptor = new AESEngine();
+    egressMacEncryptor.init(true, macKey);
   }
 
   public void enableCompression() {
@@ -156,7 +171,7 @@ public class Framer {
    *     could be extracted yet.
    * @throws FramingException Thrown when a decryption or internal error occurs.
    */
-  public synchronized MessageData deframe(final ByteBuf buf) throws FramingException {
+  public MessageData deframe(final ByteBuf buf) throws FramingException {
     if (buf == null || !buf.isReadable()) {
       return null;
     }
@@ -206,7 +221,7 @@ public class Framer {
 
     // Header MAC validation.
     byte[] expectedMac = new byte[16];
-    macEncryptor.processBlock(secrets.getIngressMac(), 0, expectedMac, 0);
+    ingressMacEncryptor.processBlock(secrets.getIngressMac(), 0, expectedMac, 0);
     expectedMac = secrets.updateIngress(xor(expectedMac, hCipher)).getIngressMac();
     expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
 
@@ -250,78 +265,89 @@ public class Framer {
    * Parses, decrypts and performs MAC verification on a frame.
    *
    * <p>This method expects a well-formed frame, sized according to the length indicated in this
-   * packet's header.
+   * packet's header. The frame is decrypted in place.
    *
-   * @param f The buffer containing
-   * @param frameSize The expected
+   * @param f The buffer containing the encrypted frame, its padding and its MAC.
+   * @param frameSize The frame size indicated in the header.
    */
   private MessageData processFrame(final ByteBuf f, final int frameSize) {
     final int pad = padding16(frameSize);
-    final int expectedSize = frameSize + pad + LENGTH_MAC;
+    final int length = frameSize + pad;
+    final int expectedSize = length + LENGTH_MAC;
     if (f.readableBytes() != expectedSize) {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
-    final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
+    final ByteBuf frame = f.hasArray() ? f : f.alloc().heapBuffer(expectedSize).writeBytes(f);
+    try {
+      final byte[] array = frame.array();
+      final int offset = frame.arrayOffset() + frame.readerIndex();
 
-    // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
-    final byte[] fMacSeedEnc = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
-    byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
+      // Validate the frame's MAC.
+      final byte[] fMacSeed = secrets.updateIngress(array, offset, length).getIngressMac();
+      ingressMacEncryptor.processBlock(fMacSeed, 0, ingressMacBlock, 0);
+      xorInPlace(ingressMacBlock, fMacSeed, 0);
+      final byte[] expectedMac = secrets.updateIngress(ingressMacBlock).getIngressMac();
 
-    validateMac(fMac, expectedMac);
+      validateMac(array, offset + length, expectedMac);
 
-    // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
+      // Decrypt frame data.
+      decryptor.processBytes(array, offset, length, array, offset);
 
-    // Read the id.
-    final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
-    final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
+      // Read the id.
+      final Bytes idbv = RLP.decodeOne(Bytes.of(array[offset]));
+      final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
 
-    // Write message data to ByteBuf, decompressing as necessary
-    final Bytes data;
-    if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
-      if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
-        throw error("Message size %s in excess of maximum length.", uncompressedLength);
-      }
-      Bytes _data;
-      try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
-        _data = Bytes.wrap(decompressedMessageData);
-        compressionSuccessful = true;
-      } catch (final FramingException fe) {
-        if (compressionSuccessful) {
-          throw fe;
-        } else {
-          // OpenEthereum/Parity does not implement EIP-706
-          // If failing on the first packet downgrade to uncompressed
-          compressionEnabled = false;
-          LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
+      // Copy the message data out of the frame, decompressing as necessary.
+      final int messageOffset = offset + LENGTH_MESSAGE_ID;
+      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
+      final int messageEnd = messageOffset + messageLength;
+      final Bytes data;
+      if (compressionEnabled) {
+        final ByteBuf compressed = wrappedBuffer(array, messageOffset, messageLength);
+        final int uncompressedLength = compressor.uncompressedLength(compressed);
+        if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
+          throw error("Message size %s in excess of maximum length.", uncompressedLength);
+        }
+        Bytes _data;
+        try {
+          final byte[] decompressedMessageData = new byte[uncompressedLength];
+          compressor.decompress(compressed, wrappedBuffer(decompressedMessageData).clear());
+          _data = Bytes.wrap(decompressedMessageData);
+          compressionSuccessful = true;
+        } catch (final FramingException fe) {
+          if (compressionSuccessful) {
+            throw fe;
+          } else {
+            // OpenEthereum/Parity does not implement EIP-706
+            // If failing on the first packet downgrade to uncompressed
+            compressionEnabled = false;
+            LOG.debug("Snappy decompression failed: downgrading to uncompressed");
+            _data = Bytes.wrap(Arrays.copyOfRange(array, messageOffset, messageEnd));
+          }
         }
+        data = _data;
+      } else {
+        data = Bytes.wrap(Arrays.copyOfRange(array, messageOffset, messageEnd));
       }
-      data = _data;
-    } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
-    }
 
-    return new RawMessage(id, data);
+      return new RawMessage(id, data);
+    } finally {
+      if (frame != f) {
+        frame.release();
+      }
+    }
   }
 
   private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
-    if (!Arrays.equals(expectedMac, candidateMac)) {
+    validateMac(candidateMac, 0, expectedMac);
+  }
+
+  private void validateMac(final byte[] array, final int offset, final byte[] expectedMac) {
+    if (!Arrays.equals(expectedMac, 0, LENGTH_MAC, array, offset, offset + LENGTH_MAC)) {
       throw error(
           "Frame MAC did not match expected MAC; expected: %s, received: %s",
-          hexDump(expectedMac), hexDump(candidateMac));
+          hexDump(expectedMac, 0, LENGTH_MAC), hexDump(array, offset, LENGTH_MAC));
     }
   }
 
@@ -332,63 +358,93 @@ public class Framer {
    * @param message The message to frame.
    * @param output The {@link ByteBuf} to write framed data to.
    */
-  public synchronized void frame(final MessageData message, final ByteBuf output) {
+  public void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
-    if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), Bytes.wrap(compressed)), output);
-    } else {
-      frameMessage(message, output);
-    }
+    writeFrame(message, compressionEnabled, output);
   }
 
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
-    final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
-    final int pad = padding16(frameSize);
+    writeFrame(message, false, buf);
+  }
 
+  private void writeFrame(final MessageData message, final boolean compress, final ByteBuf buf) {
+    if (buf.hasArray()) {
+      writeFrameToArray(message, compress, buf);
+      return;
+    }
+    final ByteBuf heapBuf = buf.alloc().heapBuffer(maxFramedLength(message.getSize(), compress));
+    try {
+      writeFrameToArray(message, compress, heapBuf);
+      buf.writeBytes(heapBuf);
+    } finally {
+      heapBuf.release();
+    }
+  }
+
+  private void writeFrameToArray(
+      final MessageData message, final boolean compress, final ByteBuf buf) {
+    buf.ensureWritable(maxFramedLength(message.getSize(), compress));
+    final int headerIndex = buf.writerIndex();
+    final int frameIndex = headerIndex + LENGTH_FULL_HEADER;
+
+    // Write the id and the message data after the space reserved for the header.
     final byte id = (byte) message.getCode();
+    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
+    assert bv.size() == 1;
+    buf.writerIndex(frameIndex).writeByte(bv.get(0));
+    if (compress) {
+      compressor.compress(wrappedBuffer(message.getData().toArrayUnsafe()), buf);
+    } else {
+      buf.writeBytes(message.getData().toArrayUnsafe());
+    }
+
+    // Zero-padded to 16-byte boundary.
+    final int frameSize = buf.writerIndex() - frameIndex;
+    final int pad = padding16(frameSize);
+    buf.writeZero(pad);
+
+    final byte[] array = buf.array();
+    final int h = buf.arrayOffset() + headerIndex;
+    final int f = h + LENGTH_FULL_HEADER;
 
     // Generate the header data.
-    final byte[] h = new byte[LENGTH_HEADER_DATA];
-    h[0] = (byte) ((frameSize >> 16) & 0xff);
-    h[1] = (byte) ((frameSize >> 8) & 0xff);
-    h[2] = (byte) (frameSize & 0xff);
-    System.arraycopy(PROTOCOL_HEADER, 0, h, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
-    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length - 1, (byte) 0x00);
-    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, h, 0);
+    array[h] = (byte) ((frameSize >> 16) & 0xff);
+    array[h + 1] = (byte) ((frameSize >> 8) & 0xff);
+    array[h + 2] = (byte) (frameSize & 0xff);
+    System.arraycopy(PROTOCOL_HEADER, 0, array, h + LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
+    Arrays.fill(
+        array, h + LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h + LENGTH_HEADER_DATA, (byte) 0x00);
+    encryptor.processBytes(array, h, LENGTH_HEADER_DATA, array, h);
 
     // Generate the header MAC.
-    byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
-    macEncryptor.processBlock(hMac, 0, hMac, 0);
-    hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
+    egressMacEncryptor.processBlock(secrets.getEgressMac(), 0, egressMacBlock, 0);
+    xorInPlace(egressMacBlock, array, h);
+    final byte[] hMac = secrets.updateEgress(egressMacBlock).getEgressMac();
+    System.arraycopy(hMac, 0, array, h + LENGTH_HEADER_DATA, LENGTH_MAC);
 
     // Encrypt payload.
-    final MutableBytes f = MutableBytes.create(frameSize + pad);
+    encryptor.processBytes(array, f, frameSize + pad, array, f);
 
-    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
-    assert bv.size() == 1;
-    f.set(0, bv.get(0));
+    // Calculate the frame MAC.
+    final byte[] fMacSeed = secrets.updateEgress(array, f, frameSize + pad).getEgressMac();
+    egressMacEncryptor.processBlock(fMacSeed, 0, egressMacBlock, 0);
+    xorInPlace(egressMacBlock, fMacSeed, 0);
+    final byte[] fMac = secrets.updateEgress(egressMacBlock).getEgressMac();
 
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 1);
-    encryptor.processBytes(f.toArrayUnsafe(), 0, f.size(), f.toArrayUnsafe(), 0);
+    buf.writeBytes(fMac, 0, LENGTH_MAC);
+  }
 
-    // Calculate the frame MAC.
-    final byte[] fMacSeed =
-        Arrays.copyOf(secrets.updateEgress(f.toArrayUnsafe()).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+  private int maxFramedLength(final int messageSize, final boolean compress) {
+    final int maxMessageSize = compress ? compressor.maxCompressedLength(messageSize) : messageSize;
+    return LENGTH_FULL_HEADER + LENGTH_MESSAGE_ID + maxMessageSize + 15 + LENGTH_MAC;
+  }
 
-    buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
+  private static void xorInPlace(final byte[] target, final byte[] other, final int offset) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] ^= other[offset + i];
+    }
   }
 
   private static int padding16(final int size) {
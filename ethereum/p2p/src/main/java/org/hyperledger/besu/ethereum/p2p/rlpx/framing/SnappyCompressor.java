@@ -18,11 +18,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.IOException;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.xerial.snappy.Snappy;
 
 /**
  * A strategy for compressing and decompressing data with the Snappy algorithm.
  *
+ * <p>The {@link ByteBuf} variants read and write the buffers in place when both are heap buffers or
+ * both are direct buffers backed by a single memory region, and fall back to an intermediate copy
+ * otherwise.
+ *
  * @see <a href="https://google.github.io/snappy/">Snappy algorithm</a>
  */
 public class SnappyCompressor {
@@ -53,4 +59,122 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  /**
+   * Compresses the readable bytes of a buffer into another buffer.
+   *
+   * @param uncompressed The buffer to compress, its readable bytes are consumed.
+   * @param compressed The buffer the compressed bytes are written to, at its writer index.
+   * @return The number of compressed bytes written.
+   */
+  public int compress(final ByteBuf uncompressed, final ByteBuf compressed) {
+    checkNotNull(uncompressed, "input data must not be null");
+    checkNotNull(compressed, "output buffer must not be null");
+    final int length = uncompressed.readableBytes();
+    compressed.ensureWritable(maxCompressedLength(length));
+    try {
+      final int written;
+      if (uncompressed.hasArray() && compressed.hasArray()) {
+        written =
+            Snappy.compress(
+                uncompressed.array(),
+                uncompressed.arrayOffset() + uncompressed.readerIndex(),
+                length,
+                compressed.array(),
+                compressed.arrayOffset() + compressed.writerIndex());
+      } else if (isSingleDirectRegion(uncompressed) && isSingleDirectRegion(compressed)) {
+        written =
+            Snappy.compress(
+                uncompressed.nioBuffer(),
+                compressed.nioBuffer(compressed.writerIndex(), compressed.writableBytes()));
+      } else {
+        final byte[] output = Snappy.compress(ByteBufUtil.getBytes(uncompressed));
+        compressed.writeBytes(output);
+        uncompressed.skipBytes(length);
+        return output.length;
+      }
+      uncompressed.skipBytes(length);
+      compressed.writerIndex(compressed.writerIndex() + written);
+      return written;
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+  }
+
+  /**
+   * Decompresses the readable bytes of a buffer into another buffer.
+   *
+   * @param compressed The buffer to decompress, its readable bytes are consumed.
+   * @param uncompressed The buffer the decompressed bytes are written to, at its writer index.
+   * @return The number of decompressed bytes written.
+   */
+  public int decompress(final ByteBuf compressed, final ByteBuf uncompressed) {
+    checkNotNull(compressed, "input data must not be null");
+    checkNotNull(uncompressed, "output buffer must not be null");
+    final int length = uncompressedLength(compressed);
+    uncompressed.ensureWritable(length);
+    try {
+      final int written;
+      if (compressed.hasArray() && uncompressed.hasArray()) {
+        written =
+            Snappy.uncompress(
+                compressed.array(),
+                compressed.arrayOffset() + compressed.readerIndex(),
+                compressed.readableBytes(),
+                uncompressed.array(),
+                uncompressed.arrayOffset() + uncompressed.writerIndex());
+      } else if (isSingleDirectRegion(compressed) && isSingleDirectRegion(uncompressed)) {
+        written =
+            Snappy.uncompress(
+                compressed.nioBuffer(), uncompressed.nioBuffer(uncompressed.writerIndex(), length));
+      } else {
+        final byte[] output = Snappy.uncompress(ByteBufUtil.getBytes(compressed));
+        uncompressed.writeBytes(output);
+        compressed.skipBytes(compressed.readableBytes());
+        return output.length;
+      }
+      compressed.skipBytes(compressed.readableBytes());
+      uncompressed.writerIndex(uncompressed.writerIndex() + written);
+      return written;
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
+  /**
+   * Reads the uncompressed length from the readable bytes of a buffer without consuming them.
+   *
+   * @param compressed The buffer holding the compressed data.
+   * @return The length of the data once decompressed.
+   */
+  public int uncompressedLength(final ByteBuf compressed) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      if (compressed.hasArray()) {
+        return Snappy.uncompressedLength(
+            compressed.array(),
+            compressed.arrayOffset() + compressed.readerIndex(),
+            compressed.readableBytes());
+      } else if (isSingleDirectRegion(compressed)) {
+        return Snappy.uncompressedLength(compressed.nioBuffer());
+      }
+      return Snappy.uncompressedLength(ByteBufUtil.getBytes(compressed));
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
+
+  /**
+   * Returns the maximum size of the compressed form of data of the given length.
+   *
+   * @param uncompressedLength The length of the data to compress.
+   * @return An upper bound of the compressed length.
+   */
+  public int maxCompressedLength(final int uncompressedLength) {
+    return Snappy.maxCompressedLength(uncompressedLength);
+  }
+
+  private static boolean isSingleDirectRegion(final ByteBuf buf) {
+    return buf.isDirect() && buf.nioBufferCount() == 1;
+  }
 }
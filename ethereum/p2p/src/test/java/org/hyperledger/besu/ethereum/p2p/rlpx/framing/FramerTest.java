@@ -37,6 +37,7 @@ import java.util.Random;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
@@ -271,6 +272,43 @@ public class FramerTest {
     assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
   }
 
+  @Test
+  public void roundTripThroughPooledDirectBuffers() {
+    final HandshakeSecrets secrets =
+        new HandshakeSecrets(
+            Bytes.fromHexString(
+                    "0x75b3ee95adff0c529a05efd7612aa1dbe5057eb9facdde0dfc837ad143da1d43")
+                .toArray(),
+            Bytes.fromHexString(
+                    "0x030dfd1566f4800c4842c177f7d476b64ae2b99a2aa0ab5600aa2f41a8710575")
+                .toArray(),
+            Bytes.fromHexString(
+                    "0xc9d3385b1588a5969cba312f8c29bedb4cb9d56ec0cf825436addc1ec644f1d6")
+                .toArray());
+    final Framer receivingFramer = new Framer(secrets);
+    final Framer sendingFramer = new Framer(secrets);
+    sendingFramer.enableCompression();
+    receivingFramer.enableCompression();
+
+    final Random random = new Random(1);
+    final ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+    try {
+      for (final int size : new int[] {0, 1, 15, 16, 1000, 70_000}) {
+        final byte[] data = new byte[size];
+        random.nextBytes(data);
+        final MessageData message = new RawMessage(0x10, Bytes.wrap(data));
+        sendingFramer.frame(message, out);
+
+        final MessageData received = receivingFramer.deframe(out);
+        assertThat(received.getCode()).isEqualTo(message.getCode());
+        assertThat(received.getData()).isEqualTo(message.getData());
+        assertThat(out.isReadable()).isFalse();
+      }
+    } finally {
+      out.release();
+    }
+  }
+
   private HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
     final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
     final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
@@ -20,6 +20,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
 
@@ -120,4 +124,67 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(decompressed))).isEqualTo(decompressed);
     assertThat(snappy.compress(snappy.decompress(compressed))).isEqualTo(compressed);
   }
+
+  @Test
+  public void roundTripHeapBuffers() {
+    final byte[] data = sampleData();
+    final ByteBuf compressed = Unpooled.buffer();
+    final ByteBuf uncompressed = Unpooled.buffer();
+    snappy.compress(Unpooled.wrappedBuffer(data), compressed);
+
+    assertThat(ByteBufUtil.getBytes(compressed)).isEqualTo(snappy.compress(data));
+    assertThat(snappy.uncompressedLength(compressed)).isEqualTo(data.length);
+    assertThat(snappy.decompress(compressed, uncompressed)).isEqualTo(data.length);
+    assertThat(compressed.isReadable()).isFalse();
+    assertThat(ByteBufUtil.getBytes(uncompressed)).isEqualTo(data);
+  }
+
+  @Test
+  public void roundTripDirectBuffers() {
+    final byte[] data = sampleData();
+    final ByteBuf input = PooledByteBufAllocator.DEFAULT.directBuffer().writeBytes(data);
+    final ByteBuf compressed = PooledByteBufAllocator.DEFAULT.directBuffer();
+    final ByteBuf uncompressed = PooledByteBufAllocator.DEFAULT.directBuffer();
+    try {
+      snappy.compress(input, compressed);
+
+      assertThat(ByteBufUtil.getBytes(compressed)).isEqualTo(snappy.compress(data));
+      assertThat(snappy.decompress(compressed, uncompressed)).isEqualTo(data.length);
+      assertThat(ByteBufUtil.getBytes(uncompressed)).isEqualTo(data);
+    } finally {
+      input.release();
+      compressed.release();
+      uncompressed.release();
+    }
+  }
+
+  @Test
+  public void decompressFromDirectToHeapBuffer() {
+    final byte[] data = sampleData();
+    final ByteBuf compressed =
+        PooledByteBufAllocator.DEFAULT.directBuffer().writeBytes(snappy.compress(data));
+    try {
+      final ByteBuf uncompressed = Unpooled.buffer();
+      assertThat(snappy.decompress(compressed, uncompressed)).isEqualTo(data.length);
+      assertThat(ByteBufUtil.getBytes(uncompressed)).isEqualTo(data);
+    } finally {
+      compressed.release();
+    }
+  }
+
+  @Test
+  public void shouldRejectBufferWithNonZeroDeclaredLengthButNoCompressedData() {
+    assertThatThrownBy(
+            () ->
+                snappy.decompress(
+                    Unpooled.wrappedBuffer(Bytes.fromHexString("0xFFFFFF01").toArray()),
+                    Unpooled.buffer()))
+        .isInstanceOf(FramingException.class);
+  }
+
+  private static byte[] sampleData() {
+    String input = "Uncompressed sample text for round-trip compression/decompression";
+    input = input + input + input + input;
+    return input.getBytes(StandardCharsets.UTF_8);
+  }
 }
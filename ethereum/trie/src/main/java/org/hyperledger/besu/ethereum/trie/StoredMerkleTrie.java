@@ -18,15 +18,20 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 import static org.hyperledger.besu.ethereum.trie.CompactEncoding.bytesToPath;
 
+import org.hyperledger.besu.ethereum.trie.patricia.BranchNode;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredNodeFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -147,6 +152,44 @@ public abstract class StoredMerkleTrie<K extends Bytes, V> implements MerkleTrie
   @Override
   public void commit(final NodeUpdater nodeUpdater, final CommitVisitor<V> commitVisitor) {
     root.accept(Bytes.EMPTY, commitVisitor);
+    storeAndResetRoot(nodeUpdater);
+  }
+
+  /**
+   * Commits any pending changes to the underlying storage, committing the subtries below the
+   * children of a root branch node in parallel on the common fork-join pool.
+   *
+   * <p>Each dirty child subtrie stores its nodes through its own updater, obtained from {@code
+   * childNodeUpdaters} on the calling thread, so the updaters do not need to be thread safe. The
+   * root node is stored through {@code nodeUpdater}. Falls back to {@link #commit(NodeUpdater)}
+   * when the root is not a branch node.
+   *
+   * @param nodeUpdater used to store the root node
+   * @param childNodeUpdaters supplies the updater used to store the nodes of each child subtrie
+   */
+  public void commitInParallel(
+      final NodeUpdater nodeUpdater, final Supplier<NodeUpdater> childNodeUpdaters) {
+    if (!(root instanceof BranchNode) || !root.isDirty()) {
+      commit(nodeUpdater);
+      return;
+    }
+    final BranchNode<V> branchNode = (BranchNode<V>) root;
+    final List<ForkJoinTask<?>> childCommits = new ArrayList<>();
+    for (int i = 0; i < branchNode.maxChild(); ++i) {
+      final Bytes location = Bytes.of(i);
+      final Node<V> child = branchNode.child((byte) i);
+      if (child.isDirty()) {
+        final CommitVisitor<V> childVisitor = new CommitVisitor<>(childNodeUpdaters.get());
+        childCommits.add(
+            ForkJoinPool.commonPool().submit(() -> child.accept(location, childVisitor)));
+      }
+    }
+    childCommits.forEach(ForkJoinTask::join);
+    new CommitVisitor<V>(nodeUpdater).maybeStoreNode(Bytes.EMPTY, branchNode);
+    storeAndResetRoot(nodeUpdater);
+  }
+
+  private void storeAndResetRoot(final NodeUpdater nodeUpdater) {
     // Make sure root node was stored
     if (root.isDirty() && root.getEncodedBytesRef().size() < 32) {
       nodeUpdater.store(Bytes.EMPTY, root.getHash(), root.getEncodedBytesRef());
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.ethereum.trie.KeyValueMerkleStorage;
 import org.hyperledger.besu.ethereum.trie.MerkleStorage;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
@@ -23,7 +24,10 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -123,4 +127,27 @@ public class StoredMerklePatriciaTrieTest extends AbstractMerklePatriciaTrieTest
     assertThat(trie.get(key2)).isEqualTo(Optional.of("value2"));
     assertThat(trie.get(key3)).isEqualTo(Optional.of("value3"));
   }
+
+  @Test
+  public void commitInParallelStoresSameNodesAsCommit() {
+    final Map<Bytes, Bytes> serialNodes = new HashMap<>();
+    final Map<Bytes, Bytes> parallelNodes = new ConcurrentHashMap<>();
+    final StoredMerklePatriciaTrie<Bytes, String> serialTrie =
+        new StoredMerklePatriciaTrie<>(merkleStorage::get, valueSerializer, valueDeserializer);
+    final StoredMerklePatriciaTrie<Bytes, String> parallelTrie =
+        new StoredMerklePatriciaTrie<>(merkleStorage::get, valueSerializer, valueDeserializer);
+    for (int i = 0; i < 256; i++) {
+      final Bytes32 key = Hash.keccak256(Bytes.of(i));
+      serialTrie.put(key, "value" + i);
+      parallelTrie.put(key, "value" + i);
+    }
+
+    serialTrie.commit((location, hash, value) -> serialNodes.put(location, value));
+    parallelTrie.commitInParallel(
+        (location, hash, value) -> parallelNodes.put(location, value),
+        () -> (location, hash, value) -> parallelNodes.put(location, value));
+
+    assertThat(parallelTrie.getRootHash()).isEqualTo(serialTrie.getRootHash());
+    assertThat(parallelNodes).isEqualTo(serialNodes);
+  }
 }
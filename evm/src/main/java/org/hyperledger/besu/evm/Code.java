@@ -16,6 +16,7 @@ package org.hyperledger.besu.evm;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.code.CodeSection;
+import org.hyperledger.besu.evm.code.PreDecodedCode;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -82,4 +83,13 @@ public interface Code {
    * @return The version of hte ode.
    */
   int getEofVersion();
+
+  /**
+   * The code decoded ahead of execution, computed on first use and kept with the code.
+   *
+   * @return the decoded code, or null if the code cannot be executed from decoded instructions
+   */
+  default PreDecodedCode getPreDecodedCode() {
+    return null;
+  }
 }
@@ -19,7 +19,9 @@ import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.PreDecodedCode;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MemoryPool;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.frame.MessageFrame.State;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
@@ -74,6 +76,9 @@ import org.slf4j.LoggerFactory;
 public class EVM {
   private static final Logger LOG = LoggerFactory.getLogger(EVM.class);
 
+  private static final int JUMP_OPCODE = 0x56;
+  private static final int JUMPI_OPCODE = 0x57;
+
   /** The constant OVERFLOW_RESPONSE. */
   protected static final OperationResult OVERFLOW_RESPONSE =
       new OperationResult(0L, ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
@@ -89,6 +94,9 @@ public class EVM {
 
   // Optimized operation flags
   private final boolean enableShanghai;
+  private final boolean preDecodingEnabled;
+  private final boolean primitiveStackEnabled;
+  private final Optional<MemoryPool.Metrics> memoryPoolMetrics;
 
   /**
    * Instantiates a new Evm.
@@ -110,6 +118,12 @@ public class EVM {
     this.evmSpecVersion = evmSpecVersion;
 
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
+    preDecodingEnabled = evmConfiguration.isPreDecodingEnabled();
+    primitiveStackEnabled = evmConfiguration.isPrimitiveStackEnabled();
+    memoryPoolMetrics =
+        evmConfiguration.isMemoryPoolEnabled()
+            ? Optional.of(new MemoryPool.Metrics(evmConfiguration.getCounterFactory()))
+            : Optional.empty();
   }
 
   /**
@@ -144,6 +158,14 @@ public class EVM {
     evmSpecVersion.maybeWarnVersion();
 
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
+    if (preDecodingEnabled && operationTracer == null) {
+      // superinstructions run two operations per step, which a tracer could observe
+      final PreDecodedCode preDecodedCode = frame.getCode().getPreDecodedCode();
+      if (preDecodedCode != null) {
+        runPreDecodedToHalt(frame, preDecodedCode);
+        return;
+      }
+    }
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
@@ -290,6 +312,145 @@ public class EVM {
     }
   }
 
+  // Same as runToHalt without tracing, executing the instructions of the pre-decoded code. A
+  // superinstruction applies the result of its first operation exactly like a separate step would
+  // before executing its second operation.
+  private void runPreDecodedToHalt(final MessageFrame frame, final PreDecodedCode preDecodedCode) {
+    final byte[] code = frame.getCode().getBytes().toArrayUnsafe();
+    final int[] instructions = preDecodedCode.getInstructions();
+    final Bytes[] pushValues = preDecodedCode.getPushValues();
+    final int[] jumpDestinations = preDecodedCode.getJumpDestinations();
+    final Operation[] operationArray = operations.getOperations();
+    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+      Operation currentOperation;
+      int instruction;
+      final int pc = frame.getPC();
+      if (pc < instructions.length) {
+        instruction = instructions[pc];
+        currentOperation = operationArray[code[pc] & 0xff];
+      } else {
+        instruction = 0;
+        currentOperation = endOfScriptStop;
+      }
+      frame.setCurrentOperation(currentOperation);
+      final int operand = instruction >>> PreDecodedCode.KIND_BITS;
+
+      OperationResult result;
+      try {
+        result =
+            switch (instruction & PreDecodedCode.KIND_MASK) {
+              case 0x00 -> StopOperation.staticOperation(frame);
+              case 0x01 -> AddOperation.staticOperation(frame);
+              case 0x02 -> MulOperation.staticOperation(frame);
+              case 0x03 -> SubOperation.staticOperation(frame);
+              case 0x04 -> DivOperation.staticOperation(frame);
+              case 0x05 -> SDivOperation.staticOperation(frame);
+              case 0x06 -> ModOperation.staticOperation(frame);
+              case 0x07 -> SModOperation.staticOperation(frame);
+              case 0x08 -> AddModOperation.staticOperation(frame);
+              case 0x09 -> MulModOperation.staticOperation(frame);
+              case 0x0a -> ExpOperation.staticOperation(frame, gasCalculator);
+              case 0x0b -> SignExtendOperation.staticOperation(frame);
+              case 0x0c, 0x0d, 0x0e, 0x0f -> InvalidOperation.INVALID_RESULT;
+              case 0x10 -> LtOperation.staticOperation(frame);
+              case 0x11 -> GtOperation.staticOperation(frame);
+              case 0x12 -> SLtOperation.staticOperation(frame);
+              case 0x13 -> SGtOperation.staticOperation(frame);
+              case 0x15 -> IsZeroOperation.staticOperation(frame);
+              case 0x16 -> AndOperation.staticOperation(frame);
+              case 0x17 -> OrOperation.staticOperation(frame);
+              case 0x18 -> XorOperation.staticOperation(frame);
+              case 0x19 -> NotOperation.staticOperation(frame);
+              case 0x1a -> ByteOperation.staticOperation(frame);
+              case 0x50 -> PopOperation.staticOperation(frame);
+              case 0x56 -> JumpOperation.staticOperation(frame);
+              case 0x57 -> JumpiOperation.staticOperation(frame);
+              case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
+              case 0x5f -> enableShanghai
+                  ? Push0Operation.staticOperation(frame)
+                  : InvalidOperation.INVALID_RESULT;
+              case PreDecodedCode.PUSH -> PushOperation.staticOperation(
+                  frame, pushValues[operand], pc, (code[pc] & 0xff) - PUSH_BASE);
+              case PreDecodedCode.DUP -> DupOperation.staticOperation(frame, operand);
+              case PreDecodedCode.SWAP -> SwapOperation.staticOperation(frame, operand);
+              case PreDecodedCode.PUSH_JUMP -> {
+                final int pushSize = (code[pc] & 0xff) - PUSH_BASE;
+                if (!applyResult(
+                    frame,
+                    PushOperation.staticOperation(frame, pushValues[operand], pc, pushSize))) {
+                  yield null;
+                }
+                frame.setCurrentOperation(operationArray[JUMP_OPCODE]);
+                yield JumpOperation.staticOperation(frame, jumpDestinations[operand]);
+              }
+              case PreDecodedCode.PUSH_JUMPI -> {
+                final int pushSize = (code[pc] & 0xff) - PUSH_BASE;
+                if (!applyResult(
+                    frame,
+                    PushOperation.staticOperation(frame, pushValues[operand], pc, pushSize))) {
+                  yield null;
+                }
+                frame.setCurrentOperation(operationArray[JUMPI_OPCODE]);
+                yield JumpiOperation.staticOperation(frame, jumpDestinations[operand]);
+              }
+              case PreDecodedCode.DUP_SWAP -> {
+                if (!applyResult(frame, DupOperation.staticOperation(frame, operand & 0x1f))) {
+                  yield null;
+                }
+                frame.setCurrentOperation(operationArray[code[pc + 1] & 0xff]);
+                yield SwapOperation.staticOperation(frame, operand >>> 5);
+              }
+              default -> currentOperation.execute(frame, this);
+            };
+      } catch (final OverflowException oe) {
+        result = OVERFLOW_RESPONSE;
+      } catch (final UnderflowException ue) {
+        result = UNDERFLOW_RESPONSE;
+      }
+      if (result != null) {
+        applyResult(frame, result);
+      }
+    }
+  }
+
+  // Applies the halt reason, gas cost and PC increment of an operation, returns whether the frame
+  // is still executing.
+  private static boolean applyResult(final MessageFrame frame, final OperationResult result) {
+    final ExceptionalHaltReason haltReason = result.getHaltReason();
+    if (haltReason != null) {
+      LOG.trace("MessageFrame evaluation halted because of {}", haltReason);
+      frame.setExceptionalHaltReason(Optional.of(haltReason));
+      frame.setState(State.EXCEPTIONAL_HALT);
+    } else if (frame.decrementRemainingGas(result.getGasCost()) < 0) {
+      frame.setExceptionalHaltReason(Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
+      frame.setState(State.EXCEPTIONAL_HALT);
+    }
+    if (frame.getState() == State.CODE_EXECUTING) {
+      frame.setPC(frame.getPC() + result.getPcIncrement());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Whether the frames executed by this EVM should use the primitive operand stack.
+   *
+   * @return true if the primitive operand stack is enabled
+   */
+  public boolean isPrimitiveStackEnabled() {
+    return primitiveStackEnabled;
+  }
+
+  /**
+   * Gets the metrics of the per-thread memory pool the frames executed by this EVM should borrow
+   * their memory from.
+   *
+   * @return the metrics of the memory pool, or empty if the memory pool is not enabled
+   */
+  public Optional<MemoryPool.Metrics> getMemoryPoolMetrics() {
+    return memoryPoolMetrics;
+  }
+
   /**
    * Get Operations (unsafe)
    *
@@ -41,6 +41,9 @@ public class CodeV0 implements Code {
   /** Used to cache valid jump destinations. */
   private long[] validJumpDestinations;
 
+  /** Used to cache the code decoded ahead of execution. */
+  private PreDecodedCode preDecodedCode;
+
   /** Code section info for the legacy code */
   private final CodeSection codeSectionZero;
 
@@ -115,6 +118,14 @@ public class CodeV0 implements Code {
     return (targetLong & targetBit) == 0L;
   }
 
+  @Override
+  public PreDecodedCode getPreDecodedCode() {
+    if (preDecodedCode == null) {
+      preDecodedCode = PreDecodedCode.decode(this);
+    }
+    return preDecodedCode;
+  }
+
   @Override
   public boolean isValid() {
     return true;
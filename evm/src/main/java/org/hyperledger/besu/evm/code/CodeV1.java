@@ -32,6 +32,7 @@ public class CodeV1 implements Code {
 
   private final Supplier<Hash> codeHash;
   EOFLayout eofLayout;
+  private PreDecodedCode preDecodedCode;
 
   /**
    * Instantiates a new CodeV1.
@@ -75,6 +76,22 @@ public class CodeV1 implements Code {
     return true; // code validation ensures this
   }
 
+  @Override
+  public PreDecodedCode getPreDecodedCode() {
+    if (preDecodedCode == null) {
+      final int sectionCount = eofLayout.getCodeSectionCount();
+      final int[] sectionStarts = new int[sectionCount];
+      final int[] sectionEnds = new int[sectionCount];
+      for (int i = 0; i < sectionCount; i++) {
+        final CodeSection section = eofLayout.getCodeSection(i);
+        sectionStarts[i] = section.getEntryPoint();
+        sectionEnds[i] = section.getEntryPoint() + section.getLength();
+      }
+      preDecodedCode = PreDecodedCode.decode(this, sectionStarts, sectionEnds);
+    }
+    return preDecodedCode;
+  }
+
   @Override
   public boolean isValid() {
     return true;
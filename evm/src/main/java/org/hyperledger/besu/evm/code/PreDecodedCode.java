@@ -0,0 +1,208 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.hyperledger.besu.evm.operation.DupOperation.DUP_BASE;
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
+import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
+
+import org.hyperledger.besu.evm.Code;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Bytecode decoded ahead of execution into one instruction per code offset.
+ *
+ * <p>An instruction holds its kind in the low {@link #KIND_BITS} bits and an operand in the
+ * remaining bits. Kinds below 0x100 are plain opcodes executed as usual. The other kinds are
+ * PUSH instructions with their operand already sliced out of the code, DUP and SWAP instructions
+ * with their index, and superinstructions fusing a PUSH with the JUMP or JUMPI that follows it, or
+ * a DUP with the SWAP that follows it. A superinstruction is executed as its two instructions in
+ * sequence, with the gas and halting checks of each, so it is only an interpreter shortcut.
+ *
+ * <p>Offsets that are not the start of an instruction, such as PUSH operands, keep their plain
+ * opcode.
+ */
+public final class PreDecodedCode {
+
+  /** The number of bits holding the kind of an instruction. */
+  public static final int KIND_BITS = 10;
+  /** The mask extracting the kind of an instruction. */
+  public static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+  /** A PUSH1-32, the operand is the index of the pushed value. */
+  public static final int PUSH = 0x100;
+  /** A DUP1-16, the operand is the index of the duplicated item. */
+  public static final int DUP = 0x101;
+  /** A SWAP1-16, the operand is the index of the swapped item. */
+  public static final int SWAP = 0x102;
+  /** A PUSH followed by a JUMP, the operand is the index of the pushed value. */
+  public static final int PUSH_JUMP = 0x103;
+  /** A PUSH followed by a JUMPI, the operand is the index of the pushed value. */
+  public static final int PUSH_JUMPI = 0x104;
+  /** A DUP followed by a SWAP, the operand holds the DUP index then the SWAP index on 5 bits. */
+  public static final int DUP_SWAP = 0x105;
+
+  private static final int JUMP = 0x56;
+  private static final int JUMPI = 0x57;
+  private static final int PUSH1 = 0x60;
+  private static final int PUSH32 = 0x7f;
+  private static final int DUP1 = 0x80;
+  private static final int DUP16 = 0x8f;
+  private static final int SWAP1 = 0x90;
+  private static final int SWAP16 = 0x9f;
+
+  private final int[] instructions;
+  private final Bytes[] pushValues;
+  private final int[] jumpDestinations;
+
+  private PreDecodedCode(
+      final int[] instructions, final Bytes[] pushValues, final int[] jumpDestinations) {
+    this.instructions = instructions;
+    this.pushValues = pushValues;
+    this.jumpDestinations = jumpDestinations;
+  }
+
+  /**
+   * Decodes legacy code, whose instructions start at offset zero.
+   *
+   * @param code the code
+   * @return the decoded code
+   */
+  static PreDecodedCode decode(final Code code) {
+    return decode(code, new int[] {0}, new int[] {code.getSize()});
+  }
+
+  /**
+   * Decodes code whose instructions are found in the given sections only.
+   *
+   * @param code the code
+   * @param sectionStarts the offset of the first instruction of every section
+   * @param sectionEnds the offset following the last byte of every section
+   * @return the decoded code
+   */
+  static PreDecodedCode decode(
+      final Code code, final int[] sectionStarts, final int[] sectionEnds) {
+    final byte[] rawCode = code.getBytes().toArrayUnsafe();
+    final int[] instructions = new int[rawCode.length];
+    for (int i = 0; i < rawCode.length; i++) {
+      instructions[i] = rawCode[i] & 0xff;
+    }
+    final List<Bytes> pushValues = new ArrayList<>();
+    final List<Integer> jumpDestinations = new ArrayList<>();
+    for (int section = 0; section < sectionStarts.length; section++) {
+      final int end = Math.min(sectionEnds[section], rawCode.length);
+      int pc = sectionStarts[section];
+      while (pc < end) {
+        final int opcode = rawCode[pc] & 0xff;
+        if (opcode >= PUSH1 && opcode <= PUSH32) {
+          final int pushSize = opcode - PUSH_BASE;
+          final int next = pc + pushSize + 1;
+          final int index = pushValues.size();
+          final Bytes pushValue = pushValue(rawCode, pc, pushSize);
+          pushValues.add(pushValue);
+          final int nextOpcode = next < end ? rawCode[next] & 0xff : -1;
+          if (nextOpcode == JUMP || nextOpcode == JUMPI) {
+            instructions[pc] = (nextOpcode == JUMP ? PUSH_JUMP : PUSH_JUMPI) | index << KIND_BITS;
+            jumpDestinations.add(jumpDestination(code, pushValue));
+          } else {
+            instructions[pc] = PUSH | index << KIND_BITS;
+            jumpDestinations.add(-1);
+          }
+          pc = next;
+        } else if (opcode >= DUP1 && opcode <= DUP16) {
+          final int dupIndex = opcode - DUP_BASE;
+          final int nextOpcode = pc + 1 < end ? rawCode[pc + 1] & 0xff : -1;
+          if (nextOpcode >= SWAP1 && nextOpcode <= SWAP16) {
+            instructions[pc] = DUP_SWAP | (dupIndex | (nextOpcode - SWAP_BASE) << 5) << KIND_BITS;
+          } else {
+            instructions[pc] = DUP | dupIndex << KIND_BITS;
+          }
+          pc++;
+        } else if (opcode >= SWAP1 && opcode <= SWAP16) {
+          instructions[pc] = SWAP | (opcode - SWAP_BASE) << KIND_BITS;
+          pc++;
+        } else {
+          pc++;
+        }
+      }
+    }
+    return new PreDecodedCode(
+        instructions,
+        pushValues.toArray(new Bytes[0]),
+        jumpDestinations.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  private static Bytes pushValue(final byte[] rawCode, final int pc, final int pushSize) {
+    // same value as PushOperation, the operand is truncated at the end of the code
+    final int copyStart = pc + 1;
+    if (rawCode.length <= copyStart) {
+      return Bytes.EMPTY;
+    }
+    return Bytes.wrap(rawCode, copyStart, Math.min(pushSize, rawCode.length - copyStart));
+  }
+
+  private static int jumpDestination(final Code code, final Bytes pushValue) {
+    final int destination;
+    try {
+      destination = pushValue.trimLeadingZeros().toInt();
+    } catch (final RuntimeException e) {
+      return -1;
+    }
+    return code.isJumpDestInvalid(destination) ? -1 : destination;
+  }
+
+  /**
+   * The decoded instructions, indexed by code offset.
+   *
+   * @return the instructions
+   */
+  public int[] getInstructions() {
+    return instructions;
+  }
+
+  /**
+   * The values pushed by the PUSH instructions, indexed by the operand of the instruction.
+   *
+   * @return the pushed values
+   */
+  public Bytes[] getPushValues() {
+    return pushValues;
+  }
+
+  /**
+   * The destinations of the fused jumps, indexed by the operand of the instruction. A negative
+   * destination is invalid.
+   *
+   * @return the jump destinations
+   */
+  public int[] getJumpDestinations() {
+    return jumpDestinations;
+  }
+
+  /**
+   * An estimate of the memory used by the decoded code, in bytes.
+   *
+   * @param codeSize the size of the code
+   * @return the estimated size
+   */
+  public static int estimateSize(final int codeSize) {
+    // an int per offset, and on average a pushed value every few bytes
+    return codeSize * 4 + codeSize * 8;
+  }
+}
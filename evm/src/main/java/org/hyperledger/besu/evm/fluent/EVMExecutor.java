@@ -316,6 +316,8 @@ public class EVMExecutor {
             .blockHashLookup(h -> null)
             .accessListWarmAddresses(accessListWarmAddresses)
             .accessListWarmStorage(accessListWarmStorage)
+            .primitiveStack(evm.isPrimitiveStackEnabled())
+            .memoryPool(evm.getMemoryPoolMetrics())
             .build();
     messageFrameStack.add(initialMessageFrame);
 
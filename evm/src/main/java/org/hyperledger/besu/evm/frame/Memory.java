@@ -15,6 +15,7 @@
 package org.hyperledger.besu.evm.frame;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -31,6 +32,8 @@ public class Memory {
   // See below.
   private static final long MAX_BYTES = Integer.MAX_VALUE;
 
+  private static final byte[] EMPTY = new byte[0];
+
   /**
    * The data stored within the memory.
    *
@@ -42,9 +45,26 @@ public class Memory {
 
   private int activeWords;
 
+  private final boolean pooled;
+
+  private final MemoryPool.Metrics poolMetrics;
+
   /** Instantiates a new Memory. */
   public Memory() {
-    memBytes = new byte[0];
+    this.pooled = false;
+    this.poolMetrics = MemoryPool.Metrics.NO_OP;
+    memBytes = EMPTY;
+  }
+
+  /**
+   * Instantiates a new Memory whose buffers are borrowed from the per-thread {@link MemoryPool}.
+   *
+   * @param poolMetrics the metrics the use of the pool is counted with
+   */
+  public Memory(final MemoryPool.Metrics poolMetrics) {
+    this.pooled = true;
+    this.poolMetrics = poolMetrics;
+    memBytes = EMPTY;
   }
 
   private static RuntimeException overflow(final long v) {
@@ -136,13 +156,51 @@ public class Memory {
     int neededSize = newActiveWords * Bytes32.SIZE;
     if (neededSize > memBytes.length) {
       int newSize = Math.max(neededSize, memBytes.length * 2);
-      byte[] newMem = new byte[newSize];
-      System.arraycopy(memBytes, 0, newMem, 0, memBytes.length);
+      byte[] newMem = pooled ? MemoryPool.acquire(newSize, poolMetrics) : new byte[newSize];
+      // nothing is ever written past the active words, the rest of the buffer is still zero
+      final int activeBytes = getActiveBytes();
+      System.arraycopy(memBytes, 0, newMem, 0, activeBytes);
+      if (pooled) {
+        poolMetrics.recordBytesCopied(activeBytes);
+        MemoryPool.release(memBytes, activeBytes);
+      }
       memBytes = newMem;
     }
     activeWords = newActiveWords;
   }
 
+  /**
+   * Whether the buffers of this memory are borrowed from the per-thread {@link MemoryPool}.
+   *
+   * @return true if the memory is pooled
+   */
+  boolean isPooled() {
+    return pooled;
+  }
+
+  /**
+   * Gets the metrics the use of the memory pool is counted with.
+   *
+   * @return the metrics of the pool, or empty if the memory is not pooled
+   */
+  Optional<MemoryPool.Metrics> getPoolMetrics() {
+    return pooled ? Optional.of(poolMetrics) : Optional.empty();
+  }
+
+  /**
+   * Returns the buffer of a pooled memory to the pool and empties the memory. Does nothing if the
+   * memory is not pooled. Any view obtained from {@link #getMutableBytes(long, long)} must not be
+   * used afterwards.
+   */
+  void release() {
+    if (!pooled) {
+      return;
+    }
+    MemoryPool.release(memBytes, getActiveBytes());
+    memBytes = EMPTY;
+    activeWords = 0;
+  }
+
   /**
    * Returns true if the object is equal to this memory instance; otherwise false.
    *
@@ -155,12 +213,15 @@ public class Memory {
     if (other == this) return true;
     if (!(other instanceof Memory)) return false;
 
-    return Arrays.equals(memBytes, ((Memory) other).memBytes);
+    // pooled buffers are rounded up, only the active bytes are significant
+    final Memory otherMemory = (Memory) other;
+    return Arrays.equals(
+        memBytes, 0, getActiveBytes(), otherMemory.memBytes, 0, otherMemory.getActiveBytes());
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(memBytes);
+    return Bytes.wrap(memBytes, 0, getActiveBytes()).hashCode();
   }
 
   /**
@@ -410,6 +471,6 @@ public class Memory {
 
   @Override
   public String toString() {
-    return Bytes.wrap(memBytes).toHexString();
+    return Bytes.wrap(memBytes, 0, getActiveBytes()).toHexString();
   }
 }
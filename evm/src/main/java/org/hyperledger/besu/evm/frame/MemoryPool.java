@@ -0,0 +1,148 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import org.hyperledger.besu.evm.internal.EvmCounterFactory;
+import org.hyperledger.besu.evm.internal.EvmCounterFactory.Counter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A per-thread pool of the byte arrays backing {@link Memory}.
+ *
+ * <p>Buffers are sized in powers of two between {@link #MIN_BUFFER_SIZE} and {@link
+ * #MAX_BUFFER_SIZE}. A buffer is zeroed when it is returned, so a borrowed buffer is always clean.
+ * Larger buffers are allocated and dropped as before: they cost enough gas that the allocation is
+ * not what matters.
+ *
+ * <p>All the frames of a transaction are executed on the same thread, so a buffer is always
+ * returned to the pool it was borrowed from and the pool itself needs no synchronization. The
+ * statistics are kept by the {@link Metrics} of the EVM that executes the frames.
+ */
+public final class MemoryPool {
+
+  /** The size of the smallest pooled buffer, 32 words. */
+  static final int MIN_BUFFER_SIZE = 1 << 10;
+
+  /** The size of the largest pooled buffer. */
+  static final int MAX_BUFFER_SIZE = 1 << 20;
+
+  private static final int MIN_SIZE_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+  private static final int SIZE_CLASSES =
+      Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SIZE_SHIFT + 1;
+
+  // enough for the frames that are usually live at the same time on one thread
+  private static final int MAX_BUFFERS_PER_SIZE = 16;
+
+  private static final ThreadLocal<MemoryPool> POOL = ThreadLocal.withInitial(MemoryPool::new);
+
+  private final byte[][][] buffers = new byte[SIZE_CLASSES][MAX_BUFFERS_PER_SIZE][];
+  private final int[] bufferCounts = new int[SIZE_CLASSES];
+
+  private MemoryPool() {}
+
+  /**
+   * Borrows a zeroed buffer of at least the requested size from the pool of the current thread.
+   *
+   * @param minSize the minimum size of the buffer
+   * @param metrics the metrics the hit or the miss is counted with
+   * @return a zeroed buffer, its size is a power of two unless it is larger than the largest pooled
+   *     size
+   */
+  static byte[] acquire(final int minSize, final Metrics metrics) {
+    if (minSize > MAX_BUFFER_SIZE) {
+      return new byte[minSize];
+    }
+    final int sizeClass = sizeClass(minSize);
+    final MemoryPool pool = POOL.get();
+    final int count = pool.bufferCounts[sizeClass];
+    if (count > 0) {
+      metrics.hits.inc(1);
+      final byte[] buffer = pool.buffers[sizeClass][count - 1];
+      pool.buffers[sizeClass][count - 1] = null;
+      pool.bufferCounts[sizeClass] = count - 1;
+      return buffer;
+    }
+    metrics.misses.inc(1);
+    return new byte[MIN_BUFFER_SIZE << sizeClass];
+  }
+
+  /**
+   * Returns a buffer to the pool of the current thread. The buffer must not be used afterwards.
+   *
+   * @param buffer the buffer to return
+   * @param usedBytes the length of the prefix of the buffer that may have been written to
+   */
+  static void release(final byte[] buffer, final int usedBytes) {
+    final int size = buffer.length;
+    if (size < MIN_BUFFER_SIZE || size > MAX_BUFFER_SIZE || Integer.bitCount(size) != 1) {
+      return;
+    }
+    final int sizeClass = sizeClass(size);
+    final MemoryPool pool = POOL.get();
+    final int count = pool.bufferCounts[sizeClass];
+    if (count < MAX_BUFFERS_PER_SIZE) {
+      Arrays.fill(buffer, 0, Math.min(usedBytes, size), (byte) 0);
+      pool.buffers[sizeClass][count] = buffer;
+      pool.bufferCounts[sizeClass] = count + 1;
+    }
+  }
+
+  private static int sizeClass(final int size) {
+    if (size <= MIN_BUFFER_SIZE) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_SHIFT;
+  }
+
+  /** The counters of the memory pool, shared by all the frames of an EVM. */
+  public static final class Metrics {
+
+    /** Metrics that count nothing. */
+    public static final Metrics NO_OP = new Metrics(EvmCounterFactory.NO_OP);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesCopied;
+
+    /**
+     * Creates the counters of the memory pool.
+     *
+     * @param counterFactory the factory the counters are created with
+     */
+    public Metrics(final EvmCounterFactory counterFactory) {
+      hits =
+          counterFactory.create(
+              "evm_memory_pool_hits_total",
+              "EVM memory buffers reused from the memory pool",
+              Map.of());
+      misses =
+          counterFactory.create(
+              "evm_memory_pool_misses_total",
+              "EVM memory buffers allocated because the memory pool was empty",
+              Map.of());
+      bytesCopied =
+          counterFactory.create(
+              "evm_memory_bytes_copied_total",
+              "Bytes copied from an EVM memory buffer to a larger one as pooled memory grew",
+              Map.of());
+    }
+
+    void recordBytesCopied(final int bytes) {
+      bytesCopied.inc(bytes);
+    }
+  }
+}
@@ -25,8 +25,10 @@ import org.hyperledger.besu.evm.code.CodeSection;
 import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
 import org.hyperledger.besu.evm.internal.MemoryEntry;
 import org.hyperledger.besu.evm.internal.OperandStack;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 import org.hyperledger.besu.evm.internal.ReturnStack;
 import org.hyperledger.besu.evm.internal.StorageEntry;
+import org.hyperledger.besu.evm.internal.WarmSet;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -208,7 +210,9 @@ public class MessageFrame {
   private int pc;
   private int section;
   private final Memory memory;
+  // exactly one of the two stacks is used, see Builder#primitiveStack
   private final OperandStack stack;
+  private final PrimitiveOperandStack primitiveStack;
   private final ReturnStack returnStack;
   private Bytes output;
   private Bytes returnData;
@@ -219,8 +223,10 @@ public class MessageFrame {
   private long gasRefund;
   private final Set<Address> selfDestructs;
   private final Map<Address, Wei> refunds;
-  private final Set<Address> warmedUpAddresses;
-  private final Multimap<Address, Bytes32> warmedUpStorage;
+  // shared by all the frames of the transaction, see WarmSet
+  private final WarmSet warmedUp;
+  private final int warmedUpMark;
+  private boolean warmedUpFieldsMerged;
 
   // Execution Environment fields.
   private final Address recipient;
@@ -283,6 +289,8 @@ public class MessageFrame {
       final Map<String, Object> contextVariables,
       final Optional<Bytes> revertReason,
       final int maxStackSize,
+      final boolean usePrimitiveStack,
+      final Optional<MemoryPool.Metrics> memoryPoolMetrics,
       final Set<Address> accessListWarmAddresses,
       final Multimap<Address, Bytes32> accessListWarmStorage,
       final Optional<List<Hash>> versionedHashes) {
@@ -295,8 +303,14 @@ public class MessageFrame {
     this.maxStackSize = maxStackSize;
     this.pc = 0;
     this.section = 0;
-    this.memory = new Memory();
-    this.stack = new OperandStack(maxStackSize);
+    this.memory = memoryPoolMetrics.map(Memory::new).orElseGet(Memory::new);
+    if (usePrimitiveStack) {
+      this.stack = null;
+      this.primitiveStack = new PrimitiveOperandStack(maxStackSize);
+    } else {
+      this.stack = new OperandStack(maxStackSize);
+      this.primitiveStack = null;
+    }
     this.returnStack = new ReturnStack();
     returnStack.push(new ReturnStack.ReturnStackItem(0, 0, 0));
     pc = code.isValid() ? code.getCodeSection(0).getEntryPoint() : 0;
@@ -324,10 +338,12 @@ public class MessageFrame {
     this.contextVariables = contextVariables;
     this.revertReason = revertReason;
 
-    this.warmedUpAddresses = new HashSet<>(accessListWarmAddresses);
-    this.warmedUpAddresses.add(sender);
-    this.warmedUpAddresses.add(contract);
-    this.warmedUpStorage = HashMultimap.create(accessListWarmStorage);
+    this.warmedUp = parentMessageFrame == null ? new WarmSet() : parentMessageFrame.warmedUp;
+    this.warmedUpMark = warmedUp.mark();
+    accessListWarmAddresses.forEach(warmedUp::add);
+    warmedUp.add(sender);
+    warmedUp.add(contract);
+    accessListWarmStorage.forEach(warmedUp::add);
     this.versionedHashes = versionedHashes;
 
     // the warmed up addresses will always be a superset of the address keys in the warmed up
@@ -337,7 +353,7 @@ public class MessageFrame {
             Optional.ofNullable(worldUpdater.get(address))
                 .ifPresent(
                     account ->
-                        warmedUpStorage
+                        accessListWarmStorage
                             .get(address)
                             .forEach(
                                 storageKeyBytes ->
@@ -390,13 +406,13 @@ public class MessageFrame {
     CodeSection info = code.getCodeSection(calledSection);
     if (info == null) {
       return ExceptionalHaltReason.CODE_SECTION_MISSING;
-    } else if (stack.size() + info.getMaxStackHeight() > maxStackSize) {
+    } else if (stackSize() + info.getMaxStackHeight() > maxStackSize) {
       return ExceptionalHaltReason.TOO_MANY_STACK_ITEMS;
-    } else if (stack.size() < info.getInputs()) {
+    } else if (stackSize() < info.getInputs()) {
       return ExceptionalHaltReason.TOO_FEW_INPUTS_FOR_CODE_SECTION;
     } else {
       returnStack.push(
-          new ReturnStack.ReturnStackItem(section, pc + 2, stack.size() - info.getInputs()));
+          new ReturnStack.ReturnStackItem(section, pc + 2, stackSize() - info.getInputs()));
       pc = info.getEntryPoint() - 1; // will be +1ed at end of operations loop
       this.section = calledSection;
       return null;
@@ -430,7 +446,7 @@ public class MessageFrame {
   public ExceptionalHaltReason returnFunction() {
     CodeSection thisInfo = code.getCodeSection(this.section);
     var returnInfo = returnStack.pop();
-    if ((returnInfo.getStackHeight() + thisInfo.getOutputs()) != stack.size()) {
+    if ((returnInfo.getStackHeight() + thisInfo.getOutputs()) != stackSize()) {
       return ExceptionalHaltReason.INCORRECT_CODE_SECTION_RETURN_OUTPUTS;
     } else if (returnStack.isEmpty()) {
       setState(MessageFrame.State.CODE_SUCCESS);
@@ -539,7 +555,7 @@ public class MessageFrame {
    * @throws UnderflowException if the offset is out of range
    */
   public Bytes getStackItem(final int offset) {
-    return stack.get(offset);
+    return primitiveStack == null ? stack.get(offset) : primitiveStack.get(offset);
   }
 
   /**
@@ -549,7 +565,7 @@ public class MessageFrame {
    * @throws UnderflowException if the stack is empty
    */
   public Bytes popStackItem() {
-    return stack.pop();
+    return primitiveStack == null ? stack.pop() : primitiveStack.pop();
   }
 
   /**
@@ -558,7 +574,11 @@ public class MessageFrame {
    * @param n The number of items to pop off the stack
    */
   public void popStackItems(final int n) {
-    stack.bulkPop(n);
+    if (primitiveStack == null) {
+      stack.bulkPop(n);
+    } else {
+      primitiveStack.bulkPop(n);
+    }
   }
 
   /**
@@ -567,7 +587,11 @@ public class MessageFrame {
    * @param value The value to push onto the stack.
    */
   public void pushStackItem(final Bytes value) {
-    stack.push(value);
+    if (primitiveStack == null) {
+      stack.push(value);
+    } else {
+      primitiveStack.push(value);
+    }
   }
 
   /**
@@ -578,7 +602,11 @@ public class MessageFrame {
    * @throws IllegalStateException if the stack is too small
    */
   public void setStackItem(final int offset, final Bytes value) {
-    stack.set(offset, value);
+    if (primitiveStack == null) {
+      stack.set(offset, value);
+    } else {
+      primitiveStack.set(offset, value);
+    }
   }
 
   /**
@@ -587,7 +615,16 @@ public class MessageFrame {
    * @return The current stack size
    */
   public int stackSize() {
-    return stack.size();
+    return primitiveStack == null ? stack.size() : primitiveStack.size();
+  }
+
+  /**
+   * Returns the primitive operand stack, for the operations working on its limbs directly.
+   *
+   * @return the primitive operand stack, or null if the frame uses the {@link Bytes} based stack
+   */
+  public PrimitiveOperandStack getPrimitiveStack() {
+    return primitiveStack;
   }
 
   /**
@@ -719,7 +756,8 @@ public class MessageFrame {
       final long offset, final long length, final boolean explicitMemoryRead) {
     final MutableBytes memBytes = memory.getMutableBytes(offset, length);
     if (explicitMemoryRead) {
-      setUpdatedMemory(offset, memBytes);
+      // tracers may keep the entry after the pooled buffer has been handed to another frame
+      setUpdatedMemory(offset, memory.isPooled() ? memBytes.copy() : memBytes);
     }
     return memBytes;
   }
@@ -977,22 +1015,7 @@ public class MessageFrame {
    * @return true if the address was already warmed up
    */
   public boolean warmUpAddress(final Address address) {
-    if (warmedUpAddresses.add(address)) {
-      return parentMessageFrame != null && parentMessageFrame.isWarm(address);
-    } else {
-      return true;
-    }
-  }
-
-  private boolean isWarm(final Address address) {
-    MessageFrame frame = this;
-    while (frame != null) {
-      if (frame.warmedUpAddresses.contains(address)) {
-        return true;
-      }
-      frame = frame.parentMessageFrame;
-    }
-    return false;
+    return !warmedUp.add(address);
   }
 
   /**
@@ -1003,26 +1026,12 @@ public class MessageFrame {
    * @return true if the storage slot was already warmed up
    */
   public boolean warmUpStorage(final Address address, final Bytes32 slot) {
-    if (warmedUpStorage.put(address, slot)) {
-      return parentMessageFrame != null && parentMessageFrame.isWarm(address, slot);
-    } else {
-      return true;
-    }
-  }
-
-  private boolean isWarm(final Address address, final Bytes32 slot) {
-    MessageFrame frame = this;
-    while (frame != null) {
-      if (frame.warmedUpStorage.containsEntry(address, slot)) {
-        return true;
-      }
-      frame = frame.parentMessageFrame;
-    }
-    return false;
+    return !warmedUp.add(address, slot);
   }
 
   /**
-   * Merge warmed up fields.
+   * Merge warmed up fields. The warm-ups of a child frame that are not merged into its parent by
+   * the time it completes are rolled back.
    *
    * @param childFrame the child frame
    */
@@ -1031,8 +1040,12 @@ public class MessageFrame {
       return;
     }
 
-    warmedUpAddresses.addAll(childFrame.warmedUpAddresses);
-    warmedUpStorage.putAll(childFrame.warmedUpStorage);
+    if (childFrame.warmedUp == warmedUp) {
+      // the child warmed up the shared set directly, it only has to be kept
+      childFrame.warmedUpFieldsMerged = true;
+    } else {
+      warmedUp.addAll(childFrame.warmedUp);
+    }
   }
 
   /**
@@ -1173,6 +1186,11 @@ public class MessageFrame {
   /** Performs updates based on the message frame's execution. */
   public void notifyCompletion() {
     completer.accept(this);
+    if (parentMessageFrame != null && !warmedUpFieldsMerged) {
+      warmedUp.rollback(warmedUpMark);
+    }
+    // the output and the logs are copies, a pooled memory buffer can be reused from here on
+    memory.release();
   }
 
   /**
@@ -1239,6 +1257,33 @@ public class MessageFrame {
     return maxStackSize;
   }
 
+  /**
+   * Whether the frame uses the primitive operand stack.
+   *
+   * @return true if the frame uses the primitive operand stack
+   */
+  public boolean hasPrimitiveStack() {
+    return primitiveStack != null;
+  }
+
+  /**
+   * Whether the frame borrows its memory buffer from the per-thread {@link MemoryPool}.
+   *
+   * @return true if the frame memory is pooled
+   */
+  public boolean hasPooledMemory() {
+    return memory.isPooled();
+  }
+
+  /**
+   * Gets the metrics the use of the {@link MemoryPool} by the frame is counted with.
+   *
+   * @return the metrics of the memory pool, or empty if the frame memory is not pooled
+   */
+  public Optional<MemoryPool.Metrics> getMemoryPoolMetrics() {
+    return memory.getPoolMetrics();
+  }
+
   /**
    * Gets context variable.
    *
@@ -1284,12 +1329,12 @@ public class MessageFrame {
   }
 
   /**
-   * Gets warmedUp Storage.
+   * Gets a copy of the warmed up storage, including the slots warmed up by the parent frames.
    *
    * @return the warmed up storage
    */
   public Multimap<Address, Bytes32> getWarmedUpStorage() {
-    return warmedUpStorage;
+    return warmedUp.getStorage();
   }
 
   /**
@@ -1388,6 +1433,8 @@ public class MessageFrame {
     private BlockValues blockValues;
     private int depth = -1;
     private int maxStackSize = DEFAULT_MAX_STACK_SIZE;
+    private boolean primitiveStack = false;
+    private Optional<MemoryPool.Metrics> memoryPoolMetrics = Optional.empty();
     private boolean isStatic = false;
     private Consumer<MessageFrame> completer;
     private Address miningBeneficiary;
@@ -1586,6 +1633,30 @@ public class MessageFrame {
       return this;
     }
 
+    /**
+     * Sets whether the frame stores its operand stack as primitive limbs instead of {@link Bytes}.
+     *
+     * @param primitiveStack whether to use the primitive operand stack
+     * @return the builder
+     */
+    public Builder primitiveStack(final boolean primitiveStack) {
+      this.primitiveStack = primitiveStack;
+      return this;
+    }
+
+    /**
+     * Sets whether the frame borrows its memory buffer from the per-thread {@link MemoryPool}. The
+     * buffer is returned to the pool when the frame completes.
+     *
+     * @param memoryPoolMetrics the metrics the use of the pool is counted with, or empty if the
+     *     frame memory is not pooled
+     * @return the builder
+     */
+    public Builder memoryPool(final Optional<MemoryPool.Metrics> memoryPoolMetrics) {
+      this.memoryPoolMetrics = memoryPoolMetrics;
+      return this;
+    }
+
     /**
      * Sets Completer.
      *
@@ -1726,6 +1797,8 @@ public class MessageFrame {
           contextVariables == null ? Map.of() : contextVariables,
           reason,
           maxStackSize,
+          primitiveStack,
+          memoryPoolMetrics,
           accessListWarmAddresses,
           accessListWarmStorage,
           versionedHashes);
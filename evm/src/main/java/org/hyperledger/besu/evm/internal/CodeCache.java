@@ -33,13 +33,16 @@ public class CodeCache {
    * @param config the config
    */
   public CodeCache(final EvmConfiguration config) {
-    this(config.getJumpDestCacheWeightBytes());
+    this(config.getJumpDestCacheWeightBytes(), config.isPreDecodingEnabled());
   }
 
-  private CodeCache(final long maxWeightBytes) {
+  private CodeCache(final long maxWeightBytes, final boolean preDecodingEnabled) {
     this.weightLimit = maxWeightBytes;
     this.cache =
-        Caffeine.newBuilder().maximumWeight(maxWeightBytes).weigher(new CodeScale()).build();
+        Caffeine.newBuilder()
+            .maximumWeight(maxWeightBytes)
+            .weigher(new CodeScale(preDecodingEnabled))
+            .build();
   }
 
   /**
@@ -17,12 +17,24 @@ package org.hyperledger.besu.evm.internal;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.PreDecodedCode;
 
 import com.github.benmanes.caffeine.cache.Weigher;
 
 class CodeScale implements Weigher<Hash, Code> {
+  private final boolean preDecodingEnabled;
+
+  CodeScale() {
+    this(false);
+  }
+
+  CodeScale(final boolean preDecodingEnabled) {
+    this.preDecodingEnabled = preDecodingEnabled;
+  }
+
   @Override
   public int weigh(final Hash key, final Code code) {
-    return ((code.getSize() * 9 + 7) / 8) + key.size();
+    final int weight = ((code.getSize() * 9 + 7) / 8) + key.size();
+    return preDecodingEnabled ? weight + PreDecodedCode.estimateSize(code.getSize()) : weight;
   }
 }
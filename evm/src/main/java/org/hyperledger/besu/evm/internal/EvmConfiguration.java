@@ -15,12 +15,20 @@
 
 package org.hyperledger.besu.evm.internal;
 
-/** The Evm configuration. */
+/**
+ * The Evm configuration. It is immutable: the {@code with} methods return a copy with one setting
+ * changed.
+ */
 public class EvmConfiguration {
   /** The constant DEFAULT. */
   public static final EvmConfiguration DEFAULT = new EvmConfiguration(32_000L);
 
   private final long jumpDestCacheWeightKB;
+  private final boolean preDecodingEnabled;
+  private final boolean primitiveStackEnabled;
+  private final boolean memoryPoolEnabled;
+  private final long precompileCacheSize;
+  private final EvmCounterFactory counterFactory;
 
   /**
    * Instantiates a new Evm configuration.
@@ -28,7 +36,103 @@ public class EvmConfiguration {
    * @param jumpDestCacheWeightKB the jump dest cache weight kb
    */
   public EvmConfiguration(final long jumpDestCacheWeightKB) {
+    this(jumpDestCacheWeightKB, false, false, false, 0L, EvmCounterFactory.NO_OP);
+  }
+
+  private EvmConfiguration(
+      final long jumpDestCacheWeightKB,
+      final boolean preDecodingEnabled,
+      final boolean primitiveStackEnabled,
+      final boolean memoryPoolEnabled,
+      final long precompileCacheSize,
+      final EvmCounterFactory counterFactory) {
     this.jumpDestCacheWeightKB = jumpDestCacheWeightKB;
+    this.preDecodingEnabled = preDecodingEnabled;
+    this.primitiveStackEnabled = primitiveStackEnabled;
+    this.memoryPoolEnabled = memoryPoolEnabled;
+    this.precompileCacheSize = precompileCacheSize;
+    this.counterFactory = counterFactory;
+  }
+
+  /**
+   * Returns a copy of this configuration with code pre-decoding enabled or disabled.
+   *
+   * @param preDecodingEnabled whether code is decoded ahead of execution
+   * @return the updated configuration
+   */
+  public EvmConfiguration withPreDecodingEnabled(final boolean preDecodingEnabled) {
+    return new EvmConfiguration(
+        jumpDestCacheWeightKB,
+        preDecodingEnabled,
+        primitiveStackEnabled,
+        memoryPoolEnabled,
+        precompileCacheSize,
+        counterFactory);
+  }
+
+  /**
+   * Returns a copy of this configuration with the primitive operand stack enabled or disabled.
+   *
+   * @param primitiveStackEnabled whether frames store their operand stack as primitive limbs
+   * @return the updated configuration
+   */
+  public EvmConfiguration withPrimitiveStackEnabled(final boolean primitiveStackEnabled) {
+    return new EvmConfiguration(
+        jumpDestCacheWeightKB,
+        preDecodingEnabled,
+        primitiveStackEnabled,
+        memoryPoolEnabled,
+        precompileCacheSize,
+        counterFactory);
+  }
+
+  /**
+   * Returns a copy of this configuration with the memory pool enabled or disabled.
+   *
+   * @param memoryPoolEnabled whether frames borrow their memory buffers from a per-thread pool
+   * @return the updated configuration
+   */
+  public EvmConfiguration withMemoryPoolEnabled(final boolean memoryPoolEnabled) {
+    return new EvmConfiguration(
+        jumpDestCacheWeightKB,
+        preDecodingEnabled,
+        primitiveStackEnabled,
+        memoryPoolEnabled,
+        precompileCacheSize,
+        counterFactory);
+  }
+
+  /**
+   * Returns a copy of this configuration with another precompile result cache size.
+   *
+   * @param precompileCacheSize the number of precompile results to memoize, 0 disables the cache
+   * @return the updated configuration
+   */
+  public EvmConfiguration withPrecompileCacheSize(final long precompileCacheSize) {
+    return new EvmConfiguration(
+        jumpDestCacheWeightKB,
+        preDecodingEnabled,
+        primitiveStackEnabled,
+        memoryPoolEnabled,
+        precompileCacheSize,
+        counterFactory);
+  }
+
+  /**
+   * Returns a copy of this configuration that reports the statistics of the EVM through other
+   * counters.
+   *
+   * @param counterFactory the factory of the counters
+   * @return the updated configuration
+   */
+  public EvmConfiguration withCounterFactory(final EvmCounterFactory counterFactory) {
+    return new EvmConfiguration(
+        jumpDestCacheWeightKB,
+        preDecodingEnabled,
+        primitiveStackEnabled,
+        memoryPoolEnabled,
+        precompileCacheSize,
+        counterFactory);
   }
 
   /**
@@ -48,4 +152,51 @@ public class EvmConfiguration {
   public long getJumpDestCacheWeightKB() {
     return jumpDestCacheWeightKB;
   }
+
+  /**
+   * Whether code is decoded into instructions and superinstructions ahead of execution.
+   *
+   * @return true if pre-decoding is enabled
+   */
+  public boolean isPreDecodingEnabled() {
+    return preDecodingEnabled;
+  }
+
+  /**
+   * Whether message frames store their operand stack as primitive long limbs.
+   *
+   * @return true if the primitive operand stack is enabled
+   */
+  public boolean isPrimitiveStackEnabled() {
+    return primitiveStackEnabled;
+  }
+
+  /**
+   * Whether message frames borrow their memory buffers from a per-thread pool and return them
+   * once they complete.
+   *
+   * @return true if the memory pool is enabled
+   */
+  public boolean isMemoryPoolEnabled() {
+    return memoryPoolEnabled;
+  }
+
+  /**
+   * Gets the number of results of deterministic precompiles that are memoized, so that they are
+   * not computed again when a transaction is executed more than once.
+   *
+   * @return the size of the precompile result cache, 0 if it is disabled
+   */
+  public long getPrecompileCacheSize() {
+    return precompileCacheSize;
+  }
+
+  /**
+   * Gets the factory of the counters the EVM reports its statistics through.
+   *
+   * @return the counter factory, counting nothing unless one is configured
+   */
+  public EvmCounterFactory getCounterFactory() {
+    return counterFactory;
+  }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.hyperledger.besu.evm.internal;
+
+import java.util.Map;
+
+/**
+ * Creates the counters through which the EVM reports its statistics. The EVM does not depend on
+ * the metrics system of the node, which implements this interface with its own counters.
+ */
+
+@FunctionalInterface
+public interface EvmCounterFactory {
+
+  /** A factory of counters that count nothing. */
+  EvmCounterFactory NO_OP = (name, help, labels) -> amount -> {};
+
+  /** A counter. */
+  @FunctionalInterface
+  interface Counter {
+
+    /**
+     * Increments the counter.
+     *
+     * @param amount the amount to add
+     */
+    void inc(long amount);
+  }
+
+  /**
+   * Creates a counter. Creating a counter with the same name and labels again returns a counter
+   * that adds to the same total.
+   *
+   * @param name the name of the counter
+   * @param help the description of the counter
+   * @param labels the values of the labels of the counter, by label name
+   * @return the counter
+   */
+  Counter create(String name, String help, Map<String, String> labels);
+}
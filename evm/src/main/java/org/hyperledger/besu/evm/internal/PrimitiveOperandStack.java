@@ -0,0 +1,410 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
+import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An operand stack storing its 256-bit words as four long limbs in a single primitive array, most
+ * significant limb first.
+ *
+ * <p>Operations with a fast path work on the limbs directly and don't allocate. The {@link Bytes}
+ * based methods mirror {@link OperandStack} for the other operations, and convert the words on
+ * the way in and out. Words are returned without their leading zero bytes, like most of the values
+ * pushed by the operations.
+ *
+ * <p>The array starts small and doubles up to the max size, as most frames only use a few dozen
+ * stack items.
+ */
+public class PrimitiveOperandStack {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private long[] limbs;
+  private final int maxSize;
+  private int top;
+
+  /**
+   * Instantiates a new primitive operand stack.
+   *
+   * @param maxSize the max size
+   */
+  public PrimitiveOperandStack(final int maxSize) {
+    checkArgument(maxSize >= 0, "max size must be non-negative");
+    this.limbs = new long[Math.min(maxSize, INITIAL_CAPACITY) * 4];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  /**
+   * The limbs of the stack. The word at position {@code i} from the bottom of the stack starts at
+   * index {@code 4 * i}. The array is replaced when the stack grows, so it must be retrieved again
+   * after a push.
+   *
+   * @return the limbs
+   */
+  public long[] getLimbs() {
+    return limbs;
+  }
+
+  /**
+   * Removes the operands of an operation producing one word, except the deepest one which the
+   * result overwrites. Operand {@code i}, counting from the top of the stack before the call,
+   * starts at the returned index plus {@code 4 * (consumed - 1 - i)}.
+   *
+   * @param consumed the number of operands of the operation
+   * @return the index of the first limb of the result
+   * @throws UnderflowException if the stack holds less than {@code consumed} words
+   */
+  public int popOperands(final int consumed) {
+    if (top + 1 < consumed) {
+      throw new UnderflowException();
+    }
+    top -= consumed - 1;
+    return top << 2;
+  }
+
+  /**
+   * Removes words from the top of the stack. The removed words stay readable in the limbs until
+   * the next push.
+   *
+   * @param items the number of words to remove
+   * @return the index of the first limb of the deepest removed word
+   * @throws UnderflowException if the stack holds less than {@code items} words
+   */
+  public int popItems(final int items) {
+    if (top + 1 < items) {
+      throw new UnderflowException();
+    }
+    top -= items;
+    return (top + 1) << 2;
+  }
+
+  /**
+   * Pushes a word given as its limbs.
+   *
+   * @param limb0 the most significant limb
+   * @param limb1 the second limb
+   * @param limb2 the third limb
+   * @param limb3 the least significant limb
+   */
+  public void push(final long limb0, final long limb1, final long limb2, final long limb3) {
+    final int index = grow();
+    limbs[index] = limb0;
+    limbs[index + 1] = limb1;
+    limbs[index + 2] = limb2;
+    limbs[index + 3] = limb3;
+  }
+
+  /**
+   * Pushes a big endian unsigned value read from a byte array, such as the operand of a PUSH. Like
+   * {@link org.hyperledger.besu.evm.operation.PushOperation}, a value cut by the end of the array
+   * is made of the bytes that are present.
+   *
+   * @param source the array
+   * @param offset the index of the first byte of the value
+   * @param length the length of the value, at most 32
+   */
+  public void push(final byte[] source, final int offset, final int length) {
+    final int index = grow();
+    final int end = Math.min(offset + length, source.length);
+    limbs[index] = 0;
+    limbs[index + 1] = 0;
+    limbs[index + 2] = 0;
+    limbs[index + 3] = 0;
+    for (int i = 0, position = end - 1; position >= offset; i++, position--) {
+      limbs[index + 3 - (i >>> 3)] |= (source[position] & 0xffL) << ((i & 7) << 3);
+    }
+  }
+
+  /**
+   * Pushes a copy of a word.
+   *
+   * @param offset the position of the word from the top of the stack
+   */
+  public void dup(final int offset) {
+    if (offset < 0 || offset > top) {
+      throw new UnderflowException();
+    }
+    final int source = (top - offset) << 2;
+    final int index = grow();
+    System.arraycopy(limbs, source, limbs, index, 4);
+  }
+
+  /**
+   * Swaps the top word with another one.
+   *
+   * @param offset the position of the other word from the top of the stack
+   */
+  public void swap(final int offset) {
+    if (offset < 0 || offset > top) {
+      throw new UnderflowException();
+    }
+    final int a = top << 2;
+    final int b = (top - offset) << 2;
+    for (int i = 0; i < 4; i++) {
+      final long tmp = limbs[a + i];
+      limbs[a + i] = limbs[b + i];
+      limbs[b + i] = tmp;
+    }
+  }
+
+  private int grow() {
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new OverflowException();
+    }
+    final int index = nextTop << 2;
+    if (index == limbs.length) {
+      limbs = Arrays.copyOf(limbs, Math.min(limbs.length * 2, maxSize * 4));
+    }
+    top = nextTop;
+    return index;
+  }
+
+  /**
+   * Get operand.
+   *
+   * @param offset the offset
+   * @return the operand
+   */
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    return toBytes((top - offset) << 2);
+  }
+
+  /**
+   * Pop operand.
+   *
+   * @return the operand
+   */
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    return toBytes(top-- << 2);
+  }
+
+  /**
+   * Push operand.
+   *
+   * @param operand the operand
+   */
+  public void push(final Bytes operand) {
+    final int index = grow();
+    fromBytes(index, operand);
+  }
+
+  /**
+   * Set operand.
+   *
+   * @param offset the offset
+   * @param operand the operand
+   */
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset >= size()) {
+      throw new OverflowException();
+    }
+    fromBytes((top - offset) << 2, operand);
+  }
+
+  /**
+   * Pops the specified number of operands from the stack.
+   *
+   * @param items the number of operands to pop off the stack
+   * @throws IllegalArgumentException if the items to pop is negative.
+   * @throws UnderflowException when the items to pop is greater than {@link #size()}
+   */
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    popItems(items);
+  }
+
+  /**
+   * Trims the "middle" section of items out of the stack. Items below the cutpoint remains, and of
+   * the items above only the itemsToKeep items remain. All items in the middle are removed.
+   *
+   * @param cutPoint Point at which to start removing items
+   * @param itemsToKeep itemsToKeep Number of items on top to place at the cutPoint
+   * @throws IllegalArgumentException if the cutPoint or items to keep is negative.
+   * @throws UnderflowException If there are less than itemsToKeep above the cutPoint
+   */
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      final int targetSize = cutPoint + itemsToKeep;
+      final int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(
+            limbs, (currentSize - itemsToKeep) << 2, limbs, cutPoint << 2, itemsToKeep << 2);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  /**
+   * Size of entries.
+   *
+   * @return the size
+   */
+  public int size() {
+    return top + 1;
+  }
+
+  /**
+   * Is stack full.
+   *
+   * @return the boolean
+   */
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  /**
+   * Is stack empty.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  /**
+   * Reads a word as an int, clamped to {@link Integer#MAX_VALUE}.
+   *
+   * @param limbs the limbs
+   * @param index the index of the first limb of the word
+   * @return the clamped value
+   */
+  public static int clampedToInt(final long[] limbs, final int index) {
+    final long value = limbs[index + 3];
+    if ((limbs[index] | limbs[index + 1] | limbs[index + 2]) != 0
+        || value < 0
+        || value > Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    return (int) value;
+  }
+
+  /**
+   * Whether a word is zero.
+   *
+   * @param limbs the limbs
+   * @param index the index of the first limb of the word
+   * @return true if the word is zero
+   */
+  public static boolean isZero(final long[] limbs, final int index) {
+    return (limbs[index] | limbs[index + 1] | limbs[index + 2] | limbs[index + 3]) == 0;
+  }
+
+  /**
+   * Sets a word to a value fitting in its least significant limb.
+   *
+   * @param limbs the limbs
+   * @param index the index of the first limb of the word
+   * @param value the unsigned value of the least significant limb
+   */
+  public static void setLong(final long[] limbs, final int index, final long value) {
+    limbs[index] = 0;
+    limbs[index + 1] = 0;
+    limbs[index + 2] = 0;
+    limbs[index + 3] = value;
+  }
+
+  /**
+   * Compares two words as unsigned integers.
+   *
+   * @param limbs the limbs
+   * @param index0 the index of the first limb of the first word
+   * @param index1 the index of the first limb of the second word
+   * @return a negative value, zero or a positive value if the first word is lower, equal or greater
+   */
+  public static int compareUnsigned(final long[] limbs, final int index0, final int index1) {
+    for (int i = 0; i < 4; i++) {
+      if (limbs[index0 + i] != limbs[index1 + i]) {
+        return Long.compareUnsigned(limbs[index0 + i], limbs[index1 + i]);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Compares two words as two's complement signed integers.
+   *
+   * @param limbs the limbs
+   * @param index0 the index of the first limb of the first word
+   * @param index1 the index of the first limb of the second word
+   * @return a negative value, zero or a positive value if the first word is lower, equal or greater
+   */
+  public static int compareSigned(final long[] limbs, final int index0, final int index1) {
+    if (limbs[index0] != limbs[index1]) {
+      return Long.compare(limbs[index0], limbs[index1]);
+    }
+    return compareUnsigned(limbs, index0, index1);
+  }
+
+  private Bytes toBytes(final int index) {
+    int limb = 0;
+    while (limb < 4 && limbs[index + limb] == 0) {
+      limb++;
+    }
+    if (limb == 4) {
+      return Bytes.EMPTY;
+    }
+    final int leadingBytes = Long.numberOfLeadingZeros(limbs[index + limb]) >>> 3;
+    final byte[] result = new byte[((4 - limb) << 3) - leadingBytes];
+    for (int i = 0; i < result.length; i++) {
+      result[result.length - 1 - i] = (byte) (limbs[index + 3 - (i >>> 3)] >>> ((i & 7) << 3));
+    }
+    return Bytes.wrap(result);
+  }
+
+  private void fromBytes(final int index, final Bytes value) {
+    final int size = value.size();
+    if (size == 32) {
+      limbs[index] = value.getLong(0);
+      limbs[index + 1] = value.getLong(8);
+      limbs[index + 2] = value.getLong(16);
+      limbs[index + 3] = value.getLong(24);
+      return;
+    }
+    limbs[index] = 0;
+    limbs[index + 1] = 0;
+    limbs[index + 2] = 0;
+    limbs[index + 3] = 0;
+    // like the arithmetic of the operations, only the low 256 bits of longer values count
+    for (int i = 0; i < Math.min(size, 32); i++) {
+      limbs[index + 3 - (i >>> 3)] |= (value.get(size - 1 - i) & 0xffL) << ((i & 7) << 3);
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.Arrays;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * The addresses and storage slots warmed up by a transaction, as per EIP-2929.
+ *
+ * <p>A single instance is shared by all the frames of a transaction. The entries are kept in a
+ * journal in insertion order, and an open-addressing table with linear probing indexes the journal.
+ * A frame takes a {@link #mark()} when it starts and, if its warm-ups must be discarded, rolls back
+ * to it with {@link #rollback(int)}. Looking up an entry therefore never walks the parent frames,
+ * and keeping the warm-ups of a successful child frame copies nothing.
+ *
+ * <p>Entries are only ever removed in the reverse order of their insertion, and the table is always
+ * rebuilt in insertion order. Clearing the table slot of the most recent entry is then enough to
+ * restore the table as it was before the entry was added.
+ */
+public class WarmSet {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private Address[] addresses = new Address[INITIAL_CAPACITY];
+  // null for the entries of warmed up addresses
+  private Bytes32[] slots = new Bytes32[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  // journal index + 1 of the entry in each slot, 0 for an empty slot
+  private int[] table = new int[INITIAL_CAPACITY * 2];
+
+  /**
+   * Warms up an address.
+   *
+   * @param address the address to warm up
+   * @return true if the address was not warm yet
+   */
+  public boolean add(final Address address) {
+    return add(address, null);
+  }
+
+  /**
+   * Warms up a storage slot.
+   *
+   * @param address the address whose storage is warmed up
+   * @param slot the slot to warm up, or null to warm up the address itself
+   * @return true if the slot was not warm yet
+   */
+  public boolean add(final Address address, final Bytes32 slot) {
+    final int hash = hash(address, slot);
+    int index = hash & (table.length - 1);
+    int entry;
+    while ((entry = table[index]) != 0) {
+      if (matches(entry - 1, hash, address, slot)) {
+        return false;
+      }
+      index = (index + 1) & (table.length - 1);
+    }
+    if (size == addresses.length) {
+      grow();
+      index = findFreeIndex(hash);
+    }
+    addresses[size] = address;
+    slots[size] = slot;
+    hashes[size] = hash;
+    table[index] = ++size;
+    return true;
+  }
+
+  /**
+   * Whether an address is warm.
+   *
+   * @param address the address
+   * @return true if the address is warm
+   */
+  public boolean contains(final Address address) {
+    return contains(address, null);
+  }
+
+  /**
+   * Whether a storage slot is warm.
+   *
+   * @param address the address whose storage is looked up
+   * @param slot the slot, or null to look up the address itself
+   * @return true if the slot is warm
+   */
+  public boolean contains(final Address address, final Bytes32 slot) {
+    final int hash = hash(address, slot);
+    int index = hash & (table.length - 1);
+    int entry;
+    while ((entry = table[index]) != 0) {
+      if (matches(entry - 1, hash, address, slot)) {
+        return true;
+      }
+      index = (index + 1) & (table.length - 1);
+    }
+    return false;
+  }
+
+  /**
+   * Warms up all the entries of another set.
+   *
+   * @param other the set to copy the entries from
+   */
+  public void addAll(final WarmSet other) {
+    for (int i = 0; i < other.size; i++) {
+      add(other.addresses[i], other.slots[i]);
+    }
+  }
+
+  /**
+   * Returns a mark that the set can later be rolled back to.
+   *
+   * @return the current mark
+   */
+  public int mark() {
+    return size;
+  }
+
+  /**
+   * Removes every entry added since the mark was taken.
+   *
+   * @param mark a mark returned by {@link #mark()}
+   */
+  public void rollback(final int mark) {
+    while (size > mark) {
+      final int last = size - 1;
+      int index = hashes[last] & (table.length - 1);
+      while (table[index] != size) {
+        index = (index + 1) & (table.length - 1);
+      }
+      table[index] = 0;
+      addresses[last] = null;
+      slots[last] = null;
+      size = last;
+    }
+  }
+
+  /**
+   * Returns the number of warm addresses and storage slots.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a copy of the warm storage slots, by address.
+   *
+   * @return the warm storage slots
+   */
+  public Multimap<Address, Bytes32> getStorage() {
+    final Multimap<Address, Bytes32> storage = HashMultimap.create();
+    for (int i = 0; i < size; i++) {
+      if (slots[i] != null) {
+        storage.put(addresses[i], slots[i]);
+      }
+    }
+    return storage;
+  }
+
+  private boolean matches(
+      final int entry, final int hash, final Address address, final Bytes32 slot) {
+    if (hashes[entry] != hash || !addresses[entry].equals(address)) {
+      return false;
+    }
+    return slot == null ? slots[entry] == null : slot.equals(slots[entry]);
+  }
+
+  private void grow() {
+    final int capacity = addresses.length * 2;
+    addresses = Arrays.copyOf(addresses, capacity);
+    slots = Arrays.copyOf(slots, capacity);
+    hashes = Arrays.copyOf(hashes, capacity);
+    table = new int[capacity * 2];
+    // insertion order, see the class comment
+    for (int i = 0; i < size; i++) {
+      table[findFreeIndex(hashes[i])] = i + 1;
+    }
+  }
+
+  private int findFreeIndex(final int hash) {
+    int index = hash & (table.length - 1);
+    while (table[index] != 0) {
+      index = (index + 1) & (table.length - 1);
+    }
+    return index;
+  }
+
+  private static int hash(final Address address, final Bytes32 slot) {
+    int hash = address.hashCode();
+    if (slot != null) {
+      hash = hash * 31 + slot.hashCode();
+    }
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -187,7 +187,11 @@ public abstract class AbstractCallOperation extends AbstractOperation {
       return new OperationResult(cost, null);
     }
 
-    final Bytes inputData = frame.readMutableMemory(inputDataOffset(frame), inputDataLength(frame));
+    // tracers keep the input of the child, it must not alias a buffer that goes back to the pool
+    final Bytes inputData =
+        frame.hasPooledMemory()
+            ? frame.readMemory(inputDataOffset(frame), inputDataLength(frame))
+            : frame.readMutableMemory(inputDataOffset(frame), inputDataLength(frame));
 
     final Code code =
         contract == null
@@ -217,6 +221,8 @@ public abstract class AbstractCallOperation extends AbstractOperation {
               .miningBeneficiary(frame.getMiningBeneficiary())
               .blockHashLookup(frame.getBlockHashLookup())
               .maxStackSize(frame.getMaxStackSize())
+              .primitiveStack(frame.hasPrimitiveStack())
+              .memoryPool(frame.getMemoryPoolMetrics())
               .build();
       frame.incrementRemainingGas(cost);
 
@@ -164,6 +164,8 @@ public abstract class AbstractCreateOperation extends AbstractOperation {
             .miningBeneficiary(frame.getMiningBeneficiary())
             .blockHashLookup(frame.getBlockHashLookup())
             .maxStackSize(frame.getMaxStackSize())
+            .primitiveStack(frame.hasPrimitiveStack())
+            .memoryPool(frame.getMemoryPoolMetrics())
             .build();
 
     frame.getMessageFrameStack().addFirst(childFrame);
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import java.math.BigInteger;
 
@@ -50,6 +51,10 @@ public class AddOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     final BigInteger value0 = new BigInteger(1, frame.popStackItem().toArrayUnsafe());
     final BigInteger value1 = new BigInteger(1, frame.popStackItem().toArrayUnsafe());
 
@@ -65,4 +70,18 @@ public class AddOperation extends AbstractFixedCostOperation {
 
     return addSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(2);
+    long carry = 0;
+    for (int i = 3; i >= 0; i--) {
+      final long a = s[r + 4 + i];
+      final long sum = a + s[r + i];
+      final long result = sum + carry;
+      carry = Long.compareUnsigned(sum, a) < 0 || Long.compareUnsigned(result, sum) < 0 ? 1 : 0;
+      s[r + i] = result;
+    }
+    return addSuccess;
+  }
 }
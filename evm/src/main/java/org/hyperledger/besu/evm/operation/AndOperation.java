@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -48,6 +49,10 @@ public class AndOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     final Bytes value0 = frame.popStackItem();
     final Bytes value1 = frame.popStackItem();
 
@@ -56,4 +61,13 @@ public class AndOperation extends AbstractFixedCostOperation {
 
     return andSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(2);
+    for (int i = 0; i < 4; i++) {
+      s[r + i] &= s[r + 4 + i];
+    }
+    return andSuccess;
+  }
 }
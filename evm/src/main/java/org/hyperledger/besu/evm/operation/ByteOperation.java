@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -65,6 +66,10 @@ public class ByteOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     final Bytes value0 = frame.popStackItem();
     final Bytes value1 = frame.popStackItem();
 
@@ -75,4 +80,14 @@ public class ByteOperation extends AbstractFixedCostOperation {
 
     return byteSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(2);
+    final int offset = PrimitiveOperandStack.clampedToInt(s, r + 4);
+    final long result =
+        offset >= 32 ? 0 : (s[r + (offset >>> 3)] >>> ((7 - (offset & 7)) << 3)) & 0xff;
+    PrimitiveOperandStack.setLong(s, r, result);
+    return byteSuccess;
+  }
 }
@@ -18,6 +18,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 /** The Dup operation. */
 public class DupOperation extends AbstractFixedCostOperation {
@@ -64,6 +65,11 @@ public class DupOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame, final int index) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      stack.dup(index - 1);
+      return dupSuccess;
+    }
     frame.pushStackItem(frame.getStackItem(index - 1));
 
     return dupSuccess;
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -49,6 +50,10 @@ public class EqOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     final Bytes value0 = frame.popStackItem().trimLeadingZeros();
     final Bytes value1 = frame.popStackItem().trimLeadingZeros();
 
@@ -58,4 +63,12 @@ public class EqOperation extends AbstractFixedCostOperation {
 
     return eqSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(2);
+    PrimitiveOperandStack.setLong(
+        s, r, PrimitiveOperandStack.compareUnsigned(s, r + 4, r) == 0 ? 1 : 0);
+    return eqSuccess;
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -48,10 +49,21 @@ public class IsZeroOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     final Bytes value = frame.popStackItem().trimLeadingZeros();
 
     frame.pushStackItem((value.size() == 0) ? BYTES_ONE : Bytes.EMPTY);
 
     return isZeroSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(1);
+    PrimitiveOperandStack.setLong(s, r, PrimitiveOperandStack.isZero(s, r) ? 1 : 0);
+    return isZeroSuccess;
+  }
 }
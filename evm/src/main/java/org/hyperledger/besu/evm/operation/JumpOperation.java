@@ -19,6 +19,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -52,11 +53,17 @@ public class JumpOperation extends AbstractFixedCostOperation {
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
     final int jumpDestination;
-    final Bytes bytes = frame.popStackItem().trimLeadingZeros();
-    try {
-      jumpDestination = bytes.toInt();
-    } catch (final RuntimeException iae) {
-      return invalidJumpResponse;
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      final int index = stack.popItems(1);
+      jumpDestination = PrimitiveOperandStack.clampedToInt(stack.getLimbs(), index);
+    } else {
+      final Bytes bytes = frame.popStackItem().trimLeadingZeros();
+      try {
+        jumpDestination = bytes.toInt();
+      } catch (final RuntimeException iae) {
+        return invalidJumpResponse;
+      }
     }
     final Code code = frame.getCode();
     if (code.isJumpDestInvalid(jumpDestination)) {
@@ -66,4 +73,21 @@ public class JumpOperation extends AbstractFixedCostOperation {
       return jumpResponse;
     }
   }
+
+  /**
+   * Performs Jump operation to a destination validated ahead of execution.
+   *
+   * @param frame the frame
+   * @param jumpDestination the valid jump destination, or a negative value if it is invalid
+   * @return the operation result
+   */
+  public static OperationResult staticOperation(
+      final MessageFrame frame, final int jumpDestination) {
+    frame.popStackItems(1);
+    if (jumpDestination < 0) {
+      return invalidJumpResponse;
+    }
+    frame.setPC(jumpDestination);
+    return jumpResponse;
+  }
 }
@@ -19,6 +19,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -51,6 +52,21 @@ public class JumpiOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      final long[] s = stack.getLimbs();
+      final int index = stack.popItems(2);
+      // If condition is zero (false), no jump is will be performed. Therefore, skip the test.
+      if (PrimitiveOperandStack.isZero(s, index)) {
+        return nojumpResponse;
+      }
+      final int jumpDestination = PrimitiveOperandStack.clampedToInt(s, index + 4);
+      if (frame.getCode().isJumpDestInvalid(jumpDestination)) {
+        return invalidJumpResponse;
+      }
+      frame.setPC(jumpDestination);
+      return jumpiResponse;
+    }
     final Bytes dest = frame.popStackItem().trimLeadingZeros();
     final Bytes condition = frame.popStackItem().trimLeadingZeros();
 
@@ -72,4 +88,32 @@ public class JumpiOperation extends AbstractFixedCostOperation {
       return jumpiResponse;
     }
   }
+
+  /**
+   * Performs JUMPI operation to a destination validated ahead of execution.
+   *
+   * @param frame the frame
+   * @param jumpDestination the valid jump destination, or a negative value if it is invalid
+   * @return the operation result
+   */
+  public static OperationResult staticOperation(
+      final MessageFrame frame, final int jumpDestination) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    final boolean isZeroCondition;
+    if (stack != null) {
+      isZeroCondition = PrimitiveOperandStack.isZero(stack.getLimbs(), stack.popItems(2));
+    } else {
+      frame.popStackItem();
+      isZeroCondition = frame.popStackItem().trimLeadingZeros().size() == 0;
+    }
+
+    // If condition is zero (false), no jump is will be performed. Therefore, skip the test.
+    if (isZeroCondition) {
+      return nojumpResponse;
+    } else if (jumpDestination < 0) {
+      return invalidJumpResponse;
+    }
+    frame.setPC(jumpDestination);
+    return jumpiResponse;
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import java.math.BigInteger;
 
@@ -50,6 +51,10 @@ public class MulOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     BigInteger a = new BigInteger(1, frame.popStackItem().toArrayUnsafe());
     BigInteger b = new BigInteger(1, frame.popStackItem().toArrayUnsafe());
     BigInteger c = a.multiply(b);
@@ -62,4 +67,43 @@ public class MulOperation extends AbstractFixedCostOperation {
     frame.pushStackItem(result);
     return mulSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(2);
+    // schoolbook multiplication of the limbs, least significant first, dropping what overflows
+    final long a0 = s[r + 7];
+    final long a1 = s[r + 6];
+    final long a2 = s[r + 5];
+    final long a3 = s[r + 4];
+    final long b0 = s[r + 3];
+    final long b1 = s[r + 2];
+    final long b2 = s[r + 1];
+    final long b3 = s[r];
+    PrimitiveOperandStack.setLong(s, r, 0);
+    long carry = multiplyAdd(s, r + 3, a0, b0, 0);
+    carry = multiplyAdd(s, r + 2, a0, b1, carry);
+    carry = multiplyAdd(s, r + 1, a0, b2, carry);
+    multiplyAdd(s, r, a0, b3, carry);
+    carry = multiplyAdd(s, r + 2, a1, b0, 0);
+    carry = multiplyAdd(s, r + 1, a1, b1, carry);
+    multiplyAdd(s, r, a1, b2, carry);
+    carry = multiplyAdd(s, r + 1, a2, b0, 0);
+    multiplyAdd(s, r, a2, b1, carry);
+    multiplyAdd(s, r, a3, b0, 0);
+    return mulSuccess;
+  }
+
+  // adds x * y + carry to the limb at index, returns the carry into the next limb
+  private static long multiplyAdd(
+      final long[] limbs, final int index, final long x, final long y, final long carry) {
+    final long low = x * y;
+    final long high = Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    final long sum = limbs[index] + low;
+    final long result = sum + carry;
+    limbs[index] = result;
+    return high
+        + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0)
+        + (Long.compareUnsigned(result, sum) < 0 ? 1 : 0);
+  }
 }
@@ -19,6 +19,7 @@ import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -49,7 +50,16 @@ public class Push0Operation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     frame.pushStackItem(Bytes.EMPTY);
     return push0Success;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    stack.push(0, 0, 0, 0);
+    return push0Success;
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -67,6 +68,12 @@ public class PushOperation extends AbstractFixedCostOperation {
    */
   public static OperationResult staticOperation(
       final MessageFrame frame, final byte[] code, final int pc, final int pushSize) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      stack.push(code, pc + 1, pushSize);
+      frame.setPC(pc + pushSize);
+      return pushSuccess;
+    }
     int copyStart = pc + 1;
     Bytes push;
     if (code.length <= copyStart) {
@@ -79,4 +86,20 @@ public class PushOperation extends AbstractFixedCostOperation {
     frame.setPC(pc + pushSize);
     return pushSuccess;
   }
+
+  /**
+   * Performs Push operation with an operand decoded ahead of execution.
+   *
+   * @param frame the frame
+   * @param push the pushed value
+   * @param pc the pc
+   * @param pushSize the push size
+   * @return the operation result
+   */
+  public static OperationResult staticOperation(
+      final MessageFrame frame, final Bytes push, final int pc, final int pushSize) {
+    frame.pushStackItem(push);
+    frame.setPC(pc + pushSize);
+    return pushSuccess;
+  }
 }
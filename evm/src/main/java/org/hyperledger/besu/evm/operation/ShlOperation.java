@@ -19,6 +19,7 @@ import static org.apache.tuweni.bytes.Bytes32.leftPad;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.PrimitiveOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -50,6 +51,10 @@ public class ShlOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final PrimitiveOperandStack stack = frame.getPrimitiveStack();
+    if (stack != null) {
+      return primitiveOperation(stack);
+    }
     Bytes shiftAmount = frame.popStackItem();
     if (shiftAmount.size() > 4 && (shiftAmount = shiftAmount.trimLeadingZeros()).size() > 4) {
       frame.popStackItem();
@@ -66,4 +71,25 @@ public class ShlOperation extends AbstractFixedCostOperation {
     }
     return shlSuccess;
   }
+
+  private static OperationResult primitiveOperation(final PrimitiveOperandStack stack) {
+    final long[] s = stack.getLimbs();
+    final int r = stack.popOperands(2);
+    final int shift = PrimitiveOperandStack.clampedToInt(s, r + 4);
+    if (shift >= 256) {
+      PrimitiveOperandStack.setLong(s, r, 0);
+    } else {
+      final int limbShift = shift >>> 6;
+      final int bitShift = shift & 63;
+      for (int i = 0; i < 4; i++) {
+        final int source = i + limbShift;
+        long limb = source < 4 ? s[r + source] << bitShift : 0;
+        if (bitShift != 0 && source + 1 < 4) {
+          limb |= s[r + source + 1] >>> (64 - bitShift);
+        }
+        s[r + i] = limb;
+      }
+    }
+    return shlSuccess;
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmCounterFactory;
+import org.hyperledger.besu.evm.internal.EvmCounterFactory.Counter;
+
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Memoizes the results of a precompiled contract whose output only depends on its input.
+ *
+ * <p>The transactions of a block run at least twice on a validator, once when the block is built
+ * and once when it is validated, and the expensive precompiles are called with the same inputs
+ * both times. The results of all the precompiles of a registry are kept in one bounded cache keyed
+ * by the address of the precompile and the hash of its input.
+ *
+ * <p>Only the result is cached: the gas requirement is always computed by the wrapped precompile,
+ * so gas accounting is unchanged whether the result comes from the cache or not. Failures are not
+ * cached, because computing them also sets the revert reason of the calling frame.
+ *
+ * <p>The hits and misses are counted per precompile name, with the counters given when the
+ * registry is wrapped.
+ */
+public class CachingPrecompiledContract implements PrecompiledContract {
+
+  /**
+   * The precompiles whose result only depends on their input and is expensive enough to compute
+   * that hashing the input pays off.
+   */
+  public static final Set<Address> CACHEABLE_PRECOMPILES =
+      Set.of(
+          Address.ECREC,
+          Address.MODEXP,
+          Address.ALTBN128_ADD,
+          Address.ALTBN128_MUL,
+          Address.ALTBN128_PAIRING,
+          Address.BLAKE2B_F_COMPRESSION,
+          Address.BLS12_G1ADD,
+          Address.BLS12_G1MUL,
+          Address.BLS12_G1MULTIEXP,
+          Address.BLS12_G2ADD,
+          Address.BLS12_G2MUL,
+          Address.BLS12_G2MULTIEXP,
+          Address.BLS12_PAIRING,
+          Address.BLS12_MAP_FP_TO_G1,
+          Address.BLS12_MAP_FP2_TO_G2,
+          Address.KZG_POINT_EVAL);
+
+  private final Address address;
+  private final PrecompiledContract delegate;
+  private final Cache<CacheKey, PrecompileContractResult> results;
+  private final Counter hits;
+  private final Counter misses;
+
+  private record CacheKey(Address address, Hash inputHash) {}
+
+  private CachingPrecompiledContract(
+      final Address address,
+      final PrecompiledContract delegate,
+      final Cache<CacheKey, PrecompileContractResult> results,
+      final EvmCounterFactory counterFactory) {
+    this.address = address;
+    this.delegate = delegate;
+    this.results = results;
+    final Map<String, String> labels = Map.of("precompile", delegate.getName());
+    this.hits =
+        counterFactory.create(
+            "precompile_cache_hits_total",
+            "Precompile results found in the precompile result cache",
+            labels);
+    this.misses =
+        counterFactory.create(
+            "precompile_cache_misses_total",
+            "Precompile results computed because they were not in the precompile result cache",
+            labels);
+  }
+
+  /**
+   * Replaces the cacheable precompiles of a registry with caching ones sharing a single cache.
+   *
+   * @param registry the registry to update
+   * @param maximumSize the maximum number of results kept in the cache
+   * @param counterFactory the factory of the hit and miss counters
+   */
+  public static void cacheResults(
+      final PrecompileContractRegistry registry,
+      final long maximumSize,
+      final EvmCounterFactory counterFactory) {
+    final Cache<CacheKey, PrecompileContractResult> results =
+        Caffeine.newBuilder().maximumSize(maximumSize).build();
+    for (final Address address : CACHEABLE_PRECOMPILES) {
+      final PrecompiledContract precompile = registry.get(address);
+      if (precompile != null && !(precompile instanceof CachingPrecompiledContract)) {
+        registry.put(
+            address, new CachingPrecompiledContract(address, precompile, results, counterFactory));
+      }
+    }
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public long gasRequirement(final Bytes input) {
+    return delegate.gasRequirement(input);
+  }
+
+  @Nonnull
+  @Override
+  public PrecompileContractResult computePrecompile(
+      final Bytes input, @Nonnull final MessageFrame messageFrame) {
+    final CacheKey key = new CacheKey(address, Hash.hash(input));
+    final PrecompileContractResult cached = results.getIfPresent(key);
+    if (cached != null) {
+      hits.inc(1);
+      return cached;
+    }
+    misses.inc(1);
+    final PrecompileContractResult result = delegate.computePrecompile(input, messageFrame);
+    if (result.getState() == MessageFrame.State.COMPLETED_SUCCESS) {
+      results.put(key, result);
+    }
+    return result;
+  }
+}
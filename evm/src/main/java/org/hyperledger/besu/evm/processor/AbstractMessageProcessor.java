@@ -21,11 +21,13 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.ModificationNotAllowedException;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.AccountState;
+import org.hyperledger.besu.evm.frame.MemoryPool;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -185,6 +187,7 @@ public abstract class AbstractMessageProcessor {
    */
   public void process(final MessageFrame frame, final OperationTracer operationTracer) {
     if (frame.getState() == MessageFrame.State.NOT_STARTED) {
+      operationTracer.traceContextEnter(frame);
       start(frame, operationTracer);
     }
 
@@ -209,10 +212,12 @@ public abstract class AbstractMessageProcessor {
     }
 
     if (frame.getState() == MessageFrame.State.COMPLETED_SUCCESS) {
+      operationTracer.traceContextExit(frame);
       completedSuccess(frame);
     }
 
     if (frame.getState() == MessageFrame.State.COMPLETED_FAILED) {
+      operationTracer.traceContextExit(frame);
       completedFailed(frame);
     }
   }
@@ -227,4 +232,23 @@ public abstract class AbstractMessageProcessor {
   public Code getCodeFromEVM(final Hash codeHash, final Bytes codeBytes) {
     return evm.getCode(codeHash, codeBytes);
   }
+
+  /**
+   * Whether the frames processed by the evm should use the primitive operand stack.
+   *
+   * @return true if the primitive operand stack is enabled
+   */
+  public boolean isPrimitiveStackEnabled() {
+    return evm.isPrimitiveStackEnabled();
+  }
+
+  /**
+   * Gets the metrics of the per-thread memory pool the frames processed by the evm should borrow
+   * their memory from.
+   *
+   * @return the metrics of the memory pool, or empty if the memory pool is not enabled
+   */
+  public Optional<MemoryPool.Metrics> getMemoryPoolMetrics() {
+    return evm.getMemoryPoolMetrics();
+  }
 }
@@ -28,12 +28,13 @@ import org.apache.tuweni.bytes.Bytes32;
 /** The Access List Operation Tracer. */
 public class AccessListOperationTracer extends EstimateGasOperationTracer {
 
-  private Multimap<Address, Bytes32> warmedUpStorage;
+  // the warmed up storage is copied out of the last frame only when the access list is requested
+  private MessageFrame lastFrame;
 
   @Override
   public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
     super.tracePostExecution(frame, operationResult);
-    warmedUpStorage = frame.getWarmedUpStorage();
+    lastFrame = frame;
   }
 
   @Override
@@ -46,7 +47,8 @@ public class AccessListOperationTracer extends EstimateGasOperationTracer {
    */
   public List<AccessListEntry> getAccessList() {
     final List<AccessListEntry> list = new ArrayList<>();
-    if (warmedUpStorage != null) {
+    if (lastFrame != null) {
+      final Multimap<Address, Bytes32> warmedUpStorage = lastFrame.getWarmedUpStorage();
       warmedUpStorage
           .asMap()
           .forEach(
@@ -14,9 +14,11 @@
  */
 package org.hyperledger.besu.evm.tracing;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.worldstate.WorldView;
 
 import java.util.Optional;
 
@@ -28,6 +30,28 @@ public interface OperationTracer {
   /** The constant NO_TRACING. */
   OperationTracer NO_TRACING = new OperationTracer() {};
 
+  /**
+   * Trace the start of a transaction, before the sender is charged for it.
+   *
+   * @param worldView the world view the transaction is executed against
+   * @param sender the sender of the transaction
+   */
+  default void traceStartTransaction(final WorldView worldView, final Address sender) {}
+
+  /**
+   * Trace the start of a message frame, before its code is executed.
+   *
+   * @param frame the frame
+   */
+  default void traceContextEnter(final MessageFrame frame) {}
+
+  /**
+   * Trace the end of a message frame, once its outcome and remaining gas are known.
+   *
+   * @param frame the frame
+   */
+  default void traceContextExit(final MessageFrame frame) {}
+
   /**
    * Trace pre execution.
    *
@@ -63,6 +87,15 @@ public interface OperationTracer {
   default void traceAccountCreationResult(
       final MessageFrame frame, final Optional<ExceptionalHaltReason> haltReason) {}
 
+  /**
+   * Trace the point right before the mining beneficiary is credited with the transaction fee.
+   *
+   * @param worldView the world view the transaction is being executed against
+   * @param miningBeneficiary the address that is about to receive the transaction fee
+   */
+  default void traceBeforeRewardTransaction(
+      final WorldView worldView, final Address miningBeneficiary) {}
+
   /**
    * Trace the end of a transaction.
    *
@@ -0,0 +1,175 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.code.PreDecodedCode.KIND_BITS;
+import static org.hyperledger.besu.evm.code.PreDecodedCode.KIND_MASK;
+
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.PreDecodedCode;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.testutils.TestMessageFrameBuilder;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Runs the same code through the regular and the pre-decoded interpreters. */
+class PreDecodedInterpreterTest {
+
+  private static final EVM INTERPRETER = MainnetEVMs.cancun(EvmConfiguration.DEFAULT);
+  private static final EVM PRE_DECODING_INTERPRETER =
+      MainnetEVMs.cancun(EvmConfiguration.DEFAULT.withPreDecodingEnabled(true));
+
+  static Stream<Arguments> programs() {
+    return Stream.of(
+        // PUSH1 16, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, DUP1, SWAP2, POP, PUSH1 2, JUMPI, STOP
+        Arguments.of("loop", "0x60105b600190038080915060025700", 10_000L, null),
+        // PUSH1 42, PUSH1 0, MSTORE, PUSH1 32, PUSH1 0, RETURN
+        Arguments.of("memory", "0x602a60005260206000f3", 10_000L, null),
+        // PUSH1 4, JUMP, PUSH1 0x5b, STOP
+        Arguments.of(
+            "jump into push data",
+            "0x600456605b00",
+            10_000L,
+            ExceptionalHaltReason.INVALID_JUMP_DESTINATION),
+        // PUSH1 1, PUSH1 7, JUMPI, PUSH2 0x005b, STOP
+        Arguments.of(
+            "jumpi into push data",
+            "0x600160075761005b00",
+            10_000L,
+            ExceptionalHaltReason.INVALID_JUMP_DESTINATION),
+        // PUSH32 0xff..ff, JUMP
+        Arguments.of(
+            "jump beyond int range",
+            "0x7f" + "ff".repeat(32) + "56",
+            10_000L,
+            ExceptionalHaltReason.INVALID_JUMP_DESTINATION),
+        // PUSH1 3, JUMP, JUMPDEST, STOP with only enough gas for the PUSH
+        Arguments.of(
+            "out of gas in fused jump",
+            "0x6003565b00",
+            3L,
+            ExceptionalHaltReason.INSUFFICIENT_GAS),
+        // PUSH1 3, JUMP, JUMPDEST, STOP without enough gas for the PUSH
+        Arguments.of(
+            "out of gas in fused push",
+            "0x6003565b00",
+            2L,
+            ExceptionalHaltReason.INSUFFICIENT_GAS),
+        // PUSH1 1, PUSH1 6, JUMPI, STOP, JUMPDEST, STOP with only enough gas for the PUSHes
+        Arguments.of(
+            "out of gas in fused jumpi",
+            "0x6001600657005b00",
+            7L,
+            ExceptionalHaltReason.INSUFFICIENT_GAS),
+        // PUSH1 1, PUSH1 2, DUP2, SWAP1 with only enough gas for the DUP
+        Arguments.of(
+            "out of gas in fused dup and swap",
+            "0x600160028190",
+            9L,
+            ExceptionalHaltReason.INSUFFICIENT_GAS),
+        // PUSH1 3, JUMPI, STOP, JUMPDEST, STOP
+        Arguments.of(
+            "stack underflow in fused jumpi",
+            "0x600357005b00",
+            10_000L,
+            ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS),
+        // PUSH1 1, DUP2, SWAP1
+        Arguments.of(
+            "stack underflow in fused dup",
+            "0x60018190",
+            10_000L,
+            ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS),
+        // PUSH1 1, DUP1, SWAP2
+        Arguments.of(
+            "stack underflow in fused swap",
+            "0x60018091",
+            10_000L,
+            ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("programs")
+  void preDecodedInterpreterMatchesRegularInterpreter(
+      final String name,
+      final String hex,
+      final long gas,
+      final ExceptionalHaltReason expectedHaltReason) {
+    final Code code = CodeFactory.createCode(Bytes.fromHexString(hex), 0, false);
+
+    final MessageFrame expected = run(INTERPRETER, code, gas);
+    final MessageFrame actual = run(PRE_DECODING_INTERPRETER, code, gas);
+
+    assertThat(expected.getExceptionalHaltReason())
+        .isEqualTo(Optional.ofNullable(expectedHaltReason));
+    assertThat(actual.getState()).isEqualTo(expected.getState());
+    assertThat(actual.getExceptionalHaltReason()).isEqualTo(expected.getExceptionalHaltReason());
+    assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+    assertThat(actual.getPC()).isEqualTo(expected.getPC());
+    assertThat(stack(actual)).isEqualTo(stack(expected));
+    assertThat(actual.memoryByteSize()).isEqualTo(expected.memoryByteSize());
+    assertThat(actual.readMemory(0, actual.memoryByteSize()))
+        .isEqualTo(expected.readMemory(0, expected.memoryByteSize()));
+    assertThat(actual.getOutputData()).isEqualTo(expected.getOutputData());
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("programs")
+  void fusedJumpDestinationsMatchCodeJumpDestinations(
+      final String name,
+      final String hex,
+      final long gas,
+      final ExceptionalHaltReason expectedHaltReason) {
+    final Code code = CodeFactory.createCode(Bytes.fromHexString(hex), 0, false);
+    final PreDecodedCode preDecodedCode = code.getPreDecodedCode();
+
+    for (final int instruction : preDecodedCode.getInstructions()) {
+      final int kind = instruction & KIND_MASK;
+      if (kind == PreDecodedCode.PUSH_JUMP || kind == PreDecodedCode.PUSH_JUMPI) {
+        final int operand = instruction >>> KIND_BITS;
+        final Bytes target = preDecodedCode.getPushValues()[operand].trimLeadingZeros();
+        final boolean valid =
+            target.size() <= 3 && !code.isJumpDestInvalid(target.isEmpty() ? 0 : target.toInt());
+        assertThat(preDecodedCode.getJumpDestinations()[operand] >= 0).isEqualTo(valid);
+      }
+    }
+  }
+
+  private static MessageFrame run(final EVM evm, final Code code, final long gas) {
+    final MessageFrame frame = new TestMessageFrameBuilder().code(code).initialGas(gas).build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+
+  private static List<Bytes> stack(final MessageFrame frame) {
+    final List<Bytes> items = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      items.add(frame.getStackItem(i));
+    }
+    return items;
+  }
+}
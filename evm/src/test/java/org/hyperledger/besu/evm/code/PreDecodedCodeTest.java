@@ -0,0 +1,106 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.code.PreDecodedCode.KIND_BITS;
+import static org.hyperledger.besu.evm.code.PreDecodedCode.KIND_MASK;
+
+import org.hyperledger.besu.evm.Code;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class PreDecodedCodeTest {
+
+  private static PreDecodedCode decode(final String hex) {
+    return CodeFactory.createCode(Bytes.fromHexString(hex), 0, false).getPreDecodedCode();
+  }
+
+  private static int kind(final int instruction) {
+    return instruction & KIND_MASK;
+  }
+
+  private static int operand(final int instruction) {
+    return instruction >>> KIND_BITS;
+  }
+
+  @Test
+  void decodesPushAndKeepsPushDataAsPlainOpcodes() {
+    // PUSH2 0x5b01, ADD
+    final PreDecodedCode decoded = decode("0x615b0101");
+    final int[] instructions = decoded.getInstructions();
+
+    assertThat(kind(instructions[0])).isEqualTo(PreDecodedCode.PUSH);
+    assertThat(decoded.getPushValues()[operand(instructions[0])])
+        .isEqualTo(Bytes.fromHexString("0x5b01"));
+    assertThat(instructions[1]).isEqualTo(0x5b);
+    assertThat(instructions[2]).isEqualTo(0x01);
+    assertThat(instructions[3]).isEqualTo(0x01);
+  }
+
+  @Test
+  void truncatesPushValueAtEndOfCode() {
+    final PreDecodedCode decoded = decode("0x6301");
+
+    assertThat(decoded.getPushValues()[operand(decoded.getInstructions()[0])])
+        .isEqualTo(Bytes.fromHexString("0x01"));
+  }
+
+  @Test
+  void fusesPushAndJumpToValidDestination() {
+    // PUSH1 3, JUMP, JUMPDEST, STOP
+    final PreDecodedCode decoded = decode("0x6003565b00");
+    final int instruction = decoded.getInstructions()[0];
+
+    assertThat(kind(instruction)).isEqualTo(PreDecodedCode.PUSH_JUMP);
+    assertThat(decoded.getJumpDestinations()[operand(instruction)]).isEqualTo(3);
+    // a jump can still land on the JUMP itself
+    assertThat(decoded.getInstructions()[2]).isEqualTo(0x56);
+  }
+
+  @Test
+  void fusesPushAndJumpiToInvalidDestination() {
+    // PUSH1 1, PUSH1 4, JUMPI, STOP
+    final PreDecodedCode decoded = decode("0x6001600457");
+    final int instruction = decoded.getInstructions()[2];
+
+    assertThat(kind(decoded.getInstructions()[0])).isEqualTo(PreDecodedCode.PUSH);
+    assertThat(kind(instruction)).isEqualTo(PreDecodedCode.PUSH_JUMPI);
+    assertThat(decoded.getJumpDestinations()[operand(instruction)]).isNegative();
+  }
+
+  @Test
+  void fusesDupAndSwap() {
+    // DUP2, SWAP3, SWAP1
+    final PreDecodedCode decoded = decode("0x819290");
+    final int[] instructions = decoded.getInstructions();
+
+    assertThat(kind(instructions[0])).isEqualTo(PreDecodedCode.DUP_SWAP);
+    assertThat(operand(instructions[0]) & 0x1f).isEqualTo(2);
+    assertThat(operand(instructions[0]) >>> 5).isEqualTo(3);
+    assertThat(kind(instructions[1])).isEqualTo(PreDecodedCode.SWAP);
+    assertThat(operand(instructions[1])).isEqualTo(3);
+    assertThat(kind(instructions[2])).isEqualTo(PreDecodedCode.SWAP);
+    assertThat(operand(instructions[2])).isEqualTo(1);
+  }
+
+  @Test
+  void decodesOnlyOnce() {
+    final Code code = CodeFactory.createCode(Bytes.fromHexString("0x6001"), 0, false);
+
+    assertThat(code.getPreDecodedCode()).isSameAs(code.getPreDecodedCode());
+  }
+}
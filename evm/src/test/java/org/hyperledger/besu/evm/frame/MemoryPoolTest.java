@@ -0,0 +1,169 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.fluent.EVMExecutor;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmCounterFactory;
+import org.hyperledger.besu.evm.precompile.PrecompileContractRegistry;
+import org.hyperledger.besu.evm.testutils.TestCodeExecutor;
+import org.hyperledger.besu.evm.toy.ToyWorld;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class MemoryPoolTest {
+
+  private static final Bytes32 WORD = Bytes32.repeat((byte) 0x5a);
+
+  private static final Address CALLEE = Address.fromHexString("0xc0de");
+
+  // MLOAD 0x07e0, SSTORE the loaded word to slot 0, then dirty it: MSTORE 0x5a at 0x07e0
+  private static final String CALLEE_CODE = "0x6107e051600055605a6107e05200";
+
+  // CALL the callee twice with no input and no output, one child frame after the other
+  private static final String CALL_CALLEE =
+      "0x6000600060006000600073" + CALLEE.toUnprefixedHexString() + "620186a0f150";
+  private static final Bytes CALLER_CODE =
+      Bytes.fromHexString(CALL_CALLEE + CALL_CALLEE.substring(2) + "00");
+
+  private final Map<String, Long> counts = new HashMap<>();
+  private final EvmCounterFactory counterFactory =
+      (name, help, labels) -> amount -> counts.merge(name, amount, Long::sum);
+  private final MemoryPool.Metrics metrics = new MemoryPool.Metrics(counterFactory);
+
+  @Test
+  void acquiredBuffersAreRoundedUpToPowersOfTwo() {
+    assertThat(MemoryPool.acquire(1, metrics)).hasSize(MemoryPool.MIN_BUFFER_SIZE);
+    assertThat(MemoryPool.acquire(MemoryPool.MIN_BUFFER_SIZE + 1, metrics))
+        .hasSize(MemoryPool.MIN_BUFFER_SIZE * 2);
+    assertThat(MemoryPool.acquire(MemoryPool.MAX_BUFFER_SIZE, metrics))
+        .hasSize(MemoryPool.MAX_BUFFER_SIZE);
+    assertThat(MemoryPool.acquire(MemoryPool.MAX_BUFFER_SIZE + 1, metrics))
+        .hasSize(MemoryPool.MAX_BUFFER_SIZE + 1);
+  }
+
+  @Test
+  void releasedBufferIsReusedZeroed() {
+    final byte[] buffer = MemoryPool.acquire(4096, metrics);
+    buffer[0] = 1;
+    buffer[4095] = 1;
+    MemoryPool.release(buffer, 4096);
+
+    final long hits = count("evm_memory_pool_hits_total");
+    final byte[] reused = MemoryPool.acquire(4096, metrics);
+    assertThat(reused).isSameAs(buffer);
+    assertThat(reused).containsOnly(0);
+    assertThat(count("evm_memory_pool_hits_total")).isEqualTo(hits + 1);
+  }
+
+  @Test
+  void pooledMemoryMatchesUnpooledMemory() {
+    final Memory pooled = new Memory(metrics);
+    final Memory unpooled = new Memory();
+    for (int i = 0; i < 200; i++) {
+      final long offset = i * 97L;
+      pooled.setWord(offset, WORD);
+      unpooled.setWord(offset, WORD);
+      assertThat(pooled.getActiveWords()).isEqualTo(unpooled.getActiveWords());
+      assertThat(pooled.calculateNewActiveWords(offset * 3, 64))
+          .isEqualTo(unpooled.calculateNewActiveWords(offset * 3, 64));
+    }
+    assertThat(pooled).isEqualTo(unpooled);
+    assertThat(pooled.hashCode()).isEqualTo(unpooled.hashCode());
+    assertThat(pooled.getBytes(0, pooled.getActiveBytes()))
+        .isEqualTo(unpooled.getBytes(0, unpooled.getActiveBytes()));
+  }
+
+  @Test
+  void releasedMemoryIsEmptyAndItsBufferIsReused() {
+    final Memory memory = new Memory(metrics);
+    memory.setBytes(0, 2048, Bytes.repeat((byte) 0x11, 2048));
+    final Bytes view = memory.getMutableBytes(0, 32);
+    memory.release();
+    assertThat(memory.getActiveWords()).isZero();
+
+    // the next memory of the same size on this thread gets the buffer back, cleared
+    final Memory next = new Memory(metrics);
+    assertThat(next.getBytes(0, 2048)).isEqualTo(Bytes.wrap(new byte[2048]));
+    assertThat(view).isEqualTo(Bytes32.ZERO);
+    next.setWord(0, WORD);
+    assertThat(view).isEqualTo(WORD);
+  }
+
+  @Test
+  void releaseDoesNothingForUnpooledMemory() {
+    final Memory memory = new Memory();
+    memory.setWord(0, WORD);
+    memory.release();
+    assertThat(memory.getWord(0)).isEqualTo(WORD);
+  }
+
+  @Test
+  void growingPooledMemoryCountsTheCopiedBytes() {
+    final Memory memory = new Memory(metrics);
+    memory.setWord(0, WORD);
+    memory.setWord(MemoryPool.MIN_BUFFER_SIZE, WORD);
+    assertThat(count("evm_memory_bytes_copied_total")).isEqualTo(Bytes32.SIZE);
+  }
+
+  @Test
+  void childFramesReuseTheBufferOfTheirCompletedSiblings() {
+    final EvmConfiguration evmConfiguration =
+        EvmConfiguration.DEFAULT.withMemoryPoolEnabled(true).withCounterFactory(counterFactory);
+    final EVM evm = MainnetEVMs.london(evmConfiguration);
+    final ToyWorld world = new ToyWorld();
+    TestCodeExecutor.deployContract(world, CALLEE, CALLEE_CODE);
+
+    // the pool of this thread may already hold a buffer from an earlier test
+    executeCaller(evm, world);
+    assertThat(count("evm_memory_pool_hits_total") + count("evm_memory_pool_misses_total"))
+        .isEqualTo(2);
+    assertThat(count("evm_memory_pool_hits_total")).isPositive();
+
+    // the second run only reuses the buffers returned by the frames of the first one
+    counts.clear();
+    executeCaller(evm, world);
+    assertThat(count("evm_memory_pool_hits_total")).isEqualTo(2);
+    assertThat(count("evm_memory_pool_misses_total")).isZero();
+
+    // every child frame read a zeroed word, even from a buffer its sibling had written to
+    assertThat(world.get(CALLEE).getStorageValue(UInt256.ZERO)).isEqualTo(UInt256.ZERO);
+  }
+
+  private void executeCaller(final EVM evm, final ToyWorld world) {
+    EVMExecutor.evm(evm)
+        .precompileContractRegistry(new PrecompileContractRegistry())
+        .worldUpdater(world)
+        .gas(1_000_000)
+        .code(CALLER_CODE, Hash.hash(CALLER_CODE))
+        .execute();
+  }
+
+  private long count(final String name) {
+    return counts.getOrDefault(name, 0L);
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
+import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class PrimitiveOperandStackTest {
+
+  @Test
+  public void construction_NegativeMaximumSize() {
+    assertThatThrownBy(() -> new PrimitiveOperandStack(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void push_StackOverflow() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    final UInt256 operand = UInt256.fromHexString("0x02");
+    assertThatThrownBy(() -> stack.push(operand)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  public void pop_StackUnderflow() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(1);
+    assertThatThrownBy(stack::pop).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(() -> stack.popOperands(1)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  public void pushPopReturnsValueWithoutLeadingZeros() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(4);
+    stack.push(Bytes32.fromHexString("0x0102"));
+    stack.push(Bytes.EMPTY);
+    stack.push(Bytes.fromHexString("0x0000ff"));
+    stack.push(
+        Bytes32.fromHexString(
+            "0x8000000000000000000000000000000000000000000000000000000000000001"));
+
+    assertThat(stack.pop())
+        .isEqualTo(
+            Bytes.fromHexString(
+                "0x8000000000000000000000000000000000000000000000000000000000000001"));
+    assertThat(stack.pop()).isEqualTo(Bytes.fromHexString("0xff"));
+    assertThat(stack.pop()).isEqualTo(Bytes.EMPTY);
+    assertThat(stack.pop()).isEqualTo(Bytes.fromHexString("0x0102"));
+    assertThat(stack.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void pushFromArrayStopsAtEndOfArray() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(2);
+    final byte[] code = Bytes.fromHexString("0x61aabb62ccdd").toArrayUnsafe();
+    stack.push(code, 1, 2);
+    stack.push(code, 4, 3);
+
+    assertThat(stack.get(0)).isEqualTo(Bytes.fromHexString("0xccdd"));
+    assertThat(stack.get(1)).isEqualTo(Bytes.fromHexString("0xaabb"));
+  }
+
+  @Test
+  public void growsBeyondInitialCapacity() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(1024);
+    for (int i = 0; i < 1024; i++) {
+      stack.push(UInt256.valueOf(i));
+    }
+    assertThat(stack.isFull()).isTrue();
+    for (int i = 1023; i >= 0; i--) {
+      assertThat(UInt256.fromBytes(stack.pop())).isEqualTo(UInt256.valueOf(i));
+    }
+  }
+
+  @Test
+  public void dupAndSwap() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(4);
+    stack.push(UInt256.valueOf(1));
+    stack.push(UInt256.valueOf(2));
+    stack.push(UInt256.valueOf(3));
+
+    stack.dup(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes.of(1));
+    stack.swap(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes.of(1));
+    assertThat(stack.get(3)).isEqualTo(Bytes.of(1));
+    stack.swap(1);
+    assertThat(stack.get(0)).isEqualTo(Bytes.of(3));
+    assertThat(stack.get(1)).isEqualTo(Bytes.of(1));
+
+    assertThatThrownBy(() -> stack.swap(4)).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(() -> stack.dup(0)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  public void popOperandsKeepsDeepestOperandSlot() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(3);
+    stack.push(UInt256.valueOf(7));
+    stack.push(UInt256.valueOf(5));
+    stack.push(UInt256.valueOf(3));
+
+    final int index = stack.popOperands(2);
+    final long[] limbs = stack.getLimbs();
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(limbs[index + 3]).isEqualTo(5);
+    assertThat(limbs[index + 7]).isEqualTo(3);
+  }
+
+  @Test
+  public void preserveTop() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(5);
+    for (int i = 1; i <= 5; i++) {
+      stack.push(UInt256.valueOf(i));
+    }
+    stack.preserveTop(1, 2);
+
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes.of(5));
+    assertThat(stack.get(1)).isEqualTo(Bytes.of(4));
+    assertThat(stack.get(2)).isEqualTo(Bytes.of(1));
+  }
+
+  @Test
+  public void compareSignedAndUnsigned() {
+    final PrimitiveOperandStack stack = new PrimitiveOperandStack(2);
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.ONE);
+    final long[] limbs = stack.getLimbs();
+
+    assertThat(PrimitiveOperandStack.compareUnsigned(limbs, 0, 4)).isPositive();
+    assertThat(PrimitiveOperandStack.compareSigned(limbs, 0, 4)).isNegative();
+    assertThat(PrimitiveOperandStack.clampedToInt(limbs, 0)).isEqualTo(Integer.MAX_VALUE);
+    assertThat(PrimitiveOperandStack.clampedToInt(limbs, 4)).isEqualTo(1);
+  }
+}
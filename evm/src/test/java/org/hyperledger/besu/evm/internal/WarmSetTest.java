@@ -0,0 +1,111 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class WarmSetTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x0a");
+  private static final Bytes32 SLOT = Bytes32.fromHexString("0x01");
+
+  private final WarmSet warmSet = new WarmSet();
+
+  @Test
+  public void addReportsWhetherEntryWasCold() {
+    assertThat(warmSet.add(ADDRESS)).isTrue();
+    assertThat(warmSet.add(ADDRESS)).isFalse();
+    assertThat(warmSet.add(ADDRESS, SLOT)).isTrue();
+    assertThat(warmSet.add(ADDRESS, SLOT)).isFalse();
+    assertThat(warmSet.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void addressAndSlotEntriesAreDistinct() {
+    warmSet.add(ADDRESS, SLOT);
+    assertThat(warmSet.contains(ADDRESS)).isFalse();
+    assertThat(warmSet.contains(ADDRESS, SLOT)).isTrue();
+    assertThat(warmSet.contains(Address.fromHexString("0x0b"), SLOT)).isFalse();
+  }
+
+  @Test
+  public void rollbackRemovesEntriesAddedSinceMark() {
+    warmSet.add(ADDRESS);
+    final int mark = warmSet.mark();
+    warmSet.add(ADDRESS, SLOT);
+    warmSet.add(Address.fromHexString("0x0b"));
+
+    warmSet.rollback(mark);
+
+    assertThat(warmSet.size()).isEqualTo(1);
+    assertThat(warmSet.contains(ADDRESS)).isTrue();
+    assertThat(warmSet.contains(ADDRESS, SLOT)).isFalse();
+    assertThat(warmSet.contains(Address.fromHexString("0x0b"))).isFalse();
+    assertThat(warmSet.add(ADDRESS, SLOT)).isTrue();
+  }
+
+  @Test
+  public void nestedRollbacksAcrossGrowth() {
+    for (int i = 0; i < 100; i++) {
+      warmSet.add(ADDRESS, slot(i));
+    }
+    final int outer = warmSet.mark();
+    for (int i = 100; i < 500; i++) {
+      warmSet.add(ADDRESS, slot(i));
+    }
+    final int inner = warmSet.mark();
+    for (int i = 500; i < 1_000; i++) {
+      warmSet.add(ADDRESS, slot(i));
+    }
+
+    warmSet.rollback(inner);
+    assertThat(warmSet.size()).isEqualTo(500);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(warmSet.contains(ADDRESS, slot(i))).isEqualTo(i < 500);
+    }
+
+    warmSet.rollback(outer);
+    assertThat(warmSet.size()).isEqualTo(100);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(warmSet.contains(ADDRESS, slot(i))).isEqualTo(i < 100);
+    }
+  }
+
+  @Test
+  public void getStorageCopiesWarmSlots() {
+    warmSet.add(ADDRESS);
+    warmSet.add(ADDRESS, SLOT);
+    assertThat(warmSet.getStorage().get(ADDRESS)).containsExactly(SLOT);
+  }
+
+  @Test
+  public void addAllCopiesEntriesOfAnotherSet() {
+    final WarmSet other = new WarmSet();
+    other.add(ADDRESS);
+    other.add(ADDRESS, SLOT);
+    warmSet.addAll(other);
+    assertThat(warmSet.contains(ADDRESS)).isTrue();
+    assertThat(warmSet.contains(ADDRESS, SLOT)).isTrue();
+  }
+
+  private static Bytes32 slot(final int i) {
+    return Bytes32.fromHexStringLenient(Integer.toHexString(i));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.gascalculator.ShanghaiGasCalculator;
+import org.hyperledger.besu.evm.operation.AddOperation;
+import org.hyperledger.besu.evm.operation.AndOperation;
+import org.hyperledger.besu.evm.operation.ByteOperation;
+import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.EqOperation;
+import org.hyperledger.besu.evm.operation.GtOperation;
+import org.hyperledger.besu.evm.operation.IsZeroOperation;
+import org.hyperledger.besu.evm.operation.LtOperation;
+import org.hyperledger.besu.evm.operation.MulOperation;
+import org.hyperledger.besu.evm.operation.NotOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.operation.OrOperation;
+import org.hyperledger.besu.evm.operation.PopOperation;
+import org.hyperledger.besu.evm.operation.Push0Operation;
+import org.hyperledger.besu.evm.operation.SGtOperation;
+import org.hyperledger.besu.evm.operation.SLtOperation;
+import org.hyperledger.besu.evm.operation.ShlOperation;
+import org.hyperledger.besu.evm.operation.ShrOperation;
+import org.hyperledger.besu.evm.operation.SubOperation;
+import org.hyperledger.besu.evm.operation.SwapOperation;
+import org.hyperledger.besu.evm.operation.XorOperation;
+import org.hyperledger.besu.evm.testutils.TestMessageFrameBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Checks that the primitive stack fast paths compute the same words as the Bytes stack. */
+class PrimitiveStackOperationTest {
+
+  private static final GasCalculator gasCalculator = new ShanghaiGasCalculator();
+
+  static Stream<Arguments> operations() {
+    return Stream.of(
+            new AddOperation(gasCalculator),
+            new SubOperation(gasCalculator),
+            new MulOperation(gasCalculator),
+            new LtOperation(gasCalculator),
+            new GtOperation(gasCalculator),
+            new SLtOperation(gasCalculator),
+            new SGtOperation(gasCalculator),
+            new EqOperation(gasCalculator),
+            new IsZeroOperation(gasCalculator),
+            new AndOperation(gasCalculator),
+            new OrOperation(gasCalculator),
+            new XorOperation(gasCalculator),
+            new NotOperation(gasCalculator),
+            new ByteOperation(gasCalculator),
+            new ShlOperation(gasCalculator),
+            new ShrOperation(gasCalculator),
+            new PopOperation(gasCalculator),
+            new Push0Operation(gasCalculator),
+            new DupOperation(3, gasCalculator),
+            new SwapOperation(2, gasCalculator))
+        .map(operation -> Arguments.of(operation.getName(), operation));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("operations")
+  void primitiveStackMatchesBytesStack(final String name, final Operation operation) {
+    final Random random = new Random(name.hashCode());
+    final List<Bytes> values = new ArrayList<>(interestingValues());
+    for (int i = 0; i < 50; i++) {
+      values.add(Bytes32.random(random).slice(0, random.nextInt(33)));
+    }
+    for (final Bytes first : values) {
+      for (int i = 0; i < 20; i++) {
+        final Bytes second = values.get(random.nextInt(values.size()));
+        final Bytes third = values.get(random.nextInt(values.size()));
+        assertSameResult(operation, third, second, first);
+      }
+    }
+  }
+
+  private static List<Bytes> interestingValues() {
+    return List.of(
+        Bytes.EMPTY,
+        Bytes.of(1),
+        Bytes.of(0x1f),
+        Bytes.of(0x20),
+        Bytes.of(0x40),
+        Bytes.of(0xff),
+        Bytes.fromHexString("0x0100"),
+        Bytes.fromHexString("0xffffffffffffffff"),
+        Bytes.fromHexString("0x010000000000000000"),
+        Bytes.fromHexString("0x80000000"),
+        UInt256.MAX_VALUE,
+        UInt256.MAX_VALUE.subtract(1),
+        Bytes32.fromHexString(
+            "0x8000000000000000000000000000000000000000000000000000000000000000"),
+        Bytes32.fromHexString(
+            "0x7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
+  }
+
+  private static void assertSameResult(final Operation operation, final Bytes... stackItems) {
+    final MessageFrame bytesFrame = frame(false, stackItems);
+    final MessageFrame primitiveFrame = frame(true, stackItems);
+
+    final OperationResult bytesResult = operation.execute(bytesFrame, null);
+    final OperationResult primitiveResult = operation.execute(primitiveFrame, null);
+
+    assertThat(primitiveResult.getHaltReason()).isEqualTo(bytesResult.getHaltReason());
+    assertThat(primitiveFrame.stackSize()).isEqualTo(bytesFrame.stackSize());
+    for (int i = 0; i < bytesFrame.stackSize(); i++) {
+      assertThat(UInt256.fromBytes(primitiveFrame.getStackItem(i)))
+          .describedAs("%s of %s, item %d", operation.getName(), List.of(stackItems), i)
+          .isEqualTo(UInt256.fromBytes(bytesFrame.getStackItem(i)));
+    }
+  }
+
+  private static MessageFrame frame(final boolean primitiveStack, final Bytes... stackItems) {
+    final TestMessageFrameBuilder builder = new TestMessageFrameBuilder();
+    builder.primitiveStack(primitiveStack);
+    for (final Bytes item : stackItems) {
+      builder.pushStackItem(item);
+    }
+    return builder.build();
+  }
+}
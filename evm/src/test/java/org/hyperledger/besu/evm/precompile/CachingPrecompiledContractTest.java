@@ -0,0 +1,151 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.IstanbulGasCalculator;
+import org.hyperledger.besu.evm.internal.EvmCounterFactory;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract.PrecompileContractResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachingPrecompiledContractTest {
+
+  private static final Bytes INPUT = Bytes.fromHexString("0x0102030405");
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+  private final PrecompiledContract ecrec = mock(PrecompiledContract.class);
+  private final PrecompiledContract sha256 = mock(PrecompiledContract.class);
+  private final PrecompileContractRegistry registry = new PrecompileContractRegistry();
+  private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+  private final EvmCounterFactory counterFactory =
+      (name, help, labels) ->
+          amount -> counts.computeIfAbsent(name + labels, __ -> new LongAdder()).add(amount);
+
+  @Before
+  public void setUp() {
+    when(ecrec.getName()).thenReturn("CachingTestECREC");
+    when(ecrec.gasRequirement(any())).thenReturn(3_000L);
+    when(ecrec.computePrecompile(any(), any()))
+        .thenAnswer(invocation -> PrecompileContractResult.success(invocation.getArgument(0)));
+    when(sha256.getName()).thenReturn("CachingTestSHA256");
+    registry.put(Address.ECREC, ecrec);
+    registry.put(Address.SHA256, sha256);
+    CachingPrecompiledContract.cacheResults(registry, 16, counterFactory);
+  }
+
+  @Test
+  public void onlyWrapsCacheablePrecompiles() {
+    assertThat(registry.get(Address.ECREC)).isInstanceOf(CachingPrecompiledContract.class);
+    assertThat(registry.get(Address.ECREC).getName()).isEqualTo("CachingTestECREC");
+    assertThat(registry.get(Address.SHA256)).isSameAs(sha256);
+  }
+
+  @Test
+  public void computesEachInputOnce() {
+    final PrecompiledContract cached = registry.get(Address.ECREC);
+
+    final PrecompileContractResult first = cached.computePrecompile(INPUT, messageFrame);
+    final PrecompileContractResult second = cached.computePrecompile(INPUT, messageFrame);
+    final PrecompileContractResult other =
+        cached.computePrecompile(Bytes.fromHexString("0x06"), messageFrame);
+
+    assertThat(second).isSameAs(first);
+    assertThat(other.getOutput()).isEqualTo(Bytes.fromHexString("0x06"));
+    verify(ecrec, times(2)).computePrecompile(any(), any());
+    assertThat(hits("CachingTestECREC")).isEqualTo(1);
+    assertThat(misses("CachingTestECREC")).isEqualTo(2);
+  }
+
+  @Test
+  public void alwaysDelegatesGasRequirement() {
+    final PrecompiledContract cached = registry.get(Address.ECREC);
+    cached.computePrecompile(INPUT, messageFrame);
+
+    assertThat(cached.gasRequirement(INPUT)).isEqualTo(3_000L);
+    assertThat(cached.gasRequirement(INPUT)).isEqualTo(3_000L);
+    verify(ecrec, times(2)).gasRequirement(INPUT);
+  }
+
+  @Test
+  public void computesFailuresEachTime() {
+    final PrecompileContractRegistry bn128Registry = new PrecompileContractRegistry();
+    bn128Registry.put(
+        Address.ALTBN128_ADD, AltBN128AddPrecompiledContract.istanbul(new IstanbulGasCalculator()));
+    CachingPrecompiledContract.cacheResults(bn128Registry, 16, counterFactory);
+    final PrecompiledContract cached = bn128Registry.get(Address.ALTBN128_ADD);
+    // (1, 3) is not on the curve
+    final Bytes input =
+        Bytes.concatenate(
+            Bytes32.leftPad(Bytes.of(1)), Bytes32.leftPad(Bytes.of(3)), Bytes32.ZERO, Bytes32.ZERO);
+
+    final PrecompileContractResult first = cached.computePrecompile(input, messageFrame);
+    final PrecompileContractResult second = cached.computePrecompile(input, messageFrame);
+
+    assertThat(first.getState()).isEqualTo(MessageFrame.State.EXCEPTIONAL_HALT);
+    assertThat(second.getState()).isEqualTo(MessageFrame.State.EXCEPTIONAL_HALT);
+    assertThat(second).isNotSameAs(first);
+    assertThat(misses(cached.getName())).isEqualTo(2);
+    if (AbstractAltBnPrecompiledContract.isNative()) {
+      // the native library reports why the input is invalid
+      verify(messageFrame, times(2)).setRevertReason(any());
+    }
+  }
+
+  @Test
+  public void countsWithTheCountersOfTheRegistry() {
+    final Map<String, LongAdder> otherCounts = new ConcurrentHashMap<>();
+    final PrecompileContractRegistry otherRegistry = new PrecompileContractRegistry();
+    otherRegistry.put(Address.ECREC, ecrec);
+    CachingPrecompiledContract.cacheResults(
+        otherRegistry,
+        16,
+        (name, help, labels) ->
+            amount -> otherCounts.computeIfAbsent(name, __ -> new LongAdder()).add(amount));
+
+    otherRegistry.get(Address.ECREC).computePrecompile(INPUT, messageFrame);
+
+    assertThat(otherCounts.get("precompile_cache_misses_total").sum()).isEqualTo(1);
+    assertThat(misses("CachingTestECREC")).isZero();
+  }
+
+  private long hits(final String precompile) {
+    return count("precompile_cache_hits_total", precompile);
+  }
+
+  private long misses(final String precompile) {
+    return count("precompile_cache_misses_total", precompile);
+  }
+
+  private long count(final String name, final String precompile) {
+    final LongAdder count = counts.get(name + Map.of("precompile", precompile));
+    return count == null ? 0 : count.sum();
+  }
+}
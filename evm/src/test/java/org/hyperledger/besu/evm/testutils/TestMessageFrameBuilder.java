@@ -57,6 +57,7 @@ public class TestMessageFrameBuilder {
   private int section = 0;
   private final List<Bytes> stackItems = new ArrayList<>();
   private int depth = 0;
+  private boolean primitiveStack = false;
   private Optional<Function<Long, Hash>> blockHashLookup = Optional.empty();
 
   TestMessageFrameBuilder messageFrameStack(final Deque<MessageFrame> messageFrameStack) {
@@ -134,6 +135,11 @@ public class TestMessageFrameBuilder {
     return this;
   }
 
+  public TestMessageFrameBuilder primitiveStack(final boolean primitiveStack) {
+    this.primitiveStack = primitiveStack;
+    return this;
+  }
+
   public TestMessageFrameBuilder pushStackItem(final Bytes item) {
     stackItems.add(item);
     return this;
@@ -166,6 +172,7 @@ public class TestMessageFrameBuilder {
             .miningBeneficiary(Address.ZERO)
             .blockHashLookup(blockHashLookup.orElse(number -> Hash.hash(Words.longBytes(number))))
             .maxStackSize(maxStackSize)
+            .primitiveStack(primitiveStack)
             .build();
     frame.setPC(pc);
     frame.setSection(section);
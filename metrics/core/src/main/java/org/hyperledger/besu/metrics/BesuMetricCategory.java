@@ -26,6 +26,8 @@ import com.google.common.collect.ImmutableSet;
 public enum BesuMetricCategory implements MetricCategory {
   /** Blockchain besu metric category. */
   BLOCKCHAIN("blockchain"),
+  /** Block processing besu metric category. */
+  BLOCK_PROCESSING("block_processing"),
   /** Ethereum besu metric category. */
   ETHEREUM("ethereum", false),
   /** Executors besu metric category. */
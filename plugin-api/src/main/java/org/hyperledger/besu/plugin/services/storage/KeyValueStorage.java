@@ -18,6 +18,8 @@ import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -63,6 +65,21 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(byte[] key) throws StorageException;
 
+  /**
+   * Retrieves the values associated with several keys at once.
+   *
+   * <p>Storages that support it read all the keys in a single batched call, the default
+   * implementation reads them one by one.
+   *
+   * @param keys the keys whose associated values are being retrieved.
+   * @return the values associated with the keys, in the order of the keys, empty for the keys that
+   *     are not present.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    return keys.stream().map(this::get).toList();
+  }
+
   /**
    * Returns a stream of all keys and values.
    *
@@ -79,6 +96,42 @@ public interface KeyValueStorage extends Closeable {
    */
   Stream<byte[]> streamKeys() throws StorageException;
 
+  /**
+   * Returns a stream of the keys and values whose key is greater than or equal to the given key,
+   * in ascending unsigned lexicographic order of the keys.
+   *
+   * <p>The default implementation filters the stream of all keys and values, storages that keep
+   * their keys ordered seek to the start key instead.
+   *
+   * @param startKeyInclusive the first key of the stream, whether it is present or not.
+   * @return A stream of the keys and values from the start key.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKeyInclusive)
+      throws StorageException {
+    return stream()
+        .filter(pair -> Arrays.compareUnsigned(pair.getKey(), startKeyInclusive) >= 0)
+        .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+  }
+
+  /**
+   * Returns a stream of the keys and values whose key is in the given range, in ascending unsigned
+   * lexicographic order of the keys.
+   *
+   * <p>The default implementation filters the stream of all keys and values, storages that keep
+   * their keys ordered only read the keys of the range.
+   *
+   * @param startKeyInclusive the lower bound of the range, included.
+   * @param endKeyExclusive the upper bound of the range, excluded.
+   * @return A stream of the keys and values of the range.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default Stream<Pair<byte[], byte[]>> streamRange(
+      final byte[] startKeyInclusive, final byte[] endKeyExclusive) throws StorageException {
+    return streamFromKey(startKeyInclusive)
+        .takeWhile(pair -> Arrays.compareUnsigned(pair.getKey(), endKeyExclusive) < 0);
+  }
+
   /**
    * Delete the value corresponding to the given key if a write lock can be instantly acquired on
    * the underlying storage. Do nothing otherwise.
@@ -75,6 +75,12 @@ public class RocksDBColumnarKeyValueSnapshot implements SnappedKeyValueStorage {
     return snapTx.stream();
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKeyInclusive) {
+    throwIfClosed();
+    return snapTx.streamFromKey(startKeyInclusive);
+  }
+
   @Override
   public Stream<byte[]> streamKeys() {
     throwIfClosed();
@@ -32,6 +32,7 @@ import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -58,6 +59,7 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.rocksdb.Statistics;
 import org.rocksdb.Status;
 import org.rocksdb.TransactionDBOptions;
@@ -260,6 +262,21 @@ public abstract class RocksDBColumnarKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final RocksDbSegmentIdentifier segment, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final List<byte[]> values =
+          getDB()
+              .multiGetAsList(readOptions, Collections.nCopies(keys.size(), segment.get()), keys);
+      return values.stream().map(Optional::ofNullable).toList();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Stream<Pair<byte[], byte[]>> stream(final RocksDbSegmentIdentifier segmentHandle) {
     final RocksIterator rocksIterator = getDB().newIterator(segmentHandle.get());
@@ -274,6 +291,36 @@ public abstract class RocksDBColumnarKeyValueStorage
     return RocksDbIterator.create(rocksIterator).toStreamKeys();
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(
+      final RocksDbSegmentIdentifier segmentHandle, final byte[] startKeyInclusive) {
+    throwIfClosed();
+    final RocksIterator rocksIterator = getDB().newIterator(segmentHandle.get());
+    rocksIterator.seek(startKeyInclusive);
+    return RocksDbIterator.create(rocksIterator).toStream();
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(
+      final RocksDbSegmentIdentifier segmentHandle,
+      final byte[] startKeyInclusive,
+      final byte[] endKeyExclusive) {
+    throwIfClosed();
+    // the upper bound lets RocksDB stop reading at the end of the range
+    final Slice upperBound = new Slice(endKeyExclusive);
+    final ReadOptions rangeReadOptions =
+        new ReadOptions().setVerifyChecksums(false).setIterateUpperBound(upperBound);
+    final RocksIterator rocksIterator = getDB().newIterator(segmentHandle.get(), rangeReadOptions);
+    rocksIterator.seek(startKeyInclusive);
+    return RocksDbIterator.create(rocksIterator)
+        .toStream()
+        .onClose(
+            () -> {
+              rangeReadOptions.close();
+              upperBound.close();
+            });
+  }
+
   @Override
   public boolean tryDelete(final RocksDbSegmentIdentifier segmentHandle, final byte[] key) {
     try {
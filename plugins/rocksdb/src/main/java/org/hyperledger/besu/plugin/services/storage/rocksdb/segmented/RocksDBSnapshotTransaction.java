@@ -151,6 +151,18 @@ public class RocksDBSnapshotTransaction implements KeyValueStorageTransaction, A
     return RocksDbIterator.create(rocksIterator).toStream();
   }
 
+  /**
+   * Stream the keys and values from the given key.
+   *
+   * @param startKeyInclusive the first key of the stream
+   * @return the stream
+   */
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKeyInclusive) {
+    final RocksIterator rocksIterator = db.newIterator(columnFamilyHandle, readOptions);
+    rocksIterator.seek(startKeyInclusive);
+    return RocksDbIterator.create(rocksIterator).toStream();
+  }
+
   /**
    * Stream keys.
    *
@@ -28,6 +28,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import org.hyperledger.besu.services.kvstore.KeyValueStorageTransactionTransitionValidatorDecorator;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -42,6 +43,7 @@ import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.rocksdb.Statistics;
 import org.rocksdb.Status;
 import org.rocksdb.WriteOptions;
@@ -130,6 +132,18 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetrics.getReadLatency().startTimer()) {
+      return db.multiGetAsList(readOptions, keys).stream().map(Optional::ofNullable).toList();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return stream()
@@ -154,6 +168,32 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     return RocksDbIterator.create(rocksIterator).toStreamKeys();
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKeyInclusive) {
+    throwIfClosed();
+    final RocksIterator rocksIterator = db.newIterator();
+    rocksIterator.seek(startKeyInclusive);
+    return RocksDbIterator.create(rocksIterator).toStream();
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(
+      final byte[] startKeyInclusive, final byte[] endKeyExclusive) {
+    throwIfClosed();
+    final Slice upperBound = new Slice(endKeyExclusive);
+    final ReadOptions rangeReadOptions =
+        new ReadOptions().setVerifyChecksums(false).setIterateUpperBound(upperBound);
+    final RocksIterator rocksIterator = db.newIterator(rangeReadOptions);
+    rocksIterator.seek(startKeyInclusive);
+    return RocksDbIterator.create(rocksIterator)
+        .toStream()
+        .onClose(
+            () -> {
+              rangeReadOptions.close();
+              upperBound.close();
+            });
+  }
+
   @Override
   public Set<byte[]> getAllValuesFromKeysThat(final Predicate<byte[]> returnCondition) {
     return stream()
@@ -18,6 +18,8 @@ import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 
 import java.io.Closeable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -50,6 +52,19 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
    */
   Optional<byte[]> get(S segment, byte[] key) throws StorageException;
 
+  /**
+   * Get the values of several keys from the associated segment in a single call.
+   *
+   * @param segment the segment
+   * @param keys the keys
+   * @return the values persisted at the keys, in the order of the keys
+   * @throws StorageException the storage exception
+   */
+  default List<Optional<byte[]>> multiGet(final S segment, final List<byte[]> keys)
+      throws StorageException {
+    return keys.stream().map(key -> get(segment, key)).toList();
+  }
+
   /**
    * Contains key.
    *
@@ -86,6 +101,36 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
    */
   Stream<byte[]> streamKeys(final S segmentHandle);
 
+  /**
+   * Returns a stream of the keys and values of the segment from the given key, in ascending
+   * unsigned lexicographic order of the keys.
+   *
+   * @param segmentHandle the segment handle
+   * @param startKeyInclusive the first key of the stream, whether it is present or not
+   * @return the stream
+   */
+  default Stream<Pair<byte[], byte[]>> streamFromKey(
+      final S segmentHandle, final byte[] startKeyInclusive) {
+    return stream(segmentHandle)
+        .filter(pair -> Arrays.compareUnsigned(pair.getKey(), startKeyInclusive) >= 0)
+        .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+  }
+
+  /**
+   * Returns a stream of the keys and values of the segment in the given range, in ascending
+   * unsigned lexicographic order of the keys.
+   *
+   * @param segmentHandle the segment handle
+   * @param startKeyInclusive the lower bound of the range, included
+   * @param endKeyExclusive the upper bound of the range, excluded
+   * @return the stream
+   */
+  default Stream<Pair<byte[], byte[]>> streamRange(
+      final S segmentHandle, final byte[] startKeyInclusive, final byte[] endKeyExclusive) {
+    return streamFromKey(segmentHandle, startKeyInclusive)
+        .takeWhile(pair -> Arrays.compareUnsigned(pair.getKey(), endKeyExclusive) < 0);
+  }
+
   /**
    * Delete the value corresponding to the given key in the given segment if a write lock can be
    * instantly acquired on the underlying storage. Do nothing otherwise.
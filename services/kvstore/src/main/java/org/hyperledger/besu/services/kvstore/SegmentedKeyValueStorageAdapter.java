@@ -20,6 +20,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -64,6 +65,11 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     return storage.get(segmentHandle, key);
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    return storage.multiGet(segmentHandle, keys);
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return storage.getAllKeysThat(segmentHandle, returnCondition);
@@ -84,6 +90,17 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     return storage.streamKeys(segmentHandle);
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKeyInclusive) {
+    return storage.streamFromKey(segmentHandle, startKeyInclusive);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(
+      final byte[] startKeyInclusive, final byte[] endKeyExclusive) {
+    return storage.streamRange(segmentHandle, startKeyInclusive, endKeyExclusive);
+  }
+
   @Override
   public boolean tryDelete(final byte[] key) {
     return storage.tryDelete(segmentHandle, key);
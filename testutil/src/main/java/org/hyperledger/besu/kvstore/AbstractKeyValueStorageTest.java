@@ -131,6 +131,70 @@ public abstract class AbstractKeyValueStorageTest {
             bytesFromHexString("10"), bytesFromHexString("11"), bytesFromHexString("12"));
   }
 
+  /**
+   * Multi get.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void multiGet() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesFromHexString("0F"), bytesFromHexString("0ABC"));
+    tx.put(bytesFromHexString("10"), bytesFromHexString("0DEF"));
+    tx.commit();
+
+    final List<Optional<byte[]>> values =
+        store.multiGet(
+            List.of(bytesFromHexString("10"), bytesFromHexString("11"), bytesFromHexString("0F")));
+
+    assertThat(values).hasSize(3);
+    assertThat(values.get(0)).contains(bytesFromHexString("0DEF"));
+    assertThat(values.get(1)).isEmpty();
+    assertThat(values.get(2)).contains(bytesFromHexString("0ABC"));
+  }
+
+  /**
+   * Stream from key.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void streamFromKey() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    Stream.of("0F", "10", "12", "FF")
+        .forEach(key -> tx.put(bytesFromHexString(key), bytesFromHexString("0ABC")));
+    tx.commit();
+
+    try (final Stream<Pair<byte[], byte[]>> stream =
+        store.streamFromKey(bytesFromHexString("11"))) {
+      assertThat(stream.map(Pair::getKey).collect(toUnmodifiableList()))
+          .containsExactly(bytesFromHexString("12"), bytesFromHexString("FF"));
+    }
+  }
+
+  /**
+   * Stream range.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void streamRange() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    Stream.of("0F", "10", "1001", "11", "12", "FF")
+        .forEach(key -> tx.put(bytesFromHexString(key), bytesFromHexString("0ABC")));
+    tx.commit();
+
+    try (final Stream<Pair<byte[], byte[]>> stream =
+        store.streamRange(bytesFromHexString("10"), bytesFromHexString("12"))) {
+      assertThat(stream.map(Pair::getKey).collect(toUnmodifiableList()))
+          .containsExactly(
+              bytesFromHexString("10"), bytesFromHexString("1001"), bytesFromHexString("11"));
+    }
+  }
+
   /**
    * Contains key.
    *